@@ -0,0 +1,122 @@
+package org.trading.system.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs per-item enrichment over a batch. Batches smaller than {@code min-batch} stay on the calling
+ * thread; larger ones are cut into at most {@code parallelism} slices, one of which the caller
+ * handles itself. Slices never submit further work, so the caller is the only thread that joins.
+ */
+@Component
+@Slf4j
+public class EnrichmentExecutor implements DisposableBean {
+
+    @Getter
+    private final EnrichmentMode mode;
+    private final int parallelism;
+    private final int minBatch;
+    private final ExecutorService executor;
+
+    private final Timer batchTimer;
+    private final Counter itemCounter;
+
+    public EnrichmentExecutor(MeterRegistry meterRegistry,
+                              @Value("${trading.enrichment.mode:POOL}") EnrichmentMode mode,
+                              @Value("${trading.enrichment.parallelism:8}") int parallelism,
+                              @Value("${trading.enrichment.queue-capacity:64}") int queueCapacity,
+                              @Value("${trading.enrichment.min-batch:256}") int minBatch) {
+        this.parallelism = Math.max(1, parallelism);
+        this.minBatch = Math.max(1, minBatch);
+        this.mode = mode == EnrichmentMode.VIRTUAL && !VirtualThreads.available() ? EnrichmentMode.POOL : mode;
+        if (this.mode != mode) {
+            log.warn("Virtual threads are not available on Java {}, using a bounded pool for enrichment",
+                    Runtime.version().feature());
+        }
+
+        this.executor = switch (this.mode) {
+            case INLINE -> null;
+            case POOL -> newBoundedPool(this.parallelism, Math.max(1, queueCapacity), meterRegistry);
+            case VIRTUAL -> VirtualThreads.newPerTaskExecutor();
+        };
+
+        String modeTag = this.mode.name().toLowerCase();
+        this.batchTimer = Timer.builder("trading.enrichment.batch")
+                .description("Time to enrich one batch of items")
+                .tag("mode", modeTag)
+                .register(meterRegistry);
+        this.itemCounter = Counter.builder("trading.enrichment.items")
+                .description("Items enriched")
+                .tag("mode", modeTag)
+                .register(meterRegistry);
+        log.info("Enrichment running in {} mode with parallelism {}", this.mode, this.parallelism);
+    }
+
+    public <T> void forEach(List<T> items, Consumer<T> action) {
+        long start = System.nanoTime();
+        try {
+            if (executor == null || items.size() < minBatch) {
+                items.forEach(action);
+                return;
+            }
+
+            int slices = Math.min(parallelism, (items.size() + minBatch - 1) / minBatch);
+            int sliceSize = (items.size() + slices - 1) / slices;
+            List<CompletableFuture<Void>> futures = new ArrayList<>(slices - 1);
+            for (int from = sliceSize; from < items.size(); from += sliceSize) {
+                List<T> slice = items.subList(from, Math.min(from + sliceSize, items.size()));
+                futures.add(CompletableFuture.runAsync(() -> slice.forEach(action), executor));
+            }
+            items.subList(0, Math.min(sliceSize, items.size())).forEach(action);
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            itemCounter.increment(items.size());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService newBoundedPool(int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "enrichment-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("trading.enrichment.pool.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Enrichment pool threads currently running a slice")
+                .register(meterRegistry);
+        Gauge.builder("trading.enrichment.pool.queued", pool, p -> p.getQueue().size())
+                .description("Enrichment slices waiting for a pool thread")
+                .register(meterRegistry);
+        return pool;
+    }
+}
@@ -0,0 +1,13 @@
+package org.trading.system.common.concurrent;
+
+public enum EnrichmentMode {
+
+    /** Enrich on the request thread. */
+    INLINE,
+
+    /** Split large batches across a dedicated, bounded thread pool. */
+    POOL,
+
+    /** Split large batches across virtual threads; falls back to {@link #POOL} before Java 21. */
+    VIRTUAL
+}
@@ -0,0 +1,10 @@
+package org.trading.system.common.concurrent;
+
+public enum ThreadMode {
+
+    /** Serve requests and fan out work on bounded pools of platform threads. */
+    PLATFORM,
+
+    /** Give every request and fanned-out task its own virtual thread; falls back to {@link #PLATFORM} before Java 21. */
+    VIRTUAL
+}
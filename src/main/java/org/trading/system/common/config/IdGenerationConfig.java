@@ -0,0 +1,27 @@
+package org.trading.system.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.trading.system.common.util.IdGenerationUtil;
+import org.trading.system.common.util.IdStrategy;
+import org.trading.system.common.util.SnowflakeIdGenerator;
+import org.trading.system.common.util.UuidHexIdGenerator;
+
+/**
+ * Installs the configured id strategy into {@link IdGenerationUtil}, which model builders call
+ * for their default ids.
+ */
+@Configuration
+@Slf4j
+public class IdGenerationConfig {
+
+    public IdGenerationConfig(@Value("${trading.id.strategy:UUID}") IdStrategy strategy,
+                              @Value("${trading.id.node-id:0}") int nodeId) {
+        IdGenerationUtil.useGenerator(switch (strategy) {
+            case UUID -> new UuidHexIdGenerator();
+            case SNOWFLAKE -> new SnowflakeIdGenerator(nodeId);
+        });
+        log.info("Generating ids with the {} strategy (node id {})", strategy, nodeId);
+    }
+}
@@ -0,0 +1,30 @@
+package org.trading.system.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Serves the {@code reactive} profile from Netty rather than the Tomcat the servlet stack keeps on the
+ * classpath, with {@code event-loop-threads} event loops (0 means one per CPU) handling every
+ * connection.
+ */
+@Configuration
+@Profile("reactive")
+@Slf4j
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(
+            @Value("${trading.reactive.event-loop-threads:0}") int eventLoopThreads) {
+        int threads = eventLoopThreads > 0 ? eventLoopThreads : Runtime.getRuntime().availableProcessors();
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.addServerCustomizers(server -> server.runOn(LoopResources.create("event-loop", threads, true)));
+        log.info("Serving reactive requests on {} event loop threads", threads);
+        return factory;
+    }
+}
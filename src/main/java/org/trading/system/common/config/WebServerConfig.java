@@ -0,0 +1,40 @@
+package org.trading.system.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.trading.system.common.concurrent.ThreadMode;
+import org.trading.system.common.concurrent.VirtualThreads;
+
+/**
+ * Picks the threads Tomcat runs servlet requests on. With {@code trading.threads.mode=VIRTUAL} on
+ * Java 21 each request gets its own virtual thread, so a request blocked on a lock, an fsync or a
+ * join no longer holds one of {@code server.tomcat.threads.max} pool threads. Otherwise Tomcat keeps
+ * its own bounded pool.
+ */
+@Configuration
+@Slf4j
+public class WebServerConfig {
+
+    private final ThreadMode threadMode;
+
+    public WebServerConfig(@Value("${trading.threads.mode:PLATFORM}") ThreadMode threadMode) {
+        this.threadMode = threadMode == ThreadMode.VIRTUAL && !VirtualThreads.available() ? ThreadMode.PLATFORM : threadMode;
+        if (this.threadMode != threadMode) {
+            log.warn("Virtual threads are not available on Java {}, serving requests on Tomcat's thread pool",
+                    Runtime.version().feature());
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> requestThreadCustomizer() {
+        return protocolHandler -> {
+            if (threadMode == ThreadMode.VIRTUAL) {
+                protocolHandler.setExecutor(VirtualThreads.newPerTaskExecutor());
+            }
+            log.info("Serving requests on {} threads", threadMode.name().toLowerCase());
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package org.trading.system.common.constants;
+
+public enum AccountUpdateType {
+
+    RESET,
+
+    WALLET,
+
+    HOLDING
+}
@@ -0,0 +1,12 @@
+package org.trading.system.common.constants;
+
+public enum OrderStatus {
+
+    OPEN,
+
+    PARTIALLY_FILLED,
+
+    FILLED,
+
+    CANCELLED
+}
@@ -0,0 +1,8 @@
+package org.trading.system.common.constants;
+
+public enum OrderType {
+
+    LIMIT,
+
+    MARKET
+}
@@ -0,0 +1,12 @@
+package org.trading.system.common.constants;
+
+public enum TradeStatus {
+
+    QUEUED,
+
+    RUNNING,
+
+    SUCCEEDED,
+
+    FAILED
+}
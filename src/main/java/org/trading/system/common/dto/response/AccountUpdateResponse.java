@@ -0,0 +1,26 @@
+package org.trading.system.common.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import org.trading.system.common.constants.AccountUpdateType;
+import org.trading.system.common.util.Money;
+
+/**
+ * One change to a user's account. {@code WALLET} carries the new balance, {@code HOLDING} the new
+ * quantity and mark price of one asset (quantity 0 once it is sold out) and the portfolio's new value.
+ * {@code RESET} tells the client to drop what it holds: the whole account follows.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountUpdateResponse {
+    private long sequence;
+    private AccountUpdateType type;
+    private String userId;
+    private Money balance;
+    private String assetId;
+    private Integer quantity;
+    private Money price;
+    private Money portfolioValue;
+}
@@ -36,6 +36,14 @@ public class ApiResponse <T>{
                 .build();
     }
 
+    public static <T> ApiResponse<T> accepted(T data) {
+        return ApiResponse.<T>builder()
+                .data(data)
+                .code(HttpStatus.ACCEPTED.value())
+                .message("Request Accepted For Processing")
+                .build();
+    }
+
     public static <T> ApiResponse<T> error(int statusCode, List<String> errors) {
         return ApiResponse.<T>builder()
                 .errors(errors)
@@ -4,12 +4,20 @@ import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 @Getter
-public class TradeCompletedEvent extends ApplicationEvent {
+public class TradeCompletedEvent extends ApplicationEvent implements UserScopedEvent {
 
     private final String userId;
 
+    // The trade's journal sequence, or 0 when the journal is off.
+    private final long journalSequence;
+
     public TradeCompletedEvent(Object source, String userId){
+        this(source, userId, 0);
+    }
+
+    public TradeCompletedEvent(Object source, String userId, long journalSequence){
         super(source);
         this.userId = userId;
+        this.journalSequence = journalSequence;
     }
 }
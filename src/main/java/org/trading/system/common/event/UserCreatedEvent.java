@@ -4,7 +4,7 @@ import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 @Getter
-public class UserCreatedEvent extends ApplicationEvent {
+public class UserCreatedEvent extends ApplicationEvent implements UserScopedEvent {
 
     private final String userId;
 
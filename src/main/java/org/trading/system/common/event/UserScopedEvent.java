@@ -0,0 +1,10 @@
+package org.trading.system.common.event;
+
+/**
+ * Marks events that belong to one user. The event bus keeps events with the same
+ * userId in publication order for each listener.
+ */
+public interface UserScopedEvent {
+
+    String getUserId();
+}
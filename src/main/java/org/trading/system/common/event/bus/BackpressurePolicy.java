@@ -0,0 +1,19 @@
+package org.trading.system.common.event.bus;
+
+/**
+ * What the publishing thread does when a listener's queue is full.
+ */
+public enum BackpressurePolicy {
+
+    /** Wait for the listener to free a slot. */
+    BLOCK,
+
+    /** Discard the oldest queued event for that lane and enqueue the new one. */
+    DROP_OLDEST,
+
+    /**
+     * Handle the event on the publishing thread. Events already queued for the same user may
+     * then be handled after it.
+     */
+    CALLER_RUNS
+}
@@ -0,0 +1,128 @@
+package org.trading.system.common.event.bus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.trading.system.common.event.UserScopedEvent;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Receives events published through {@link org.springframework.context.ApplicationEventPublisher}
+ * and hands them to {@link DomainEventListener} methods on per-listener worker threads, so
+ * publishers no longer wait for the handlers to run.
+ */
+@Component
+@Slf4j
+public class DomainEventBus implements ApplicationListener<ApplicationEvent>, SmartInitializingSingleton, DisposableBean {
+
+    private final ApplicationContext applicationContext;
+    private final MeterRegistry meterRegistry;
+    private final int workersPerListener;
+    private final int queueCapacity;
+    private final BackpressurePolicy backpressurePolicy;
+    private final long shutdownTimeoutMillis;
+
+    private final List<ListenerChannel> channels = new CopyOnWriteArrayList<>();
+    private volatile Map<Class<?>, List<ListenerChannel>> channelsByEventType = new ConcurrentHashMap<>();
+
+    public DomainEventBus(ApplicationContext applicationContext,
+                          MeterRegistry meterRegistry,
+                          @Value("${trading.events.workers-per-listener:4}") int workersPerListener,
+                          @Value("${trading.events.queue-capacity:1024}") int queueCapacity,
+                          @Value("${trading.events.backpressure:BLOCK}") BackpressurePolicy backpressurePolicy,
+                          @Value("${trading.events.shutdown-timeout-ms:5000}") long shutdownTimeoutMillis) {
+        this.applicationContext = applicationContext;
+        this.meterRegistry = meterRegistry;
+        this.workersPerListener = Math.max(1, workersPerListener);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.backpressurePolicy = backpressurePolicy;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : applicationContext.getBeanDefinitionNames()) {
+            Class<?> beanType = applicationContext.getType(beanName);
+            if (beanType != null && !findHandlers(beanType).isEmpty()) {
+                register(beanName, applicationContext.getBean(beanName));
+            }
+        }
+    }
+
+    public synchronized void register(String name, Object listener) {
+        Map<Class<?>, Method> handlers = findHandlers(AopUtils.getTargetClass(listener));
+        if (handlers.isEmpty()) {
+            throw new IllegalArgumentException("No @DomainEventListener methods on " + listener.getClass().getName());
+        }
+
+        ListenerChannel channel = new ListenerChannel(name, listener, handlers, workersPerListener, queueCapacity,
+                backpressurePolicy, meterRegistry);
+        channel.start();
+        channels.add(channel);
+        channelsByEventType = new ConcurrentHashMap<>();
+        log.info("Registered event listener {} for {} with {} workers, queue capacity {} and {} backpressure",
+                name, handlers.keySet().stream().map(Class::getSimpleName).toList(),
+                workersPerListener, queueCapacity, backpressurePolicy);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        List<ListenerChannel> targets = channelsByEventType.computeIfAbsent(event.getClass(), this::channelsFor);
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        String key = event instanceof UserScopedEvent userScopedEvent ? userScopedEvent.getUserId() : null;
+        for (ListenerChannel channel : targets) {
+            channel.dispatch(event, key);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        for (ListenerChannel channel : channels) {
+            channel.shutdown(shutdownTimeoutMillis);
+        }
+    }
+
+    private List<ListenerChannel> channelsFor(Class<?> eventType) {
+        return channels.stream()
+                .filter(channel -> channel.supports(eventType))
+                .toList();
+    }
+
+    private static Map<Class<?>, Method> findHandlers(Class<?> beanType) {
+        Map<Method, DomainEventListener> annotated = MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<DomainEventListener>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, DomainEventListener.class));
+
+        Map<Class<?>, Method> handlers = new HashMap<>();
+        annotated.forEach((method, annotation) -> {
+            if (method.getParameterCount() != 1) {
+                throw new IllegalStateException("@DomainEventListener method must take exactly one event: " + method);
+            }
+            Class<?>[] eventTypes = annotation.value().length > 0
+                    ? annotation.value()
+                    : new Class<?>[]{method.getParameterTypes()[0]};
+            for (Class<?> eventType : eventTypes) {
+                handlers.put(eventType, method);
+            }
+        });
+        return handlers;
+    }
+}
@@ -0,0 +1,18 @@
+package org.trading.system.common.event.bus;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a bean method as a handler dispatched by {@link DomainEventBus} on the listener's own
+ * worker threads instead of the publishing thread. When no event types are given the
+ * method's single parameter type is used.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DomainEventListener {
+
+    Class<? extends ApplicationEvent>[] value() default {};
+}
@@ -0,0 +1,214 @@
+package org.trading.system.common.event.bus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues and worker threads for one listener bean. Each lane is a bounded queue drained by a
+ * single thread, and an event always goes to the lane picked by its key, so events sharing a
+ * key are handled in the order they were published.
+ */
+@Slf4j
+class ListenerChannel {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    @Getter
+    private final String name;
+    private final Object bean;
+    private final Map<Class<?>, Method> handlers;
+    private final BackpressurePolicy backpressurePolicy;
+    private final BlockingQueue<Envelope>[] lanes;
+    private final Thread[] workers;
+
+    private final Timer lagTimer;
+    private final Timer handleTimer;
+    private final Counter droppedCounter;
+    private final Counter callerRunsCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    ListenerChannel(String name, Object bean, Map<Class<?>, Method> handlers, int workerCount, int queueCapacity,
+                    BackpressurePolicy backpressurePolicy, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.bean = bean;
+        this.handlers = Map.copyOf(handlers);
+        this.backpressurePolicy = backpressurePolicy;
+        this.lanes = new BlockingQueue[workerCount];
+        this.workers = new Thread[workerCount];
+
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<Envelope> lane = new ArrayBlockingQueue<>(queueCapacity);
+            lanes[i] = lane;
+            workers[i] = new Thread(() -> drain(lane), "event-" + name + "-" + i);
+            workers[i].setDaemon(true);
+        }
+
+        Gauge.builder("trading.events.queue.depth", this, ListenerChannel::queueDepth)
+                .description("Events waiting in the listener's queues")
+                .tag("listener", name)
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("trading.events.lag")
+                .description("Time from publication until a worker picks the event up")
+                .tag("listener", name)
+                .register(meterRegistry);
+        this.handleTimer = Timer.builder("trading.events.handle")
+                .description("Time spent in the listener's handler")
+                .tag("listener", name)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("trading.events.dropped")
+                .description("Queued events discarded by the drop-oldest policy")
+                .tag("listener", name)
+                .register(meterRegistry);
+        this.callerRunsCounter = Counter.builder("trading.events.caller.runs")
+                .description("Events handled on the publishing thread because the queue was full")
+                .tag("listener", name)
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("trading.events.failed")
+                .description("Handler invocations that threw")
+                .tag("listener", name)
+                .register(meterRegistry);
+    }
+
+    void start() {
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    boolean supports(Class<?> eventType) {
+        return handlerFor(eventType) != null;
+    }
+
+    void dispatch(ApplicationEvent event, String key) {
+        if (!running) {
+            handle(event);
+            return;
+        }
+
+        BlockingQueue<Envelope> lane = lanes[laneFor(key)];
+        Envelope envelope = new Envelope(event, System.nanoTime());
+        if (lane.offer(envelope)) {
+            return;
+        }
+
+        switch (backpressurePolicy) {
+            case BLOCK -> {
+                try {
+                    lane.put(envelope);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.error("Interrupted while queueing {} for listener {}, handling it inline",
+                            event.getClass().getSimpleName(), name);
+                    handle(event);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!lane.offer(envelope)) {
+                    Envelope dropped = lane.poll();
+                    if (dropped != null) {
+                        droppedCounter.increment();
+                        log.error("Queue full for listener {}, dropped {}", name, dropped.event().getClass().getSimpleName());
+                    }
+                }
+            }
+            case CALLER_RUNS -> {
+                callerRunsCounter.increment();
+                handle(event);
+            }
+        }
+    }
+
+    void shutdown(long timeoutMillis) {
+        running = false;
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (worker.isAlive()) {
+                log.error("Listener {} did not drain within {} ms", name, timeoutMillis);
+                worker.interrupt();
+            }
+        }
+    }
+
+    int queueDepth() {
+        int depth = 0;
+        for (BlockingQueue<Envelope> lane : lanes) {
+            depth += lane.size();
+        }
+        return depth;
+    }
+
+    int laneFor(String key) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), lanes.length);
+    }
+
+    private void drain(BlockingQueue<Envelope> lane) {
+        while (running || !lane.isEmpty()) {
+            Envelope envelope;
+            try {
+                envelope = lane.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (envelope != null) {
+                lagTimer.record(System.nanoTime() - envelope.publishedAt(), TimeUnit.NANOSECONDS);
+                handle(envelope.event());
+            }
+        }
+    }
+
+    private void handle(ApplicationEvent event) {
+        Method handler = handlerFor(event.getClass());
+        long start = System.nanoTime();
+        try {
+            ReflectionUtils.makeAccessible(handler);
+            handler.invoke(bean, event);
+        } catch (InvocationTargetException e) {
+            failedCounter.increment();
+            log.error("Listener {} failed to handle {}", name, event.getClass().getSimpleName(), e.getTargetException());
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("Listener {} failed to handle {}", name, event.getClass().getSimpleName(), e);
+        } finally {
+            handleTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Method handlerFor(Class<?> eventType) {
+        Method handler = handlers.get(eventType);
+        if (handler != null) {
+            return handler;
+        }
+        for (Map.Entry<Class<?>, Method> entry : handlers.entrySet()) {
+            if (entry.getKey().isAssignableFrom(eventType)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private record Envelope(ApplicationEvent event, long publishedAt) {
+    }
+}
@@ -0,0 +1,194 @@
+package org.trading.system.common.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.trading.system.common.dto.response.ApiResponse;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response to each {@code Idempotency-Key} for {@code ttl-seconds}, keeping at most
+ * {@code max-entries} keys. The first request with a key runs; a retry gets the stored response
+ * back, and a duplicate that arrives while the first is still running waits for its result. Keys are
+ * scoped by operation and user, and a key reused with a different request is refused.
+ * <p>
+ * A 503 means the request was refused or undone before it changed anything, so it is handed to the
+ * requests already waiting but not stored, and a later retry runs again. Every other response is
+ * stored, including a 504 or 500 whose outcome is unknown: running such a request again could apply
+ * it twice. Entries leave in the order they were created, which is also the order they expire in.
+ */
+@Component
+@Slf4j
+public class IdempotencyCache {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ArrayDeque<Entry> byAge = new ArrayDeque<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter expiredCounter;
+    private final Counter sizeEvictionCounter;
+
+    @Autowired
+    public IdempotencyCache(MeterRegistry meterRegistry,
+                            @Value("${trading.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${trading.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this(meterRegistry, maxEntries, ttlSeconds, System::nanoTime);
+    }
+
+    IdempotencyCache(MeterRegistry meterRegistry, int maxEntries, long ttlSeconds, LongSupplier nanoClock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, ttlSeconds));
+        this.nanoClock = nanoClock;
+        this.hitCounter = Counter.builder("trading.idempotency.requests")
+                .description("Requests with an idempotency key, by whether a response was already known")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("trading.idempotency.requests")
+                .description("Requests with an idempotency key, by whether a response was already known")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("trading.idempotency.evictions")
+                .description("Idempotency keys forgotten, by cause")
+                .tag("cause", "expired")
+                .register(meterRegistry);
+        this.sizeEvictionCounter = Counter.builder("trading.idempotency.evictions")
+                .description("Idempotency keys forgotten, by cause")
+                .tag("cause", "size")
+                .register(meterRegistry);
+        Gauge.builder("trading.idempotency.entries", entries, ConcurrentHashMap::size)
+                .description("Idempotency keys currently remembered")
+                .register(meterRegistry);
+        log.info("Idempotency cache keeps up to {} keys for {} seconds", this.maxEntries, Math.max(1, ttlSeconds));
+    }
+
+    /**
+     * Runs {@code action} once per {@code operation}, {@code userId} and {@code key}. Without a key the
+     * action simply runs. {@code fingerprint} describes the request so a reused key can be told apart
+     * from a retry; the action's response must not change after it is returned.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ApiResponse<T> execute(String operation, String userId, String key, String fingerprint,
+                                      Supplier<ApiResponse<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    List.of("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters"));
+        }
+
+        String scopedKey = operation + '\u0000' + userId + '\u0000' + key;
+        while (true) {
+            long now = nanoClock.getAsLong();
+            Entry existing = entries.get(scopedKey);
+            if (existing != null && now - existing.createdNanos >= ttlNanos) {
+                if (entries.remove(scopedKey, existing)) {
+                    expiredCounter.increment();
+                }
+                continue;
+            }
+            if (existing != null) {
+                if (!existing.fingerprint.equals(fingerprint)) {
+                    return ApiResponse.error(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                            List.of("Idempotency-Key was already used for a different request"));
+                }
+                ApiResponse<?> stored = awaitOrRetry(existing);
+                if (stored == null) {
+                    continue;
+                }
+                hitCounter.increment();
+                return (ApiResponse<T>) stored;
+            }
+
+            Entry entry = new Entry(scopedKey, fingerprint, now);
+            if (entries.putIfAbsent(scopedKey, entry) != null) {
+                continue;
+            }
+            missCounter.increment();
+            remember(entry, now);
+            return run(entry, action);
+        }
+    }
+
+    private <T> ApiResponse<T> run(Entry entry, Supplier<ApiResponse<T>> action) {
+        ApiResponse<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(entry.key, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        if (response.getCode() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            entries.remove(entry.key, entry);
+        }
+        entry.response.complete(response);
+        return response;
+    }
+
+    /**
+     * The stored response, or null when the request that owned the entry failed without one and the
+     * caller should try to run the action itself.
+     */
+    private static ApiResponse<?> awaitOrRetry(Entry entry) {
+        try {
+            return entry.response.join();
+        } catch (CompletionException e) {
+            return null;
+        }
+    }
+
+    private void remember(Entry entry, long now) {
+        synchronized (byAge) {
+            byAge.addLast(entry);
+            Entry oldest;
+            while ((oldest = byAge.peekFirst()) != null) {
+                boolean expired = now - oldest.createdNanos >= ttlNanos;
+                if (!expired && byAge.size() <= maxEntries) {
+                    break;
+                }
+                byAge.pollFirst();
+                if (entries.remove(oldest.key, oldest)) {
+                    (expired ? expiredCounter : sizeEvictionCounter).increment();
+                }
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final String fingerprint;
+        private final long createdNanos;
+        private final CompletableFuture<ApiResponse<?>> response = new CompletableFuture<>();
+
+        private Entry(String key, String fingerprint, long createdNanos) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.trading.system.common.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class StripedLockManager {
+
+    private final ReentrantLock[] locks;
+    private final Timer[] waitTimers;
+    private final Counter[] contentionCounters;
+    private final int mask;
+
+    public StripedLockManager(MeterRegistry meterRegistry,
+                              @Value("${trading.lock.stripes:256}") int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.mask = size - 1;
+        this.locks = new ReentrantLock[size];
+        this.waitTimers = new Timer[size];
+        this.contentionCounters = new Counter[size];
+
+        for (int i = 0; i < size; i++) {
+            String stripe = String.valueOf(i);
+            locks[i] = new ReentrantLock();
+            waitTimers[i] = Timer.builder("trading.lock.wait")
+                    .description("Time spent waiting to acquire a per-user lock stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            contentionCounters[i] = Counter.builder("trading.lock.contended")
+                    .description("Lock acquisitions that found the stripe already held")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+        log.info("Initialised striped lock manager with {} stripes", size);
+    }
+
+    public <T> T executeLocked(String key, Supplier<T> action) {
+        int stripe = stripeFor(key);
+        ReentrantLock lock = locks[stripe];
+
+        if (lock.tryLock()) {
+            waitTimers[stripe].record(0, TimeUnit.NANOSECONDS);
+        } else {
+            contentionCounters[stripe].increment();
+            long start = System.nanoTime();
+            lock.lock();
+            waitTimers[stripe].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code action} holding the locks of both keys, taken in stripe order so two callers
+     * locking the same pair the other way round cannot deadlock.
+     */
+    public <T> T executeLocked(String first, String second, Supplier<T> action) {
+        int firstStripe = stripeFor(first);
+        int secondStripe = stripeFor(second);
+        if (firstStripe == secondStripe) {
+            return executeLocked(first, action);
+        }
+        String outer = firstStripe < secondStripe ? first : second;
+        String inner = firstStripe < secondStripe ? second : first;
+        return executeLocked(outer, () -> executeLocked(inner, action));
+    }
+
+    public int stripeFor(String key) {
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    public int getStripeCount() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,65 @@
+package org.trading.system.common.reactive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Adapts the synchronous services to the reactive web layer. Reads of in-memory state finish in
+ * microseconds and run on the event loop; calls that can wait on a user lock, the journal's fsync or
+ * a fan-out join run on a bounded elastic scheduler of {@code service-threads} threads, so they
+ * never stall the connections sharing an event loop.
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class ServiceScheduler implements DisposableBean {
+
+    private final Scheduler scheduler;
+    private final Timer handOffTimer;
+
+    public ServiceScheduler(MeterRegistry meterRegistry,
+                            @Value("${trading.reactive.service-threads:64}") int threads,
+                            @Value("${trading.reactive.queue-capacity:10000}") int queueCapacity) {
+        this.scheduler = Schedulers.newBoundedElastic(Math.max(1, threads), Math.max(1, queueCapacity), "service");
+        this.handOffTimer = Timer.builder("trading.reactive.handoff")
+                .description("Time a blocking service call waited for a service thread")
+                .register(meterRegistry);
+        log.info("Reactive web layer runs blocking service calls on up to {} threads", Math.max(1, threads));
+    }
+
+    /**
+     * A service call that only reads or updates in-memory state without waiting.
+     */
+    public <T> Mono<T> onEventLoop(Supplier<T> call) {
+        return Mono.fromSupplier(call);
+    }
+
+    /**
+     * A service call that may block.
+     */
+    public <T> Mono<T> offEventLoop(Supplier<T> call) {
+        return Mono.defer(() -> {
+            long queuedAt = System.nanoTime();
+            return Mono.fromSupplier(() -> {
+                handOffTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return call.get();
+            }).subscribeOn(scheduler);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
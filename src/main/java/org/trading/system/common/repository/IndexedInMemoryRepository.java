@@ -0,0 +1,187 @@
+package org.trading.system.common.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+public abstract class IndexedInMemoryRepository<T> {
+
+    private final Map<String, T> store = new ConcurrentHashMap<>();
+    private final List<UniqueIndex<T>> indexes = new ArrayList<>();
+    private final List<MultiIndex<T>> multiIndexes = new ArrayList<>();
+    private final NavigableMap<String, T> idOrder;
+
+    protected IndexedInMemoryRepository() {
+        this(false);
+    }
+
+    /**
+     * @param keepIdOrder also keep entities in id order so {@link #pageAfter} can walk them
+     *                    without copying the store
+     */
+    protected IndexedInMemoryRepository(boolean keepIdOrder) {
+        this.idOrder = keepIdOrder ? new ConcurrentSkipListMap<>() : null;
+    }
+
+    protected abstract String idOf(T entity);
+
+    protected UniqueIndex<T> uniqueIndex(Function<T, String> keyExtractor) {
+        UniqueIndex<T> index = new UniqueIndex<>(keyExtractor, this::idOf);
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Indexes each entity under every key {@code keysExtractor} returns, for lookups where many
+     * entities share a key. Keys are re-read on every {@link #put}.
+     */
+    protected MultiIndex<T> multiIndex(Function<T, Collection<String>> keysExtractor) {
+        MultiIndex<T> index = new MultiIndex<>(keysExtractor);
+        multiIndexes.add(index);
+        return index;
+    }
+
+    protected T put(T entity) {
+        store.compute(idOf(entity), (id, previous) -> {
+            indexes.forEach(index -> index.reindex(id, entity));
+            multiIndexes.forEach(index -> index.reindex(id, previous, entity));
+            if (idOrder != null) {
+                idOrder.put(id, entity);
+            }
+            return entity;
+        });
+        return entity;
+    }
+
+    protected boolean putIfUnique(T entity, UniqueIndex<T> index) {
+        if (!index.claim(entity)) {
+            return false;
+        }
+        put(entity);
+        return true;
+    }
+
+    protected Optional<T> get(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(store.get(id));
+    }
+
+    protected Collection<T> values() {
+        return store.values();
+    }
+
+    protected List<T> pageAfter(String afterId, int limit) {
+        if (idOrder == null) {
+            throw new IllegalStateException("Repository does not keep id order");
+        }
+        Collection<T> tail = afterId == null ? idOrder.values() : idOrder.tailMap(afterId, false).values();
+        List<T> page = new ArrayList<>(Math.min(limit, idOrder.size()));
+        for (T entity : tail) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(entity);
+        }
+        return page;
+    }
+
+    protected int size() {
+        return store.size();
+    }
+
+    public static final class UniqueIndex<T> {
+
+        private final Map<String, T> entries = new ConcurrentHashMap<>();
+        private final Map<String, String> keysById = new ConcurrentHashMap<>();
+        private final Function<T, String> keyExtractor;
+        private final Function<T, String> idExtractor;
+
+        private UniqueIndex(Function<T, String> keyExtractor, Function<T, String> idExtractor) {
+            this.keyExtractor = keyExtractor;
+            this.idExtractor = idExtractor;
+        }
+
+        public Optional<T> find(String key) {
+            if (key == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(entries.get(key));
+        }
+
+        private boolean claim(T entity) {
+            String key = keyExtractor.apply(entity);
+            if (key == null) {
+                return true;
+            }
+            T owner = entries.putIfAbsent(key, entity);
+            return owner == null || idExtractor.apply(owner).equals(idExtractor.apply(entity));
+        }
+
+        private void reindex(String id, T entity) {
+            String key = keyExtractor.apply(entity);
+            String previousKey = key == null ? keysById.remove(id) : keysById.put(id, key);
+            if (previousKey != null && !previousKey.equals(key)) {
+                entries.computeIfPresent(previousKey,
+                        (k, indexed) -> id.equals(idExtractor.apply(indexed)) ? null : indexed);
+            }
+            if (key != null) {
+                entries.put(key, entity);
+            }
+        }
+    }
+
+    public static final class MultiIndex<T> {
+
+        private final Map<String, Set<T>> entries = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> keysById = new ConcurrentHashMap<>();
+        private final Function<T, Collection<String>> keysExtractor;
+
+        private MultiIndex(Function<T, Collection<String>> keysExtractor) {
+            this.keysExtractor = keysExtractor;
+        }
+
+        /**
+         * Live view of the entities indexed under {@code key}; iteration is weakly consistent.
+         */
+        public Collection<T> find(String key) {
+            if (key == null) {
+                return List.of();
+            }
+            Set<T> matches = entries.get(key);
+            return matches == null ? List.of() : matches;
+        }
+
+        private void reindex(String id, T previous, T entity) {
+            // Kept per entity for its lifetime, so stored in the compact immutable form.
+            Set<String> keys = Set.copyOf(keysExtractor.apply(entity));
+            Set<String> previousKeys = keysById.put(id, keys);
+            if (previousKeys != null) {
+                for (String key : previousKeys) {
+                    if (!keys.contains(key) || previous != entity) {
+                        entries.computeIfPresent(key, (k, indexed) -> {
+                            indexed.remove(previous);
+                            return indexed.isEmpty() ? null : indexed;
+                        });
+                    }
+                }
+            }
+            for (String key : keys) {
+                // Added inside compute so a concurrent removal cannot drop the set this lands in.
+                entries.compute(key, (k, indexed) -> {
+                    indexed = indexed == null ? ConcurrentHashMap.newKeySet() : indexed;
+                    indexed.add(entity);
+                    return indexed;
+                });
+            }
+        }
+    }
+}
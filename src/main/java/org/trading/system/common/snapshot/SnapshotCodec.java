@@ -0,0 +1,131 @@
+package org.trading.system.common.snapshot;
+
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.userManagement.model.User;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field-by-field encoding of the entities in a snapshot block. A user entry carries the user, its
+ * wallet and portfolio, and the journal sequence it was captured at, so all three always come back
+ * from the same moment.
+ */
+final class SnapshotCodec {
+
+    private SnapshotCodec() {
+    }
+
+    static void writeUser(DataOutput out, User user, Wallet wallet, Portfolio portfolio, long journalFence)
+            throws IOException {
+        writeString(out, user.getUserId());
+        writeString(out, user.getUsername());
+        User.GemTally gems = user.gemTally();
+        out.writeLong(gems.gemsCount());
+        out.writeInt(gems.tradeCount());
+        out.writeLong(gems.journalSequence());
+        out.writeLong(journalFence);
+
+        out.writeBoolean(wallet != null);
+        if (wallet != null) {
+            writeString(out, wallet.getWalletId());
+            out.writeLong(wallet.getBalanceMinorUnits());
+        }
+
+        out.writeBoolean(portfolio != null);
+        if (portfolio != null) {
+            writeString(out, portfolio.getPortfolioId());
+            writeMoney(out, portfolio.getValue());
+            // One copy, so the count written matches the holdings that follow.
+            List<Asset> assets = new ArrayList<>(portfolio.getAssets().values());
+            out.writeInt(assets.size());
+            for (Asset asset : assets) {
+                writeAsset(out, asset);
+            }
+        }
+    }
+
+    static RestoredUser readUser(DataInput in, SymbolTable symbols) throws IOException {
+        User user = User.builder()
+                .userId(readString(in))
+                .username(readString(in))
+                .gemsCount(in.readLong())
+                .tradeCount(in.readInt())
+                .gemsJournalSequence(in.readLong())
+                .build();
+        long journalFence = in.readLong();
+
+        Wallet wallet = null;
+        if (in.readBoolean()) {
+            wallet = Wallet.builder().walletId(readString(in)).userId(user.getUserId()).build();
+            wallet.setBalanceMinorUnits(in.readLong());
+        }
+
+        Portfolio portfolio = null;
+        if (in.readBoolean()) {
+            portfolio = Portfolio.builder()
+                    .portfolioId(readString(in))
+                    .userId(user.getUserId())
+                    .value(readMoney(in))
+                    .holdings(new Holdings(symbols))
+                    .build();
+            int holdings = in.readInt();
+            Map<String, Asset> assets = portfolio.getAssets();
+            for (int i = 0; i < holdings; i++) {
+                Asset asset = readAsset(in);
+                assets.put(asset.getAssetId(), asset);
+            }
+        }
+        return new RestoredUser(user, wallet, portfolio, journalFence);
+    }
+
+    static void writeAsset(DataOutput out, Asset asset) throws IOException {
+        writeString(out, asset.getAssetId());
+        writeString(out, asset.getName());
+        out.writeInt(asset.getQuantity());
+        writeMoney(out, asset.getPrice());
+    }
+
+    static Asset readAsset(DataInput in) throws IOException {
+        return Asset.builder()
+                .assetId(readString(in))
+                .name(readString(in))
+                .quantity(in.readInt())
+                .price(readMoney(in))
+                .build();
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeMoney(DataOutput out, Money value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMinorUnits());
+        }
+    }
+
+    private static Money readMoney(DataInput in) throws IOException {
+        return in.readBoolean() ? Money.ofMinorUnits(in.readLong()) : null;
+    }
+
+    record RestoredUser(User user, Wallet wallet, Portfolio portfolio, long journalFence) {
+    }
+}
@@ -0,0 +1,437 @@
+package org.trading.system.common.snapshot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.rankingManagement.repository.LeaderBoardRepository;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.WalletRepository;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.UserManagementRepository;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Writes every user with its wallet and portfolio, plus the asset catalog, to one binary file while
+ * trading continues, and loads it back in parallel at startup.
+ * <p>
+ * Each user is captured under its {@link StripedLockManager} stripe together with the journal's last
+ * sequence at that moment. Trades and top-ups for that user are journalled under the same stripe, so
+ * the user's journal records up to that sequence are in the snapshot and later ones are not; replay
+ * uses it as a per-user fence. Gem and trade counts are updated later by the trade event listener,
+ * which takes no stripe; it counts a trade together with that trade's journal sequence under the
+ * user's own monitor, and the snapshot reads both under it too. Replay counts the user's trades
+ * above that gem fence, so a trade whose event was still queued is not lost.
+ * <p>
+ * The file is a header followed by blocks of up to {@value #USERS_PER_BLOCK} users, each with its own
+ * CRC32C and optionally deflated, then an end block with the user count. Blocks decode independently,
+ * which is what lets restore spread them over threads.
+ */
+@Component
+@Slf4j
+public class SnapshotService implements DisposableBean {
+
+    static final int MAGIC = 0x54534E50;
+    static final int VERSION = 3;
+    static final int USERS_PER_BLOCK = 4096;
+
+    private static final byte END_BLOCK = 0;
+    private static final byte CATALOG_BLOCK = 1;
+    private static final byte USER_BLOCK = 2;
+
+    private final UserManagementRepository userManagementRepository;
+    private final WalletRepository walletRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final AssetRepository assetRepository;
+    private final LeaderBoardRepository leaderBoardRepository;
+    private final StripedLockManager lockManager;
+    private final TradeJournal tradeJournal;
+    private final SymbolTable symbols;
+
+    private final boolean enabled;
+    private final Path file;
+    private final boolean compress;
+    private final boolean snapshotOnShutdown;
+    private final int restoreParallelism;
+    private final ScheduledExecutorService scheduler;
+
+    private final Timer writeTimer;
+    private final Timer restoreTimer;
+
+    public SnapshotService(UserManagementRepository userManagementRepository,
+                           WalletRepository walletRepository,
+                           PortfolioRepository portfolioRepository,
+                           AssetRepository assetRepository,
+                           LeaderBoardRepository leaderBoardRepository,
+                           StripedLockManager lockManager,
+                           TradeJournal tradeJournal,
+                           SymbolTable symbols,
+                           MeterRegistry meterRegistry,
+                           @Value("${trading.snapshot.enabled:true}") boolean enabled,
+                           @Value("${trading.snapshot.file:data/snapshot.bin}") String file,
+                           @Value("${trading.snapshot.compress:true}") boolean compress,
+                           @Value("${trading.snapshot.interval-seconds:300}") long intervalSeconds,
+                           @Value("${trading.snapshot.on-shutdown:true}") boolean snapshotOnShutdown,
+                           @Value("${trading.snapshot.restore-parallelism:0}") int restoreParallelism) {
+        this.userManagementRepository = userManagementRepository;
+        this.walletRepository = walletRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.assetRepository = assetRepository;
+        this.leaderBoardRepository = leaderBoardRepository;
+        this.lockManager = lockManager;
+        this.tradeJournal = tradeJournal;
+        this.symbols = symbols;
+        this.enabled = enabled;
+        this.file = Path.of(file);
+        this.compress = compress;
+        this.snapshotOnShutdown = snapshotOnShutdown;
+        this.restoreParallelism = restoreParallelism > 0 ? restoreParallelism : Runtime.getRuntime().availableProcessors();
+
+        this.writeTimer = Timer.builder("trading.snapshot.write")
+                .description("Time to write a snapshot of all stores")
+                .register(meterRegistry);
+        this.restoreTimer = Timer.builder("trading.snapshot.restore")
+                .description("Time to load the snapshot at startup")
+                .register(meterRegistry);
+
+        if (enabled && intervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "snapshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Writes a new snapshot next to the current one and swaps it in, so a crash mid-write leaves the
+     * previous snapshot intact. Returns the number of users written.
+     */
+    public synchronized long snapshot() throws IOException {
+        if (!enabled) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+
+        long users;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     Channels.newOutputStream(channel), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeBoolean(compress);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(tradeJournal.lastSequence());
+
+            try (BlockWriter blocks = new BlockWriter(out, compress)) {
+                for (Asset asset : assetRepository.findAll()) {
+                    SnapshotCodec.writeAsset(blocks.entry(), asset);
+                }
+                blocks.flush(CATALOG_BLOCK);
+
+                users = 0;
+                for (User user : userManagementRepository.findAll()) {
+                    lockManager.executeLocked(user.getUserId(), () -> {
+                        captureUser(blocks.entry(), user);
+                        return null;
+                    });
+                    if (++users % USERS_PER_BLOCK == 0) {
+                        blocks.flush(USER_BLOCK);
+                    }
+                }
+                blocks.flush(USER_BLOCK);
+            }
+
+            out.writeByte(END_BLOCK);
+            out.writeLong(users);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        long elapsed = System.nanoTime() - start;
+        writeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Wrote snapshot of {} users ({} bytes) to {} in {} ms", users, Files.size(file),
+                file.toAbsolutePath(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return users;
+    }
+
+    /**
+     * Loads the snapshot into the repositories and leaderboard and returns, per user, the journal
+     * sequence the snapshot already covers. Returns an empty map when there is no snapshot; a snapshot
+     * that fails its checks stops startup rather than leaving half-restored state behind.
+     */
+    public Map<String, Long> restore() {
+        if (!enabled || !Files.exists(file)) {
+            return Map.of();
+        }
+
+        long start = System.nanoTime();
+        Map<String, Long> journalFences = new ConcurrentHashMap<>();
+        AtomicLong restoredUsers = new AtomicLong();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(restoreParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-restore-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Bounds how many read-but-undecoded blocks sit in memory.
+        Semaphore inFlight = new Semaphore(restoreParallelism * 2);
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("Not a snapshot: " + file.toAbsolutePath());
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                // The journal still holds every trade, so an older format is skipped rather than migrated.
+                log.warn("Ignoring version {} snapshot {}; expected version {}", version, file.toAbsolutePath(), VERSION);
+                return Map.of();
+            }
+            boolean compressed = in.readBoolean();
+            in.readLong();
+            long journalSequence = in.readLong();
+
+            List<Future<?>> decoded = new ArrayList<>();
+            byte kind;
+            while ((kind = in.readByte()) != END_BLOCK) {
+                Block block = Block.read(in, kind);
+                if (kind == CATALOG_BLOCK) {
+                    // The catalog goes first so holdings never restore ahead of it.
+                    applyCatalog(block, compressed);
+                    continue;
+                }
+                inFlight.acquireUninterruptibly();
+                decoded.add(pool.submit(() -> {
+                    try {
+                        restoredUsers.addAndGet(applyUsers(block, compressed, journalFences));
+                    } finally {
+                        inFlight.release();
+                    }
+                    return null;
+                }));
+            }
+            long expectedUsers = in.readLong();
+
+            for (Future<?> future : decoded) {
+                future.get();
+            }
+            if (restoredUsers.get() != expectedUsers) {
+                throw new IllegalStateException("Snapshot " + file.toAbsolutePath() + " lists " + expectedUsers
+                        + " users but holds " + restoredUsers.get());
+            }
+
+            long elapsed = System.nanoTime() - start;
+            restoreTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Restored {} users from snapshot at journal sequence {} on {} threads in {} ms",
+                    expectedUsers, journalSequence, restoreParallelism, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return journalFences;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read snapshot " + file.toAbsolutePath(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to restore snapshot " + file.toAbsolutePath(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while restoring snapshot", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (enabled && snapshotOnShutdown) {
+            snapshotQuietly();
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.error("Failed to write snapshot to {}", file.toAbsolutePath(), e);
+        }
+    }
+
+    private void captureUser(DataOutput out, User user) {
+        String userId = user.getUserId();
+        try {
+            SnapshotCodec.writeUser(out, user,
+                    walletRepository.findByUserId(userId).orElse(null),
+                    portfolioRepository.findByUserId(userId).orElse(null),
+                    tradeJournal.lastSequence());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void applyCatalog(Block block, boolean compressed) throws IOException {
+        DataInputStream in = block.open(compressed);
+        for (int i = 0; i < block.entries; i++) {
+            assetRepository.saveToCatalog(SnapshotCodec.readAsset(in));
+        }
+    }
+
+    private int applyUsers(Block block, boolean compressed, Map<String, Long> journalFences) throws IOException {
+        DataInputStream in = block.open(compressed);
+        for (int i = 0; i < block.entries; i++) {
+            SnapshotCodec.RestoredUser restored = SnapshotCodec.readUser(in, symbols);
+            User user = restored.user();
+            userManagementRepository.save(user);
+            if (restored.wallet() != null) {
+                walletRepository.save(restored.wallet());
+            }
+            Portfolio portfolio = restored.portfolio();
+            if (portfolio != null) {
+                portfolioRepository.save(portfolio);
+                portfolio.getAssets().values().forEach(asset -> assetRepository.save(asset, user.getUserId()));
+            }
+            leaderBoardRepository.save(user.getUserId(), user.getGemsCount());
+            journalFences.put(user.getUserId(), restored.journalFence());
+        }
+        return block.entries;
+    }
+
+    /**
+     * Buffers entries for the block being built and writes it out, checksummed and optionally
+     * deflated, when flushed.
+     */
+    private static final class BlockWriter implements AutoCloseable {
+
+        private final DataOutputStream out;
+        private final Deflater deflater;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 16);
+        private final DataOutputStream entries = new DataOutputStream(buffer);
+        private byte[] deflated = new byte[1 << 16];
+        private int count;
+
+        BlockWriter(DataOutputStream out, boolean compress) {
+            this.out = out;
+            this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        }
+
+        DataOutput entry() {
+            count++;
+            return entries;
+        }
+
+        void flush(byte kind) throws IOException {
+            if (count == 0 && kind == USER_BLOCK) {
+                return;
+            }
+            byte[] raw = buffer.toByteArray();
+            byte[] stored = raw;
+            int storedLength = raw.length;
+            if (deflater != null) {
+                deflater.reset();
+                deflater.setInput(raw);
+                deflater.finish();
+                storedLength = 0;
+                while (!deflater.finished()) {
+                    if (storedLength == deflated.length) {
+                        deflated = Arrays.copyOf(deflated, deflated.length * 2);
+                    }
+                    storedLength += deflater.deflate(deflated, storedLength, deflated.length - storedLength);
+                }
+                stored = deflated;
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(stored, 0, storedLength);
+            out.writeByte(kind);
+            out.writeInt(count);
+            out.writeInt(raw.length);
+            out.writeInt(storedLength);
+            out.writeInt((int) crc.getValue());
+            out.write(stored, 0, storedLength);
+
+            buffer.reset();
+            count = 0;
+        }
+
+        @Override
+        public void close() {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private record Block(byte kind, int entries, int rawLength, byte[] stored, int checksum) {
+
+        static Block read(DataInputStream in, byte kind) throws IOException {
+            if (kind != CATALOG_BLOCK && kind != USER_BLOCK) {
+                throw new IOException("Unknown snapshot block kind " + kind);
+            }
+            int entries = in.readInt();
+            int rawLength = in.readInt();
+            byte[] stored = new byte[in.readInt()];
+            int checksum = in.readInt();
+            in.readFully(stored);
+            return new Block(kind, entries, rawLength, stored, checksum);
+        }
+
+        DataInputStream open(boolean compressed) throws IOException {
+            CRC32C crc = new CRC32C();
+            crc.update(stored);
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Snapshot block checksum mismatch");
+            }
+            if (!compressed) {
+                return new DataInputStream(new ByteArrayInputStream(stored));
+            }
+
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(stored);
+                byte[] raw = new byte[rawLength];
+                if (inflater.inflate(raw) != rawLength || !inflater.finished()) {
+                    throw new IOException("Snapshot block does not inflate to " + rawLength + " bytes");
+                }
+                return new DataInputStream(new ByteArrayInputStream(raw));
+            } catch (DataFormatException e) {
+                throw new IOException("Snapshot block is not valid deflate data", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.trading.system.common.stream;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.trading.system.common.constants.AccountUpdateType;
+import org.trading.system.common.dto.response.AccountUpdateResponse;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One client's stream of a user's account, opened by {@link AccountStreamHub#open}. Changed items
+ * wait here in the order they first changed until the {@link Sink} is ready for them; an item that
+ * changes again while waiting keeps its place and is sent once, with its value at sending time.
+ */
+@Slf4j
+public final class AccountStream {
+
+    public interface Sink {
+
+        /**
+         * Sends one update. Runs on a dispatch thread, never on the thread that changed the account.
+         */
+        void send(AccountUpdateResponse update) throws Exception;
+
+        /**
+         * Whether another update can be sent now. A sink that answers false calls
+         * {@link AccountStream#wake()} once it can take more.
+         */
+        default boolean ready() {
+            return true;
+        }
+    }
+
+    private final AccountStreamHub hub;
+    @Getter
+    private final String userId;
+    private final Sink sink;
+
+    // Guarded by this.
+    private final LinkedHashSet<Integer> changed = new LinkedHashSet<>();
+    private boolean reset;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    // Only touched by the delivery holding scheduled.
+    private long sequence;
+
+    AccountStream(AccountStreamHub hub, String userId, Sink sink) {
+        this.hub = hub;
+        this.userId = userId;
+        this.sink = sink;
+    }
+
+    /**
+     * Resumes delivery after the sink was not ready.
+     */
+    public void wake() {
+        schedule();
+    }
+
+    public void close() {
+        if (!closed) {
+            closed = true;
+            hub.close(this);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void changed(int item) {
+        // With changes already waiting, a delivery is either scheduled or waiting for the sink to wake it.
+        boolean idle;
+        synchronized (this) {
+            idle = !reset && changed.isEmpty();
+            if (reset || !changed.add(item)) {
+                hub.conflated();
+            } else if (changed.size() > hub.getBufferSize()) {
+                changed.clear();
+                reset = true;
+                hub.overflowed();
+            }
+        }
+        if (idle) {
+            schedule();
+        }
+    }
+
+    /**
+     * Sends the whole account: a {@code RESET}, the wallet, then every holding.
+     */
+    void reset() {
+        synchronized (this) {
+            changed.clear();
+            reset = true;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (!closed && scheduled.compareAndSet(false, true)) {
+            hub.dispatch(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        try {
+            while (!closed && sink.ready()) {
+                AccountUpdateResponse update = next();
+                if (update == null) {
+                    break;
+                }
+                update.setSequence(++sequence);
+                sink.send(update);
+                hub.delivered();
+            }
+        } catch (Exception e) {
+            log.info("Account stream for user: {} closed: {}", userId, e.toString());
+            close();
+        } finally {
+            scheduled.set(false);
+        }
+        // A change that arrived after the last look but before the flag cleared would otherwise wait.
+        if (!closed && hasPending() && sink.ready()) {
+            schedule();
+        }
+    }
+
+    private AccountUpdateResponse next() {
+        while (true) {
+            int item;
+            synchronized (this) {
+                if (reset) {
+                    reset = false;
+                    changed.clear();
+                    changed.add(AccountStreamHub.WALLET);
+                    for (int symbol : hub.heldSymbols(userId)) {
+                        changed.add(symbol);
+                    }
+                    AccountUpdateResponse start = new AccountUpdateResponse();
+                    start.setType(AccountUpdateType.RESET);
+                    start.setUserId(userId);
+                    return start;
+                }
+                Iterator<Integer> items = changed.iterator();
+                if (!items.hasNext()) {
+                    return null;
+                }
+                item = items.next();
+                items.remove();
+            }
+            AccountUpdateResponse update = hub.read(userId, item);
+            if (update != null) {
+                return update;
+            }
+        }
+    }
+
+    private synchronized boolean hasPending() {
+        return reset || !changed.isEmpty();
+    }
+}
@@ -0,0 +1,218 @@
+package org.trading.system.common.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.trading.system.common.constants.AccountUpdateType;
+import org.trading.system.common.dto.response.AccountUpdateResponse;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.WalletRepository;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes wallet and holding changes to the clients streaming a user's account. Trades, top-ups and
+ * price revaluation only mark what changed, which costs one map lookup when nobody is subscribed.
+ * Each {@link AccountStream} remembers the items changed since it last delivered, at most
+ * {@code buffer-size} of them, and reads their values only when it delivers them, so a burst of
+ * changes to one item reaches the client as its latest value. A stream that overflows starts over
+ * with the whole account.
+ * <p>
+ * Delivery runs on up to {@code dispatch-threads} threads, each stream on one of them at a time, so a
+ * slow client never holds up the thread that changed the account.
+ */
+@Component
+@Slf4j
+public class AccountStreamHub implements DisposableBean {
+
+    static final int WALLET = -1;
+
+    private static final AccountStream[] NONE = {};
+
+    private final WalletRepository walletRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final SymbolTable symbols;
+    @Getter
+    private final int bufferSize;
+    @Getter
+    private final long timeoutMillis;
+    private final ExecutorService dispatcher;
+    private final ConcurrentHashMap<String, AccountStream[]> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final Counter deliveredCounter;
+    private final Counter conflatedCounter;
+    private final Counter resetCounter;
+
+    public AccountStreamHub(WalletRepository walletRepository, PortfolioRepository portfolioRepository,
+                            SymbolTable symbols, MeterRegistry meterRegistry,
+                            @Value("${trading.stream.buffer-size:256}") int bufferSize,
+                            @Value("${trading.stream.dispatch-threads:4}") int dispatchThreads,
+                            @Value("${trading.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.walletRepository = walletRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.symbols = symbols;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(Math.max(1, dispatchThreads), Math.max(1, dispatchThreads),
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "account-stream-" + threads.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.dispatcher = executor;
+
+        Gauge.builder("trading.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients streaming account updates")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("trading.stream.updates")
+                .description("Account updates sent to clients")
+                .tag("result", "delivered")
+                .register(meterRegistry);
+        this.conflatedCounter = Counter.builder("trading.stream.updates")
+                .description("Account updates merged into one still waiting to be sent")
+                .tag("result", "conflated")
+                .register(meterRegistry);
+        this.resetCounter = Counter.builder("trading.stream.resets")
+                .description("Streams that fell too far behind and were sent the whole account again")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts streaming {@code userId}'s account to {@code sink}, beginning with all of it.
+     *
+     * @return the stream, or null if the user has no wallet or portfolio
+     */
+    public AccountStream open(String userId, AccountStream.Sink sink) {
+        if (walletRepository.findByUserId(userId).isEmpty() || portfolioRepository.findByUserId(userId).isEmpty()) {
+            return null;
+        }
+        AccountStream stream = new AccountStream(this, userId, sink);
+        streams.compute(userId, (id, current) -> {
+            AccountStream[] grown = Arrays.copyOf(current == null ? NONE : current, (current == null ? 0 : current.length) + 1);
+            grown[grown.length - 1] = stream;
+            return grown;
+        });
+        subscribers.incrementAndGet();
+        log.info("Streaming account updates for user: {}", userId);
+        stream.reset();
+        return stream;
+    }
+
+    public void walletChanged(String userId) {
+        AccountStream[] current = streams.get(userId);
+        if (current != null) {
+            for (AccountStream stream : current) {
+                stream.changed(WALLET);
+            }
+        }
+    }
+
+    public void holdingChanged(String userId, String assetId) {
+        AccountStream[] current = streams.get(userId);
+        int symbol;
+        if (current != null && (symbol = symbols.indexOf(assetId)) >= 0) {
+            for (AccountStream stream : current) {
+                stream.changed(symbol);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+    }
+
+    void close(AccountStream stream) {
+        streams.computeIfPresent(stream.getUserId(), (id, current) -> {
+            AccountStream[] remaining = Arrays.stream(current).filter(other -> other != stream).toArray(AccountStream[]::new);
+            return remaining.length == 0 ? null : remaining;
+        });
+        subscribers.decrementAndGet();
+        log.info("Stopped streaming account updates for user: {}", stream.getUserId());
+    }
+
+    void dispatch(Runnable delivery) {
+        try {
+            dispatcher.execute(delivery);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the change is dropped with the stream rather than failing the caller.
+        }
+    }
+
+    void conflated() {
+        conflatedCounter.increment();
+    }
+
+    void overflowed() {
+        resetCounter.increment();
+    }
+
+    void delivered() {
+        deliveredCounter.increment();
+    }
+
+    /**
+     * @return the symbols {@code userId} holds right now
+     */
+    int[] heldSymbols(String userId) {
+        Optional<Portfolio> portfolio = portfolioRepository.findByUserId(userId);
+        if (portfolio.isEmpty()) {
+            return new int[0];
+        }
+        int[] symbols = new int[portfolio.get().getHoldings().size()];
+        int[] next = {0};
+        portfolio.get().getHoldings().forEach((symbol, quantity, price) -> {
+            if (next[0] < symbols.length) {
+                symbols[next[0]++] = symbol;
+            }
+        });
+        return Arrays.copyOf(symbols, next[0]);
+    }
+
+    /**
+     * Reads the current value of one item, or null if the account is gone.
+     */
+    AccountUpdateResponse read(String userId, int item) {
+        AccountUpdateResponse update = new AccountUpdateResponse();
+        update.setUserId(userId);
+        if (item == WALLET) {
+            Optional<Wallet> wallet = walletRepository.findByUserId(userId);
+            if (wallet.isEmpty()) {
+                return null;
+            }
+            update.setType(AccountUpdateType.WALLET);
+            update.setBalance(wallet.get().getBalance());
+            return update;
+        }
+        Optional<Portfolio> portfolio = portfolioRepository.findByUserId(userId);
+        if (portfolio.isEmpty()) {
+            return null;
+        }
+        update.setType(AccountUpdateType.HOLDING);
+        update.setAssetId(symbols.assetIdOf(item));
+        update.setQuantity(portfolio.get().getHoldings().quantityOf(item));
+        update.setPrice(Money.ofMinorUnits(portfolio.get().getHoldings().priceOf(item)));
+        update.setPortfolioValue(portfolio.get().getValue());
+        return update;
+    }
+}
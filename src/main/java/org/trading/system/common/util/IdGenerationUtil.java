@@ -1,11 +1,18 @@
 package org.trading.system.common.util;
 
-import java.util.UUID;
-
 public class IdGenerationUtil {
 
+    private static volatile IdGenerator generator = new UuidHexIdGenerator();
+
     public static String generateId(){
-        return UUID.randomUUID().toString()
-                .replace("-","");
+        return generator.nextId();
+    }
+
+    public static void useGenerator(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+
+    public static IdGenerator currentGenerator() {
+        return generator;
     }
 }
@@ -0,0 +1,6 @@
+package org.trading.system.common.util;
+
+public interface IdGenerator {
+
+    String nextId();
+}
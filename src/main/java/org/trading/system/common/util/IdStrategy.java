@@ -0,0 +1,10 @@
+package org.trading.system.common.util;
+
+public enum IdStrategy {
+
+    /** 32-char lowercase hex of a random UUID, as ids were originally generated. */
+    UUID,
+
+    /** 11-char, time-ordered encoding of a 64-bit Snowflake id. */
+    SNOWFLAKE
+}
@@ -0,0 +1,31 @@
+package org.trading.system.common.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between API amounts and the fixed-point minor units balances are kept in.
+ * One minor unit is 1 / {@value #MINOR_UNITS_PER_MAJOR} of the currency, i.e. a cent.
+ */
+public class MoneyUtil {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_UNITS_PER_MAJOR = 100L;
+
+    private static final double MAX_MAJOR_AMOUNT = (double) Long.MAX_VALUE / MINOR_UNITS_PER_MAJOR;
+
+    public static long toMinorUnits(double amount) {
+        if (Double.isNaN(amount) || Math.abs(amount) >= MAX_MAJOR_AMOUNT) {
+            throw new ArithmeticException("Amount out of range: " + amount);
+        }
+        return Math.round(amount * MINOR_UNITS_PER_MAJOR);
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
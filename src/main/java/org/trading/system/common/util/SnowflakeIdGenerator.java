@@ -0,0 +1,88 @@
+package org.trading.system.common.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 64-bit ids laid out as 41 bits of milliseconds since {@link #EPOCH_MILLIS}, 10 bits of node id
+ * and 12 bits of per-millisecond sequence. The last timestamp and sequence share one
+ * {@link AtomicLong}, so callers never lock: a full sequence rolls into the next millisecond and
+ * a clock that steps backwards keeps counting from the last issued value, which keeps ids
+ * strictly increasing per node.
+ * <p>
+ * Ids are rendered as 11 characters from an alphabet in ASCII order, so string order matches
+ * numeric (and therefore creation) order.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    static final int ENCODED_LENGTH = 11;
+    private static final char[] ALPHABET =
+            "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int[] ALPHABET_INDEX = new int[128];
+
+    static {
+        Arrays.fill(ALPHABET_INDEX, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            ALPHABET_INDEX[ALPHABET[i]] = i;
+        }
+    }
+
+    private final long nodeBits;
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    public long nextLong() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long next;
+        long last;
+        do {
+            last = lastTimestampAndSequence.get();
+            next = now > last ? now : last + 1;
+        } while (!lastTimestampAndSequence.compareAndSet(last, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+
+    public static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 0x3F)];
+            id >>>= 6;
+        }
+        return new String(chars);
+    }
+
+    public static long decode(String encoded) {
+        if (encoded == null || encoded.length() != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Not a Snowflake id: " + encoded);
+        }
+        long id = 0;
+        for (int i = 0; i < ENCODED_LENGTH; i++) {
+            char c = encoded.charAt(i);
+            int digit = c < ALPHABET_INDEX.length ? ALPHABET_INDEX[c] : -1;
+            if (digit < 0) {
+                throw new IllegalArgumentException("Not a Snowflake id: " + encoded);
+            }
+            id = (id << 6) | digit;
+        }
+        return id;
+    }
+}
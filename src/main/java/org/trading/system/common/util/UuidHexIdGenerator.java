@@ -0,0 +1,28 @@
+package org.trading.system.common.util;
+
+import java.util.UUID;
+
+/**
+ * Random UUIDs rendered as 32 lowercase hex digits, written directly instead of formatting the
+ * dashed string and stripping the dashes.
+ */
+public class UuidHexIdGenerator implements IdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    public String nextId() {
+        UUID uuid = UUID.randomUUID();
+        char[] chars = new char[32];
+        writeHex(uuid.getMostSignificantBits(), chars, 0);
+        writeHex(uuid.getLeastSignificantBits(), chars, 16);
+        return new String(chars);
+    }
+
+    private static void writeHex(long value, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.trading.system.portfolioManagement.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.service.AssetService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@code GET api/v1/assets} response, encoded to JSON (and gzip) once per catalog version and
+ * written as those bytes until the catalog changes. Every listing and every price revaluation pass
+ * bumps {@link AssetRepository#catalogVersion()} once; a request that finds a different version than the one
+ * encoded re-encodes, so a stale body is never served once the write is visible.
+ * <p>
+ * The ETag is the body's checksum and catalog version, so a client that already has the current
+ * catalog gets a bodiless 304.
+ */
+@Component
+@Slf4j
+public class AssetCatalogCache {
+
+    private static final String GZIP_SUFFIX = "-gzip\"";
+
+    /**
+     * One encoding of the catalog response.
+     */
+    public record EncodedCatalog(long version, String etag, byte[] json, byte[] gzipped) {
+    }
+
+    private final AssetService assetService;
+    private final AssetRepository assetRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+
+    private volatile EncodedCatalog current;
+
+    private final Counter hitCounter;
+    private final Counter encodedCounter;
+    private final Counter notModifiedCounter;
+
+    public AssetCatalogCache(AssetService assetService,
+                             AssetRepository assetRepository,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${trading.assets.cache.gzip:true}") boolean gzip) {
+        this.assetService = assetService;
+        this.assetRepository = assetRepository;
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+
+        this.hitCounter = Counter.builder("trading.assets.catalog.responses")
+                .description("Asset catalog responses written from the encoded cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.encodedCounter = Counter.builder("trading.assets.catalog.responses")
+                .description("Asset catalog responses that had to encode a changed catalog")
+                .tag("result", "encoded")
+                .register(meterRegistry);
+        this.notModifiedCounter = Counter.builder("trading.assets.catalog.responses")
+                .description("Asset catalog requests answered 304 Not Modified")
+                .tag("result", "not_modified")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The catalog response for a request with these {@code If-None-Match} and
+     * {@code Accept-Encoding} headers, either of which may be null.
+     */
+    public ResponseEntity<byte[]> respond(String ifNoneMatch, String acceptEncoding) {
+        EncodedCatalog encoded = current();
+        if (matches(ifNoneMatch, encoded.etag())) {
+            notModifiedCounter.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(encoded.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (encoded.gzipped() != null && acceptsGzip(acceptEncoding)) {
+            return response.eTag(gzipTag(encoded.etag()))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(encoded.gzipped());
+        }
+        return response.eTag(encoded.etag()).body(encoded.json());
+    }
+
+    /**
+     * @return the encoding of the catalog as it is now
+     */
+    public EncodedCatalog current() {
+        EncodedCatalog encoded = current;
+        if (encoded != null && encoded.version() == assetRepository.catalogVersion()) {
+            hitCounter.increment();
+            return encoded;
+        }
+        return encode();
+    }
+
+    private synchronized EncodedCatalog encode() {
+        // The version is read before the catalog, so a write in between only makes this encoding look stale.
+        long version = assetRepository.catalogVersion();
+        EncodedCatalog encoded = current;
+        if (encoded != null && encoded.version() == version) {
+            hitCounter.increment();
+            return encoded;
+        }
+        ApiResponse<List<Asset>> response = assetService.getAllAssets();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            CRC32C checksum = new CRC32C();
+            checksum.update(json);
+            String etag = "\"" + Long.toHexString(checksum.getValue()) + "-" + version + "\"";
+            encoded = new EncodedCatalog(version, etag, json, gzip ? gzip(json) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode the asset catalog", e);
+        }
+        current = encoded;
+        encodedCounter.increment();
+        log.info("Encoded asset catalog version: {} ({} bytes)", version, encoded.json().length);
+        return encoded;
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 2 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String gzipTag(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX;
+    }
+
+    /**
+     * Whether any tag in an {@code If-None-Match} header names this catalog, in either encoding.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.endsWith(GZIP_SUFFIX)) {
+                tag = tag.substring(0, tag.length() - GZIP_SUFFIX.length()) + "\"";
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
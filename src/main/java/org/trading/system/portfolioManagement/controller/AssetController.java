@@ -2,25 +2,31 @@ package org.trading.system.portfolioManagement.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.trading.system.common.dto.response.ApiResponse;
-import org.trading.system.portfolioManagement.model.Asset;
-import org.trading.system.portfolioManagement.service.AssetService;
-
-import java.util.List;
+import org.trading.system.portfolioManagement.cache.AssetCatalogCache;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("api/v1/assets")
 @RequiredArgsConstructor
 @Slf4j
 public class AssetController {
 
-    private final AssetService assetService;
+    private final AssetCatalogCache assetCatalogCache;
 
+    /**
+     * The catalog as an {@code ApiResponse} of assets, written from bytes encoded once per catalog
+     * version; a matching {@code If-None-Match} gets 304.
+     */
     @GetMapping
-    public ApiResponse<List<Asset>> getAll(){
-        return assetService.getAllAssets();
+    public ResponseEntity<byte[]> getAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        return assetCatalogCache.respond(ifNoneMatch, acceptEncoding);
     }
 }
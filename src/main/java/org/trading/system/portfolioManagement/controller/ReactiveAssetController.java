@@ -0,0 +1,32 @@
+package org.trading.system.portfolioManagement.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.trading.system.common.reactive.ServiceScheduler;
+import org.trading.system.portfolioManagement.cache.AssetCatalogCache;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link AssetController} for the {@code reactive} profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("api/v1/assets")
+@RequiredArgsConstructor
+public class ReactiveAssetController {
+
+    private final AssetCatalogCache assetCatalogCache;
+    private final ServiceScheduler serviceScheduler;
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        return serviceScheduler.onEventLoop(() -> assetCatalogCache.respond(ifNoneMatch, acceptEncoding));
+    }
+}
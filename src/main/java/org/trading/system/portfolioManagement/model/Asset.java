@@ -1,8 +1,7 @@
 package org.trading.system.portfolioManagement.model;
 
 import lombok.*;
-
-import java.math.BigDecimal;
+import org.trading.system.common.util.Money;
 
 import static org.trading.system.common.util.IdGenerationUtil.generateId;
 
@@ -20,5 +19,5 @@ public class Asset {
 
     private int quantity;
 
-    private BigDecimal price;
+    private Money price;
 }
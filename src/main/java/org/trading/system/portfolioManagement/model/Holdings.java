@@ -0,0 +1,283 @@
+package org.trading.system.portfolioManagement.model;
+
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The assets one portfolio holds, packed into a single {@code long[]} sorted by symbol: each holding
+ * is its symbol and quantity in one long followed by the price it was last marked at, in minor
+ * units. Asset ids and names live once in the {@link SymbolTable} the holdings were created with,
+ * instead of in every holding.
+ * <p>
+ * Writes happen under the owning user's lock and replace the array wholesale, so readers outside
+ * the lock (serialisation, snapshots, the asset index) always see one consistent set of holdings.
+ */
+public final class Holdings {
+
+    private static final long[] EMPTY = {};
+    private static final int STRIDE = 2;
+
+    private final SymbolTable symbols;
+    private volatile long[] entries = EMPTY;
+
+    public Holdings(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(int symbol, int quantity, long priceMinorUnits);
+    }
+
+    public int size() {
+        return entries.length / STRIDE;
+    }
+
+    public boolean contains(int symbol) {
+        return find(entries, symbol) >= 0;
+    }
+
+    /**
+     * @return the quantity held of {@code symbol}, or 0 if it is not held
+     */
+    public int quantityOf(int symbol) {
+        long[] current = entries;
+        int index = find(current, symbol);
+        return index < 0 ? 0 : quantity(current[index]);
+    }
+
+    /**
+     * @return the price {@code symbol} was last marked at in minor units, or 0 if it is not held
+     */
+    public long priceOf(int symbol) {
+        long[] current = entries;
+        int index = find(current, symbol);
+        return index < 0 ? 0 : current[index + 1];
+    }
+
+    /**
+     * Sets the quantity and mark price of {@code symbol}, adding it if it is not held yet.
+     */
+    public void put(int symbol, int quantity, long priceMinorUnits) {
+        if (symbol < 0 || quantity < 0) {
+            throw new IllegalArgumentException("Invalid holding " + symbol + " x " + quantity);
+        }
+        long[] current = entries;
+        int index = find(current, symbol);
+        long[] updated;
+        if (index >= 0) {
+            updated = current.clone();
+        } else {
+            index = -index - 1;
+            updated = new long[current.length + STRIDE];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index, updated, index + STRIDE, current.length - index);
+        }
+        updated[index] = (long) symbol << 32 | quantity;
+        updated[index + 1] = priceMinorUnits;
+        entries = updated;
+    }
+
+    /**
+     * @return whether {@code symbol} was held
+     */
+    public boolean remove(int symbol) {
+        long[] current = entries;
+        int index = find(current, symbol);
+        if (index < 0) {
+            return false;
+        }
+        long[] updated = new long[current.length - STRIDE];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + STRIDE, updated, index, updated.length - index);
+        entries = updated;
+        return true;
+    }
+
+    /**
+     * Marks {@code symbol} at a new price.
+     *
+     * @return how much the holding's value changed, in minor units; 0 if it is not held or the price
+     * is unchanged
+     */
+    public long reprice(int symbol, long priceMinorUnits) {
+        long[] current = entries;
+        int index = find(current, symbol);
+        if (index < 0 || current[index + 1] == priceMinorUnits) {
+            return 0;
+        }
+        long change = Math.multiplyExact(Math.subtractExact(priceMinorUnits, current[index + 1]),
+                (long) quantity(current[index]));
+        long[] updated = current.clone();
+        updated[index + 1] = priceMinorUnits;
+        entries = updated;
+        return change;
+    }
+
+    /**
+     * Visits every holding in symbol order, as of the moment the call starts.
+     */
+    public void forEach(Visitor visitor) {
+        long[] current = entries;
+        for (int i = 0; i < current.length; i += STRIDE) {
+            visitor.visit(symbol(current[i]), quantity(current[i]), current[i + 1]);
+        }
+    }
+
+    /**
+     * @return the ids of the assets held, in symbol order
+     */
+    public List<String> assetIds() {
+        long[] current = entries;
+        String[] assetIds = new String[current.length / STRIDE];
+        for (int i = 0; i < assetIds.length; i++) {
+            assetIds[i] = symbols.assetIdOf(symbol(current[i * STRIDE]));
+        }
+        return Arrays.asList(assetIds);
+    }
+
+    /**
+     * A {@code Map} of asset id to {@link Asset} over these holdings. Assets are built on every read
+     * and are detached copies: changing one does nothing until it is {@code put} back. Meant for
+     * serialisation; the trade path reads and writes by symbol instead.
+     */
+    public Map<String, Asset> asMap() {
+        return new AssetView();
+    }
+
+    private static int find(long[] entries, int symbol) {
+        int low = 0;
+        int high = entries.length / STRIDE - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midSymbol = symbol(entries[mid * STRIDE]);
+            if (midSymbol < symbol) {
+                low = mid + 1;
+            } else if (midSymbol > symbol) {
+                high = mid - 1;
+            } else {
+                return mid * STRIDE;
+            }
+        }
+        return -(low * STRIDE) - 1;
+    }
+
+    private static int symbol(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    private static int quantity(long entry) {
+        return (int) entry;
+    }
+
+    private Asset toAsset(int symbol, int quantity, long priceMinorUnits) {
+        return new Asset(symbols.assetIdOf(symbol), symbols.nameOf(symbol), quantity, Money.ofMinorUnits(priceMinorUnits));
+    }
+
+    private final class AssetView extends AbstractMap<String, Asset> {
+
+        @Override
+        public int size() {
+            return Holdings.this.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String assetId && contains(symbols.indexOf(assetId));
+        }
+
+        @Override
+        public Asset get(Object key) {
+            if (!(key instanceof String assetId)) {
+                return null;
+            }
+            int symbol = symbols.indexOf(assetId);
+            long[] current = entries;
+            int index = symbol < 0 ? -1 : find(current, symbol);
+            return index < 0 ? null : toAsset(symbol, quantity(current[index]), current[index + 1]);
+        }
+
+        @Override
+        public Asset put(String assetId, Asset asset) {
+            Asset previous = get(assetId);
+            int symbol = symbols.register(assetId, asset.getName());
+            Holdings.this.put(symbol, asset.getQuantity(), asset.getPrice() == null ? 0 : asset.getPrice().getMinorUnits());
+            return previous;
+        }
+
+        @Override
+        public Asset remove(Object key) {
+            Asset previous = get(key);
+            if (previous != null) {
+                Holdings.this.remove(symbols.indexOf((String) key));
+            }
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            entries = EMPTY;
+        }
+
+        @Override
+        public Set<Entry<String, Asset>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return Holdings.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, Asset>> iterator() {
+                    return new EntryIterator(entries);
+                }
+            };
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Asset>> {
+
+        private final long[] snapshot;
+        private int next;
+        private int lastSymbol = -1;
+
+        private EntryIterator(long[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < snapshot.length;
+        }
+
+        @Override
+        public Map.Entry<String, Asset> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int symbol = symbol(snapshot[next]);
+            Asset asset = toAsset(symbol, quantity(snapshot[next]), snapshot[next + 1]);
+            next += STRIDE;
+            lastSymbol = symbol;
+            return new AbstractMap.SimpleImmutableEntry<>(asset.getAssetId(), asset);
+        }
+
+        @Override
+        public void remove() {
+            if (lastSymbol < 0) {
+                throw new IllegalStateException();
+            }
+            Holdings.this.remove(lastSymbol);
+            lastSymbol = -1;
+        }
+    }
+}
@@ -1,12 +1,10 @@
 package org.trading.system.portfolioManagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.trading.system.common.util.Money;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static org.trading.system.common.util.IdGenerationUtil.generateId;
 
@@ -22,9 +20,21 @@ public class Portfolio {
 
     private String userId;
 
-    @Builder.Default
-    private Map<String, Asset> assets = new ConcurrentHashMap<>();
+    /**
+     * Built on the shared {@link org.trading.system.portfolioManagement.symbol.SymbolTable}, which
+     * whoever creates the portfolio passes in.
+     */
+    @Getter(onMethod_ = @JsonIgnore)
+    @Setter(AccessLevel.NONE)
+    private Holdings holdings;
 
     @Builder.Default
-    private BigDecimal value = BigDecimal.ZERO;
+    private Money value = Money.ZERO;
+
+    /**
+     * Asset id to holding, built from {@link #getHoldings()} on every read.
+     */
+    public Map<String, Asset> getAssets() {
+        return holdings.asMap();
+    }
 }
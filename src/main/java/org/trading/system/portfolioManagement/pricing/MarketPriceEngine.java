@@ -0,0 +1,231 @@
+package org.trading.system.portfolioManagement.pricing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the live price of every catalog asset and marks portfolios to market. Publishing a tick only
+ * overwrites the symbol's {@link PriceCell}; a single revaluer thread then moves the catalog price
+ * and revalues just the portfolios holding that symbol, each under its user's lock so it never
+ * interleaves with a trade. Ticks arriving faster than holders can be revalued are conflated, which
+ * keeps revaluation lag bounded by one pass over a symbol's holders rather than by the tick rate.
+ */
+@Component
+@Slf4j
+public class MarketPriceEngine implements DisposableBean {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AssetRepository assetRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final StripedLockManager lockManager;
+    private final AccountStreamHub accountStreamHub;
+
+    // Indexed by catalog symbol and grown copy-on-write when a tick arrives for a newly listed asset.
+    private volatile PriceCell[] cells = new PriceCell[0];
+    private final Queue<PriceCell> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock revalueLock = new ReentrantLock();
+
+    private final Counter ticksCounter;
+    private final Counter rejectedCounter;
+    private final Counter markedCounter;
+    private final Timer lagTimer;
+
+    private volatile boolean running;
+    private volatile boolean revaluerIdle;
+    private Thread revaluer;
+
+    public MarketPriceEngine(AssetRepository assetRepository,
+                             PortfolioRepository portfolioRepository,
+                             StripedLockManager lockManager,
+                             AccountStreamHub accountStreamHub,
+                             MeterRegistry meterRegistry,
+                             @Value("${trading.prices.revaluation.enabled:true}") boolean revaluationEnabled) {
+        this.assetRepository = assetRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.lockManager = lockManager;
+        this.accountStreamHub = accountStreamHub;
+
+        this.ticksCounter = Counter.builder("trading.prices.ticks")
+                .description("Price ticks accepted")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("trading.prices.ticks.rejected")
+                .description("Price ticks for assets missing from the catalog")
+                .register(meterRegistry);
+        this.markedCounter = Counter.builder("trading.prices.portfolios.marked")
+                .description("Portfolio holdings marked to a new price")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("trading.prices.revaluation.lag")
+                .description("Time from the first unapplied tick of a symbol to its holders being revalued")
+                .register(meterRegistry);
+
+        if (revaluationEnabled) {
+            running = true;
+            revaluer = new Thread(this::revalueLoop, "price-revaluer");
+            revaluer.setDaemon(true);
+            revaluer.start();
+        } else {
+            log.info("Background portfolio revaluation disabled");
+        }
+    }
+
+    /**
+     * Records the latest price of {@code assetId}; portfolios are revalued asynchronously.
+     *
+     * @return false if the asset is not in the catalog
+     */
+    public boolean publish(String assetId, long priceMinorUnits) {
+        if (priceMinorUnits <= 0) {
+            throw new IllegalArgumentException("Price must be positive: " + priceMinorUnits);
+        }
+        PriceCell cell = cellFor(assetId);
+        if (cell == null) {
+            rejectedCounter.increment();
+            return false;
+        }
+        ticksCounter.increment();
+        if (cell.update(priceMinorUnits)) {
+            pending.offer(cell);
+            if (revaluerIdle) {
+                LockSupport.unpark(revaluer);
+            }
+        }
+        return true;
+    }
+
+    public OptionalLong priceOf(String assetId) {
+        PriceCell cell = cellFor(assetId);
+        return cell == null ? OptionalLong.empty() : OptionalLong.of(cell.getPriceMinorUnits());
+    }
+
+    /**
+     * Applies every queued price on the calling thread. The revaluer calls this in a loop; it is
+     * exposed so callers can make sure earlier ticks are reflected before reading portfolios. The
+     * catalog takes all of a pass's prices as one version before any holder is revalued, so the
+     * catalog cache re-encodes once per pass rather than once per symbol.
+     *
+     * @return the number of symbols revalued
+     */
+    public int revaluePending() {
+        revalueLock.lock();
+        try {
+            List<Repricing> repricings = new ArrayList<>();
+            PriceCell cell;
+            while ((cell = pending.poll()) != null) {
+                long queuedAt = cell.dequeue();
+                Money price = Money.ofMinorUnits(cell.getPriceMinorUnits());
+                assetRepository.updatePrice(cell.getSymbol(), price);
+                repricings.add(new Repricing(cell, price, queuedAt));
+            }
+            if (repricings.isEmpty()) {
+                return 0;
+            }
+            assetRepository.pricesChanged();
+            for (Repricing repricing : repricings) {
+                revalueHolders(repricing);
+            }
+            return repricings.size();
+        } finally {
+            revalueLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (revaluer != null) {
+            LockSupport.unpark(revaluer);
+            revaluer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private PriceCell cellFor(String assetId) {
+        int symbol = assetRepository.symbolOf(assetId);
+        if (symbol < 0) {
+            return null;
+        }
+        PriceCell[] current = cells;
+        PriceCell cell = symbol < current.length ? current[symbol] : null;
+        return cell != null ? cell : createCell(symbol);
+    }
+
+    private synchronized PriceCell createCell(int symbol) {
+        PriceCell[] current = cells;
+        if (symbol < current.length && current[symbol] != null) {
+            return current[symbol];
+        }
+        Asset asset = assetRepository.findBySymbol(symbol);
+        PriceCell cell = new PriceCell(symbol, asset.getAssetId(), asset.getPrice().getMinorUnits());
+        PriceCell[] grown = Arrays.copyOf(current, Math.max(current.length, assetRepository.symbolCount()));
+        grown[symbol] = cell;
+        cells = grown;
+        return cell;
+    }
+
+    private void revalueLoop() {
+        while (running) {
+            try {
+                if (revaluePending() == 0) {
+                    revaluerIdle = true;
+                    if (pending.isEmpty() && running) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    revaluerIdle = false;
+                }
+            } catch (RuntimeException e) {
+                log.error("Portfolio revaluation failed", e);
+            }
+        }
+    }
+
+    private void revalueHolders(Repricing repricing) {
+        PriceCell cell = repricing.cell();
+        Money price = repricing.price();
+        int symbol = cell.getSymbol();
+
+        for (Portfolio portfolio : portfolioRepository.findByAssetId(cell.getAssetId())) {
+            if (lockManager.executeLocked(portfolio.getUserId(), () -> markToMarket(portfolio, symbol, price))) {
+                markedCounter.increment();
+                accountStreamHub.holdingChanged(portfolio.getUserId(), cell.getAssetId());
+            }
+        }
+        lagTimer.record(System.nanoTime() - repricing.queuedAt(), TimeUnit.NANOSECONDS);
+    }
+
+    private boolean markToMarket(Portfolio portfolio, int symbol, Money price) {
+        long change = portfolio.getHoldings().reprice(symbol, price.getMinorUnits());
+        if (change == 0) {
+            return false;
+        }
+        portfolio.setValue(portfolio.getValue().plus(Money.ofMinorUnits(change)));
+        return true;
+    }
+
+    /**
+     * One symbol's price as taken off the queue in a pass, held until its holders are revalued.
+     */
+    private record Repricing(PriceCell cell, Money price, long queuedAt) {
+    }
+}
@@ -0,0 +1,55 @@
+package org.trading.system.portfolioManagement.pricing;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latest price of one symbol. Ticks overwrite the price without locking; the cell is queued for
+ * revaluation at most once until the revaluer picks it up, so a burst of ticks for one symbol costs
+ * one pass over its holders at the newest price.
+ */
+final class PriceCell {
+
+    @Getter
+    private final int symbol;
+    @Getter
+    private final String assetId;
+    private final AtomicLong priceMinorUnits;
+    private final AtomicBoolean queued = new AtomicBoolean();
+    private volatile long queuedAtNanos;
+
+    PriceCell(int symbol, String assetId, long priceMinorUnits) {
+        this.symbol = symbol;
+        this.assetId = assetId;
+        this.priceMinorUnits = new AtomicLong(priceMinorUnits);
+    }
+
+    long getPriceMinorUnits() {
+        return priceMinorUnits.get();
+    }
+
+    /**
+     * @return whether this tick queued the cell, i.e. the caller must hand it to the revaluer
+     */
+    boolean update(long priceMinorUnits) {
+        this.priceMinorUnits.set(priceMinorUnits);
+        if (queued.get() || !queued.compareAndSet(false, true)) {
+            return false;
+        }
+        queuedAtNanos = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Re-arms the cell before its price is read, so a tick landing during revaluation queues it again.
+     *
+     * @return when the oldest tick not yet revalued arrived
+     */
+    long dequeue() {
+        long since = queuedAtNanos;
+        queued.set(false);
+        return since;
+    }
+}
@@ -0,0 +1,202 @@
+package org.trading.system.portfolioManagement.pricing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Stand-in market data feed. Reads {@code SYMBOL,PRICE} lines (e.g. {@code AAPL,151.25}) from
+ * {@code trading.prices.feed.file} once the application is ready, and from every connection accepted
+ * on {@code trading.prices.feed.port}, one connection at a time. Both sources are off by default.
+ * The socket binds to loopback unless {@code trading.prices.feed.bind-address} names another
+ * interface, since anyone who can connect can move prices.
+ */
+@Component
+@Slf4j
+public class PriceFeedReader implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private final MarketPriceEngine marketPriceEngine;
+    private final String file;
+    private final int port;
+    private final String bindAddress;
+    private final Counter malformedCounter;
+
+    private volatile boolean running;
+    private volatile ServerSocket serverSocket;
+
+    public PriceFeedReader(MarketPriceEngine marketPriceEngine,
+                           MeterRegistry meterRegistry,
+                           @Value("${trading.prices.feed.file:}") String file,
+                           @Value("${trading.prices.feed.port:0}") int port,
+                           @Value("${trading.prices.feed.bind-address:}") String bindAddress) {
+        this.marketPriceEngine = marketPriceEngine;
+        this.file = file;
+        this.port = port;
+        this.bindAddress = bindAddress;
+        this.malformedCounter = Counter.builder("trading.prices.feed.malformed")
+                .description("Feed lines that could not be parsed as SYMBOL,PRICE")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        running = true;
+        if (!file.isBlank()) {
+            start("price-feed-file", this::readFile);
+        }
+        if (port > 0) {
+            start("price-feed-socket", this::acceptConnections);
+        }
+    }
+
+    /**
+     * Publishes every well-formed line of {@code reader} until it is exhausted.
+     *
+     * @return the number of ticks the engine accepted
+     */
+    public long read(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        long accepted = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (publish(line)) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        running = false;
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+    }
+
+    private boolean publish(String line) {
+        if (line.isBlank() || line.startsWith("#")) {
+            return false;
+        }
+        int comma = line.indexOf(',');
+        try {
+            if (comma <= 0) {
+                throw new NumberFormatException("Missing price");
+            }
+            return marketPriceEngine.publish(line.substring(0, comma).trim(),
+                    parseMinorUnits(line, comma + 1));
+        } catch (RuntimeException e) {
+            malformedCounter.increment();
+            log.warn("Ignoring malformed price line '{}': {}", line, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Parses a plain decimal with at most two fraction digits straight into minor units, so a busy
+     * feed does not allocate a BigDecimal per tick.
+     */
+    static long parseMinorUnits(CharSequence text, int from) {
+        int end = text.length();
+        while (from < end && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        while (end > from && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (from == end) {
+            throw new NumberFormatException("Missing price");
+        }
+
+        long units = 0;
+        int fractionDigits = -1;
+        for (int i = from; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (fractionDigits == 2) {
+                    throw new NumberFormatException("More than two fraction digits");
+                }
+                units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else {
+                throw new NumberFormatException("Unexpected character '" + c + "'");
+            }
+        }
+        for (int i = Math.max(fractionDigits, 0); i < 2; i++) {
+            units = Math.multiplyExact(units, 10);
+        }
+        return units;
+    }
+
+    private void start(String name, IoTask task) {
+        Thread thread = new Thread(() -> {
+            try {
+                task.run();
+            } catch (IOException e) {
+                if (running) {
+                    log.error("Price feed {} stopped", name, e);
+                }
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void readFile() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.US_ASCII)) {
+            long accepted = read(reader);
+            log.info("Published {} price ticks from {}", accepted, file);
+        }
+    }
+
+    private void acceptConnections() throws IOException {
+        // A backlog of 0 keeps the platform default.
+        serverSocket = new ServerSocket(port, 0, bindAddress(bindAddress));
+        log.info("Listening for price ticks on {}", serverSocket.getLocalSocketAddress());
+        while (running) {
+            try (Socket socket = serverSocket.accept();
+                 Reader reader = new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)) {
+                log.info("Price feed connected from {}", socket.getRemoteSocketAddress());
+                read(reader);
+            } catch (IOException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Price feed connection dropped", e);
+            }
+        }
+    }
+
+    /**
+     * @return the interface named by {@code bindAddress}, or loopback if it is blank
+     */
+    static InetAddress bindAddress(String bindAddress) throws IOException {
+        return bindAddress == null || bindAddress.isBlank()
+                ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bindAddress);
+    }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws IOException;
+    }
+}
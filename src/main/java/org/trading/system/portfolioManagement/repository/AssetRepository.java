@@ -1,5 +1,6 @@
 package org.trading.system.portfolioManagement.repository;
 
+import org.trading.system.common.util.Money;
 import org.trading.system.portfolioManagement.model.Asset;
 
 import java.util.List;
@@ -16,4 +17,39 @@ public interface AssetRepository {
     List<Asset> findByUserId(String userId);
 
     List<Asset> findAll();
+
+    Asset saveToCatalog(Asset asset);
+
+    /**
+     * Moves the catalog asset with {@code symbol} to {@code price}; does nothing if there is none.
+     * The catalog version is left alone, so a batch of moves is published by one {@link #pricesChanged()}.
+     */
+    void updatePrice(int symbol, Money price);
+
+    /**
+     * Publishes every {@link #updatePrice} made since the last call as one catalog version.
+     */
+    void pricesChanged();
+
+    /**
+     * Changes with every listing and every {@link #pricesChanged()}, after the write is visible, so
+     * anything built from a catalog read at one version is current for as long as the version stays
+     * the same.
+     */
+    long catalogVersion();
+
+    /**
+     * @return the dense symbol of a catalog asset, or -1 if {@code assetId} was never listed
+     */
+    int symbolOf(String assetId);
+
+    /**
+     * @return the catalog asset with {@code symbol}, or null if there is none
+     */
+    Asset findBySymbol(int symbol);
+
+    /**
+     * Upper bound (exclusive) of the symbols handed out so far.
+     */
+    int symbolCount();
 }
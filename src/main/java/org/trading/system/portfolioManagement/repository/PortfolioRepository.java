@@ -2,6 +2,7 @@ package org.trading.system.portfolioManagement.repository;
 
 import org.trading.system.portfolioManagement.model.Portfolio;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface PortfolioRepository {
@@ -11,4 +12,9 @@ public interface PortfolioRepository {
     Optional<Portfolio> findById(String portfolioId);
 
     Optional<Portfolio> findByUserId(String userId);
+
+    /**
+     * Portfolios whose last save held {@code assetId}, as a live, weakly consistent view.
+     */
+    Collection<Portfolio> findByAssetId(String assetId);
 }
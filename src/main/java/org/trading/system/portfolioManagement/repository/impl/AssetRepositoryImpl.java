@@ -3,10 +3,11 @@ package org.trading.system.portfolioManagement.repository.impl;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Repository;
+import org.trading.system.common.util.Money;
 import org.trading.system.portfolioManagement.model.Asset;
 import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
 
-import java.math.BigDecimal;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -14,12 +15,38 @@ import java.util.stream.Collectors;
 @Repository
 public class AssetRepositoryImpl implements AssetRepository, ApplicationRunner {
 
-    private final Map<String, Asset> assetStore = new ConcurrentHashMap<>();
+    private final SymbolTable symbols;
+    // Indexed by symbol; replaced wholesale on every catalog write so readers never see a torn array.
+    private volatile Asset[] catalog = new Asset[0];
+    // Written under this, after the catalog change it counts.
+    private volatile long catalogVersion;
     private final Map<String, List<String>> userAssetStore = new ConcurrentHashMap<>();
 
+    public AssetRepositoryImpl(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
     @Override
     public Optional<Asset> findById(String assetId) {
-        return Optional.ofNullable(assetStore.get(assetId));
+        return Optional.ofNullable(findBySymbol(symbols.indexOf(assetId)));
+    }
+
+    @Override
+    public int symbolOf(String assetId) {
+        // The table is shared with holdings, so it may know ids this catalog never listed.
+        int symbol = symbols.indexOf(assetId);
+        return findBySymbol(symbol) != null ? symbol : -1;
+    }
+
+    @Override
+    public Asset findBySymbol(int symbol) {
+        Asset[] assets = catalog;
+        return symbol >= 0 && symbol < assets.length ? assets[symbol] : null;
+    }
+
+    @Override
+    public int symbolCount() {
+        return catalog.length;
     }
 
     @Override
@@ -37,7 +64,6 @@ public class AssetRepositoryImpl implements AssetRepository, ApplicationRunner {
             if (userAssets.isEmpty()) {
                 userAssetStore.remove(userId);
             }
-            assetStore.remove(assetId);
         }
     }
 
@@ -46,7 +72,8 @@ public class AssetRepositoryImpl implements AssetRepository, ApplicationRunner {
         List<String> assetIds = userAssetStore.get(userId);
         if (assetIds != null) {
             return assetIds.stream()
-                    .map(assetStore::get)
+                    .map(this::findById)
+                    .flatMap(Optional::stream)
                     .collect(Collectors.toList());
         }
         return List.of();
@@ -54,24 +81,67 @@ public class AssetRepositoryImpl implements AssetRepository, ApplicationRunner {
 
     @Override
     public List<Asset> findAll(){
-        return new ArrayList<>(
-                assetStore.values());
+        List<Asset> assets = new ArrayList<>(catalog.length);
+        for (Asset asset : catalog) {
+            if (asset != null) {
+                assets.add(asset);
+            }
+        }
+        return assets;
+    }
+
+    @Override
+    public synchronized Asset saveToCatalog(Asset asset) {
+        int symbol = symbols.register(asset.getAssetId(), asset.getName());
+        Asset[] assets = Arrays.copyOf(catalog, Math.max(catalog.length, symbol + 1));
+        assets[symbol] = asset;
+        catalog = assets;
+        catalogVersion++;
+        return asset;
+    }
+
+    @Override
+    public synchronized void updatePrice(int symbol, Money price) {
+        Asset asset = findBySymbol(symbol);
+        if (asset != null) {
+            // A new Asset in a copied array, like every other catalog write: the old one may be mid-read.
+            Asset[] assets = catalog.clone();
+            assets[symbol] = new Asset(asset.getAssetId(), asset.getName(), asset.getQuantity(), price);
+            catalog = assets;
+        }
+    }
+
+    @Override
+    public synchronized void pricesChanged() {
+        catalogVersion++;
+    }
+
+    @Override
+    public long catalogVersion() {
+        return catalogVersion;
     }
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
         List<Asset> assets = Arrays.asList(
-                new Asset("AAPL", "Apple Inc.", 100, BigDecimal.valueOf(150.00)),
-                new Asset("GOOGL", "Alphabet Inc.", 50,  BigDecimal.valueOf(2800.00)),
-                new Asset("AMZN", "Amazon.com Inc.", 30,  BigDecimal.valueOf(3400.00)),
-                new Asset("MSFT", "Microsoft Corp.", 200,  BigDecimal.valueOf(299.00)),
-                new Asset("TSLA", "Tesla Inc.", 150, BigDecimal.valueOf(700.00)),
-                new Asset("FB", "Facebook Inc.", 80, BigDecimal.valueOf(350.00)),
-                new Asset("NFLX", "Netflix Inc.", 60, BigDecimal.valueOf(590.00)),
-                new Asset("NVDA", "NVIDIA Corp.", 120, BigDecimal.valueOf(220.00)),
-                new Asset("BABA", "Alibaba Group", 90, BigDecimal.valueOf(160.00)),
-                new Asset("V", "Visa Inc.", 110, BigDecimal.valueOf(230.00))
+                new Asset("AAPL", "Apple Inc.", 100, Money.of("150.00")),
+                new Asset("GOOGL", "Alphabet Inc.", 50,  Money.of("2800.00")),
+                new Asset("AMZN", "Amazon.com Inc.", 30,  Money.of("3400.00")),
+                new Asset("MSFT", "Microsoft Corp.", 200,  Money.of("299.00")),
+                new Asset("TSLA", "Tesla Inc.", 150, Money.of("700.00")),
+                new Asset("FB", "Facebook Inc.", 80, Money.of("350.00")),
+                new Asset("NFLX", "Netflix Inc.", 60, Money.of("590.00")),
+                new Asset("NVDA", "NVIDIA Corp.", 120, Money.of("220.00")),
+                new Asset("BABA", "Alibaba Group", 90, Money.of("160.00")),
+                new Asset("V", "Visa Inc.", 110, Money.of("230.00"))
         );
-        assetStore.putAll(assets.stream().collect(Collectors.toMap(Asset::getAssetId, asset -> asset)));
+        // A catalog restored from a snapshot keeps its prices; only missing assets are seeded.
+        assets.forEach(this::seed);
+    }
+
+    private synchronized void seed(Asset asset) {
+        if (findById(asset.getAssetId()).isEmpty()) {
+            saveToCatalog(asset);
+        }
     }
 }
\ No newline at end of file
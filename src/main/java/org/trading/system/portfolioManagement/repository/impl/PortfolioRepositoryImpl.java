@@ -3,37 +3,43 @@ package org.trading.system.portfolioManagement.repository.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
+import org.trading.system.common.repository.IndexedInMemoryRepository;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.repository.PortfolioRepository;
 
-import java.util.Map;
+import java.util.Collection;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
 @RequiredArgsConstructor
 @Slf4j
-public class PortfolioRepositoryImpl implements PortfolioRepository {
+public class PortfolioRepositoryImpl extends IndexedInMemoryRepository<Portfolio> implements PortfolioRepository {
 
-    private final Map<String, Portfolio> portfolioStore  = new ConcurrentHashMap<>();
+    private final UniqueIndex<Portfolio> userIdIndex = uniqueIndex(Portfolio::getUserId);
+    private final MultiIndex<Portfolio> assetIdIndex = multiIndex(portfolio -> portfolio.getHoldings().assetIds());
 
     @Override
     public Portfolio save(Portfolio portfolio) {
-        portfolioStore.put(portfolio.getPortfolioId(), portfolio);
-        return portfolio;
+        return put(portfolio);
     }
 
     @Override
     public Optional<Portfolio> findById(String portfolioId) {
-        return Optional.ofNullable(
-                portfolioStore.get(portfolioId));
+        return get(portfolioId);
     }
 
     @Override
     public Optional<Portfolio> findByUserId(String userId) {
-        return portfolioStore.values()
-                .stream().filter(portfolio ->
-                        portfolio.getUserId().equals(userId))
-                .findFirst();
+        return userIdIndex.find(userId);
+    }
+
+    @Override
+    public Collection<Portfolio> findByAssetId(String assetId) {
+        return assetIdIndex.find(assetId);
+    }
+
+    @Override
+    protected String idOf(Portfolio portfolio) {
+        return portfolio.getPortfolioId();
     }
 }
@@ -3,13 +3,28 @@ package org.trading.system.portfolioManagement.service;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.portfolioManagement.dto.request.AssetRequest;
 import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.trading.model.TradeContext;
 
 import java.util.List;
 
 public interface AssetService {
     ApiResponse<Asset> add(AssetRequest request);
 
+    /**
+     * Adds a bought position straight to the context's holdings.
+     *
+     * @return the price the holding is marked at, in minor units
+     */
+    ApiResponse<Long> add(TradeContext context);
+
     ApiResponse<Asset> remove(AssetRequest request);
 
+    /**
+     * Takes a sold position straight out of the context's holdings.
+     *
+     * @return the price the holding was marked at, in minor units
+     */
+    ApiResponse<Long> remove(TradeContext context);
+
     ApiResponse<List<Asset>> getAllAssets();
 }
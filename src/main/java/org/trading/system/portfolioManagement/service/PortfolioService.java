@@ -4,13 +4,18 @@ import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.portfolioManagement.dto.request.AssetRequest;
 import org.trading.system.portfolioManagement.dto.request.PortfolioRequest;
 import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.trading.model.TradeContext;
 
 public interface PortfolioService {
     ApiResponse<Portfolio> create(PortfolioRequest request);
 
     ApiResponse<Portfolio> addAsset(AssetRequest request);
 
+    ApiResponse<Portfolio> addAsset(TradeContext context);
+
     ApiResponse<Portfolio> removeAsset(AssetRequest request);
 
+    ApiResponse<Portfolio> removeAsset(TradeContext context);
+
     Portfolio getPortfolioByUserId(String userId);
 }
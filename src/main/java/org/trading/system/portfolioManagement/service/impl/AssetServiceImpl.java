@@ -8,8 +8,12 @@ import org.trading.system.common.constants.TransactionType;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.portfolioManagement.dto.request.AssetRequest;
 import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.service.AssetService;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.model.TradeContext;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.service.UserManagementService;
 
@@ -23,17 +27,28 @@ public class AssetServiceImpl implements AssetService {
 
     private final AssetRepository assetRepository;
     private final UserManagementService userManagementService;
+    private final SymbolTable symbols;
 
     @Override
     public ApiResponse<Asset> add(AssetRequest request) {
         return processAssetTransaction(request);
     }
 
+    @Override
+    public ApiResponse<Long> add(TradeContext context) {
+        return processAssetTransaction(context);
+    }
+
     @Override
     public ApiResponse<Asset> remove(AssetRequest request) {
         return processAssetTransaction(request);
     }
 
+    @Override
+    public ApiResponse<Long> remove(TradeContext context) {
+        return processAssetTransaction(context);
+    }
+
     @Override
     public ApiResponse<List<Asset>> getAllAssets(){
         return ApiResponse.ok(assetRepository.findAll());
@@ -45,11 +60,12 @@ public class AssetServiceImpl implements AssetService {
             User user = getUserOrReturnError(request.getUserId());
             if (user == null) return ApiResponse.error(HttpStatus.NOT_FOUND.value(), List.of("User not found with ID: " + request.getUserId()));
 
-            Optional<Asset> optionalUserAsset = getUserAsset(user, request.getAssetId());
+            Optional<Asset> optionalUserAsset = getUserAsset(user.getPortfolio(), request.getAssetId());
             if (request.getTransType() == TransactionType.BUY) {
-                return handleBuy(request, optionalUserAsset);
+                return handleBuy(request.getUserId(), request.getAssetId(), request.getQuantity(),
+                        optionalUserAsset, assetRepository.findById(request.getAssetId()));
             } else {
-                return handleSell(request, optionalUserAsset);
+                return handleSell(request.getUserId(), request.getAssetId(), request.getQuantity(), optionalUserAsset);
             }
         } catch (Exception e) {
             log.error("Unexpected error occurred while processing asset transaction with ID: {}", request.getAssetId(), e);
@@ -58,62 +74,123 @@ public class AssetServiceImpl implements AssetService {
         }
     }
 
-    private Optional<Asset> getUserAsset(User user, String assetId) {
-        return Optional.ofNullable(user.getPortfolio().getAssets().get(assetId));
+    /**
+     * Applies a trade to the packed holdings by symbol, so the trade path builds no {@link Asset}:
+     * those are only made for the request path and for serialisation.
+     */
+    private ApiResponse<Long> processAssetTransaction(TradeContext context) {
+        log.info("{} asset with ID: {}", context.getTransactionType(), context.getAssetId());
+        try {
+            Holdings holdings = context.getPortfolio().getHoldings();
+            if (context.getTransactionType() == TransactionType.BUY) {
+                return handleBuy(context.getUserId(), context.getCatalogAsset(), context.getQuantity(), holdings);
+            } else {
+                return handleSell(context.getUserId(), context.getCatalogAsset(), context.getQuantity(), holdings);
+            }
+        } catch (Exception e) {
+            log.error("Unexpected error occurred while processing asset transaction with ID: {}", context.getAssetId(), e);
+            return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred while processing the asset transaction."));
+        }
+    }
+
+    private Optional<Asset> getUserAsset(Portfolio portfolio, String assetId) {
+        return Optional.ofNullable(portfolio.getAssets().get(assetId));
     }
 
-    private ApiResponse<Asset> handleBuy(AssetRequest request, Optional<Asset> optionalUserAsset) {
+    private ApiResponse<Asset> handleBuy(String userId, String assetId, int quantity,
+                                         Optional<Asset> optionalUserAsset, Optional<Asset> optionalCatalogAsset) {
         Asset userAsset;
         if (optionalUserAsset.isPresent()) {
             userAsset = optionalUserAsset.get();
-            userAsset.setQuantity(userAsset.getQuantity() + request.getQuantity());
+            userAsset.setQuantity(userAsset.getQuantity() + quantity);
         } else {
-            Optional<Asset> optionalAsset = assetRepository.findById(request.getAssetId());
-            if (optionalAsset.isEmpty()) {
-                log.error("Asset not found with ID: {}", request.getAssetId());
+            if (optionalCatalogAsset.isEmpty()) {
+                log.error("Asset not found with ID: {}", assetId);
                 return ApiResponse.error(HttpStatus.NOT_FOUND.value(),
-                        List.of("Asset not found with ID: " + request.getAssetId()));
+                        List.of("Asset not found with ID: " + assetId));
             }
-            Asset asset = optionalAsset.get();
+            Asset asset = optionalCatalogAsset.get();
             userAsset = Asset.builder()
                     .assetId(asset.getAssetId())
                     .name(asset.getName())
                     .price(asset.getPrice())
-                    .quantity(request.getQuantity())
+                    .quantity(quantity)
                     .build();
         }
-        userAsset = assetRepository.save(userAsset, request.getUserId());
-        log.info("Asset purchase completed for user ID: {}", request.getUserId());
+        userAsset = assetRepository.save(userAsset, userId);
+        log.info("Asset purchase completed for user ID: {}", userId);
         return ApiResponse.ok(userAsset);
     }
 
-    private ApiResponse<Asset> handleSell(AssetRequest request, Optional<Asset> optionalUserAsset) {
+    private ApiResponse<Asset> handleSell(String userId, String assetId, int quantity, Optional<Asset> optionalUserAsset) {
         if (optionalUserAsset.isEmpty()) {
-            log.error("User does not own asset with ID: {}", request.getAssetId());
+            log.error("User does not own asset with ID: {}", assetId);
             return ApiResponse.error(HttpStatus.NOT_FOUND.value(),
-                    List.of("User does not own asset with ID: " + request.getAssetId()));
+                    List.of("User does not own asset with ID: " + assetId));
         }
 
         Asset userAsset = optionalUserAsset.get();
-        if (userAsset.getQuantity() < request.getQuantity()) {
-            log.error("Insufficient quantity of asset with ID: {} to sell", request.getAssetId());
+        if (userAsset.getQuantity() < quantity) {
+            log.error("Insufficient quantity of asset with ID: {} to sell", assetId);
             return ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
-                    List.of("Insufficient quantity of asset with ID: " + request.getAssetId() + " to sell"));
+                    List.of("Insufficient quantity of asset with ID: " + assetId + " to sell"));
         }
 
-        if (userAsset.getQuantity() == request.getQuantity()) {
+        if (userAsset.getQuantity() == quantity) {
             userAsset.setQuantity(0);
-            assetRepository.deleteById(userAsset.getAssetId(), request.getUserId());
-            log.info("Asset fully sold and removed for user ID: {}", request.getUserId());
+            assetRepository.deleteById(userAsset.getAssetId(), userId);
+            log.info("Asset fully sold and removed for user ID: {}", userId);
         } else {
-            userAsset.setQuantity(userAsset.getQuantity() - request.getQuantity());
-             userAsset = assetRepository.save(userAsset, request.getUserId());
-            log.info("Asset quantity updated for user ID: {}", request.getUserId());
+            userAsset.setQuantity(userAsset.getQuantity() - quantity);
+             userAsset = assetRepository.save(userAsset, userId);
+            log.info("Asset quantity updated for user ID: {}", userId);
         }
 
         return ApiResponse.ok(userAsset);
     }
 
+    private ApiResponse<Long> handleBuy(String userId, Asset catalogAsset, int quantity, Holdings holdings) {
+        int symbol = symbols.register(catalogAsset.getAssetId(), catalogAsset.getName());
+        int held = holdings.quantityOf(symbol);
+        // An existing holding keeps the price it was marked at, as on the request path.
+        long priceMinorUnits = held > 0 ? holdings.priceOf(symbol) : catalogAsset.getPrice().getMinorUnits();
+        holdings.put(symbol, held + quantity, priceMinorUnits);
+        assetRepository.save(catalogAsset, userId);
+        log.info("Asset purchase completed for user ID: {}", userId);
+        return ApiResponse.ok(priceMinorUnits);
+    }
+
+    private ApiResponse<Long> handleSell(String userId, Asset catalogAsset, int quantity, Holdings holdings) {
+        String assetId = catalogAsset.getAssetId();
+        int symbol = symbols.indexOf(assetId);
+        int held = holdings.quantityOf(symbol);
+        if (held == 0) {
+            log.error("User does not own asset with ID: {}", assetId);
+            return ApiResponse.error(HttpStatus.NOT_FOUND.value(),
+                    List.of("User does not own asset with ID: " + assetId));
+        }
+
+        if (held < quantity) {
+            log.error("Insufficient quantity of asset with ID: {} to sell", assetId);
+            return ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    List.of("Insufficient quantity of asset with ID: " + assetId + " to sell"));
+        }
+
+        long priceMinorUnits = holdings.priceOf(symbol);
+        if (held == quantity) {
+            holdings.remove(symbol);
+            assetRepository.deleteById(assetId, userId);
+            log.info("Asset fully sold and removed for user ID: {}", userId);
+        } else {
+            holdings.put(symbol, held - quantity, priceMinorUnits);
+            assetRepository.save(catalogAsset, userId);
+            log.info("Asset quantity updated for user ID: {}", userId);
+        }
+
+        return ApiResponse.ok(priceMinorUnits);
+    }
+
     private User getUserOrReturnError(String userId) {
         try {
             return userManagementService.getUserById(userId).getData();
@@ -5,17 +5,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.util.Money;
 import org.trading.system.portfolioManagement.dto.request.AssetRequest;
 import org.trading.system.portfolioManagement.dto.request.PortfolioRequest;
 import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.repository.PortfolioRepository;
 import org.trading.system.portfolioManagement.service.AssetService;
 import org.trading.system.portfolioManagement.service.PortfolioService;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.model.TradeContext;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.service.UserManagementService;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +30,7 @@ public class PortfolioServiceImpl implements PortfolioService {
     private final PortfolioRepository portfolioRepository;
     private final UserManagementService userManagementService;
     private final AssetService assetService;
+    private final SymbolTable symbols;
 
     @Override
     public ApiResponse<Portfolio> create(PortfolioRequest request) {
@@ -41,7 +45,7 @@ public class PortfolioServiceImpl implements PortfolioService {
             return ApiResponse.error(HttpStatus.CONFLICT.value(), List.of("Portfolio already exists for the user"));
         }
 
-        Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).build();
+        Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
         portfolio = portfolioRepository.save(portfolio);
 
         log.info("Portfolio created successfully for user: {}", user.getUserId());
@@ -56,20 +60,13 @@ public class PortfolioServiceImpl implements PortfolioService {
         if (portfolio == null)
             return ApiResponse.error(HttpStatus.NOT_FOUND.value(), List.of("Portfolio not found for user: " + request.getUserId()));
 
-        ApiResponse<Asset> assetResponse = assetService.add(request);
-        if (assetResponse.getCode() != HttpStatus.OK.value()) {
-            log.error("Failed to add asset: {}. Errors: {}", request.getAssetId(), assetResponse.getErrors());
-            return ApiResponse.error(assetResponse.getCode(), assetResponse.getErrors());
-        }
-
-        Asset asset = assetResponse.getData();
-        portfolio.getAssets().put(asset.getAssetId(), asset);
-        BigDecimal totalValue = asset.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
-        portfolio.setValue(portfolio.getValue().add(totalValue));
-        portfolio = portfolioRepository.save(portfolio);
+        return applyAssetAddition(portfolio, assetService.add(request), request.getAssetId(), request.getQuantity());
+    }
 
-        log.info("Asset added successfully to portfolio for user: {}", request.getUserId());
-        return ApiResponse.ok(portfolio);
+    @Override
+    public ApiResponse<Portfolio> addAsset(TradeContext context) {
+        log.info("Adding asset: {} for user ID: {}", context.getAssetId(), context.getUserId());
+        return applyTradeValue(context.getPortfolio(), assetService.add(context), context.getAssetId(), context.getQuantity());
     }
 
     @Override
@@ -85,9 +82,61 @@ public class PortfolioServiceImpl implements PortfolioService {
             return ApiResponse.error(HttpStatus.NOT_FOUND.value(), List.of("Asset not found in portfolio"));
         }
 
-        ApiResponse<Asset> assetResponse = assetService.remove(request);
+        return applyAssetRemoval(portfolio, assetService.remove(request), request.getAssetId(), request.getQuantity());
+    }
+
+    @Override
+    public ApiResponse<Portfolio> removeAsset(TradeContext context) {
+        log.info("Removing asset: {} for user ID: {}", context.getAssetId(), context.getUserId());
+
+        Portfolio portfolio = context.getPortfolio();
+        if (!portfolio.getHoldings().contains(symbols.indexOf(context.getAssetId()))) {
+            log.error("Asset not found in portfolio: {}", context.getAssetId());
+            return ApiResponse.error(HttpStatus.NOT_FOUND.value(), List.of("Asset not found in portfolio"));
+        }
+
+        return applyTradeValue(portfolio, assetService.remove(context), context.getAssetId(), -context.getQuantity());
+    }
+
+    /**
+     * Moves the portfolio value by a trade the asset service has already applied to the holdings.
+     *
+     * @param quantity the shares traded, negative for a sale
+     */
+    private ApiResponse<Portfolio> applyTradeValue(Portfolio portfolio, ApiResponse<Long> markResponse,
+                                                   String assetId, int quantity) {
+        if (markResponse.getCode() != HttpStatus.OK.value()) {
+            log.error("Failed to trade asset: {}. Errors: {}", assetId, markResponse.getErrors());
+            return ApiResponse.error(markResponse.getCode(), markResponse.getErrors());
+        }
+
+        portfolio.setValue(portfolio.getValue().plus(Money.ofMinorUnits(markResponse.getData()).times(quantity)));
+        portfolio = portfolioRepository.save(portfolio);
+
+        log.info("Asset traded successfully in portfolio for user: {}", portfolio.getUserId());
+        return ApiResponse.ok(portfolio);
+    }
+
+    private ApiResponse<Portfolio> applyAssetAddition(Portfolio portfolio, ApiResponse<Asset> assetResponse,
+                                                      String assetId, int quantity) {
         if (assetResponse.getCode() != HttpStatus.OK.value()) {
-            log.error("Failed to remove asset: {}. Errors: {}", request.getAssetId(), assetResponse.getErrors());
+            log.error("Failed to add asset: {}. Errors: {}", assetId, assetResponse.getErrors());
+            return ApiResponse.error(assetResponse.getCode(), assetResponse.getErrors());
+        }
+
+        Asset asset = assetResponse.getData();
+        portfolio.getAssets().put(asset.getAssetId(), asset);
+        portfolio.setValue(portfolio.getValue().plus(asset.getPrice().times(quantity)));
+        portfolio = portfolioRepository.save(portfolio);
+
+        log.info("Asset added successfully to portfolio for user: {}", portfolio.getUserId());
+        return ApiResponse.ok(portfolio);
+    }
+
+    private ApiResponse<Portfolio> applyAssetRemoval(Portfolio portfolio, ApiResponse<Asset> assetResponse,
+                                                     String assetId, int quantity) {
+        if (assetResponse.getCode() != HttpStatus.OK.value()) {
+            log.error("Failed to remove asset: {}. Errors: {}", assetId, assetResponse.getErrors());
             return ApiResponse.error(assetResponse.getCode(), assetResponse.getErrors());
         }
 
@@ -95,14 +144,14 @@ public class PortfolioServiceImpl implements PortfolioService {
         log.info("Asset Quantity updated in portfolio for user: {}", asset.getQuantity());
         if (asset.getQuantity() == 0) {
             portfolio.getAssets().remove(asset.getAssetId());
+        } else {
+            portfolio.getAssets().put(asset.getAssetId(), asset);
         }
 
-        BigDecimal valueReduction = asset.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
-        portfolio.setValue(portfolio.getValue().subtract(valueReduction));
-        portfolio.getAssets().put(asset.getAssetId(), asset);
+        portfolio.setValue(portfolio.getValue().minus(asset.getPrice().times(quantity)));
         portfolio = portfolioRepository.save(portfolio);
 
-        log.info("Asset removed successfully from portfolio for user: {}", request.getUserId());
+        log.info("Asset removed successfully from portfolio for user: {}", portfolio.getUserId());
         return ApiResponse.ok(portfolio);
     }
 
@@ -0,0 +1,132 @@
+package org.trading.system.portfolioManagement.symbol;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Assigns every asset id a dense int symbol, in registration order, so per-symbol data can live in
+ * plain arrays. Lookups go through an open-addressing table that compares a precomputed hash before
+ * the string itself and never allocate. Registration copies the table; asset ids only appear on
+ * startup, restore and listing, so readers never take a lock.
+ * <p>
+ * The bean is the one table the catalog and every portfolio's holdings are built on, so a symbol
+ * means the same asset wherever it is stored.
+ */
+@Component
+public final class SymbolTable {
+
+    private volatile Table table = new Table(new String[0], new String[0]);
+
+    /**
+     * @return the symbol of {@code assetId}, or -1 if it was never registered
+     */
+    public int indexOf(String assetId) {
+        return assetId == null ? -1 : table.indexOf(assetId);
+    }
+
+    /**
+     * Returns the existing symbol of {@code assetId} or assigns the next one.
+     */
+    public int register(String assetId) {
+        return register(assetId, null);
+    }
+
+    /**
+     * Returns the existing symbol of {@code assetId} or assigns the next one, recording {@code name}
+     * as its display name unless it already has one.
+     */
+    public int register(String assetId, String name) {
+        Table current = table;
+        int existing = current.indexOf(assetId);
+        if (existing >= 0 && (name == null || current.names[existing] != null)) {
+            return existing;
+        }
+        return registerLocked(assetId, name);
+    }
+
+    private synchronized int registerLocked(String assetId, String name) {
+        Table current = table;
+        int existing = current.indexOf(assetId);
+        if (existing >= 0) {
+            if (name != null && current.names[existing] == null) {
+                String[] names = current.names.clone();
+                names[existing] = name;
+                table = new Table(current.assetIds, names);
+            }
+            return existing;
+        }
+        int symbol = current.assetIds.length;
+        String[] assetIds = Arrays.copyOf(current.assetIds, symbol + 1);
+        String[] names = Arrays.copyOf(current.names, symbol + 1);
+        assetIds[symbol] = assetId;
+        names[symbol] = name;
+        table = new Table(assetIds, names);
+        return symbol;
+    }
+
+    public String assetIdOf(int symbol) {
+        return table.assetIds[symbol];
+    }
+
+    /**
+     * @return the display name recorded for {@code symbol}, or null if none was given
+     */
+    public String nameOf(int symbol) {
+        return table.names[symbol];
+    }
+
+    public int size() {
+        return table.assetIds.length;
+    }
+
+    private static final class Table {
+
+        private final String[] assetIds;
+        private final String[] names;
+        private final String[] slotKeys;
+        private final int[] slotHashes;
+        private final int[] slotSymbols;
+        private final int mask;
+
+        private Table(String[] assetIds, String[] names) {
+            this.assetIds = assetIds;
+            this.names = names;
+            // At most half full, so a miss ends on an empty slot within a couple of probes.
+            int capacity = Integer.highestOneBit(Math.max(4, assetIds.length * 2 - 1)) << 1;
+            this.mask = capacity - 1;
+            this.slotKeys = new String[capacity];
+            this.slotHashes = new int[capacity];
+            this.slotSymbols = new int[capacity];
+            Arrays.fill(slotSymbols, -1);
+
+            for (int symbol = 0; symbol < assetIds.length; symbol++) {
+                int hash = spread(assetIds[symbol].hashCode());
+                int slot = hash & mask;
+                while (slotSymbols[slot] >= 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slotKeys[slot] = assetIds[symbol];
+                slotHashes[slot] = hash;
+                slotSymbols[slot] = symbol;
+            }
+        }
+
+        private int indexOf(String assetId) {
+            int hash = spread(assetId.hashCode());
+            int slot = hash & mask;
+            int symbol;
+            while ((symbol = slotSymbols[slot]) >= 0) {
+                if (slotHashes[slot] == hash && assetId.equals(slotKeys[slot])) {
+                    return symbol;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
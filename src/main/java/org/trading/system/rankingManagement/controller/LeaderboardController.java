@@ -2,26 +2,66 @@ package org.trading.system.rankingManagement.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.rankingManagement.dto.response.LeaderBoardResponse;
 import org.trading.system.rankingManagement.service.LeaderBoardService;
+import org.trading.system.rankingManagement.stream.LeaderboardStream;
+import org.trading.system.rankingManagement.stream.LeaderboardStreamHub;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("api/v1/leaderboard")
 @RequiredArgsConstructor
 @Slf4j
 public class LeaderboardController  {
 
     private final LeaderBoardService leaderBoardService;
+    private final LeaderboardStreamHub leaderboardStreamHub;
 
     @GetMapping
     public ApiResponse<List<LeaderBoardResponse>> fetchLeaderBoard(@RequestParam("count") int n) {
         return leaderBoardService.fetchLeaderBoard(n);
     }
+
+    /**
+     * Server-Sent Events of the top {@code count} users: a snapshot first, then the entries that
+     * moved, at most once per tick.
+     */
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLeaderBoard(@RequestParam("count") int n) throws IOException {
+        SseEmitter emitter = new SseEmitter(leaderboardStreamHub.getTimeoutMillis());
+        LeaderboardStream stream = leaderboardStreamHub.open(n, update -> emitter.send(SseEmitter.event()
+                .id(String.valueOf(update.getVersion()))
+                .name(update.getType().name().toLowerCase())
+                .data(update, MediaType.APPLICATION_JSON)));
+        if (stream == null) {
+            emitter.send(SseEmitter.event().name("error").data(ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    List.of("Count must be between 1 and " + leaderboardStreamHub.getMaxCount())), MediaType.APPLICATION_JSON));
+            emitter.complete();
+            return emitter;
+        }
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+        return emitter;
+    }
+
+    @GetMapping("{userId}")
+    public ApiResponse<LeaderBoardResponse> fetchUserRank(@PathVariable String userId) {
+        return leaderBoardService.fetchUserRank(userId);
+    }
+
+    @GetMapping("{userId}/around")
+    public ApiResponse<List<LeaderBoardResponse>> fetchAroundUser(@PathVariable String userId,
+                                                                  @RequestParam(value = "radius", defaultValue = "5") int radius) {
+        return leaderBoardService.fetchAroundUser(userId, radius);
+    }
 }
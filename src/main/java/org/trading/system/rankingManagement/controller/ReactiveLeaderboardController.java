@@ -0,0 +1,81 @@
+package org.trading.system.rankingManagement.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.reactive.ServiceScheduler;
+import org.trading.system.rankingManagement.dto.response.LeaderBoardResponse;
+import org.trading.system.rankingManagement.dto.response.LeaderboardUpdateResponse;
+import org.trading.system.rankingManagement.service.LeaderBoardService;
+import org.trading.system.rankingManagement.stream.LeaderboardStream;
+import org.trading.system.rankingManagement.stream.LeaderboardStreamHub;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * {@link LeaderboardController} for the {@code reactive} profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("api/v1/leaderboard")
+@RequiredArgsConstructor
+public class ReactiveLeaderboardController {
+
+    private final LeaderBoardService leaderBoardService;
+    private final ServiceScheduler serviceScheduler;
+    private final LeaderboardStreamHub leaderboardStreamHub;
+
+    @GetMapping
+    public Mono<ApiResponse<List<LeaderBoardResponse>>> fetchLeaderBoard(@RequestParam("count") int n) {
+        return serviceScheduler.onEventLoop(() -> leaderBoardService.fetchLeaderBoard(n));
+    }
+
+    /**
+     * Server-Sent Events of the top {@code count} users. A client that stops asking for events is
+     * sent a snapshot of the latest version once it asks again, rather than every diff it missed.
+     */
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<?>> streamLeaderBoard(@RequestParam("count") int n) {
+        return Flux.create(sink -> {
+            LeaderboardStream stream = leaderboardStreamHub.open(n, new LeaderboardStream.Sink() {
+                @Override
+                public void send(LeaderboardUpdateResponse update) {
+                    sink.next(ServerSentEvent.builder(update)
+                            .id(String.valueOf(update.getVersion()))
+                            .event(update.getType().name().toLowerCase())
+                            .build());
+                }
+
+                @Override
+                public boolean ready() {
+                    return sink.requestedFromDownstream() > 0;
+                }
+            });
+            if (stream == null) {
+                sink.next(ServerSentEvent.builder(ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                        List.of("Count must be between 1 and " + leaderboardStreamHub.getMaxCount()))).event("error").build());
+                sink.complete();
+                return;
+            }
+            sink.onRequest(requested -> stream.wake());
+            sink.onDispose(stream::close);
+        });
+    }
+
+    @GetMapping("{userId}")
+    public Mono<ApiResponse<LeaderBoardResponse>> fetchUserRank(@PathVariable String userId) {
+        return serviceScheduler.onEventLoop(() -> leaderBoardService.fetchUserRank(userId));
+    }
+
+    @GetMapping("{userId}/around")
+    public Mono<ApiResponse<List<LeaderBoardResponse>>> fetchAroundUser(@PathVariable String userId,
+                                                                        @RequestParam(value = "radius", defaultValue = "5") int radius) {
+        return serviceScheduler.onEventLoop(() -> leaderBoardService.fetchAroundUser(userId, radius));
+    }
+}
@@ -0,0 +1,24 @@
+package org.trading.system.rankingManagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import org.trading.system.common.constants.LeaderboardUpdateType;
+
+import java.util.List;
+
+/**
+ * One push of a streamed top-N leaderboard. {@code SNAPSHOT} carries every entry; {@code DIFF}
+ * carries the entries that joined or whose rank or gems changed since {@code version - 1}, and the
+ * ids of the users that left.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LeaderboardUpdateResponse {
+    private long version;
+    private LeaderboardUpdateType type;
+    private int count;
+    private List<LeaderBoardResponse> entries;
+    private List<String> removed;
+}
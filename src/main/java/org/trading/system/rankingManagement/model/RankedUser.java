@@ -0,0 +1,15 @@
+package org.trading.system.rankingManagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RankedUser {
+
+    private final String userId;
+
+    private final long gemsCount;
+
+    private final long rank;
+}
@@ -0,0 +1,21 @@
+package org.trading.system.rankingManagement.repository;
+
+import org.trading.system.rankingManagement.model.RankedUser;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaderBoardRepository {
+
+    void save(String userId, long gemsCount);
+
+    void deleteByUserId(String userId);
+
+    List<RankedUser> findTop(int n);
+
+    Optional<RankedUser> findByUserId(String userId);
+
+    List<RankedUser> findAroundUserId(String userId, int radius);
+
+    int count();
+}
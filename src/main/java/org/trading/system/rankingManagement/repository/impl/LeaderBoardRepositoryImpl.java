@@ -0,0 +1,123 @@
+package org.trading.system.rankingManagement.repository.impl;
+
+import org.springframework.stereotype.Repository;
+import org.trading.system.rankingManagement.model.RankedUser;
+import org.trading.system.rankingManagement.repository.LeaderBoardRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Repository
+public class LeaderBoardRepositoryImpl implements LeaderBoardRepository {
+
+    private final RankedSkipList rankings = new RankedSkipList();
+    private final Map<String, Long> gemsByUserId = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void save(String userId, long gemsCount) {
+        lock.writeLock().lock();
+        try {
+            Long previousGems = gemsByUserId.put(userId, gemsCount);
+            if (previousGems != null) {
+                if (previousGems == gemsCount) {
+                    return;
+                }
+                rankings.remove(previousGems, userId);
+            }
+            rankings.insert(gemsCount, userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteByUserId(String userId) {
+        lock.writeLock().lock();
+        try {
+            Long previousGems = gemsByUserId.remove(userId);
+            if (previousGems != null) {
+                rankings.remove(previousGems, userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<RankedUser> findTop(int n) {
+        lock.readLock().lock();
+        try {
+            return collectFrom(rankings.first(), 1, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<RankedUser> findByUserId(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Long gems = gemsByUserId.get(userId);
+            if (gems == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new RankedUser(userId, gems, rankings.countWithMoreGemsThan(gems) + 1L));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<RankedUser> findAroundUserId(String userId, int radius) {
+        if (userId == null || radius < 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Long gems = gemsByUserId.get(userId);
+            if (gems == null) {
+                return List.of();
+            }
+            int position = rankings.positionOf(gems, userId);
+            int start = Math.max(1, position - radius);
+            int end = Math.min(rankings.size(), position + radius);
+            return collectFrom(rankings.nodeAt(start), start, end - start + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int count() {
+        return gemsByUserId.size();
+    }
+
+    private List<RankedUser> collectFrom(RankedSkipList.Node node, int position, int limit) {
+        List<RankedUser> window = new ArrayList<>(Math.max(0, Math.min(limit, rankings.size())));
+        if (node == null || limit <= 0) {
+            return window;
+        }
+
+        long rank = rankings.countWithMoreGemsThan(node.gems) + 1L;
+        long previousGems = node.gems;
+        while (node != null && window.size() < limit) {
+            if (node.gems != previousGems) {
+                rank = position;
+                previousGems = node.gems;
+            }
+            window.add(new RankedUser(node.userId, node.gems, rank));
+            node = node.next();
+            position++;
+        }
+        return window;
+    }
+}
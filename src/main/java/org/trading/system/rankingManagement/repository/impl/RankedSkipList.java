@@ -0,0 +1,179 @@
+package org.trading.system.rankingManagement.repository.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Indexable skip list ordered by gems descending, then userId ascending. Every forward
+ * link carries the number of positions it skips, so positional lookups and rank queries
+ * are O(log n). Not thread-safe; callers guard it.
+ */
+final class RankedSkipList {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final Node head = new Node(Long.MAX_VALUE, null, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(long gems, String userId) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && precedes(x.next[i], gems, userId)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(gems, userId, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    boolean remove(long gems, String userId) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && precedes(x.next[i], gems, userId)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node target = x.next[0];
+        if (target == null || target.gems != gems || !target.userId.equals(userId)) {
+            return false;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the 1-based position of the entry, or 0 when it is absent.
+     */
+    int positionOf(long gems, String userId) {
+        int position = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null
+                    && (precedes(x.next[i], gems, userId) || matches(x.next[i], gems, userId))) {
+                position += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && matches(x, gems, userId)) {
+                return position;
+            }
+        }
+        return 0;
+    }
+
+    int countWithMoreGemsThan(long gems) {
+        int count = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].gems > gems) {
+                count += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the entry at the given 1-based position, or null when out of range.
+     */
+    Node nodeAt(int position) {
+        if (position < 1 || position > size) {
+            return null;
+        }
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= position) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == position) {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    Node first() {
+        return head.next[0];
+    }
+
+    private static boolean precedes(Node node, long gems, String userId) {
+        return node.gems > gems || (node.gems == gems && node.userId.compareTo(userId) < 0);
+    }
+
+    private static boolean matches(Node node, long gems, String userId) {
+        return node.gems == gems && node.userId.equals(userId);
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    static final class Node {
+        final long gems;
+        final String userId;
+        final Node[] next;
+        final int[] span;
+
+        private Node(long gems, String userId, int level) {
+            this.gems = gems;
+            this.userId = userId;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+
+        Node next() {
+            return next[0];
+        }
+    }
+}
@@ -7,4 +7,8 @@ import java.util.List;
 
 public interface LeaderBoardService {
     ApiResponse<List<LeaderBoardResponse>> fetchLeaderBoard(int n);
+
+    ApiResponse<LeaderBoardResponse> fetchUserRank(String userId);
+
+    ApiResponse<List<LeaderBoardResponse>> fetchAroundUser(String userId, int radius);
 }
@@ -6,66 +6,91 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.rankingManagement.dto.response.LeaderBoardResponse;
+import org.trading.system.rankingManagement.model.RankedUser;
+import org.trading.system.rankingManagement.repository.LeaderBoardRepository;
 import org.trading.system.rankingManagement.service.LeaderBoardService;
-import org.trading.system.userManagement.model.User;
-import org.trading.system.userManagement.service.UserManagementService;
+import org.trading.system.userManagement.repository.UserManagementRepository;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LeaderBoardServiceImpl implements LeaderBoardService {
 
-    private final UserManagementService userManagementService;
+    private final LeaderBoardRepository leaderBoardRepository;
+    private final UserManagementRepository userManagementRepository;
 
     @Override
     public ApiResponse<List<LeaderBoardResponse>> fetchLeaderBoard(int n) {
         log.info("Fetching Leader Board with size: {}", n);
 
         try {
-            ApiResponse<List<User>> listApiResponse = userManagementService.getAllUsers();
-            if (listApiResponse.getCode() != HttpStatus.OK.value()) {
-                log.error("Failed to fetch users: {}", listApiResponse.getMessage());
-                return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                        List.of("Failed to fetch users: " + listApiResponse.getMessage()));
-            }
+            List<LeaderBoardResponse> leaderboard = leaderBoardRepository.findTop(n).stream()
+                    .map(this::toLeaderBoardResponse)
+                    .collect(Collectors.toList());
+
+            return ApiResponse.ok(leaderboard);
+        } catch (Exception e) {
+            log.error("Unexpected error occurred while fetching leaderboard", e);
+            return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred while fetching the leaderboard."));
+        }
+    }
 
-            List<User> users = listApiResponse.getData();
+    @Override
+    public ApiResponse<LeaderBoardResponse> fetchUserRank(String userId) {
+        log.info("Fetching leaderboard rank for user with ID: {}", userId);
+
+        try {
+            Optional<RankedUser> optionalRankedUser = leaderBoardRepository.findByUserId(userId);
+            if (optionalRankedUser.isEmpty()) {
+                log.error("User not found on leaderboard with ID: {}", userId);
+                return ApiResponse.error(HttpStatus.NOT_FOUND.value(),
+                        List.of("User not found on leaderboard with ID: " + userId));
+            }
 
-            List<LeaderBoardResponse> leaderboard = new ArrayList<>();
-            long[] currentRank = {1};
-            long[] previousGems = {-1};
-            long[] usersWithSameGems = {0};
+            return ApiResponse.ok(toLeaderBoardResponse(optionalRankedUser.get()));
+        } catch (Exception e) {
+            log.error("Unexpected error occurred while fetching leaderboard rank for user ID: {}", userId, e);
+            return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred while fetching the leaderboard rank."));
+        }
+    }
 
-            users.stream()
-                    .sorted(Comparator.comparingLong(User::getGemsCount).reversed())
-                    .takeWhile(user -> leaderboard.size() < n)
-                    .forEach(user -> {
-                        if (user.getGemsCount() != previousGems[0]) {
-                            currentRank[0] += usersWithSameGems[0];
-                            usersWithSameGems[0] = 1;
-                        } else {
-                            usersWithSameGems[0]++;
-                        }
+    @Override
+    public ApiResponse<List<LeaderBoardResponse>> fetchAroundUser(String userId, int radius) {
+        log.info("Fetching leaderboard around user with ID: {} and radius: {}", userId, radius);
 
-                        LeaderBoardResponse leaderBoardResponse = new LeaderBoardResponse();
-                        leaderBoardResponse.setRank(currentRank[0]);
-                        leaderBoardResponse.setUsername(user.getUsername());
-                        leaderBoardResponse.setUserId(user.getUserId());
-                        leaderBoardResponse.setGemsCount(user.getGemsCount());
-                        leaderBoardResponse.setTotalTrade(user.getTradeCount());
-                        leaderboard.add(leaderBoardResponse);
-                        previousGems[0] = user.getGemsCount();
-                    });
+        try {
+            List<RankedUser> window = leaderBoardRepository.findAroundUserId(userId, radius);
+            if (window.isEmpty()) {
+                log.error("User not found on leaderboard with ID: {}", userId);
+                return ApiResponse.error(HttpStatus.NOT_FOUND.value(),
+                        List.of("User not found on leaderboard with ID: " + userId));
+            }
 
-            return ApiResponse.ok(leaderboard);
+            return ApiResponse.ok(window.stream()
+                    .map(this::toLeaderBoardResponse)
+                    .collect(Collectors.toList()));
         } catch (Exception e) {
-            log.error("Unexpected error occurred while fetching leaderboard", e);
+            log.error("Unexpected error occurred while fetching leaderboard around user ID: {}", userId, e);
             return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
                     List.of("An unexpected error occurred while fetching the leaderboard."));
         }
     }
-}
\ No newline at end of file
+
+    private LeaderBoardResponse toLeaderBoardResponse(RankedUser rankedUser) {
+        LeaderBoardResponse leaderBoardResponse = new LeaderBoardResponse();
+        leaderBoardResponse.setRank(rankedUser.getRank());
+        leaderBoardResponse.setUserId(rankedUser.getUserId());
+        leaderBoardResponse.setGemsCount(rankedUser.getGemsCount());
+        userManagementRepository.findById(rankedUser.getUserId()).ifPresent(user -> {
+            leaderBoardResponse.setUsername(user.getUsername());
+            leaderBoardResponse.setTotalTrade(user.getTradeCount());
+        });
+        return leaderBoardResponse;
+    }
+}
@@ -0,0 +1,103 @@
+package org.trading.system.rankingManagement.stream;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.trading.system.rankingManagement.dto.response.LeaderboardUpdateResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One client's stream of the top-N leaderboard, opened by {@link LeaderboardStreamHub#open}. The
+ * stream only remembers the last version it sent; whenever the hub publishes a newer one it sends
+ * the diff if the client is exactly one version behind and a snapshot otherwise.
+ */
+@Slf4j
+public final class LeaderboardStream {
+
+    public interface Sink {
+
+        /**
+         * Sends one update. Runs on a dispatch thread, never on the ticker.
+         */
+        void send(LeaderboardUpdateResponse update) throws Exception;
+
+        /**
+         * Whether another update can be sent now. A sink that answers false calls
+         * {@link LeaderboardStream#wake()} once it can take more.
+         */
+        default boolean ready() {
+            return true;
+        }
+    }
+
+    private final LeaderboardStreamHub hub;
+    @Getter(AccessLevel.PACKAGE)
+    private final LeaderboardStreamHub.Board board;
+    private final Sink sink;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    // Only touched by the delivery holding scheduled.
+    private long sentVersion;
+
+    LeaderboardStream(LeaderboardStreamHub hub, LeaderboardStreamHub.Board board, Sink sink) {
+        this.hub = hub;
+        this.board = board;
+        this.sink = sink;
+    }
+
+    /**
+     * Sends the latest version if this stream has not had it yet.
+     */
+    public void wake() {
+        if (!closed && scheduled.compareAndSet(false, true)) {
+            hub.dispatch(this::deliver);
+        }
+    }
+
+    public void close() {
+        if (!closed) {
+            closed = true;
+            hub.close(this);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Sends the latest version on the calling thread, unless a delivery is already running.
+     */
+    void deliverIfIdle() {
+        if (!closed && scheduled.compareAndSet(false, true)) {
+            deliver();
+        }
+    }
+
+    private void deliver() {
+        try {
+            while (!closed && sink.ready()) {
+                LeaderboardStreamHub.Frame frame = board.frame;
+                if (frame.version() == sentVersion) {
+                    break;
+                }
+                LeaderboardUpdateResponse update = sentVersion > 0 && frame.version() == sentVersion + 1
+                        ? frame.diff() : frame.snapshot();
+                sink.send(update);
+                sentVersion = frame.version();
+                hub.delivered(update.getType());
+            }
+        } catch (Exception e) {
+            log.info("Leaderboard stream of top {} closed: {}", board.count, e.toString());
+            close();
+        } finally {
+            scheduled.set(false);
+        }
+        // A version published after the last look but before the flag cleared would otherwise wait.
+        if (!closed && board.frame.version() != sentVersion && sink.ready()) {
+            wake();
+        }
+    }
+}
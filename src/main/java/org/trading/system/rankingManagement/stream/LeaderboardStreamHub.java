@@ -0,0 +1,293 @@
+package org.trading.system.rankingManagement.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.trading.system.common.constants.LeaderboardUpdateType;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.rankingManagement.dto.response.LeaderBoardResponse;
+import org.trading.system.rankingManagement.dto.response.LeaderboardUpdateResponse;
+import org.trading.system.rankingManagement.service.LeaderBoardService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes the top-N leaderboard to subscribed clients. Gem changes only mark the leaderboard dirty;
+ * every {@code tick-ms} a dirty leaderboard is read once, for the widest N anyone watches, and each
+ * watched N gets a new version holding its entries and the diff from the previous version. Viewers
+ * of the same N share that version, so a tick costs one top-N read however many clients watch.
+ * <p>
+ * Delivery runs on up to {@code dispatch-threads} threads, a slice of viewers per task. A viewer one version behind is sent the
+ * diff; one further behind skips straight to a snapshot of the latest version.
+ */
+@Component
+@Slf4j
+public class LeaderboardStreamHub implements DisposableBean {
+
+    private static final LeaderboardStream[] NONE = {};
+    // Viewers a dispatch task sends one tick's version to, so a tick is not one task per viewer.
+    private static final int SLICE = 64;
+
+    private final LeaderBoardService leaderBoardService;
+    @Getter
+    private final int maxCount;
+    @Getter
+    private final long timeoutMillis;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService dispatcher;
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    // Guarded by this.
+    private final Map<Integer, Board> boards = new HashMap<>();
+
+    private final Counter computationCounter;
+    private final Counter snapshotCounter;
+    private final Counter diffCounter;
+
+    public LeaderboardStreamHub(LeaderBoardService leaderBoardService,
+                                MeterRegistry meterRegistry,
+                                @Value("${trading.leaderboard.stream.tick-ms:500}") long tickMillis,
+                                @Value("${trading.leaderboard.stream.max-count:100}") int maxCount,
+                                @Value("${trading.leaderboard.stream.dispatch-threads:2}") int dispatchThreads,
+                                @Value("${trading.leaderboard.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.leaderBoardService = leaderBoardService;
+        this.maxCount = Math.max(1, maxCount);
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(Math.max(1, dispatchThreads), Math.max(1, dispatchThreads),
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "leaderboard-stream-" + threads.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.dispatcher = executor;
+
+        long interval = Math.max(10, tickMillis);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tickQuietly, interval, interval, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("trading.leaderboard.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients streaming the leaderboard")
+                .register(meterRegistry);
+        this.computationCounter = Counter.builder("trading.leaderboard.stream.computations")
+                .description("Top-N reads made to push the leaderboard")
+                .register(meterRegistry);
+        this.snapshotCounter = Counter.builder("trading.leaderboard.stream.updates")
+                .description("Leaderboard updates sent to clients")
+                .tag("type", "snapshot")
+                .register(meterRegistry);
+        this.diffCounter = Counter.builder("trading.leaderboard.stream.updates")
+                .description("Leaderboard updates sent to clients")
+                .tag("type", "diff")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts streaming the top {@code count} users to {@code sink}, beginning with a snapshot.
+     *
+     * @return the stream, or null if {@code count} is not between 1 and {@code max-count}
+     */
+    public LeaderboardStream open(int count, LeaderboardStream.Sink sink) {
+        if (count < 1 || count > maxCount) {
+            return null;
+        }
+        LeaderboardStream stream;
+        synchronized (this) {
+            Board board = boards.get(count);
+            if (board == null) {
+                board = new Board(count);
+                board.frame = Frame.first(count, top(count));
+                boards.put(count, board);
+            }
+            stream = new LeaderboardStream(this, board, sink);
+            LeaderboardStream[] grown = Arrays.copyOf(board.viewers, board.viewers.length + 1);
+            grown[grown.length - 1] = stream;
+            board.viewers = grown;
+        }
+        subscribers.incrementAndGet();
+        log.info("Streaming top {} of the leaderboard", count);
+        stream.wake();
+        return stream;
+    }
+
+    /**
+     * Marks the leaderboard as changed; the next tick pushes whatever moved in the watched ranks.
+     */
+    public void leaderboardChanged() {
+        changed.set(true);
+    }
+
+    /**
+     * Reads the leaderboard once if it changed and publishes a new version to every watched N whose
+     * entries moved. The ticker calls this every {@code tick-ms}.
+     */
+    public void tick() {
+        if (!changed.getAndSet(false)) {
+            return;
+        }
+        List<Board> moved = new ArrayList<>();
+        synchronized (this) {
+            if (boards.isEmpty()) {
+                return;
+            }
+            int widest = boards.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+            List<LeaderBoardResponse> top = top(widest);
+            for (Board board : boards.values()) {
+                Frame next = board.frame.next(top.subList(0, Math.min(board.count, top.size())));
+                if (next != null) {
+                    board.frame = next;
+                    moved.add(board);
+                }
+            }
+        }
+        for (Board board : moved) {
+            LeaderboardStream[] viewers = board.viewers;
+            for (int from = 0; from < viewers.length; from += SLICE) {
+                int start = from;
+                int end = Math.min(viewers.length, from + SLICE);
+                dispatch(() -> {
+                    for (int i = start; i < end; i++) {
+                        viewers[i].deliverIfIdle();
+                    }
+                });
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    void close(LeaderboardStream stream) {
+        synchronized (this) {
+            Board board = stream.getBoard();
+            board.viewers = Arrays.stream(board.viewers).filter(other -> other != stream).toArray(LeaderboardStream[]::new);
+            if (board.viewers.length == 0) {
+                boards.remove(board.count, board);
+            }
+        }
+        subscribers.decrementAndGet();
+        log.info("Stopped streaming top {} of the leaderboard", stream.getBoard().count);
+    }
+
+    void dispatch(Runnable delivery) {
+        try {
+            dispatcher.execute(delivery);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the stream is going away with the hub.
+        }
+    }
+
+    void delivered(LeaderboardUpdateType type) {
+        (type == LeaderboardUpdateType.SNAPSHOT ? snapshotCounter : diffCounter).increment();
+    }
+
+    private void tickQuietly() {
+        try {
+            tick();
+        } catch (Exception e) {
+            log.error("Failed to push the leaderboard", e);
+            changed.set(true);
+        }
+    }
+
+    private List<LeaderBoardResponse> top(int count) {
+        computationCounter.increment();
+        ApiResponse<List<LeaderBoardResponse>> response = leaderBoardService.fetchLeaderBoard(count);
+        if (response.getCode() != HttpStatus.OK.value() || response.getData() == null) {
+            throw new IllegalStateException("Leaderboard unavailable: " + response.getErrors());
+        }
+        return response.getData();
+    }
+
+    /**
+     * Everyone watching the top {@code count}, and the latest version of it.
+     */
+    static final class Board {
+
+        final int count;
+        volatile Frame frame;
+        volatile LeaderboardStream[] viewers = NONE;
+
+        Board(int count) {
+            this.count = count;
+        }
+    }
+
+    /**
+     * One version of a top-N list. Its updates are built once and sent to every viewer as they are.
+     */
+    record Frame(long version, List<LeaderBoardResponse> entries, LeaderboardUpdateResponse snapshot,
+                 LeaderboardUpdateResponse diff) {
+
+        static Frame first(int count, List<LeaderBoardResponse> entries) {
+            return new Frame(1, entries, update(1, LeaderboardUpdateType.SNAPSHOT, count, entries, null), null);
+        }
+
+        /**
+         * @return the version after this one, or null if no rank or gem count in it changed
+         */
+        Frame next(List<LeaderBoardResponse> current) {
+            Map<String, LeaderBoardResponse> before = new LinkedHashMap<>();
+            for (LeaderBoardResponse entry : entries) {
+                before.put(entry.getUserId(), entry);
+            }
+            List<LeaderBoardResponse> changed = new ArrayList<>();
+            for (LeaderBoardResponse entry : current) {
+                LeaderBoardResponse previous = before.remove(entry.getUserId());
+                if (previous == null || previous.getRank() != entry.getRank() || previous.getGemsCount() != entry.getGemsCount()) {
+                    changed.add(entry);
+                }
+            }
+            if (changed.isEmpty() && before.isEmpty()) {
+                return null;
+            }
+            long version = this.version + 1;
+            int count = snapshot.getCount();
+            List<LeaderBoardResponse> entries = List.copyOf(current);
+            return new Frame(version, entries,
+                    update(version, LeaderboardUpdateType.SNAPSHOT, count, entries, null),
+                    update(version, LeaderboardUpdateType.DIFF, count, changed, List.copyOf(before.keySet())));
+        }
+
+        private static LeaderboardUpdateResponse update(long version, LeaderboardUpdateType type, int count,
+                                                        List<LeaderBoardResponse> entries, List<String> removed) {
+            LeaderboardUpdateResponse update = new LeaderboardUpdateResponse();
+            update.setVersion(version);
+            update.setType(type);
+            update.setCount(count);
+            update.setEntries(entries);
+            update.setRemoved(removed);
+            return update;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.trading.system.trading.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.OrderRequest;
+import org.trading.system.trading.dto.request.ReplaceOrderRequest;
+import org.trading.system.trading.dto.response.OrderBookResponse;
+import org.trading.system.trading.dto.response.OrderResponse;
+import org.trading.system.trading.service.OrderService;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("api/v1/orders")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @PostMapping()
+    public ApiResponse<OrderResponse> submit(@Valid @RequestBody OrderRequest request){
+        return orderService.submit(request);
+    }
+
+    @PutMapping("{assetId}/{orderId}")
+    public ApiResponse<OrderResponse> replace(@PathVariable String assetId, @PathVariable long orderId,
+                                              @Valid @RequestBody ReplaceOrderRequest request){
+        return orderService.replace(assetId, orderId, request);
+    }
+
+    @DeleteMapping("{assetId}/{orderId}")
+    public ApiResponse<OrderResponse> cancel(@PathVariable String assetId, @PathVariable long orderId,
+                                             @RequestParam String userId){
+        return orderService.cancel(userId, assetId, orderId);
+    }
+
+    @GetMapping("{assetId}/book")
+    public ApiResponse<OrderBookResponse> book(@PathVariable String assetId,
+                                               @RequestParam(defaultValue = "10") int levels){
+        return orderService.book(assetId, levels);
+    }
+}
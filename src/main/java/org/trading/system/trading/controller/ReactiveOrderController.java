@@ -0,0 +1,59 @@
+package org.trading.system.trading.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.reactive.ServiceScheduler;
+import org.trading.system.trading.dto.request.OrderRequest;
+import org.trading.system.trading.dto.request.ReplaceOrderRequest;
+import org.trading.system.trading.dto.response.OrderBookResponse;
+import org.trading.system.trading.dto.response.OrderResponse;
+import org.trading.system.trading.service.OrderService;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link OrderController} for the {@code reactive} profile. Matching settles fills under user locks
+ * and through the journal, so everything but reading the book leaves the event loop.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("api/v1/orders")
+@RequiredArgsConstructor
+public class ReactiveOrderController {
+
+    private final OrderService orderService;
+    private final ServiceScheduler serviceScheduler;
+
+    @PostMapping()
+    public Mono<ApiResponse<OrderResponse>> submit(@Valid @RequestBody OrderRequest request){
+        return serviceScheduler.offEventLoop(() -> orderService.submit(request));
+    }
+
+    @PutMapping("{assetId}/{orderId}")
+    public Mono<ApiResponse<OrderResponse>> replace(@PathVariable String assetId, @PathVariable long orderId,
+                                                    @Valid @RequestBody ReplaceOrderRequest request){
+        return serviceScheduler.offEventLoop(() -> orderService.replace(assetId, orderId, request));
+    }
+
+    @DeleteMapping("{assetId}/{orderId}")
+    public Mono<ApiResponse<OrderResponse>> cancel(@PathVariable String assetId, @PathVariable long orderId,
+                                                   @RequestParam String userId){
+        return serviceScheduler.offEventLoop(() -> orderService.cancel(userId, assetId, orderId));
+    }
+
+    @GetMapping("{assetId}/book")
+    public Mono<ApiResponse<OrderBookResponse>> book(@PathVariable String assetId,
+                                                     @RequestParam(defaultValue = "10") int levels){
+        return serviceScheduler.onEventLoop(() -> orderService.book(assetId, levels));
+    }
+}
@@ -0,0 +1,81 @@
+package org.trading.system.trading.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.idempotency.IdempotencyCache;
+import org.trading.system.common.reactive.ServiceScheduler;
+import org.trading.system.trading.dto.request.TradeBatchRequest;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.request.WalletRequest;
+import org.trading.system.trading.dto.response.TradeBatchResponse;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.dto.response.TradeSubmissionResponse;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.service.TradeBatchService;
+import org.trading.system.trading.service.TradeSubmissionService;
+import org.trading.system.trading.service.TradingService;
+import org.trading.system.trading.service.WalletService;
+import reactor.core.publisher.Mono;
+
+import static org.trading.system.trading.controller.TradingController.IDEMPOTENCY_KEY;
+
+/**
+ * {@link TradingController} for the {@code reactive} profile. Trades wait on user locks and the
+ * journal, and a repeated idempotency key may wait for the first request, so those calls leave the
+ * event loop; a long-polled trade status completes from the trade's own future.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("api/v1/trade")
+@RequiredArgsConstructor
+public class ReactiveTradingController {
+
+    private final WalletService walletService;
+    private final TradingService tradingService;
+    private final TradeBatchService tradeBatchService;
+    private final TradeSubmissionService tradeSubmissionService;
+    private final IdempotencyCache idempotencyCache;
+    private final ServiceScheduler serviceScheduler;
+
+    @PostMapping("wallet/top-up")
+    public Mono<ApiResponse<Wallet>> topUpWallet(@Valid @RequestBody WalletRequest request,
+                                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return serviceScheduler.offEventLoop(() -> idempotencyCache.execute("top-up", request.getUserId(), idempotencyKey,
+                String.valueOf(request.getAmount()), () -> TradingController.detached(walletService.topUp(request))));
+    }
+
+    @PostMapping()
+    public Mono<ApiResponse<TradeResponse>> trade(@Valid @RequestBody TradeRequest request,
+                                                  @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return serviceScheduler.offEventLoop(() -> idempotencyCache.execute("trade", request.getUserId(), idempotencyKey,
+                TradingController.fingerprint(request), () -> tradingService.trade(request)));
+    }
+
+    @PostMapping("async")
+    public Mono<ApiResponse<TradeSubmissionResponse>> submitTrade(@Valid @RequestBody TradeRequest request,
+                                                                  @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return serviceScheduler.offEventLoop(() -> idempotencyCache.execute("trade-async", request.getUserId(), idempotencyKey,
+                TradingController.fingerprint(request), () -> tradeSubmissionService.submit(request)));
+    }
+
+    @GetMapping("{tradeId}")
+    public Mono<ApiResponse<TradeSubmissionResponse>> tradeStatus(@PathVariable String tradeId,
+                                                                  @RequestParam(defaultValue = "0") long waitMs){
+        return Mono.fromFuture(() -> tradeSubmissionService.status(tradeId, waitMs));
+    }
+
+    @PostMapping("batch")
+    public Mono<ApiResponse<TradeBatchResponse>> tradeBatch(@Valid @RequestBody TradeBatchRequest request){
+        return serviceScheduler.offEventLoop(() -> tradeBatchService.trade(request));
+    }
+}
@@ -3,34 +3,92 @@ package org.trading.system.trading.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.idempotency.IdempotencyCache;
+import org.trading.system.trading.dto.request.TradeBatchRequest;
 import org.trading.system.trading.dto.request.TradeRequest;
 import org.trading.system.trading.dto.request.WalletRequest;
+import org.trading.system.trading.dto.response.TradeBatchResponse;
 import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.dto.response.TradeSubmissionResponse;
 import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.service.TradeBatchService;
+import org.trading.system.trading.service.TradeSubmissionService;
 import org.trading.system.trading.service.TradingService;
 import org.trading.system.trading.service.WalletService;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
+@Profile("!reactive")
 @RequestMapping("api/v1/trade")
 @RequiredArgsConstructor
 @Slf4j
 public class TradingController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final WalletService walletService;
     private final TradingService tradingService;
+    private final TradeBatchService tradeBatchService;
+    private final TradeSubmissionService tradeSubmissionService;
+    private final IdempotencyCache idempotencyCache;
 
     @PostMapping("wallet/top-up")
-    public ApiResponse<Wallet> topUpWallet(@Valid @RequestBody WalletRequest request){
-        return walletService.topUp(request);
+    public ApiResponse<Wallet> topUpWallet(@Valid @RequestBody WalletRequest request,
+                                           @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        // The service hands back the live wallet; a replayed response must show the balance it had then.
+        return idempotencyCache.execute("top-up", request.getUserId(), idempotencyKey,
+                String.valueOf(request.getAmount()), () -> detached(walletService.topUp(request)));
     }
 
     @PostMapping()
-    public ApiResponse<TradeResponse> trade(@Valid @RequestBody TradeRequest request){
-        return tradingService.trade(request);
+    public ApiResponse<TradeResponse> trade(@Valid @RequestBody TradeRequest request,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return idempotencyCache.execute("trade", request.getUserId(), idempotencyKey, fingerprint(request),
+                () -> tradingService.trade(request));
+    }
+
+    @PostMapping("async")
+    public ApiResponse<TradeSubmissionResponse> submitTrade(@Valid @RequestBody TradeRequest request,
+                                                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return idempotencyCache.execute("trade-async", request.getUserId(), idempotencyKey, fingerprint(request),
+                () -> tradeSubmissionService.submit(request));
+    }
+
+    @GetMapping("{tradeId}")
+    public CompletableFuture<ApiResponse<TradeSubmissionResponse>> tradeStatus(@PathVariable String tradeId,
+                                                                               @RequestParam(defaultValue = "0") long waitMs){
+        return tradeSubmissionService.status(tradeId, waitMs);
+    }
+
+    @PostMapping("batch")
+    public ApiResponse<TradeBatchResponse> tradeBatch(@Valid @RequestBody TradeBatchRequest request){
+        return tradeBatchService.trade(request);
+    }
+
+    static String fingerprint(TradeRequest request) {
+        return request.getTransactionType() + ' ' + request.getQuantity() + ' ' + request.getAssetId();
+    }
+
+    static ApiResponse<Wallet> detached(ApiResponse<Wallet> response) {
+        Wallet wallet = response.getData();
+        if (wallet != null) {
+            response.setData(Wallet.builder()
+                    .walletId(wallet.getWalletId())
+                    .userId(wallet.getUserId())
+                    .balance(wallet.getBalance())
+                    .build());
+        }
+        return response;
     }
 }
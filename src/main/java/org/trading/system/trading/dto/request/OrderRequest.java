@@ -0,0 +1,36 @@
+package org.trading.system.trading.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+import org.trading.system.common.util.Money;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderRequest {
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    @NotBlank(message = "Asset ID is required")
+    private String assetId;
+
+    @Pattern(regexp = "^(BUY|SELL)$", message = "Side must be either BUY or SELL")
+    @NotBlank(message = "Side is required")
+    private String side;
+
+    @Pattern(regexp = "^(LIMIT|MARKET)$", message = "Order type must be either LIMIT or MARKET")
+    @NotBlank(message = "Order type is required")
+    private String type;
+
+    // Required for limit orders, ignored for market orders.
+    private Money price;
+
+    @Min(value = 1, message = "Quantity must be greater than 0")
+    private int quantity;
+}
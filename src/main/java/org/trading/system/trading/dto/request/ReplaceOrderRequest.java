@@ -0,0 +1,25 @@
+package org.trading.system.trading.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.trading.system.common.util.Money;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReplaceOrderRequest {
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    @NotNull(message = "Price is required")
+    private Money price;
+
+    @Min(value = 1, message = "Quantity must be greater than 0")
+    private int quantity;
+}
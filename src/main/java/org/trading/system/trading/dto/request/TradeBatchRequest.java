@@ -0,0 +1,19 @@
+package org.trading.system.trading.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TradeBatchRequest {
+    // Items are validated one by one when the batch runs, so one bad trade fails only itself.
+    @NotEmpty(message = "Trades are required")
+    private List<TradeRequest> trades;
+}
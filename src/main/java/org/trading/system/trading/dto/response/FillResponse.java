@@ -0,0 +1,17 @@
+package org.trading.system.trading.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import org.trading.system.common.util.Money;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FillResponse {
+    private long restingOrderId;
+    private int quantity;
+    private Money price;
+}
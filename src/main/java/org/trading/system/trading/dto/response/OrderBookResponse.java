@@ -0,0 +1,19 @@
+package org.trading.system.trading.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderBookResponse {
+    private String assetId;
+    // Best price first on both sides.
+    private List<PriceLevelResponse> bids;
+    private List<PriceLevelResponse> asks;
+}
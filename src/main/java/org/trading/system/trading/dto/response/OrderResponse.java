@@ -0,0 +1,23 @@
+package org.trading.system.trading.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import org.trading.system.common.constants.OrderStatus;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderResponse {
+    // Only set while the order rests on the book.
+    private Long orderId;
+    private String assetId;
+    private OrderStatus status;
+    private int filledQuantity;
+    private int remainingQuantity;
+    private List<FillResponse> fills;
+}
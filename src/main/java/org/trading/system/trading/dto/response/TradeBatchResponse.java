@@ -0,0 +1,19 @@
+package org.trading.system.trading.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import org.trading.system.common.dto.response.ApiResponse;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TradeBatchResponse {
+    private int succeeded;
+    private int failed;
+    private List<ApiResponse<TradeResponse>> results;
+}
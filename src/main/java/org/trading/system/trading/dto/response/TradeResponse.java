@@ -5,8 +5,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
+import org.trading.system.common.util.Money;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 
@@ -18,7 +18,7 @@ public class TradeResponse {
     private String userId;
     private String assetId;
     private int quantity;
-    private BigDecimal totalPrice;
+    private Money totalPrice;
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime purchasedAt;
 }
@@ -2,11 +2,11 @@ package org.trading.system.trading.event.listener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.common.event.UserCreatedEvent;
+import org.trading.system.common.event.bus.DomainEventListener;
 import org.trading.system.trading.dto.request.WalletRequest;
 import org.trading.system.trading.model.Wallet;
 import org.trading.system.trading.service.WalletService;
@@ -18,7 +18,7 @@ public class TradingEventListener {
 
     private final WalletService walletService;
 
-    @EventListener(UserCreatedEvent.class)
+    @DomainEventListener(UserCreatedEvent.class)
     public void handleUserCreatedEvent(UserCreatedEvent event) {
         log.info("Handling user created event for user with ID: {}", event.getUserId());
         String userId = event.getUserId();
@@ -28,7 +28,10 @@ public class TradingEventListener {
             walletRequest.setUserId(userId);
 
             ApiResponse<Wallet> response = walletService.create(walletRequest);
-            if (response.getCode() != HttpStatus.OK.value()) {
+            if (response.getCode() == HttpStatus.CONFLICT.value()) {
+                // createUser makes the wallet itself; this only fills in for users created without one.
+                log.info("Wallet already exists for user ID: {}", userId);
+            } else if (response.getCode() != HttpStatus.OK.value()) {
                 log.error("Failed to create wallet for user ID: {}. Errors: {}",
                         userId, response.getErrors());
             } else {
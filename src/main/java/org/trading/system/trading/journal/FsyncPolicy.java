@@ -0,0 +1,20 @@
+package org.trading.system.trading.journal;
+
+/**
+ * When an appended trade is forced from the mapped segment to disk.
+ */
+public enum FsyncPolicy {
+
+    /** Force the record before the trade returns. */
+    PER_TRADE,
+
+    /**
+     * A flusher forces everything written since its last pass, waiting up to
+     * {@code group-commit-interval-us} after the first pending record to collect more; the trade
+     * returns once a pass has covered its record.
+     */
+    GROUP,
+
+    /** Leave write-back to the operating system. A crash of the host can lose recent trades. */
+    OS
+}
@@ -0,0 +1,38 @@
+package org.trading.system.trading.journal;
+
+import org.trading.system.common.constants.TransactionType;
+
+/**
+ * What a {@link TradeRecord} describes. The ordinal is the type byte in the journal, so constants
+ * are only ever added at the end; the first two line up with {@link TransactionType}, which is what
+ * journals written before top-ups and new users were recorded hold.
+ */
+public enum JournalRecordType {
+
+    /** A buy trade. */
+    BUY,
+
+    /** A sell trade. */
+    SELL,
+
+    /** Money added to a wallet. */
+    TOP_UP,
+
+    /** A new user, with its empty wallet and portfolio. */
+    USER_CREATED;
+
+    public static JournalRecordType of(TransactionType transactionType) {
+        return transactionType == TransactionType.SELL ? SELL : BUY;
+    }
+
+    /**
+     * @return the trade's transaction type, or null if this is not a trade
+     */
+    public TransactionType transactionType() {
+        return switch (this) {
+            case BUY -> TransactionType.BUY;
+            case SELL -> TransactionType.SELL;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package org.trading.system.trading.journal;
+
+import java.util.function.Consumer;
+
+public interface TradeJournal {
+
+    /**
+     * Appends a trade and returns the sequence assigned to it. Returns once the record is as durable
+     * as the configured {@link FsyncPolicy} requires.
+     */
+    long append(TradeRecord record);
+
+    /**
+     * Appends a trade and returns the sequence assigned to it without waiting for it to become
+     * durable; {@link #awaitDurable} with that sequence, or any later one already written, does the
+     * waiting.
+     */
+    long write(TradeRecord record);
+
+    /**
+     * Returns once every record up to {@code sequence} is as durable as the configured
+     * {@link FsyncPolicy} requires.
+     */
+    void awaitDurable(long sequence);
+
+    /**
+     * Hands every intact record to {@code consumer} in sequence order and returns how many there were.
+     */
+    long replay(Consumer<TradeRecord> consumer);
+
+    /**
+     * The sequence of the last record written, or 0 when nothing has been.
+     */
+    long lastSequence();
+}
@@ -0,0 +1,161 @@
+package org.trading.system.trading.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.trading.system.common.snapshot.SnapshotService;
+import org.trading.system.common.constants.TransactionType;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+import org.trading.system.portfolioManagement.service.PortfolioService;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.rankingManagement.repository.LeaderBoardRepository;
+import org.trading.system.trading.model.TradeContext;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.WalletRepository;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.UserManagementRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rebuilds users, wallets, portfolios, gem counts and the leaderboard before the application starts
+ * taking requests: the latest snapshot is loaded first, then journal records it does not cover are
+ * replayed on top. New users and top-ups are journalled as records of their own, so a user who never
+ * traded and money added after a user's last trade come back too. Holdings go through
+ * {@link PortfolioService} exactly as a live trade would; every record carries the wallet balance it
+ * left behind, which replay restores.
+ */
+@Component
+@Slf4j
+public class TradeJournalReplayer implements SmartInitializingSingleton {
+
+    private final TradeJournal tradeJournal;
+    private final UserManagementRepository userManagementRepository;
+    private final WalletRepository walletRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final PortfolioService portfolioService;
+    private final LeaderBoardRepository leaderBoardRepository;
+    private final SnapshotService snapshotService;
+    private final SymbolTable symbols;
+    private final boolean replayOnStartup;
+
+    public TradeJournalReplayer(TradeJournal tradeJournal,
+                                UserManagementRepository userManagementRepository,
+                                WalletRepository walletRepository,
+                                PortfolioRepository portfolioRepository,
+                                PortfolioService portfolioService,
+                                LeaderBoardRepository leaderBoardRepository,
+                                SnapshotService snapshotService,
+                                SymbolTable symbols,
+                                @Value("${trading.journal.replay-on-startup:true}") boolean replayOnStartup) {
+        this.tradeJournal = tradeJournal;
+        this.userManagementRepository = userManagementRepository;
+        this.walletRepository = walletRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.portfolioService = portfolioService;
+        this.leaderBoardRepository = leaderBoardRepository;
+        this.snapshotService = snapshotService;
+        this.symbols = symbols;
+        this.replayOnStartup = replayOnStartup;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, Long> journalFences = snapshotService.restore();
+        if (replayOnStartup) {
+            replay(journalFences);
+        }
+    }
+
+    /**
+     * Applies every journal record whose sequence is above its user's entry in {@code journalFences};
+     * users without an entry get all of their records. Gem and trade counts are fenced separately, at
+     * the user's {@link User#getGemsJournalSequence()}, since the listener that keeps them may not
+     * have caught up when the snapshot was taken.
+     */
+    public long replay(Map<String, Long> journalFences) {
+        long start = System.nanoTime();
+        Map<String, User> replayedUsers = new HashMap<>();
+        long[] applied = new long[1];
+        tradeJournal.replay(record -> {
+            User user = replayedUsers.get(record.getUserId());
+            if (user == null) {
+                user = findOrCreateUser(record);
+            }
+            boolean applies = record.getSequence() > journalFences.getOrDefault(record.getUserId(), 0L);
+            boolean counts = record.isTrade() && record.getSequence() > user.getGemsJournalSequence();
+            if (!applies && !counts) {
+                return;
+            }
+            replayedUsers.put(user.getUserId(), user);
+            if (applies) {
+                apply(record, user);
+                applied[0]++;
+            }
+            if (counts) {
+                user.recordCompletedTrade(record.getSequence());
+            }
+        });
+
+        replayedUsers.values().forEach(user -> {
+            userManagementRepository.save(user);
+            leaderBoardRepository.save(user.getUserId(), user.getGemsCount());
+        });
+        log.info("Replayed {} journal records for {} users in {} ms", applied[0], replayedUsers.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return applied[0];
+    }
+
+    private void apply(TradeRecord record, User user) {
+        String userId = record.getUserId();
+        Wallet wallet = walletRepository.findByUserId(userId)
+                .orElseGet(() -> walletRepository.save(Wallet.builder().userId(userId).build()));
+        Portfolio portfolio = portfolioRepository.findByUserId(userId)
+                .orElseGet(() -> portfolioRepository.save(Portfolio.builder().userId(userId).holdings(new Holdings(symbols)).build()));
+        if (record.isTrade()) {
+            applyTrade(record, user, wallet, portfolio);
+        }
+
+        wallet.setBalanceMinorUnits(record.getWalletBalanceMinorUnits());
+        walletRepository.save(wallet);
+    }
+
+    private void applyTrade(TradeRecord record, User user, Wallet wallet, Portfolio portfolio) {
+        TradeContext context = TradeContext.builder()
+                .user(user)
+                .wallet(wallet)
+                .portfolio(portfolio)
+                .catalogAsset(Asset.builder()
+                        .assetId(record.getAssetId())
+                        .name(record.getAssetName())
+                        .price(record.getUnitPrice())
+                        .build())
+                .transactionType(record.getTransactionType())
+                .quantity(record.getQuantity())
+                .totalPriceMinorUnits(record.getTotalPriceMinorUnits())
+                .build();
+
+        ApiResponse<Portfolio> response = record.getTransactionType() == TransactionType.BUY
+                ? portfolioService.addAsset(context)
+                : portfolioService.removeAsset(context);
+        if (response.getCode() != HttpStatus.OK.value()) {
+            log.error("Journalled trade {} no longer applies to the portfolio of user {}. Errors: {}",
+                    record.getSequence(), user.getUserId(), response.getErrors());
+        }
+    }
+
+    private User findOrCreateUser(TradeRecord record) {
+        return userManagementRepository.findById(record.getUserId())
+                .orElseGet(() -> userManagementRepository.save(User.builder()
+                        .userId(record.getUserId())
+                        .username(record.getUsername())
+                        .build()));
+    }
+}
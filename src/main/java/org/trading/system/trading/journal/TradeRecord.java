@@ -0,0 +1,55 @@
+package org.trading.system.trading.journal;
+
+import lombok.*;
+import org.trading.system.common.constants.TransactionType;
+import org.trading.system.common.util.Money;
+
+/**
+ * One journal entry: an executed trade, a wallet top-up or a new user, as told by
+ * {@link #getRecordType()}. The wallet balance is the balance after the entry was applied, and a
+ * top-up's amount is its {@code totalPriceMinorUnits}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@Builder
+public class TradeRecord {
+
+    private final long sequence;
+
+    private final long timestampMillis;
+
+    private final String userId;
+
+    private final String username;
+
+    private final String assetId;
+
+    private final String assetName;
+
+    private final JournalRecordType recordType;
+
+    // Set for trades only.
+    private final TransactionType transactionType;
+
+    private final int quantity;
+
+    private final long totalPriceMinorUnits;
+
+    private final long walletBalanceMinorUnits;
+
+    /**
+     * @return the record's type; a record built with only a transaction type is that trade
+     */
+    public JournalRecordType getRecordType() {
+        return recordType != null ? recordType : JournalRecordType.of(transactionType);
+    }
+
+    public boolean isTrade() {
+        return getRecordType().transactionType() != null;
+    }
+
+    public Money getUnitPrice() {
+        return Money.ofMinorUnits(totalPriceMinorUnits / quantity);
+    }
+}
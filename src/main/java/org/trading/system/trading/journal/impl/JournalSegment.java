@@ -0,0 +1,136 @@
+package org.trading.system.trading.journal.impl;
+
+import lombok.Getter;
+import org.trading.system.trading.journal.TradeRecord;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import static org.trading.system.trading.journal.impl.TradeRecordCodec.FRAME_HEADER_BYTES;
+
+/**
+ * One fixed-size journal file mapped into memory. The file name carries the sequence of the first
+ * record it holds, so segments sort by name and a new segment knows its sequence before any write.
+ */
+class JournalSegment {
+
+    private static final String PREFIX = "trades-";
+    private static final String SUFFIX = ".journal";
+
+    @Getter
+    private final Path path;
+    @Getter
+    private final long firstSequence;
+    private final MappedByteBuffer buffer;
+
+    @Getter
+    private int position;
+    private int flushedPosition;
+
+    private JournalSegment(Path path, long firstSequence, MappedByteBuffer buffer, int position) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.buffer = buffer;
+        this.position = position;
+        this.flushedPosition = position;
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int size) throws IOException {
+        Path path = directory.resolve(fileName(firstSequence));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new JournalSegment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), 0);
+        }
+    }
+
+    /**
+     * Maps an existing segment for appending after its last intact record. Anything past that record
+     * is a torn write and is zeroed so it can never be read back as a frame.
+     */
+    static JournalSegment openForAppend(Path path, Consumer<TradeRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int end = readFrames(buffer, consumer);
+            zeroFrom(buffer, end);
+            return new JournalSegment(path, sequenceOf(path), buffer, end);
+        }
+    }
+
+    static void read(Path path, Consumer<TradeRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            readFrames(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), consumer);
+        }
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    int remaining() {
+        return buffer.capacity() - position;
+    }
+
+    void write(int checksum, byte[] body) {
+        buffer.putInt(position + Integer.BYTES, checksum);
+        buffer.put(position + FRAME_HEADER_BYTES, body);
+        // The length goes last so a reader never sees a length without the body behind it.
+        buffer.putInt(position, body.length);
+        position += FRAME_HEADER_BYTES + body.length;
+    }
+
+    /**
+     * Forces everything written up to {@code end} that an earlier call has not already forced.
+     */
+    synchronized void force(int end) {
+        if (end > flushedPosition) {
+            buffer.force(flushedPosition, end - flushedPosition);
+            flushedPosition = end;
+        }
+    }
+
+    private static int readFrames(ByteBuffer buffer, Consumer<TradeRecord> consumer) {
+        int offset = 0;
+        while (offset + FRAME_HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || length > buffer.capacity() - offset - FRAME_HEADER_BYTES) {
+                break;
+            }
+            byte[] body = new byte[length];
+            buffer.get(offset + FRAME_HEADER_BYTES, body);
+            if (TradeRecordCodec.checksum(body) != buffer.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+            consumer.accept(TradeRecordCodec.decodeBody(ByteBuffer.wrap(body)));
+            offset += FRAME_HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    private static void zeroFrom(MappedByteBuffer buffer, int from) {
+        boolean torn = false;
+        for (int i = from; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+                torn = true;
+            }
+        }
+        if (torn) {
+            buffer.force();
+        }
+    }
+
+    private static String fileName(long firstSequence) {
+        return String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX);
+    }
+}
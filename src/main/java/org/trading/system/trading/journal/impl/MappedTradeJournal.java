@@ -0,0 +1,343 @@
+package org.trading.system.trading.journal.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.TradeRecord;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.trading.system.trading.journal.impl.TradeRecordCodec.FRAME_HEADER_BYTES;
+import static org.trading.system.trading.journal.impl.TradeRecordCodec.SEQUENCE_OFFSET;
+
+/**
+ * Appends trades to memory-mapped segments of {@code segment-size-bytes}, rolling to a new file when
+ * a record no longer fits. Writers copy their frame into the mapping under one short lock; how long
+ * they then wait for the disk depends on the {@link FsyncPolicy}. With {@link FsyncPolicy#GROUP} a
+ * single flusher thread wakes on the first unforced frame, lingers {@code group-commit-interval-us}
+ * and then forces every frame written so far, so concurrent trades share one fsync. A force that
+ * fails closes the journal: what reached the disk is unknown, so the flusher does not retry, waiters
+ * for the frames it covered get the failure and later writes are refused.
+ */
+@Component
+@Slf4j
+public class MappedTradeJournal implements TradeJournal, DisposableBean {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSizeBytes;
+    @Getter
+    private final FsyncPolicy fsyncPolicy;
+    private final long groupCommitIntervalNanos;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+
+    private final Timer appendTimer;
+    private final Counter rolledCounter;
+
+    private JournalSegment activeSegment;
+    private long nextSequence = 1;
+    private volatile long writtenSequence;
+    private volatile long durableSequence;
+    private volatile boolean open;
+    private volatile boolean flusherIdle;
+    private volatile RuntimeException flushFailure;
+    private Thread flusher;
+
+    public MappedTradeJournal(MeterRegistry meterRegistry,
+                              @Value("${trading.journal.enabled:true}") boolean enabled,
+                              @Value("${trading.journal.directory:data/journal}") String directory,
+                              @Value("${trading.journal.segment-size-bytes:67108864}") int segmentSizeBytes,
+                              @Value("${trading.journal.fsync:GROUP}") FsyncPolicy fsyncPolicy,
+                              @Value("${trading.journal.group-commit-interval-us:0}") long groupCommitIntervalMicros) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSizeBytes = Math.max(4096, segmentSizeBytes);
+        this.fsyncPolicy = fsyncPolicy;
+        this.groupCommitIntervalNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, groupCommitIntervalMicros));
+
+        this.appendTimer = Timer.builder("trading.journal.append")
+                .description("Time to append a trade, including waiting for it to be durable")
+                .tag("fsync", fsyncPolicy.name().toLowerCase())
+                .register(meterRegistry);
+        this.rolledCounter = Counter.builder("trading.journal.segments.rolled")
+                .description("Journal segments filled and replaced by a new one")
+                .register(meterRegistry);
+
+        if (enabled) {
+            open();
+        } else {
+            log.info("Trade journal disabled");
+        }
+    }
+
+    @Override
+    public long append(TradeRecord record) {
+        if (!enabled) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        long sequence = write(record);
+        awaitDurable(sequence);
+        appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return sequence;
+    }
+
+    @Override
+    public long write(TradeRecord record) {
+        if (!enabled) {
+            return 0;
+        }
+
+        byte[] body = TradeRecordCodec.encodeBody(record);
+        if (FRAME_HEADER_BYTES + body.length > segmentSizeBytes) {
+            throw new IllegalArgumentException("Trade record of " + body.length + " bytes does not fit in a journal segment");
+        }
+
+        long sequence;
+        appendLock.lock();
+        try {
+            if (!open) {
+                throw new IllegalStateException("Trade journal is closed");
+            }
+            sequence = nextSequence++;
+            ByteBuffer.wrap(body).putLong(SEQUENCE_OFFSET, sequence);
+            if (activeSegment.remaining() < FRAME_HEADER_BYTES + body.length) {
+                roll(sequence);
+            }
+            activeSegment.write(TradeRecordCodec.checksum(body), body);
+            writtenSequence = sequence;
+            if (fsyncPolicy == FsyncPolicy.PER_TRADE) {
+                activeSegment.force(activeSegment.getPosition());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (fsyncPolicy == FsyncPolicy.GROUP && flusherIdle) {
+            LockSupport.unpark(flusher);
+        }
+        return sequence;
+    }
+
+    @Override
+    public long replay(Consumer<TradeRecord> consumer) {
+        if (!enabled) {
+            return 0;
+        }
+
+        long[] count = new long[1];
+        for (Path segment : listSegments()) {
+            try {
+                JournalSegment.read(segment, record -> {
+                    consumer.accept(record);
+                    count[0]++;
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read journal segment " + segment, e);
+            }
+        }
+        return count[0];
+    }
+
+    @Override
+    public long lastSequence() {
+        return writtenSequence;
+    }
+
+    @Override
+    public void destroy() {
+        if (!enabled) {
+            return;
+        }
+
+        appendLock.lock();
+        try {
+            open = false;
+            if (flushFailure == null) {
+                activeSegment.force(activeSegment.getPosition());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (flushFailure == null) {
+            markDurable(writtenSequence);
+        }
+        log.info("Trade journal closed at sequence {}", writtenSequence);
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = listSegments();
+            if (segments.isEmpty()) {
+                activeSegment = JournalSegment.create(directory, nextSequence, segmentSizeBytes);
+            } else {
+                Path last = segments.get(segments.size() - 1);
+                long[] lastSequence = {JournalSegment.sequenceOf(last) - 1};
+                activeSegment = JournalSegment.openForAppend(last, record -> lastSequence[0] = record.getSequence());
+                nextSequence = lastSequence[0] + 1;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open trade journal in " + directory.toAbsolutePath(), e);
+        }
+
+        writtenSequence = nextSequence - 1;
+        durableSequence = writtenSequence;
+        open = true;
+        if (fsyncPolicy == FsyncPolicy.GROUP) {
+            flusher = new Thread(this::runFlusher, "trade-journal-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+        log.info("Trade journal open in {} at sequence {} with {} fsync", directory.toAbsolutePath(),
+                nextSequence, fsyncPolicy);
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalSegment::isSegment).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list journal segments in " + directory.toAbsolutePath(), e);
+        }
+    }
+
+    private void roll(long firstSequence) {
+        // Everything in the old segment is forced here, so the flusher only ever has the active one to sync.
+        if (fsyncPolicy != FsyncPolicy.OS) {
+            activeSegment.force(activeSegment.getPosition());
+        }
+        try {
+            activeSegment = JournalSegment.create(directory, firstSequence, segmentSizeBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll trade journal segment", e);
+        }
+        rolledCounter.increment();
+        log.info("Rolled trade journal to {}", activeSegment.getPath().getFileName());
+    }
+
+    private void runFlusher() {
+        while (open) {
+            if (writtenSequence <= durableSequence) {
+                flusherIdle = true;
+                if (writtenSequence <= durableSequence && open) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                flusherIdle = false;
+                continue;
+            }
+            // Linger so trades arriving just behind the first one share its fsync.
+            long deadline = System.nanoTime() + groupCommitIntervalNanos;
+            for (long wait = groupCommitIntervalNanos; wait > 0; wait = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            flushPending();
+        }
+        flushPending();
+    }
+
+    private void flushPending() {
+        JournalSegment segment;
+        int end;
+        long target;
+        appendLock.lock();
+        try {
+            segment = activeSegment;
+            end = segment.getPosition();
+            target = writtenSequence;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (target > durableSequence && flushFailure == null) {
+            try {
+                segment.force(end);
+            } catch (RuntimeException e) {
+                log.error("Failed to force trade journal segment {}; closing the journal", segment.getPath().getFileName(), e);
+                failFlush(e);
+                return;
+            }
+            markDurable(target);
+        }
+    }
+
+    /**
+     * Closes the journal to writes and fails every wait for a frame not yet durable.
+     */
+    void failFlush(RuntimeException cause) {
+        appendLock.lock();
+        try {
+            open = false;
+        } finally {
+            appendLock.unlock();
+        }
+        flushLock.lock();
+        try {
+            flushFailure = cause;
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void markDurable(long sequence) {
+        flushLock.lock();
+        try {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+            }
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        if (fsyncPolicy != FsyncPolicy.GROUP || durableSequence >= sequence) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (flushFailure != null) {
+                    throw new IllegalStateException("Trade journal failed to force sequence " + sequence, flushFailure);
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.trading.system.trading.journal.impl;
+
+import org.trading.system.trading.journal.JournalRecordType;
+import org.trading.system.trading.journal.TradeRecord;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of a journal frame: {@code int length | int crc32c | body}, where the body is the
+ * fixed-width fields followed by four length-prefixed UTF-8 strings. A zero length marks the end of
+ * the written part of a segment, which is why freshly mapped, zero-filled space needs no terminator.
+ */
+final class TradeRecordCodec {
+
+    static final int FRAME_HEADER_BYTES = Integer.BYTES * 2;
+    static final int SEQUENCE_OFFSET = 0;
+
+    private static final int FIXED_BODY_BYTES = Long.BYTES * 4 + Byte.BYTES + Integer.BYTES;
+    private static final JournalRecordType[] RECORD_TYPES = JournalRecordType.values();
+
+    private TradeRecordCodec() {
+    }
+
+    /**
+     * Encodes the body with a zero sequence; the journal patches it in at {@link #SEQUENCE_OFFSET}.
+     */
+    static byte[] encodeBody(TradeRecord record) {
+        byte[] userId = utf8(record.getUserId());
+        byte[] username = utf8(record.getUsername());
+        byte[] assetId = utf8(record.getAssetId());
+        byte[] assetName = utf8(record.getAssetName());
+
+        ByteBuffer body = ByteBuffer.allocate(FIXED_BODY_BYTES
+                + stringBytes(userId) + stringBytes(username) + stringBytes(assetId) + stringBytes(assetName));
+        body.putLong(0L)
+                .putLong(record.getTimestampMillis())
+                .put((byte) record.getRecordType().ordinal())
+                .putInt(record.getQuantity())
+                .putLong(record.getTotalPriceMinorUnits())
+                .putLong(record.getWalletBalanceMinorUnits());
+        putString(body, userId);
+        putString(body, username);
+        putString(body, assetId);
+        putString(body, assetName);
+        return body.array();
+    }
+
+    static int checksum(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    static TradeRecord decodeBody(ByteBuffer body) {
+        long sequence = body.getLong();
+        long timestampMillis = body.getLong();
+        JournalRecordType recordType = RECORD_TYPES[body.get()];
+        return TradeRecord.builder()
+                .sequence(sequence)
+                .timestampMillis(timestampMillis)
+                .recordType(recordType)
+                .transactionType(recordType.transactionType())
+                .quantity(body.getInt())
+                .totalPriceMinorUnits(body.getLong())
+                .walletBalanceMinorUnits(body.getLong())
+                .userId(getString(body))
+                .username(getString(body))
+                .assetId(getString(body))
+                .assetName(getString(body))
+                .build();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringBytes(byte[] value) {
+        return Short.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer body, byte[] value) {
+        if (value == null) {
+            body.putShort((short) -1);
+            return;
+        }
+        if (value.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal string field longer than " + Short.MAX_VALUE + " bytes");
+        }
+        body.putShort((short) value.length).put(value);
+    }
+
+    private static String getString(ByteBuffer body) {
+        short length = body.getShort();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(body.array(), body.arrayOffset() + body.position(), length, StandardCharsets.UTF_8);
+        body.position(body.position() + length);
+        return value;
+    }
+}
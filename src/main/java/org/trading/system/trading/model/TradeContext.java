@@ -0,0 +1,44 @@
+package org.trading.system.trading.model;
+
+import lombok.*;
+import org.trading.system.common.constants.TransactionType;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.userManagement.model.User;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class TradeContext {
+
+    private final User user;
+
+    private final Wallet wallet;
+
+    private final Portfolio portfolio;
+
+    private final Asset catalogAsset;
+
+    private final TransactionType transactionType;
+
+    private final int quantity;
+
+    private final long totalPriceMinorUnits;
+
+    // Off on the sequencer's business thread, whose response stage waits for the journal instead.
+    @Builder.Default
+    private final boolean awaitDurable = true;
+
+    public String getUserId() {
+        return user.getUserId();
+    }
+
+    public String getAssetId() {
+        return catalogAsset.getAssetId();
+    }
+
+    public Money getTotalPrice() {
+        return Money.ofMinorUnits(totalPriceMinorUnits);
+    }
+}
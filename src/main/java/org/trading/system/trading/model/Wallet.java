@@ -1,23 +1,64 @@
 package org.trading.system.trading.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.trading.system.common.util.Money;
 
-import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.trading.system.common.util.IdGenerationUtil.generateId;
 
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
-@Builder
 public class Wallet {
 
-    @Builder.Default
     private String walletId = generateId();
 
     private String userId;
 
-    @Builder.Default
-    private BigDecimal balance = BigDecimal.ZERO;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicLong balanceMinorUnits = new AtomicLong();
+
+    @Builder
+    public Wallet(String walletId, String userId, Money balance) {
+        this.walletId = walletId != null ? walletId : generateId();
+        this.userId = userId;
+        if (balance != null) {
+            setBalance(balance);
+        }
+    }
+
+    public Money getBalance() {
+        return Money.ofMinorUnits(balanceMinorUnits.get());
+    }
+
+    public void setBalance(Money balance) {
+        balanceMinorUnits.set(balance.getMinorUnits());
+    }
+
+    @JsonIgnore
+    public long getBalanceMinorUnits() {
+        return balanceMinorUnits.get();
+    }
+
+    public void setBalanceMinorUnits(long minorUnits) {
+        balanceMinorUnits.set(minorUnits);
+    }
+
+    public long credit(long minorUnits) {
+        return balanceMinorUnits.accumulateAndGet(minorUnits, Math::addExact);
+    }
+
+    public boolean debitIfSufficient(long minorUnits) {
+        long current;
+        do {
+            current = balanceMinorUnits.get();
+            if (current < minorUnits) {
+                return false;
+            }
+        } while (!balanceMinorUnits.compareAndSet(current, current - minorUnits));
+        return true;
+    }
 }
@@ -0,0 +1,20 @@
+package org.trading.system.trading.orderbook;
+
+/**
+ * Settles the fills an {@link OrderBook} produces while matching an incoming order. Called on the
+ * matching thread with the book mid-match, so it must not call back into the book.
+ */
+@FunctionalInterface
+public interface FillHandler {
+
+    enum Outcome {
+        /** The fill settled; the book takes the quantity off both orders. */
+        SETTLED,
+        /** The resting order cannot settle; the book cancels it and keeps matching. */
+        REJECT_RESTING,
+        /** The incoming order cannot settle; matching stops and it does not rest. */
+        REJECT_INCOMING
+    }
+
+    Outcome onFill(long restingOrderId, String restingOwner, int quantity, long priceMinorUnits);
+}
@@ -0,0 +1,15 @@
+package org.trading.system.trading.orderbook;
+
+/**
+ * How settling one fill between a buyer and a seller ended.
+ */
+public enum FillSettlement {
+
+    SETTLED,
+
+    /** The buyer cannot pay or no longer exists, or the fill could not be journaled; nothing moved. */
+    BUYER_REJECTED,
+
+    /** The seller does not hold the quantity or no longer exists; nothing moved. */
+    SELLER_REJECTED
+}
@@ -0,0 +1,392 @@
+package org.trading.system.trading.orderbook;
+
+import org.trading.system.common.constants.TransactionType;
+
+import java.util.Arrays;
+
+/**
+ * Price-time priority limit order book of one asset. Orders live in parallel primitive arrays
+ * indexed by slot and are chained into per-price FIFO queues through {@code next}/{@code prev}
+ * slots, so adding, matching and cancelling allocate nothing once the arrays have grown to the
+ * book's working size. Each side keeps its price levels in arrays sorted so the best level is
+ * last; the levels that change most sit next to it and move least on insert and removal.
+ * <p>
+ * An order id carries its slot and the slot's generation, so ids of filled or cancelled orders
+ * stay dead after the slot is reused. Ids are unique within one book only.
+ * <p>
+ * Not thread-safe: one thread at a time must own the book, including while fills settle.
+ */
+public final class OrderBook {
+
+    public static final long NO_ORDER = 0;
+    public static final long NO_PRICE = Long.MIN_VALUE;
+
+    private static final int NIL = -1;
+
+    private long[] prices;
+    private int[] remaining;
+    private int[] next;
+    private int[] prev;
+    private int[] generations;
+    private boolean[] buys;
+    private String[] owners;
+    private int freeHead = NIL;
+    private int allocated;
+    private int liveOrders;
+
+    private final Levels bids = new Levels(true);
+    private final Levels asks = new Levels(false);
+
+    private boolean incomingRejected;
+
+    public OrderBook() {
+        this(64);
+    }
+
+    public OrderBook(int initialOrders) {
+        int capacity = Math.max(1, initialOrders);
+        prices = new long[capacity];
+        remaining = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        generations = new int[capacity];
+        buys = new boolean[capacity];
+        owners = new String[capacity];
+    }
+
+    /**
+     * Matches a limit order against the opposite side up to {@code limitPriceMinorUnits} and rests
+     * what is left at that price behind every order already there.
+     *
+     * @return the id of the resting remainder, or {@link #NO_ORDER} if nothing rests
+     */
+    public long submitLimit(String owner, TransactionType side, long limitPriceMinorUnits, int quantity,
+                            FillHandler handler) {
+        if (limitPriceMinorUnits <= 0 || quantity <= 0) {
+            throw new IllegalArgumentException("Invalid limit order " + quantity + " @ " + limitPriceMinorUnits);
+        }
+        boolean buy = side == TransactionType.BUY;
+        int left = match(buy, limitPriceMinorUnits, quantity, handler);
+        if (left == 0 || incomingRejected) {
+            return NO_ORDER;
+        }
+        return rest(owner, buy, limitPriceMinorUnits, left);
+    }
+
+    /**
+     * Matches a market order against the opposite side at any price; whatever the book cannot fill
+     * is dropped.
+     *
+     * @return the quantity left unfilled
+     */
+    public int submitMarket(TransactionType side, int quantity, FillHandler handler) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Invalid market order " + quantity);
+        }
+        return match(side == TransactionType.BUY, NO_PRICE, quantity, handler);
+    }
+
+    /**
+     * @return whether {@code orderId} was resting; its remainder is removed from the book
+     */
+    public boolean cancel(long orderId) {
+        int slot = liveSlot(orderId);
+        if (slot == NIL) {
+            return false;
+        }
+        Levels levels = buys[slot] ? bids : asks;
+        remove(levels, levels.find(prices[slot]), slot, remaining[slot]);
+        return true;
+    }
+
+    /**
+     * Changes a resting order. Shrinking it at the same price keeps its place in the queue and its
+     * id; any other change cancels it and submits the new price and quantity as a fresh limit
+     * order, which may match.
+     *
+     * @return the id the order now rests under, {@link #NO_ORDER} if nothing rests, or -1 if
+     * {@code orderId} was not resting
+     */
+    public long replace(long orderId, long limitPriceMinorUnits, int quantity, FillHandler handler) {
+        int slot = liveSlot(orderId);
+        if (slot == NIL) {
+            return -1;
+        }
+        if (limitPriceMinorUnits <= 0 || quantity <= 0) {
+            throw new IllegalArgumentException("Invalid limit order " + quantity + " @ " + limitPriceMinorUnits);
+        }
+        Levels levels = buys[slot] ? bids : asks;
+        if (limitPriceMinorUnits == prices[slot] && quantity <= remaining[slot]) {
+            int level = levels.find(prices[slot]);
+            levels.quantities[level] -= remaining[slot] - quantity;
+            remaining[slot] = quantity;
+            return orderId;
+        }
+        String owner = owners[slot];
+        TransactionType side = buys[slot] ? TransactionType.BUY : TransactionType.SELL;
+        remove(levels, levels.find(prices[slot]), slot, remaining[slot]);
+        return submitLimit(owner, side, limitPriceMinorUnits, quantity, handler);
+    }
+
+    public boolean isResting(long orderId) {
+        return liveSlot(orderId) != NIL;
+    }
+
+    /**
+     * @return the unfilled quantity of a resting order, or 0 if it is not resting
+     */
+    public int remainingOf(long orderId) {
+        int slot = liveSlot(orderId);
+        return slot == NIL ? 0 : remaining[slot];
+    }
+
+    /**
+     * @return the owner of a resting order, or null if it is not resting
+     */
+    public String ownerOf(long orderId) {
+        int slot = liveSlot(orderId);
+        return slot == NIL ? null : owners[slot];
+    }
+
+    /**
+     * @return the limit price of a resting order, or {@link #NO_PRICE} if it is not resting
+     */
+    public long priceOf(long orderId) {
+        int slot = liveSlot(orderId);
+        return slot == NIL ? NO_PRICE : prices[slot];
+    }
+
+    /**
+     * @return the side of a resting order, or null if it is not resting
+     */
+    public TransactionType sideOf(long orderId) {
+        int slot = liveSlot(orderId);
+        return slot == NIL ? null : buys[slot] ? TransactionType.BUY : TransactionType.SELL;
+    }
+
+    /**
+     * @return the best price on {@code side}, or {@link #NO_PRICE} if the side is empty
+     */
+    public long bestPrice(TransactionType side) {
+        Levels levels = side == TransactionType.BUY ? bids : asks;
+        return levels.count == 0 ? NO_PRICE : levels.prices[levels.count - 1];
+    }
+
+    /**
+     * Copies up to {@code prices.length} levels of {@code side}, best first.
+     *
+     * @return the number of levels copied
+     */
+    public int depth(TransactionType side, long[] prices, long[] quantities) {
+        Levels levels = side == TransactionType.BUY ? bids : asks;
+        int copied = Math.min(levels.count, Math.min(prices.length, quantities.length));
+        for (int i = 0; i < copied; i++) {
+            prices[i] = levels.prices[levels.count - 1 - i];
+            quantities[i] = levels.quantities[levels.count - 1 - i];
+        }
+        return copied;
+    }
+
+    public int orderCount() {
+        return liveOrders;
+    }
+
+    private int match(boolean buy, long limit, int quantity, FillHandler handler) {
+        incomingRejected = false;
+        Levels opposite = buy ? asks : bids;
+        while (quantity > 0 && opposite.count > 0) {
+            int level = opposite.count - 1;
+            long price = opposite.prices[level];
+            if (limit != NO_PRICE && (buy ? price > limit : price < limit)) {
+                break;
+            }
+            int slot = opposite.heads[level];
+            int fill = Math.min(quantity, remaining[slot]);
+            switch (handler.onFill(idOf(slot), owners[slot], fill, price)) {
+                case SETTLED -> {
+                    quantity -= fill;
+                    remove(opposite, level, slot, fill);
+                }
+                case REJECT_RESTING -> remove(opposite, level, slot, remaining[slot]);
+                case REJECT_INCOMING -> {
+                    incomingRejected = true;
+                    return quantity;
+                }
+            }
+        }
+        return quantity;
+    }
+
+    private long rest(String owner, boolean buy, long price, int quantity) {
+        int slot = allocate();
+        prices[slot] = price;
+        remaining[slot] = quantity;
+        buys[slot] = buy;
+        owners[slot] = owner;
+
+        Levels levels = buy ? bids : asks;
+        int level = levels.findOrInsert(price);
+        next[slot] = NIL;
+        prev[slot] = levels.tails[level];
+        if (levels.tails[level] == NIL) {
+            levels.heads[level] = slot;
+        } else {
+            next[levels.tails[level]] = slot;
+        }
+        levels.tails[level] = slot;
+        levels.quantities[level] += quantity;
+        liveOrders++;
+        return idOf(slot);
+    }
+
+    /**
+     * Takes {@code quantity} off the order in {@code slot}, dropping the order once nothing is left
+     * of it and the level once it is empty.
+     */
+    private void remove(Levels levels, int level, int slot, int quantity) {
+        remaining[slot] -= quantity;
+        levels.quantities[level] -= quantity;
+        if (remaining[slot] > 0) {
+            return;
+        }
+        if (prev[slot] == NIL) {
+            levels.heads[level] = next[slot];
+        } else {
+            next[prev[slot]] = next[slot];
+        }
+        if (next[slot] == NIL) {
+            levels.tails[level] = prev[slot];
+        } else {
+            prev[next[slot]] = prev[slot];
+        }
+        if (levels.heads[level] == NIL) {
+            levels.removeAt(level);
+        }
+        release(slot);
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            int slot = freeHead;
+            freeHead = next[slot];
+            return slot;
+        }
+        if (allocated == prices.length) {
+            int capacity = prices.length * 2;
+            prices = Arrays.copyOf(prices, capacity);
+            remaining = Arrays.copyOf(remaining, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            buys = Arrays.copyOf(buys, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+        }
+        generations[allocated] = 1;
+        return allocated++;
+    }
+
+    private void release(int slot) {
+        owners[slot] = null;
+        remaining[slot] = 0;
+        // Skip 0 on wrap-around so no id ever equals NO_ORDER.
+        generations[slot] = Math.max(1, (generations[slot] + 1) & Integer.MAX_VALUE);
+        next[slot] = freeHead;
+        freeHead = slot;
+        liveOrders--;
+    }
+
+    private long idOf(int slot) {
+        return (long) generations[slot] << 32 | slot;
+    }
+
+    private int liveSlot(long orderId) {
+        int slot = (int) orderId;
+        if (slot < 0 || slot >= allocated || generations[slot] != (int) (orderId >>> 32) || remaining[slot] == 0) {
+            return NIL;
+        }
+        return slot;
+    }
+
+    /**
+     * Price levels of one side, sorted so the best price is at {@code count - 1}: ascending for bids,
+     * descending for asks.
+     */
+    private static final class Levels {
+
+        private final boolean bids;
+        private long[] prices = new long[16];
+        private long[] quantities = new long[16];
+        private int[] heads = new int[16];
+        private int[] tails = new int[16];
+        private int count;
+
+        private Levels(boolean bids) {
+            this.bids = bids;
+        }
+
+        private int find(long price) {
+            int index = search(price);
+            if (index < 0) {
+                throw new IllegalStateException("No level at " + price);
+            }
+            return index;
+        }
+
+        private int findOrInsert(long price) {
+            int index = search(price);
+            if (index >= 0) {
+                return index;
+            }
+            index = -index - 1;
+            if (count == prices.length) {
+                int capacity = prices.length * 2;
+                prices = Arrays.copyOf(prices, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                heads = Arrays.copyOf(heads, capacity);
+                tails = Arrays.copyOf(tails, capacity);
+            }
+            int moved = count - index;
+            System.arraycopy(prices, index, prices, index + 1, moved);
+            System.arraycopy(quantities, index, quantities, index + 1, moved);
+            System.arraycopy(heads, index, heads, index + 1, moved);
+            System.arraycopy(tails, index, tails, index + 1, moved);
+            prices[index] = price;
+            quantities[index] = 0;
+            heads[index] = NIL;
+            tails[index] = NIL;
+            count++;
+            return index;
+        }
+
+        private void removeAt(int index) {
+            int moved = count - index - 1;
+            System.arraycopy(prices, index + 1, prices, index, moved);
+            System.arraycopy(quantities, index + 1, quantities, index, moved);
+            System.arraycopy(heads, index + 1, heads, index, moved);
+            System.arraycopy(tails, index + 1, tails, index, moved);
+            count--;
+        }
+
+        private int search(long price) {
+            long key = rank(price);
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midKey = rank(prices[mid]);
+                if (midKey < key) {
+                    low = mid + 1;
+                } else if (midKey > key) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+
+        private long rank(long price) {
+            return bids ? price : -price;
+        }
+    }
+}
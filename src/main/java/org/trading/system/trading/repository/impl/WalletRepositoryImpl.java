@@ -2,36 +2,35 @@ package org.trading.system.trading.repository.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.trading.system.common.repository.IndexedInMemoryRepository;
 import org.trading.system.trading.model.Wallet;
 import org.trading.system.trading.repository.WalletRepository;
 
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
 @RequiredArgsConstructor
-public class WalletRepositoryImpl implements WalletRepository {
+public class WalletRepositoryImpl extends IndexedInMemoryRepository<Wallet> implements WalletRepository {
 
-    private final Map<String, Wallet> walletStore  = new ConcurrentHashMap<>();
+    private final UniqueIndex<Wallet> userIdIndex = uniqueIndex(Wallet::getUserId);
 
     @Override
     public Wallet save(Wallet wallet) {
-        walletStore.put(wallet.getWalletId(), wallet);
-        return wallet;
+        return put(wallet);
     }
 
     @Override
     public Optional<Wallet> findById(String walletId) {
-        return Optional.ofNullable(
-                walletStore.get(walletId));
+        return get(walletId);
     }
 
     @Override
     public Optional<Wallet> findByUserId(String userId) {
-        return walletStore.values()
-                .stream().filter(portfolio ->
-                        portfolio.getUserId().equals(userId))
-                .findFirst();
+        return userIdIndex.find(userId);
+    }
+
+    @Override
+    protected String idOf(Wallet wallet) {
+        return wallet.getWalletId();
     }
 }
@@ -0,0 +1,13 @@
+package org.trading.system.trading.sequencer;
+
+/**
+ * How single trades reach the trading core.
+ */
+public enum ExecutionMode {
+
+    /** On the request thread, under the user's striped lock. */
+    LOCKED,
+
+    /** Through {@link TradeSequencer}: one business thread per partition, journal waits pipelined behind it. */
+    SEQUENCED
+}
@@ -0,0 +1,345 @@
+package org.trading.system.trading.sequencer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.journal.TradeJournal;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Single-writer pipeline for single trades. Users are split over {@code partitions}; each partition
+ * owns a ring of {@code ring-size} command slots allocated once, a business thread and a response
+ * thread. A request thread claims the next free slot with one compare-and-set, fills it in and
+ * publishes it; a slot is only claimed once it is free, so every claimed slot gets published and the
+ * business thread never waits on one that will not be. The business thread runs the published
+ * commands strictly in claim order, writing each trade to the journal without waiting for the disk.
+ * The response thread takes every command the business thread has finished, waits once for the last
+ * of their journal records to be durable, completes their futures and frees the slots. A user always
+ * lands on the same partition, so their trades run one at a time in submission order.
+ * <p>
+ * A full ring holds request threads back until the response thread frees a slot. Callers wait for a
+ * response for at most {@code response-timeout-ms}. On shutdown, commands claimed but never run fail
+ * with a {@link RejectedExecutionException}. In {@link ExecutionMode#LOCKED} no threads start and
+ * {@link #isEnabled()} is false.
+ */
+@Component
+@Slf4j
+public class TradeSequencer implements DisposableBean {
+
+    private static final int SPIN_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    // Swapped into a partition's claimed sequence on shutdown, after which nothing more is claimed.
+    private static final long CLOSED = Long.MAX_VALUE;
+
+    @Getter
+    private final ExecutionMode mode;
+    @Getter
+    private final long responseTimeoutMillis;
+    private final TradeJournal tradeJournal;
+    private final Partition[] partitions;
+
+    private final Timer tradeTimer;
+    private final Counter fullCounter;
+
+    private volatile boolean running;
+
+    public TradeSequencer(TradeJournal tradeJournal, MeterRegistry meterRegistry,
+                          @Value("${trading.execution.mode:LOCKED}") ExecutionMode mode,
+                          @Value("${trading.sequencer.partitions:4}") int partitions,
+                          @Value("${trading.sequencer.ring-size:1024}") int ringSize,
+                          @Value("${trading.sequencer.response-timeout-ms:30000}") long responseTimeoutMillis) {
+        this.mode = mode;
+        this.responseTimeoutMillis = responseTimeoutMillis;
+        this.tradeJournal = tradeJournal;
+        this.tradeTimer = Timer.builder("trading.sequencer.trade")
+                .description("Time from submitting a trade to the sequencer until its response is ready")
+                .register(meterRegistry);
+        this.fullCounter = Counter.builder("trading.sequencer.ring.full")
+                .description("Trades that waited for a free slot in a full ring")
+                .register(meterRegistry);
+
+        if (mode != ExecutionMode.SEQUENCED) {
+            this.partitions = new Partition[0];
+            return;
+        }
+        int slots = Integer.highestOneBit(Math.max(2, ringSize) * 2 - 1);
+        this.partitions = new Partition[Math.max(1, partitions)];
+        this.running = true;
+        for (int i = 0; i < this.partitions.length; i++) {
+            this.partitions[i] = new Partition(i, slots);
+        }
+        log.info("Trade sequencer running {} partitions with rings of {} slots", this.partitions.length, slots);
+    }
+
+    public boolean isEnabled() {
+        return mode == ExecutionMode.SEQUENCED;
+    }
+
+    /**
+     * Queues {@code request} on its user's partition. {@code handler} runs on the partition's business
+     * thread and must not wait for the journal to be durable; the returned future completes once it is.
+     */
+    public CompletableFuture<ApiResponse<TradeResponse>> submit(TradeRequest request,
+                                                                Function<TradeRequest, ApiResponse<TradeResponse>> handler) {
+        if (!running) {
+            return notRunning();
+        }
+        Partition partition = partitions[partitionOf(request.getUserId())];
+        long sequence = partition.claim();
+        if (sequence < 0) {
+            return notRunning();
+        }
+
+        CompletableFuture<ApiResponse<TradeResponse>> future = new CompletableFuture<>();
+        Slot slot = partition.slots[(int) sequence & partition.mask];
+        slot.request = request;
+        slot.handler = handler;
+        slot.future = future;
+        slot.submittedNanos = System.nanoTime();
+        slot.published = sequence;
+        if (partition.businessIdle) {
+            LockSupport.unpark(partition.business);
+        }
+        return future;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        for (Partition partition : partitions) {
+            LockSupport.unpark(partition.business);
+            LockSupport.unpark(partition.responder);
+        }
+        for (Partition partition : partitions) {
+            partition.business.join(TimeUnit.SECONDS.toMillis(5));
+            partition.responder.join(TimeUnit.SECONDS.toMillis(5));
+            partition.failUnprocessed();
+        }
+    }
+
+    private static CompletableFuture<ApiResponse<TradeResponse>> notRunning() {
+        return CompletableFuture.completedFuture(ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                List.of("Trading is not accepting sequenced trades")));
+    }
+
+    int partitionOf(String userId) {
+        int hash = userId == null ? 0 : userId.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % partitions.length;
+    }
+
+    /**
+     * One command. Its fields are handed from the request thread to the business thread by the
+     * volatile write of {@code published}, to the response thread by {@link Partition#processed} and
+     * back to request threads by {@link Partition#released}.
+     */
+    private static final class Slot {
+        private volatile long published = -1;
+        private TradeRequest request;
+        private Function<TradeRequest, ApiResponse<TradeResponse>> handler;
+        private CompletableFuture<ApiResponse<TradeResponse>> future;
+        private long submittedNanos;
+        private ApiResponse<TradeResponse> result;
+        private long journalSequence;
+    }
+
+    private final class Partition {
+
+        private final Slot[] slots;
+        private final int mask;
+        private final AtomicLong claimed = new AtomicLong(-1);
+        private volatile long processed = -1;
+        private volatile long released = -1;
+        private volatile boolean businessIdle;
+        private volatile boolean responderIdle;
+        private volatile boolean businessDone;
+        private final Thread business;
+        private final Thread responder;
+
+        private Partition(int index, int size) {
+            this.slots = new Slot[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = new Slot();
+            }
+            this.mask = size - 1;
+            this.business = new Thread(this::runBusiness, "trade-sequencer-" + index);
+            this.responder = new Thread(this::runResponses, "trade-responder-" + index);
+            business.setDaemon(true);
+            responder.setDaemon(true);
+            business.start();
+            responder.start();
+        }
+
+        /**
+         * Claims the next slot once it is free.
+         *
+         * @return the claimed sequence, or -1 if the sequencer stopped while the ring was full
+         */
+        private long claim() {
+            boolean waited = false;
+            while (true) {
+                long current = claimed.get();
+                if (current == CLOSED) {
+                    return -1;
+                }
+                long sequence = current + 1;
+                if (sequence - released >= slots.length) {
+                    if (!waited) {
+                        fullCounter.increment();
+                        waited = true;
+                    }
+                    if (!running) {
+                        return -1;
+                    }
+                    LockSupport.parkNanos(FULL_PARK_NANOS);
+                } else if (claimed.compareAndSet(sequence - 1, sequence)) {
+                    return sequence;
+                }
+            }
+        }
+
+        /**
+         * Stops further claims and fails every command claimed after the business thread's last one.
+         * Does nothing while the business thread is still alive, since it may yet run them.
+         */
+        private void failUnprocessed() {
+            if (business.isAlive()) {
+                return;
+            }
+            long last = claimed.getAndSet(CLOSED);
+            if (last == CLOSED) {
+                return;
+            }
+            for (long sequence = processed + 1; sequence <= last; sequence++) {
+                Slot slot = slots[(int) sequence & mask];
+                // A claimed slot is filled in without blocking, so it is published shortly.
+                while (slot.published != sequence) {
+                    Thread.onSpinWait();
+                }
+                CompletableFuture<ApiResponse<TradeResponse>> future = slot.future;
+                slot.request = null;
+                slot.handler = null;
+                slot.future = null;
+                future.completeExceptionally(
+                        new RejectedExecutionException("The trade sequencer stopped before the trade ran"));
+            }
+        }
+
+        private void runBusiness() {
+            long next = 0;
+            int spins = 0;
+            while (true) {
+                Slot slot = slots[(int) next & mask];
+                if (slot.published != next) {
+                    if (!running) {
+                        break;
+                    }
+                    if (++spins < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    businessIdle = true;
+                    if (slot.published != next && running) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    businessIdle = false;
+                    spins = 0;
+                    continue;
+                }
+
+                ApiResponse<TradeResponse> result = execute(slot);
+                slot.result = result;
+                slot.journalSequence = result.getCode() == HttpStatus.OK.value() ? tradeJournal.lastSequence() : 0;
+                processed = next++;
+                spins = 0;
+                if (responderIdle) {
+                    LockSupport.unpark(responder);
+                }
+            }
+            businessDone = true;
+            LockSupport.unpark(responder);
+        }
+
+        private ApiResponse<TradeResponse> execute(Slot slot) {
+            try {
+                return slot.handler.apply(slot.request);
+            } catch (RuntimeException e) {
+                log.error("Unexpected error occurred during sequenced trade for user: {}", slot.request.getUserId(), e);
+                return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        List.of("An unexpected error occurred during the trade operation."));
+            }
+        }
+
+        private void runResponses() {
+            long next = 0;
+            int spins = 0;
+            while (true) {
+                long upTo = processed;
+                if (upTo < next) {
+                    if (businessDone && processed < next) {
+                        break;
+                    }
+                    if (++spins < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    responderIdle = true;
+                    if (processed < next && !businessDone) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    responderIdle = false;
+                    spins = 0;
+                    continue;
+                }
+
+                // The journal sequence only grows, so one wait covers every command in the run.
+                long durable = 0;
+                for (long sequence = next; sequence <= upTo; sequence++) {
+                    durable = Math.max(durable, slots[(int) sequence & mask].journalSequence);
+                }
+                boolean notDurable = false;
+                try {
+                    tradeJournal.awaitDurable(durable);
+                } catch (RuntimeException e) {
+                    log.error("Sequenced trades up to journal sequence {} could not be made durable", durable, e);
+                    notDurable = true;
+                }
+
+                long now = System.nanoTime();
+                for (long sequence = next; sequence <= upTo; sequence++) {
+                    Slot slot = slots[(int) sequence & mask];
+                    CompletableFuture<ApiResponse<TradeResponse>> future = slot.future;
+                    ApiResponse<TradeResponse> result = notDurable && slot.journalSequence > 0
+                            ? ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                                    List.of("The trade was applied but could not be made durable."))
+                            : slot.result;
+                    tradeTimer.record(now - slot.submittedNanos, TimeUnit.NANOSECONDS);
+                    slot.request = null;
+                    slot.handler = null;
+                    slot.future = null;
+                    slot.result = null;
+                    future.complete(result);
+                }
+                released = upTo;
+                next = upTo + 1;
+                spins = 0;
+            }
+        }
+    }
+}
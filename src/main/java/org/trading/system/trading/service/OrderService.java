@@ -0,0 +1,20 @@
+package org.trading.system.trading.service;
+
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.OrderRequest;
+import org.trading.system.trading.dto.request.ReplaceOrderRequest;
+import org.trading.system.trading.dto.response.OrderBookResponse;
+import org.trading.system.trading.dto.response.OrderResponse;
+
+public interface OrderService {
+    ApiResponse<OrderResponse> submit(OrderRequest request);
+
+    ApiResponse<OrderResponse> cancel(String userId, String assetId, long orderId);
+
+    ApiResponse<OrderResponse> replace(String assetId, long orderId, ReplaceOrderRequest request);
+
+    /**
+     * @return up to {@code levels} price levels of each side of the asset's book, best first
+     */
+    ApiResponse<OrderBookResponse> book(String assetId, int levels);
+}
@@ -0,0 +1,9 @@
+package org.trading.system.trading.service;
+
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.TradeBatchRequest;
+import org.trading.system.trading.dto.response.TradeBatchResponse;
+
+public interface TradeBatchService {
+    ApiResponse<TradeBatchResponse> trade(TradeBatchRequest request);
+}
@@ -0,0 +1,13 @@
+package org.trading.system.trading.service;
+
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeSubmissionResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface TradeSubmissionService {
+    ApiResponse<TradeSubmissionResponse> submit(TradeRequest request);
+
+    CompletableFuture<ApiResponse<TradeSubmissionResponse>> status(String tradeId, long waitMillis);
+}
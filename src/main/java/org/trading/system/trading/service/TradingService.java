@@ -3,7 +3,28 @@ package org.trading.system.trading.service;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.trading.dto.request.TradeRequest;
 import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.orderbook.FillSettlement;
+
+import java.util.List;
 
 public interface TradingService {
     ApiResponse<TradeResponse> trade(TradeRequest request);
+
+    /**
+     * Executes {@code requests}, all for {@code userId}, in order under one hold of the user's lock,
+     * resolving the user, wallet and portfolio once. The trades are journaled as they go and waited
+     * on for durability once, after the lock is released.
+     *
+     * @return one result per request, in request order
+     */
+    List<ApiResponse<TradeResponse>> tradeAll(String userId, List<TradeRequest> requests);
+
+    /**
+     * Settles one order book fill of {@code quantity} shares of {@code assetId} at
+     * {@code priceMinorUnits} each: the buyer pays and receives the shares, the seller delivers them
+     * and is paid, each leg journaled and published like a trade. Runs under both users' locks, and
+     * neither leg is journaled or published until both have been applied, so either both legs happen
+     * or neither does. Both legs are waited on for durability once, after the locks are released.
+     */
+    FillSettlement settleFill(String buyerId, String sellerId, String assetId, int quantity, long priceMinorUnits);
 }
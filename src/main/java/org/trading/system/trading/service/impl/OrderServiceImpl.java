@@ -0,0 +1,362 @@
+package org.trading.system.trading.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.trading.system.common.constants.OrderStatus;
+import org.trading.system.common.constants.OrderType;
+import org.trading.system.common.constants.TransactionType;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+import org.trading.system.trading.dto.request.OrderRequest;
+import org.trading.system.trading.dto.request.ReplaceOrderRequest;
+import org.trading.system.trading.dto.response.FillResponse;
+import org.trading.system.trading.dto.response.OrderBookResponse;
+import org.trading.system.trading.dto.response.OrderResponse;
+import org.trading.system.trading.dto.response.PriceLevelResponse;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.orderbook.FillHandler;
+import org.trading.system.trading.orderbook.FillSettlement;
+import org.trading.system.trading.orderbook.OrderBook;
+import org.trading.system.trading.repository.WalletRepository;
+import org.trading.system.trading.service.OrderService;
+import org.trading.system.trading.service.TradingService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limit and market orders matched on one {@link OrderBook} per catalog asset, with every fill
+ * settled through {@link TradingService#settleFill} as it happens. A book is locked for the whole of
+ * an operation, fills included, and only then are the two users' locks taken; nothing takes a book
+ * lock while holding a user lock, so the two never deadlock.
+ * <p>
+ * Resting orders reserve neither cash nor shares. Submitting checks that the owner could settle the
+ * order right now; a resting order whose owner can no longer settle is cancelled when the matching
+ * reaches it. An order that would match a resting order of the same owner cancels that resting
+ * order instead of trading with it.
+ */
+@Service
+@Slf4j
+public class OrderServiceImpl implements OrderService {
+
+    private static final int MAX_LEVELS = 100;
+
+    private final AssetRepository assetRepository;
+    private final WalletRepository walletRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final TradingService tradingService;
+
+    // Indexed by asset symbol; grown and filled in under the service's monitor.
+    private volatile OrderBook[] books = new OrderBook[0];
+
+    private final Counter limitOrders;
+    private final Counter marketOrders;
+    private final Counter fills;
+    private final Timer matchTimer;
+
+    public OrderServiceImpl(AssetRepository assetRepository, WalletRepository walletRepository,
+                            PortfolioRepository portfolioRepository, TradingService tradingService,
+                            MeterRegistry meterRegistry) {
+        this.assetRepository = assetRepository;
+        this.walletRepository = walletRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.tradingService = tradingService;
+
+        this.limitOrders = Counter.builder("trading.orders")
+                .description("Orders submitted to the order books")
+                .tag("type", "limit")
+                .register(meterRegistry);
+        this.marketOrders = Counter.builder("trading.orders")
+                .description("Orders submitted to the order books")
+                .tag("type", "market")
+                .register(meterRegistry);
+        this.fills = Counter.builder("trading.orders.fills")
+                .description("Order book fills settled")
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("trading.orders.match")
+                .description("Time an order holds its book, settling its fills included")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ApiResponse<OrderResponse> submit(OrderRequest request) {
+        log.info("Received order: {} {} {} x {} @ {} for user: {}", request.getType(), request.getSide(),
+                request.getAssetId(), request.getQuantity(), request.getPrice(), request.getUserId());
+        try {
+            int symbol = assetRepository.symbolOf(request.getAssetId());
+            if (symbol < 0) {
+                return assetNotFound(request.getAssetId());
+            }
+            TransactionType side = TransactionType.valueOf(request.getSide());
+            OrderType type = OrderType.valueOf(request.getType());
+            long priceMinorUnits = 0;
+            if (type == OrderType.LIMIT) {
+                if (request.getPrice() == null || request.getPrice().signum() <= 0) {
+                    log.error("Limit order without a positive price: {}", request.getPrice());
+                    return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), List.of("Limit orders need a price greater than 0"));
+                }
+                priceMinorUnits = request.getPrice().getMinorUnits();
+            }
+
+            Optional<List<String>> unaffordable = checkAffordable(request.getUserId(), request.getAssetId(), side,
+                    type == OrderType.LIMIT ? Math.multiplyExact(priceMinorUnits, request.getQuantity()) : 0,
+                    request.getQuantity());
+            if (unaffordable.isPresent()) {
+                return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), unaffordable.get());
+            }
+
+            Settlement settlement = new Settlement(request.getUserId(), side, request.getAssetId());
+            OrderBook book = bookFor(symbol);
+            long start = System.nanoTime();
+            OrderResponse response;
+            synchronized (book) {
+                if (type == OrderType.LIMIT) {
+                    limitOrders.increment();
+                    long orderId = book.submitLimit(request.getUserId(), side, priceMinorUnits, request.getQuantity(), settlement);
+                    response = respond(book, request.getAssetId(), orderId, request.getQuantity(), settlement);
+                } else {
+                    marketOrders.increment();
+                    book.submitMarket(side, request.getQuantity(), settlement);
+                    response = respond(book, request.getAssetId(), OrderBook.NO_ORDER, request.getQuantity(), settlement);
+                }
+            }
+            matchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return ApiResponse.ok(response);
+        } catch (Exception e) {
+            log.error("Unexpected error occurred during order submission", e);
+            return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred during the order operation."));
+        }
+    }
+
+    @Override
+    public ApiResponse<OrderResponse> cancel(String userId, String assetId, long orderId) {
+        log.info("Cancelling order: {} of asset: {} for user: {}", orderId, assetId, userId);
+        int symbol = assetRepository.symbolOf(assetId);
+        if (symbol < 0) {
+            return assetNotFound(assetId);
+        }
+        OrderBook book = bookFor(symbol);
+        synchronized (book) {
+            if (!userId.equals(book.ownerOf(orderId))) {
+                return orderNotFound(orderId);
+            }
+            book.cancel(orderId);
+        }
+        OrderResponse response = new OrderResponse();
+        response.setAssetId(assetId);
+        response.setStatus(OrderStatus.CANCELLED);
+        response.setFills(List.of());
+        return ApiResponse.ok(response);
+    }
+
+    @Override
+    public ApiResponse<OrderResponse> replace(String assetId, long orderId, ReplaceOrderRequest request) {
+        log.info("Replacing order: {} of asset: {} with {} @ {} for user: {}", orderId, assetId,
+                request.getQuantity(), request.getPrice(), request.getUserId());
+        try {
+            int symbol = assetRepository.symbolOf(assetId);
+            if (symbol < 0) {
+                return assetNotFound(assetId);
+            }
+            if (request.getPrice() == null || request.getPrice().signum() <= 0) {
+                return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), List.of("Limit orders need a price greater than 0"));
+            }
+            long priceMinorUnits = request.getPrice().getMinorUnits();
+
+            OrderBook book = bookFor(symbol);
+            TransactionType side;
+            synchronized (book) {
+                side = request.getUserId().equals(book.ownerOf(orderId)) ? book.sideOf(orderId) : null;
+            }
+            if (side == null) {
+                return orderNotFound(orderId);
+            }
+            Optional<List<String>> unaffordable = checkAffordable(request.getUserId(), assetId, side,
+                    Math.multiplyExact(priceMinorUnits, request.getQuantity()), request.getQuantity());
+            if (unaffordable.isPresent()) {
+                return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), unaffordable.get());
+            }
+
+            Settlement settlement = new Settlement(request.getUserId(), side, assetId);
+            long start = System.nanoTime();
+            OrderResponse response;
+            synchronized (book) {
+                // The order may have filled or been cancelled since its side was read.
+                if (!request.getUserId().equals(book.ownerOf(orderId))) {
+                    return orderNotFound(orderId);
+                }
+                long replacedId = book.replace(orderId, priceMinorUnits, request.getQuantity(), settlement);
+                response = respond(book, assetId, replacedId, request.getQuantity(), settlement);
+            }
+            matchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return ApiResponse.ok(response);
+        } catch (Exception e) {
+            log.error("Unexpected error occurred during order replacement", e);
+            return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred during the order operation."));
+        }
+    }
+
+    @Override
+    public ApiResponse<OrderBookResponse> book(String assetId, int levels) {
+        int symbol = assetRepository.symbolOf(assetId);
+        if (symbol < 0) {
+            return assetNotFound(assetId);
+        }
+        int depth = Math.max(1, Math.min(levels, MAX_LEVELS));
+        long[] bidPrices = new long[depth];
+        long[] bidQuantities = new long[depth];
+        long[] askPrices = new long[depth];
+        long[] askQuantities = new long[depth];
+        int bidCount;
+        int askCount;
+        OrderBook book = bookFor(symbol);
+        synchronized (book) {
+            bidCount = book.depth(TransactionType.BUY, bidPrices, bidQuantities);
+            askCount = book.depth(TransactionType.SELL, askPrices, askQuantities);
+        }
+
+        OrderBookResponse response = new OrderBookResponse();
+        response.setAssetId(assetId);
+        response.setBids(priceLevels(bidPrices, bidQuantities, bidCount));
+        response.setAsks(priceLevels(askPrices, askQuantities, askCount));
+        return ApiResponse.ok(response);
+    }
+
+    /**
+     * Settles the fills of one incoming order as the book produces them and keeps them for the
+     * response.
+     */
+    private final class Settlement implements FillHandler {
+
+        private final String owner;
+        private final boolean buy;
+        private final String assetId;
+        private final List<FillResponse> settled = new ArrayList<>();
+        private int filled;
+
+        private Settlement(String owner, TransactionType side, String assetId) {
+            this.owner = owner;
+            this.buy = side == TransactionType.BUY;
+            this.assetId = assetId;
+        }
+
+        @Override
+        public Outcome onFill(long restingOrderId, String restingOwner, int quantity, long priceMinorUnits) {
+            if (owner.equals(restingOwner)) {
+                log.info("Cancelling resting order: {} of user: {} instead of a self-trade", restingOrderId, owner);
+                return Outcome.REJECT_RESTING;
+            }
+            FillSettlement result = buy
+                    ? tradingService.settleFill(owner, restingOwner, assetId, quantity, priceMinorUnits)
+                    : tradingService.settleFill(restingOwner, owner, assetId, quantity, priceMinorUnits);
+            return switch (result) {
+                case SETTLED -> {
+                    FillResponse fill = new FillResponse();
+                    fill.setRestingOrderId(restingOrderId);
+                    fill.setQuantity(quantity);
+                    fill.setPrice(Money.ofMinorUnits(priceMinorUnits));
+                    settled.add(fill);
+                    filled += quantity;
+                    fills.increment();
+                    yield Outcome.SETTLED;
+                }
+                case BUYER_REJECTED -> buy ? Outcome.REJECT_INCOMING : Outcome.REJECT_RESTING;
+                case SELLER_REJECTED -> buy ? Outcome.REJECT_RESTING : Outcome.REJECT_INCOMING;
+            };
+        }
+    }
+
+    private OrderBook bookFor(int symbol) {
+        OrderBook[] current = books;
+        if (symbol < current.length && current[symbol] != null) {
+            return current[symbol];
+        }
+        synchronized (this) {
+            current = books;
+            if (symbol < current.length && current[symbol] != null) {
+                return current[symbol];
+            }
+            OrderBook[] grown = Arrays.copyOf(current, Math.max(current.length, Math.max(symbol + 1, assetRepository.symbolCount())));
+            grown[symbol] = new OrderBook();
+            books = grown;
+            return grown[symbol];
+        }
+    }
+
+    /**
+     * Whether the owner could settle the order right now: the cash for a limit buy at its price, the
+     * shares for a sell. A hint only, read outside the user's lock; every fill checks again.
+     */
+    private Optional<List<String>> checkAffordable(String userId, String assetId, TransactionType side,
+                                                   long totalPriceMinorUnits, int quantity) {
+        if (side == TransactionType.BUY) {
+            Optional<Wallet> wallet = walletRepository.findByUserId(userId);
+            if (wallet.isEmpty()) {
+                return Optional.of(List.of("Wallet not found for user: " + userId));
+            }
+            if (wallet.get().getBalanceMinorUnits() < totalPriceMinorUnits) {
+                log.error("Insufficient balance for order of asset: {} by user: {}", assetId, userId);
+                return Optional.of(List.of("Insufficient balance to trade asset with ID: " + assetId));
+            }
+            return Optional.empty();
+        }
+        Optional<Portfolio> portfolio = portfolioRepository.findByUserId(userId);
+        if (portfolio.isEmpty()) {
+            return Optional.of(List.of("Portfolio not found for user: " + userId));
+        }
+        if (portfolio.get().getHoldings().quantityOf(assetRepository.symbolOf(assetId)) < quantity) {
+            log.error("Insufficient quantity for order of asset: {} by user: {}", assetId, userId);
+            return Optional.of(List.of("Insufficient quantity of asset with ID: " + assetId + " to sell"));
+        }
+        return Optional.empty();
+    }
+
+    private OrderResponse respond(OrderBook book, String assetId, long orderId, int quantity, Settlement settlement) {
+        boolean resting = orderId != OrderBook.NO_ORDER && book.isResting(orderId);
+        OrderResponse response = new OrderResponse();
+        response.setAssetId(assetId);
+        response.setFilledQuantity(settlement.filled);
+        response.setFills(settlement.settled);
+        if (resting) {
+            response.setOrderId(orderId);
+            response.setRemainingQuantity(book.remainingOf(orderId));
+            response.setStatus(settlement.filled > 0 ? OrderStatus.PARTIALLY_FILLED : OrderStatus.OPEN);
+        } else {
+            response.setStatus(settlement.filled == quantity ? OrderStatus.FILLED : OrderStatus.CANCELLED);
+        }
+        return response;
+    }
+
+    private static List<PriceLevelResponse> priceLevels(long[] prices, long[] quantities, int count) {
+        List<PriceLevelResponse> levels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PriceLevelResponse level = new PriceLevelResponse();
+            level.setPrice(Money.ofMinorUnits(prices[i]));
+            level.setQuantity(quantities[i]);
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    private static <T> ApiResponse<T> assetNotFound(String assetId) {
+        log.error("Asset not found with ID: {}", assetId);
+        return ApiResponse.error(HttpStatus.NOT_FOUND.value(), List.of("Asset not found with ID: " + assetId));
+    }
+
+    private static <T> ApiResponse<T> orderNotFound(long orderId) {
+        log.error("Order not found: {}", orderId);
+        return ApiResponse.error(HttpStatus.NOT_FOUND.value(), List.of("Order not found: " + orderId));
+    }
+}
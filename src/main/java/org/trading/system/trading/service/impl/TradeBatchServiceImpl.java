@@ -0,0 +1,216 @@
+package org.trading.system.trading.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.trading.system.common.concurrent.ThreadMode;
+import org.trading.system.common.concurrent.VirtualThreads;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.TradeBatchRequest;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeBatchResponse;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.service.TradeBatchService;
+import org.trading.system.trading.service.TradingService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes a batch of trades grouped by user: each user's trades run in request order under one
+ * hold of their lock with the user, wallet and portfolio resolved once, while different users run
+ * in parallel. Every item gets its own result, so invalid or rejected trades fail alone.
+ */
+@Service
+@Slf4j
+public class TradeBatchServiceImpl implements TradeBatchService, DisposableBean {
+
+    private final TradingService tradingService;
+    private final Validator validator;
+    private final int maxTrades;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    private final Timer batchTimer;
+    private final Counter succeededCounter;
+    private final Counter failedCounter;
+
+    public TradeBatchServiceImpl(TradingService tradingService, Validator validator, MeterRegistry meterRegistry,
+                                 @Value("${trading.batch.max-trades:1000}") int maxTrades,
+                                 @Value("${trading.batch.parallelism:8}") int parallelism,
+                                 @Value("${trading.threads.mode:PLATFORM}") ThreadMode threadMode) {
+        this.tradingService = tradingService;
+        this.validator = validator;
+        this.maxTrades = Math.max(1, maxTrades);
+        this.parallelism = Math.max(1, parallelism);
+
+        this.executor = threadMode == ThreadMode.VIRTUAL && VirtualThreads.available()
+                ? VirtualThreads.newPerTaskExecutor()
+                : newBoundedPool(this.parallelism);
+
+        this.batchTimer = Timer.builder("trading.batch")
+                .description("Time to execute one trade batch")
+                .register(meterRegistry);
+        this.succeededCounter = Counter.builder("trading.batch.trades")
+                .description("Trades executed through the batch endpoint")
+                .tag("outcome", "succeeded")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("trading.batch.trades")
+                .description("Trades executed through the batch endpoint")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ApiResponse<TradeBatchResponse> trade(TradeBatchRequest request) {
+        List<TradeRequest> trades = request.getTrades();
+        if (trades == null || trades.isEmpty()) {
+            return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), List.of("Trades are required"));
+        }
+        if (trades.size() > maxTrades) {
+            log.error("Trade batch of {} exceeds the limit of {}", trades.size(), maxTrades);
+            return ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    List.of("A batch may contain at most " + maxTrades + " trades"));
+        }
+        log.info("Received trade batch of {} trades", trades.size());
+
+        long start = System.nanoTime();
+        try {
+            @SuppressWarnings("unchecked")
+            ApiResponse<TradeResponse>[] results = new ApiResponse[trades.size()];
+            List<UserTrades> groups = validateAndGroup(trades, results);
+            executeGroups(groups, results);
+            return ApiResponse.ok(summarize(Arrays.asList(results)));
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static ExecutorService newBoundedPool(int parallelism) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // The caller works through groups too, so the pool needs one thread fewer than the parallelism.
+        int poolThreads = Math.max(1, parallelism - 1);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolThreads, poolThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "trade-batch-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Trades of one user, with their positions in the batch.
+     */
+    private record UserTrades(String userId, List<Integer> positions, List<TradeRequest> trades) {
+    }
+
+    private List<UserTrades> validateAndGroup(List<TradeRequest> trades, ApiResponse<TradeResponse>[] results) {
+        Map<String, UserTrades> groups = new LinkedHashMap<>();
+        for (int i = 0; i < trades.size(); i++) {
+            TradeRequest trade = trades.get(i);
+            List<String> errors = validate(trade);
+            if (!errors.isEmpty()) {
+                results[i] = ApiResponse.error(HttpStatus.BAD_REQUEST.value(), errors);
+                continue;
+            }
+            UserTrades group = groups.computeIfAbsent(trade.getUserId(),
+                    userId -> new UserTrades(userId, new ArrayList<>(), new ArrayList<>()));
+            group.positions().add(i);
+            group.trades().add(trade);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private List<String> validate(TradeRequest trade) {
+        if (trade == null) {
+            return List.of("Trade is required");
+        }
+        Set<ConstraintViolation<TradeRequest>> violations = validator.validate(trade);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<TradeRequest> violation : violations) {
+            errors.add(violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Up to {@code parallelism} workers, the caller among them, take whole user groups off a shared
+     * cursor until none are left, so one user with many trades does not hold back the rest.
+     */
+    private void executeGroups(List<UserTrades> groups, ApiResponse<TradeResponse>[] results) {
+        AtomicInteger cursor = new AtomicInteger();
+        Runnable worker = () -> {
+            int next;
+            while ((next = cursor.getAndIncrement()) < groups.size()) {
+                execute(groups.get(next), results);
+            }
+        };
+
+        int workers = Math.min(parallelism, groups.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(Math.max(0, workers - 1));
+        for (int i = 1; i < workers; i++) {
+            futures.add(CompletableFuture.runAsync(worker, executor));
+        }
+        worker.run();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void execute(UserTrades group, ApiResponse<TradeResponse>[] results) {
+        List<ApiResponse<TradeResponse>> groupResults;
+        try {
+            groupResults = tradingService.tradeAll(group.userId(), group.trades());
+        } catch (RuntimeException e) {
+            log.error("Unexpected error occurred during trade batch for user: {}", group.userId(), e);
+            ApiResponse<TradeResponse> error = ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred during the trade operation."));
+            groupResults = Collections.nCopies(group.trades().size(), error);
+        }
+        for (int i = 0; i < groupResults.size(); i++) {
+            results[group.positions().get(i)] = groupResults.get(i);
+        }
+    }
+
+    private TradeBatchResponse summarize(List<ApiResponse<TradeResponse>> results) {
+        int succeeded = 0;
+        for (ApiResponse<TradeResponse> result : results) {
+            if (result.getCode() == HttpStatus.OK.value()) {
+                succeeded++;
+            }
+        }
+        succeededCounter.increment(succeeded);
+        failedCounter.increment(results.size() - succeeded);
+
+        TradeBatchResponse response = new TradeBatchResponse();
+        response.setSucceeded(succeeded);
+        response.setFailed(results.size() - succeeded);
+        response.setResults(results);
+        return response;
+    }
+}
@@ -0,0 +1,254 @@
+package org.trading.system.trading.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.trading.system.common.constants.TradeStatus;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.dto.response.TradeSubmissionResponse;
+import org.trading.system.trading.service.TradeSubmissionService;
+import org.trading.system.trading.service.TradingService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.trading.system.common.util.IdGenerationUtil.generateId;
+
+/**
+ * Accepts trades without running them on the request thread. A submitted trade gets an id and goes
+ * onto one of {@code workers} bounded lanes, picked by its user, so a user's trades still run in the
+ * order they were submitted. A full lane refuses the trade rather than holding the caller.
+ * <p>
+ * Finished trades stay queryable for {@code retention-seconds}, at most {@code max-tracked} of them.
+ */
+@Service
+@Slf4j
+public class TradeSubmissionServiceImpl implements TradeSubmissionService, DisposableBean {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final TradingService tradingService;
+    private final long retentionNanos;
+    private final int maxTracked;
+    private final long maxWaitMillis;
+    private final BlockingQueue<Submission>[] lanes;
+    private final Thread[] workers;
+    private final ConcurrentHashMap<String, Submission> submissions = new ConcurrentHashMap<>();
+    private final ArrayDeque<Submission> byAge = new ArrayDeque<>();
+
+    private final Timer queueTimer;
+    private final Timer completionTimer;
+    private final Counter rejectedCounter;
+
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    public TradeSubmissionServiceImpl(TradingService tradingService, MeterRegistry meterRegistry,
+                                      @Value("${trading.async.workers:8}") int workers,
+                                      @Value("${trading.async.queue-capacity:1024}") int queueCapacity,
+                                      @Value("${trading.async.retention-seconds:300}") long retentionSeconds,
+                                      @Value("${trading.async.max-tracked:100000}") int maxTracked,
+                                      @Value("${trading.async.max-wait-ms:30000}") long maxWaitMillis) {
+        this.tradingService = tradingService;
+        this.retentionNanos = TimeUnit.SECONDS.toNanos(Math.max(1, retentionSeconds));
+        this.maxTracked = Math.max(1, maxTracked);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.lanes = new BlockingQueue[Math.max(1, workers)];
+        this.workers = new Thread[lanes.length];
+
+        for (int i = 0; i < lanes.length; i++) {
+            BlockingQueue<Submission> lane = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+            lanes[i] = lane;
+            this.workers[i] = new Thread(() -> drain(lane), "trade-async-" + i);
+            this.workers[i].setDaemon(true);
+        }
+
+        Gauge.builder("trading.async.queue.depth", this, TradeSubmissionServiceImpl::queueDepth)
+                .description("Submitted trades waiting for a worker")
+                .register(meterRegistry);
+        this.queueTimer = Timer.builder("trading.async.queue.wait")
+                .description("Time from submission until a worker picks the trade up")
+                .register(meterRegistry);
+        this.completionTimer = Timer.builder("trading.async.completion")
+                .description("Time from submission until the trade's result is known")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("trading.async.rejected")
+                .description("Submissions refused because their lane was full")
+                .register(meterRegistry);
+
+        for (Thread worker : this.workers) {
+            worker.start();
+        }
+        log.info("Asynchronous trading running {} workers with queues of {}", lanes.length, Math.max(1, queueCapacity));
+    }
+
+    @Override
+    public ApiResponse<TradeSubmissionResponse> submit(TradeRequest request) {
+        if (!running) {
+            return ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    List.of("Trading is not accepting asynchronous trades"));
+        }
+
+        Submission submission = new Submission(generateId(), request, System.nanoTime());
+        submissions.put(submission.tradeId, submission);
+        if (!lanes[laneFor(request.getUserId())].offer(submission)) {
+            submissions.remove(submission.tradeId);
+            rejectedCounter.increment();
+            log.error("Trade queue full, refused trade for user: {}", request.getUserId());
+            return ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    List.of("Too many trades are waiting, please retry later"));
+        }
+        track(submission);
+        log.info("Queued trade {} for user: {}", submission.tradeId, request.getUserId());
+        return ApiResponse.accepted(view(submission));
+    }
+
+    /**
+     * The trade's current state. With {@code waitMillis} above zero (capped at {@code max-wait-ms}) the
+     * answer is held back until the trade finishes or the wait runs out, without holding a thread.
+     */
+    @Override
+    public CompletableFuture<ApiResponse<TradeSubmissionResponse>> status(String tradeId, long waitMillis) {
+        Submission submission = submissions.get(tradeId);
+        if (submission == null) {
+            return CompletableFuture.completedFuture(ApiResponse.error(HttpStatus.NOT_FOUND.value(),
+                    List.of("Trade not found with ID: " + tradeId)));
+        }
+        long wait = Math.min(Math.max(0, waitMillis), maxWaitMillis);
+        if (wait == 0 || submission.result.isDone()) {
+            return CompletableFuture.completedFuture(ApiResponse.ok(view(submission)));
+        }
+        return submission.result
+                .thenApply(result -> ApiResponse.ok(view(submission)))
+                .orTimeout(wait, TimeUnit.MILLISECONDS)
+                .exceptionally(timeout -> ApiResponse.ok(view(submission)));
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    int laneFor(String userId) {
+        return userId == null ? 0 : Math.floorMod(userId.hashCode(), lanes.length);
+    }
+
+    private int queueDepth() {
+        int depth = 0;
+        for (BlockingQueue<Submission> lane : lanes) {
+            depth += lane.size();
+        }
+        return depth;
+    }
+
+    private void drain(BlockingQueue<Submission> lane) {
+        while (running || !lane.isEmpty()) {
+            Submission submission;
+            try {
+                submission = lane.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (submission != null) {
+                execute(submission);
+            }
+        }
+    }
+
+    private void execute(Submission submission) {
+        queueTimer.record(System.nanoTime() - submission.submittedNanos, TimeUnit.NANOSECONDS);
+        submission.status = TradeStatus.RUNNING;
+
+        ApiResponse<TradeResponse> result;
+        try {
+            result = tradingService.trade(submission.request);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error occurred during asynchronous trade {} for user: {}",
+                    submission.tradeId, submission.request.getUserId(), e);
+            result = ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred during the trade operation."));
+        }
+
+        submission.completedNanos = System.nanoTime();
+        submission.completedAt = LocalDateTime.now();
+        submission.status = result.getCode() == HttpStatus.OK.value() ? TradeStatus.SUCCEEDED : TradeStatus.FAILED;
+        completionTimer.record(submission.completedNanos - submission.submittedNanos, TimeUnit.NANOSECONDS);
+        submission.result.complete(result);
+    }
+
+    /**
+     * Forgets the oldest finished trades once they are past retention or too many are kept. A trade
+     * still queued or running is never forgotten, so its submitter can always find it.
+     */
+    private void track(Submission submission) {
+        synchronized (byAge) {
+            byAge.addLast(submission);
+            long now = submission.submittedNanos;
+            Submission oldest;
+            while ((oldest = byAge.peekFirst()) != null && oldest.result.isDone()) {
+                if (now - oldest.completedNanos < retentionNanos && byAge.size() <= maxTracked) {
+                    break;
+                }
+                byAge.pollFirst();
+                submissions.remove(oldest.tradeId, oldest);
+            }
+        }
+    }
+
+    private static TradeSubmissionResponse view(Submission submission) {
+        TradeSubmissionResponse response = new TradeSubmissionResponse();
+        response.setTradeId(submission.tradeId);
+        response.setSubmittedAt(submission.submittedAt);
+        // The status is final before the result is published, so only report it as finished with the result.
+        ApiResponse<TradeResponse> result = submission.result.getNow(null);
+        if (result == null) {
+            response.setStatus(submission.status == TradeStatus.QUEUED ? TradeStatus.QUEUED : TradeStatus.RUNNING);
+            return response;
+        }
+        response.setStatus(submission.status);
+        response.setCompletedAt(submission.completedAt);
+        response.setResult(result);
+        return response;
+    }
+
+    private static final class Submission {
+
+        private final String tradeId;
+        private final TradeRequest request;
+        private final long submittedNanos;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final CompletableFuture<ApiResponse<TradeResponse>> result = new CompletableFuture<>();
+        private volatile TradeStatus status = TradeStatus.QUEUED;
+        private volatile LocalDateTime completedAt;
+        private volatile long completedNanos;
+
+        private Submission(String tradeId, TradeRequest request, long submittedNanos) {
+            this.tradeId = tradeId;
+            this.request = request;
+            this.submittedNanos = submittedNanos;
+        }
+    }
+}
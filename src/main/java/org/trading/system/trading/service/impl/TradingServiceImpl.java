@@ -8,24 +8,39 @@ import org.springframework.stereotype.Service;
 import org.trading.system.common.constants.TransactionType;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.common.event.TradeCompletedEvent;
-import org.trading.system.portfolioManagement.dto.request.AssetRequest;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
 import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.repository.PortfolioRepository;
 import org.trading.system.portfolioManagement.service.PortfolioService;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
 import org.trading.system.trading.dto.request.TradeRequest;
 import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.TradeRecord;
+import org.trading.system.trading.model.TradeContext;
 import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.orderbook.FillSettlement;
 import org.trading.system.trading.repository.WalletRepository;
+import org.trading.system.trading.sequencer.TradeSequencer;
 import org.trading.system.trading.service.TradingService;
 import org.trading.system.userManagement.model.User;
-import org.trading.system.userManagement.service.UserManagementService;
+import org.trading.system.userManagement.repository.UserManagementRepository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -33,21 +48,235 @@ import java.util.Optional;
 public class TradingServiceImpl implements TradingService {
 
     private final WalletRepository walletRepository;
-    private final UserManagementService userManagementService;
+    private final UserManagementRepository userManagementRepository;
+    private final PortfolioRepository portfolioRepository;
     private final AssetRepository assetRepository;
     private final PortfolioService portfolioService;
     private final ApplicationEventPublisher eventPublisher;
+    private final StripedLockManager lockManager;
+    private final TradeJournal tradeJournal;
+    private final TradeSequencer tradeSequencer;
+    private final AccountStreamHub accountStreamHub;
+    private final SymbolTable symbols;
+
+    private final Function<TradeRequest, ApiResponse<TradeResponse>> sequencedTrade = request -> trade(request, false);
 
     @Override
     public ApiResponse<TradeResponse> trade(TradeRequest request) {
         log.info("Received trade request: {}", request);
+        if (tradeSequencer.isEnabled()) {
+            return awaitSequenced(request, tradeSequencer.submit(request, sequencedTrade));
+        }
+        return trade(request, true);
+    }
+
+    /**
+     * Waits up to the sequencer's response timeout. A trade that times out may still run, so the
+     * caller is told its outcome is unknown rather than that it failed. One the sequencer stopped
+     * before running is refused, so it can be retried.
+     */
+    private ApiResponse<TradeResponse> awaitSequenced(TradeRequest request, CompletableFuture<ApiResponse<TradeResponse>> response) {
+        try {
+            return response.get(tradeSequencer.getResponseTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.error("Sequenced trade for user: {} did not answer within {} ms", request.getUserId(),
+                    tradeSequencer.getResponseTimeoutMillis());
+            return ApiResponse.error(HttpStatus.GATEWAY_TIMEOUT.value(),
+                    List.of("The trade did not complete in time; check the portfolio before retrying."));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ApiResponse.error(HttpStatus.GATEWAY_TIMEOUT.value(),
+                    List.of("Interrupted while waiting for the trade to complete; check the portfolio before retrying."));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                log.error("Sequenced trade for user: {} was not run", request.getUserId(), e.getCause());
+                return ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        List.of("Trading is not accepting sequenced trades"));
+            }
+            log.error("Unexpected error occurred during sequenced trade for user: {}", request.getUserId(), e.getCause());
+            return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred during the trade operation."));
+        }
+    }
+
+    /**
+     * On the sequencer's business thread the user's lock is never contended by other trades, but
+     * price revaluation, snapshots, order book fills and batches still take it, so it is held here too.
+     */
+    private ApiResponse<TradeResponse> trade(TradeRequest request, boolean awaitDurable) {
+        List<TradeCompletedEvent> completed = new ArrayList<>(1);
+        ApiResponse<TradeResponse> response = lockManager.executeLocked(request.getUserId(), () -> {
+            ApiResponse<Account> account = resolveAccount(request.getUserId());
+            if (account.getCode() != HttpStatus.OK.value()) {
+                return ApiResponse.error(account.getCode(), account.getErrors());
+            }
+            return executeTrade(request, account.getData(), awaitDurable, completed);
+        });
+        publish(completed);
+        return response;
+    }
+
+    @Override
+    public List<ApiResponse<TradeResponse>> tradeAll(String userId, List<TradeRequest> requests) {
+        log.info("Received {} trade requests for user: {}", requests.size(), userId);
+        List<TradeCompletedEvent> completed = new ArrayList<>(requests.size());
+        List<ApiResponse<TradeResponse>> results = lockManager.executeLocked(userId, () -> {
+            ApiResponse<Account> account = resolveAccount(userId);
+            List<ApiResponse<TradeResponse>> executed = new ArrayList<>(requests.size());
+            for (TradeRequest request : requests) {
+                executed.add(account.getCode() != HttpStatus.OK.value()
+                        ? ApiResponse.error(account.getCode(), account.getErrors())
+                        : executeTrade(request, account.getData(), false, completed));
+            }
+            return executed;
+        });
+        publish(completed);
+        // The journal sequence only grows, so one wait after the lock is released covers every trade in the batch.
+        if (results.stream().anyMatch(result -> result.getCode() == HttpStatus.OK.value())) {
+            try {
+                tradeJournal.awaitDurable(tradeJournal.lastSequence());
+            } catch (RuntimeException e) {
+                log.error("Trades for user: {} were applied but could not be made durable", userId, e);
+                return results.stream()
+                        .map(result -> result.getCode() == HttpStatus.OK.value() ? TradingServiceImpl.<TradeResponse>notDurable() : result)
+                        .toList();
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public FillSettlement settleFill(String buyerId, String sellerId, String assetId, int quantity, long priceMinorUnits) {
+        List<TradeCompletedEvent> completed = new ArrayList<>(2);
+        FillSettlement settlement = lockManager.executeLocked(buyerId, sellerId, () -> {
+            ApiResponse<Account> buyer = resolveAccount(buyerId);
+            if (buyer.getCode() != HttpStatus.OK.value()) {
+                return FillSettlement.BUYER_REJECTED;
+            }
+            ApiResponse<Account> seller = resolveAccount(sellerId);
+            if (seller.getCode() != HttpStatus.OK.value()) {
+                return FillSettlement.SELLER_REJECTED;
+            }
+            Asset asset = assetRepository.findById(assetId)
+                    .orElseThrow(() -> new IllegalArgumentException("Asset not found with ID: " + assetId));
+
+            // Check both sides before either leg runs, so the buyer leg rarely needs undoing.
+            long totalPriceMinorUnits = Math.multiplyExact(priceMinorUnits, quantity);
+            if (buyer.getData().wallet().getBalanceMinorUnits() < totalPriceMinorUnits) {
+                log.error("Insufficient balance for buyer: {} to settle fill of asset: {}", buyerId, assetId);
+                return FillSettlement.BUYER_REJECTED;
+            }
+            int held = seller.getData().portfolio().getHoldings().quantityOf(symbols.indexOf(assetId));
+            if (held < quantity) {
+                log.error("Insufficient quantity for seller: {} to settle fill of asset: {}", sellerId, assetId);
+                return FillSettlement.SELLER_REJECTED;
+            }
+
+            // Both legs are applied before either is journalled or announced, so a leg that fails
+            // leaves nothing behind but a silent undo of the other.
+            TradeContext buy = fillContext(buyer.getData(), asset, TransactionType.BUY, quantity, totalPriceMinorUnits);
+            Rollback buyRollback = Rollback.of(buy, symbols.indexOf(buy.getAssetId()));
+            if (applyBuy(buy) != null) {
+                return FillSettlement.BUYER_REJECTED;
+            }
+            TradeContext sell = fillContext(seller.getData(), asset, TransactionType.SELL, quantity, totalPriceMinorUnits);
+            Rollback sellRollback = Rollback.of(sell, symbols.indexOf(sell.getAssetId()));
+            if (applySell(sell) != null) {
+                // Only a portfolio failure gets here.
+                log.error("Seller leg of fill failed for user: {}, undoing buyer: {}", sellerId, buyerId);
+                undo(buy, buyRollback);
+                return FillSettlement.SELLER_REJECTED;
+            }
+
+            long buySequence;
+            try {
+                buySequence = journal(buy);
+            } catch (RuntimeException e) {
+                log.error("Failed to journal fill of asset: {} between buyer: {} and seller: {}, undoing it",
+                        assetId, buyerId, sellerId, e);
+                undo(sell, sellRollback);
+                undo(buy, buyRollback);
+                return FillSettlement.BUYER_REJECTED;
+            }
+            long sellSequence = 0;
+            try {
+                sellSequence = journal(sell);
+            } catch (RuntimeException e) {
+                // The buyer leg is already on record, so the fill stands; a replay would miss this leg.
+                log.error("Seller leg of fill of asset: {} for user: {} was applied but not journalled",
+                        assetId, sellerId, e);
+            }
+            announce(buy, buySequence, completed);
+            announce(sell, sellSequence, completed);
+            return FillSettlement.SETTLED;
+        });
+        publish(completed);
+        // Both legs are written by now, so one wait outside both locks covers them.
+        if (settlement == FillSettlement.SETTLED) {
+            try {
+                tradeJournal.awaitDurable(tradeJournal.lastSequence());
+            } catch (RuntimeException e) {
+                log.error("Fill of asset: {} between buyer: {} and seller: {} was applied but could not be made durable",
+                        assetId, buyerId, sellerId, e);
+            }
+        }
+        return settlement;
+    }
+
+    private TradeContext fillContext(Account account, Asset asset, TransactionType transactionType, int quantity,
+                                     long totalPriceMinorUnits) {
+        return TradeContext.builder()
+                .user(account.user())
+                .wallet(account.wallet())
+                .portfolio(account.portfolio())
+                .catalogAsset(asset)
+                .transactionType(transactionType)
+                .quantity(quantity)
+                .totalPriceMinorUnits(totalPriceMinorUnits)
+                .awaitDurable(false)
+                .build();
+    }
+
+    /**
+     * Everything a trade needs from its user, looked up once per lock hold.
+     */
+    private record Account(User user, Wallet wallet, Portfolio portfolio) {
+    }
+
+    private ApiResponse<Account> resolveAccount(String userId) {
         try {
-            User user = getUserOrReturnError(request.getUserId());
-            if (user == null) {
+            Optional<User> optionalUser = userManagementRepository.findById(userId);
+            if (optionalUser.isEmpty()) {
+                log.error("User not found with ID: {}", userId);
+                return ApiResponse.error(HttpStatus.NOT_FOUND.value(),
+                        List.of("User not found with ID: " + userId));
+            }
+
+            Optional<Wallet> optionalWallet = walletRepository.findByUserId(userId);
+            if (optionalWallet.isEmpty()) {
+                log.error("Wallet not found for user: {}", userId);
+                return ApiResponse.error(HttpStatus.NOT_FOUND.value(),
+                        List.of("Wallet not found for user: " + userId));
+            }
+
+            Optional<Portfolio> optionalPortfolio = portfolioRepository.findByUserId(userId);
+            if (optionalPortfolio.isEmpty()) {
+                log.error("Portfolio not found for user: {}", userId);
                 return ApiResponse.error(HttpStatus.NOT_FOUND.value(),
-                        List.of("User not found with ID: " + request.getUserId()));
+                        List.of("Portfolio not found for user: " + userId));
             }
 
+            return ApiResponse.ok(new Account(optionalUser.get(), optionalWallet.get(), optionalPortfolio.get()));
+        } catch (Exception e) {
+            log.error("Unexpected error occurred during trade operation", e);
+            return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred during the trade operation."));
+        }
+    }
+
+    private ApiResponse<TradeResponse> executeTrade(TradeRequest request, Account account, boolean awaitDurable,
+                                                    List<TradeCompletedEvent> completed) {
+        try {
             Optional<Asset> optionalAsset = assetRepository.findById(request.getAssetId());
             if (optionalAsset.isEmpty()) {
                 log.error("Asset not found with ID: {}", request.getAssetId());
@@ -55,17 +284,28 @@ public class TradingServiceImpl implements TradingService {
                         List.of("Asset not found with ID: " + request.getAssetId()));
             }
 
+            Optional<TransactionType> optionalTransactionType = parseTransactionType(request.getTransactionType());
+            if (optionalTransactionType.isEmpty()) {
+                log.error("Invalid transaction type: {}", request.getTransactionType());
+                return ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                        List.of("Invalid transaction type: " + request.getTransactionType()));
+            }
+
             Asset asset = optionalAsset.get();
-            BigDecimal assetPrice = asset.getPrice().multiply(BigDecimal.valueOf(request.getQuantity()));
-
-            return switch (request.getTransactionType().toUpperCase()) {
-                case "BUY" -> handleBuyTransaction(user, request, assetPrice);
-                case "SELL" -> handleSellTransaction(user, request, assetPrice);
-                default -> {
-                    log.error("Invalid transaction type: {}", request.getTransactionType());
-                    yield ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
-                            List.of("Invalid transaction type: " + request.getTransactionType()));
-                }
+            TradeContext context = TradeContext.builder()
+                    .user(account.user())
+                    .wallet(account.wallet())
+                    .portfolio(account.portfolio())
+                    .catalogAsset(asset)
+                    .transactionType(optionalTransactionType.get())
+                    .quantity(request.getQuantity())
+                    .totalPriceMinorUnits(Math.multiplyExact(asset.getPrice().getMinorUnits(), request.getQuantity()))
+                    .awaitDurable(awaitDurable)
+                    .build();
+
+            return switch (context.getTransactionType()) {
+                case BUY -> handleBuyTransaction(context, completed);
+                case SELL -> handleSellTransaction(context, completed);
             };
         } catch (Exception e) {
             log.error("Unexpected error occurred during trade operation", e);
@@ -74,82 +314,202 @@ public class TradingServiceImpl implements TradingService {
         }
     }
 
-    private ApiResponse<TradeResponse> handleBuyTransaction(User user, TradeRequest request, BigDecimal assetPrice) {
-        Wallet wallet = user.getWallet();
-        if (wallet.getBalance().compareTo(assetPrice) < 0) {
-            log.error("Insufficient balance to trade asset with ID: {}", request.getAssetId());
+    private ApiResponse<TradeResponse> handleBuyTransaction(TradeContext context, List<TradeCompletedEvent> completed) {
+        Rollback rollback = Rollback.of(context, symbols.indexOf(context.getAssetId()));
+        ApiResponse<TradeResponse> rejected = applyBuy(context);
+        return rejected != null ? rejected : complete(context, rollback, completed);
+    }
+
+    private ApiResponse<TradeResponse> handleSellTransaction(TradeContext context, List<TradeCompletedEvent> completed) {
+        Rollback rollback = Rollback.of(context, symbols.indexOf(context.getAssetId()));
+        ApiResponse<TradeResponse> rejected = applySell(context);
+        return rejected != null ? rejected : complete(context, rollback, completed);
+    }
+
+    /**
+     * Moves the money and the shares of a buy, without journalling or announcing it.
+     *
+     * @return null once applied, or why it was not
+     */
+    private ApiResponse<TradeResponse> applyBuy(TradeContext context) {
+        Wallet wallet = context.getWallet();
+        if (!wallet.debitIfSufficient(context.getTotalPriceMinorUnits())) {
+            log.error("Insufficient balance to trade asset with ID: {}", context.getAssetId());
             return ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
-                    List.of("Insufficient balance to trade asset with ID: " + request.getAssetId()));
+                    List.of("Insufficient balance to trade asset with ID: " + context.getAssetId()));
         }
 
-        ApiResponse<Portfolio> portfolioApiResponse = portfolioService.addAsset(createAssetRequest(request, TransactionType.BUY));
+        ApiResponse<Portfolio> portfolioApiResponse = portfolioService.addAsset(context);
         if (portfolioApiResponse.getCode() != HttpStatus.OK.value()) {
-            log.error("Failed to add asset to portfolio: {}. Errors: {}", request.getAssetId(), portfolioApiResponse.getErrors());
+            log.error("Failed to add asset to portfolio: {}. Errors: {}", context.getAssetId(), portfolioApiResponse.getErrors());
+            wallet.credit(context.getTotalPriceMinorUnits());
             return ApiResponse.error(portfolioApiResponse.getCode(), portfolioApiResponse.getErrors());
         }
 
-        wallet.setBalance(wallet.getBalance().subtract(assetPrice));
         walletRepository.save(wallet);
-
-        eventPublisher.publishEvent(new TradeCompletedEvent(this, user.getUserId()));
-        return ApiResponse.ok(buildTradeResponse(request, assetPrice));
+        return null;
     }
 
-    private ApiResponse<TradeResponse> handleSellTransaction(User user, TradeRequest request, BigDecimal assetPrice) {
-        Map<String, Asset> userAssets = user.getPortfolio().getAssets();
-        Asset userAsset = userAssets.get(request.getAssetId());
+    /**
+     * Moves the shares and the money of a sell, without journalling or announcing it.
+     *
+     * @return null once applied, or why it was not
+     */
+    private ApiResponse<TradeResponse> applySell(TradeContext context) {
+        int held = context.getPortfolio().getHoldings().quantityOf(symbols.indexOf(context.getAssetId()));
 
-        if (userAsset == null) {
-            log.error("Asset not found in user portfolio: {}", request.getAssetId());
+        if (held == 0) {
+            log.error("Asset not found in user portfolio: {}", context.getAssetId());
             return ApiResponse.error(HttpStatus.NOT_FOUND.value(),
                     List.of("Asset not found in user portfolio"));
         }
 
-        if (userAsset.getQuantity() < request.getQuantity()) {
-            log.error("Insufficient quantity of asset with ID: {} to sell", request.getAssetId());
+        if (held < context.getQuantity()) {
+            log.error("Insufficient quantity of asset with ID: {} to sell", context.getAssetId());
             return ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
-                    List.of("Insufficient quantity of asset with ID: " + request.getAssetId() + " to sell"));
+                    List.of("Insufficient quantity of asset with ID: " + context.getAssetId() + " to sell"));
         }
 
-        ApiResponse<Portfolio> portfolioApiResponse = portfolioService.removeAsset(createAssetRequest(request, TransactionType.SELL));
+        ApiResponse<Portfolio> portfolioApiResponse = portfolioService.removeAsset(context);
         if (portfolioApiResponse.getCode() != HttpStatus.OK.value()) {
-            log.error("Failed to remove asset from portfolio: {}. Errors: {}", request.getAssetId(), portfolioApiResponse.getErrors());
+            log.error("Failed to remove asset from portfolio: {}. Errors: {}", context.getAssetId(), portfolioApiResponse.getErrors());
             return ApiResponse.error(portfolioApiResponse.getCode(), portfolioApiResponse.getErrors());
         }
 
-        Wallet wallet = user.getWallet();
-        wallet.setBalance(wallet.getBalance().add(assetPrice));
+        Wallet wallet = context.getWallet();
+        wallet.credit(context.getTotalPriceMinorUnits());
         walletRepository.save(wallet);
+        return null;
+    }
 
-        eventPublisher.publishEvent(new TradeCompletedEvent(this, user.getUserId()));
-        return ApiResponse.ok(buildTradeResponse(request, assetPrice));
+    /**
+     * Journals a trade that has been applied, then tells the streams about it and queues its event in
+     * {@code completed}. A trade the journal refuses is undone and reported as not done, so a retry
+     * cannot apply it twice; once the record is written the trade stands, whatever happens to the
+     * notifications after it.
+     */
+    private ApiResponse<TradeResponse> complete(TradeContext context, Rollback rollback, List<TradeCompletedEvent> completed) {
+        long journalSequence;
+        try {
+            journalSequence = journal(context);
+        } catch (RuntimeException e) {
+            log.error("Failed to journal {} of asset: {} for user: {}, undoing it", context.getTransactionType(),
+                    context.getAssetId(), context.getUserId(), e);
+            undo(context, rollback);
+            return ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    List.of("The trade could not be recorded and was not applied."));
+        }
+        announce(context, journalSequence, completed);
+        return ApiResponse.ok(buildTradeResponse(context));
     }
 
-    private AssetRequest createAssetRequest(TradeRequest request, TransactionType transactionType) {
-        AssetRequest assetRequest = new AssetRequest();
-        assetRequest.setUserId(request.getUserId());
-        assetRequest.setAssetId(request.getAssetId());
-        assetRequest.setQuantity(request.getQuantity());
-        assetRequest.setTransType(transactionType);
-        return assetRequest;
+    private void announce(TradeContext context, long journalSequence, List<TradeCompletedEvent> completed) {
+        try {
+            accountStreamHub.walletChanged(context.getUserId());
+            accountStreamHub.holdingChanged(context.getUserId(), context.getAssetId());
+        } catch (RuntimeException e) {
+            log.error("Trade of asset: {} for user: {} was applied but not streamed", context.getAssetId(),
+                    context.getUserId(), e);
+        }
+        completed.add(new TradeCompletedEvent(this, context.getUserId(), journalSequence));
     }
 
-    private TradeResponse buildTradeResponse(TradeRequest request, BigDecimal totalPrice) {
-        TradeResponse response = new TradeResponse();
-        response.setUserId(request.getUserId());
-        response.setAssetId(request.getAssetId());
-        response.setQuantity(request.getQuantity());
-        response.setTotalPrice(totalPrice);
-        response.setPurchasedAt(LocalDateTime.now());
-        return response;
+    /**
+     * Publishes trade events once the user stripes are released. A full listener queue blocks the
+     * publisher, and must never do so while it holds a stripe a listener or another trade may need.
+     */
+    private void publish(List<TradeCompletedEvent> completed) {
+        for (TradeCompletedEvent event : completed) {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                log.error("Trade for user: {} was applied but not announced", event.getUserId(), e);
+            }
+        }
     }
 
-    private User getUserOrReturnError(String userId) {
-        try {
-            return userManagementService.getUserById(userId).getData();
-        } catch (Exception e) {
-            log.error("Failed to fetch user by ID: {}", userId, e);
-            return null;
+    /**
+     * Answers a trade that was applied but whose journal record could not be forced. Not a 503: the
+     * trade stands, so a retry must not run it again.
+     */
+    private static <T> ApiResponse<T> notDurable() {
+        return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                List.of("The trade was applied but could not be made durable."));
+    }
+
+    /**
+     * Puts the holding, portfolio value and wallet back as they were before the trade was applied.
+     * Runs under the user's lock, like the trade itself.
+     */
+    private void undo(TradeContext context, Rollback rollback) {
+        Portfolio portfolio = context.getPortfolio();
+        Holdings holdings = portfolio.getHoldings();
+        boolean heldAfter = holdings.contains(rollback.symbol());
+        if (rollback.quantity() == 0) {
+            holdings.remove(rollback.symbol());
+            if (heldAfter) {
+                assetRepository.deleteById(context.getAssetId(), context.getUserId());
+            }
+        } else {
+            holdings.put(rollback.symbol(), rollback.quantity(), rollback.priceMinorUnits());
+            if (!heldAfter) {
+                assetRepository.save(context.getCatalogAsset(), context.getUserId());
+            }
         }
+        portfolio.setValue(rollback.portfolioValue());
+        portfolioRepository.save(portfolio);
+
+        Wallet wallet = context.getWallet();
+        wallet.credit(context.getTransactionType() == TransactionType.BUY
+                ? context.getTotalPriceMinorUnits() : -context.getTotalPriceMinorUnits());
+        walletRepository.save(wallet);
+    }
+
+    /**
+     * The traded holding and the portfolio value as they were before a trade, for {@link #undo}.
+     */
+    private record Rollback(int symbol, int quantity, long priceMinorUnits, Money portfolioValue) {
+
+        static Rollback of(TradeContext context, int symbol) {
+            Portfolio portfolio = context.getPortfolio();
+            Holdings holdings = portfolio.getHoldings();
+            return new Rollback(symbol, holdings.quantityOf(symbol), holdings.priceOf(symbol), portfolio.getValue());
+        }
+    }
+
+    private Optional<TransactionType> parseTransactionType(String transactionType) {
+        if (transactionType == null) {
+            return Optional.empty();
+        }
+        return switch (transactionType.toUpperCase()) {
+            case "BUY" -> Optional.of(TransactionType.BUY);
+            case "SELL" -> Optional.of(TransactionType.SELL);
+            default -> Optional.empty();
+        };
+    }
+
+    private long journal(TradeContext context) {
+        TradeRecord record = TradeRecord.builder()
+                .timestampMillis(System.currentTimeMillis())
+                .userId(context.getUserId())
+                .username(context.getUser().getUsername())
+                .assetId(context.getAssetId())
+                .assetName(context.getCatalogAsset().getName())
+                .transactionType(context.getTransactionType())
+                .quantity(context.getQuantity())
+                .totalPriceMinorUnits(context.getTotalPriceMinorUnits())
+                .walletBalanceMinorUnits(context.getWallet().getBalanceMinorUnits())
+                .build();
+        return context.isAwaitDurable() ? tradeJournal.append(record) : tradeJournal.write(record);
+    }
+
+    private TradeResponse buildTradeResponse(TradeContext context) {
+        TradeResponse response = new TradeResponse();
+        response.setUserId(context.getUserId());
+        response.setAssetId(context.getAssetId());
+        response.setQuantity(context.getQuantity());
+        response.setTotalPrice(context.getTotalPrice());
+        response.setPurchasedAt(LocalDateTime.now());
+        return response;
     }
 }
@@ -5,17 +5,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
 import org.trading.system.trading.dto.request.WalletRequest;
+import org.trading.system.trading.journal.JournalRecordType;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.TradeRecord;
 import org.trading.system.trading.model.Wallet;
 import org.trading.system.trading.repository.WalletRepository;
 import org.trading.system.trading.service.WalletService;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.service.UserManagementService;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import static org.trading.system.common.util.MoneyUtil.toMinorUnits;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -23,6 +29,9 @@ public class WalletServiceImpl implements WalletService {
 
     private final WalletRepository walletRepository;
     private final UserManagementService userManagementService;
+    private final AccountStreamHub accountStreamHub;
+    private final StripedLockManager lockManager;
+    private final TradeJournal tradeJournal;
 
     @Override
     public ApiResponse<Wallet> create(WalletRequest request) {
@@ -65,10 +74,26 @@ public class WalletServiceImpl implements WalletService {
             }
 
             Wallet wallet = optionalWallet.get();
-            wallet.setBalance(wallet.getBalance().add(BigDecimal.valueOf(request.getAmount())));
-            wallet = walletRepository.save(wallet);
+            long amount = toMinorUnits(request.getAmount());
+            // Under the user's lock like a trade, so the journalled balance is the one this top up left.
+            ApiResponse<Wallet> response = lockManager.executeLocked(user.getUserId(), () -> {
+                wallet.credit(amount);
+                try {
+                    journalTopUp(user, amount, wallet.getBalanceMinorUnits());
+                } catch (RuntimeException e) {
+                    log.error("Failed to journal top up of wallet for user: {}, undoing it", user.getUserId(), e);
+                    wallet.credit(-amount);
+                    return ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                            List.of("The top up could not be recorded and was not applied."));
+                }
+                return ApiResponse.ok(walletRepository.save(wallet));
+            });
+            if (response.getCode() != HttpStatus.OK.value()) {
+                return response;
+            }
+            accountStreamHub.walletChanged(user.getUserId());
             log.info("Wallet top up successfully for user: {}", user.getUserId());
-            return ApiResponse.ok(wallet);
+            return response;
         } catch (Exception e) {
             log.error("Unexpected error occurred while topping up wallet for user ID: {}", request.getUserId(), e);
             return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -76,6 +101,17 @@ public class WalletServiceImpl implements WalletService {
         }
     }
 
+    private void journalTopUp(User user, long amount, long balance) {
+        tradeJournal.append(TradeRecord.builder()
+                .timestampMillis(System.currentTimeMillis())
+                .recordType(JournalRecordType.TOP_UP)
+                .userId(user.getUserId())
+                .username(user.getUsername())
+                .totalPriceMinorUnits(amount)
+                .walletBalanceMinorUnits(balance)
+                .build());
+    }
+
     @Override
     public Wallet getWalletByUserId(String userId){
         Optional<Wallet> optionalWallet = walletRepository.findByUserId(userId);
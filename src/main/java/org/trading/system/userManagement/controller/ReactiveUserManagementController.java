@@ -0,0 +1,86 @@
+package org.trading.system.userManagement.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.trading.system.common.dto.response.AccountUpdateResponse;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.reactive.ServiceScheduler;
+import org.trading.system.common.stream.AccountStream;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.userManagement.dto.request.CreateUserRequest;
+import org.trading.system.userManagement.dto.response.UserPageResponse;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.service.UserManagementService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * {@link UserManagementController} for the {@code reactive} profile. Creating a user may wait for
+ * room in the event queues and a page of users may wait for its enrichment, so both leave the
+ * event loop.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("api/v1/users")
+@RequiredArgsConstructor
+public class ReactiveUserManagementController {
+
+    private final UserManagementService userManagementService;
+    private final ServiceScheduler serviceScheduler;
+    private final AccountStreamHub accountStreamHub;
+
+    @PostMapping()
+    public Mono<ApiResponse<User>> createUser(@Valid @RequestBody CreateUserRequest request){
+        return serviceScheduler.offEventLoop(() -> userManagementService.createUser(request));
+    }
+
+    @GetMapping("{userId}")
+    public Mono<ApiResponse<User>> getUserById(@PathVariable String userId){
+        return serviceScheduler.onEventLoop(() -> userManagementService.getUserById(userId));
+    }
+
+    @GetMapping()
+    public Mono<ApiResponse<UserPageResponse>> getUsers(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int limit){
+        return serviceScheduler.offEventLoop(() -> userManagementService.getUsers(cursor, limit));
+    }
+
+    /**
+     * Server-Sent Events of the user's wallet balance and holdings. Updates are only taken from the
+     * stream as the connection asks for them, so changes wait conflated in the stream, not in Netty.
+     */
+    @GetMapping(value = "{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<?>> streamAccount(@PathVariable String userId){
+        return Flux.create(sink -> {
+            AccountStream stream = accountStreamHub.open(userId, new AccountStream.Sink() {
+                @Override
+                public void send(AccountUpdateResponse update) {
+                    sink.next(ServerSentEvent.builder(update)
+                            .id(String.valueOf(update.getSequence()))
+                            .event(update.getType().name().toLowerCase())
+                            .build());
+                }
+
+                @Override
+                public boolean ready() {
+                    return sink.requestedFromDownstream() > 0;
+                }
+            });
+            if (stream == null) {
+                sink.next(ServerSentEvent.builder(ApiResponse.error(HttpStatus.NOT_FOUND.value(),
+                        List.of("User not found with ID: " + userId))).event("error").build());
+                sink.complete();
+                return;
+            }
+            sink.onRequest(requested -> stream.wake());
+            sink.onDispose(stream::close);
+        });
+    }
+}
@@ -3,21 +3,31 @@ package org.trading.system.userManagement.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.stream.AccountStream;
+import org.trading.system.common.stream.AccountStreamHub;
 import org.trading.system.userManagement.dto.request.CreateUserRequest;
+import org.trading.system.userManagement.dto.response.UserPageResponse;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.service.UserManagementService;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("api/v1/users")
 @RequiredArgsConstructor
 @Slf4j
 public class UserManagementController {
 
     private final UserManagementService userManagementService;
+    private final AccountStreamHub accountStreamHub;
 
     @PostMapping()
     public ApiResponse<User> createUser(@Valid @RequestBody
@@ -31,7 +41,31 @@ public class UserManagementController {
     }
 
     @GetMapping()
-    public ApiResponse<List<User>> getAllUsers(){
-        return userManagementService.getAllUsers();
+    public ApiResponse<UserPageResponse> getUsers(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "50") int limit){
+        return userManagementService.getUsers(cursor, limit);
+    }
+
+    /**
+     * Server-Sent Events of the user's wallet balance and holdings: the whole account first, then
+     * each change as it happens.
+     */
+    @GetMapping(value = "{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAccount(@PathVariable String userId) throws IOException {
+        SseEmitter emitter = new SseEmitter(accountStreamHub.getTimeoutMillis());
+        AccountStream stream = accountStreamHub.open(userId, update -> emitter.send(SseEmitter.event()
+                .id(String.valueOf(update.getSequence()))
+                .name(update.getType().name().toLowerCase())
+                .data(update, MediaType.APPLICATION_JSON)));
+        if (stream == null) {
+            emitter.send(SseEmitter.event().name("error").data(ApiResponse.error(HttpStatus.NOT_FOUND.value(),
+                    List.of("User not found with ID: " + userId)), MediaType.APPLICATION_JSON));
+            emitter.complete();
+            return emitter;
+        }
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+        return emitter;
     }
 }
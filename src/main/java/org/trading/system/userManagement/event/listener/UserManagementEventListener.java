@@ -2,9 +2,12 @@ package org.trading.system.userManagement.event.listener;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.trading.system.common.event.TradeCompletedEvent;
+import org.trading.system.common.event.UserCreatedEvent;
+import org.trading.system.common.event.bus.DomainEventListener;
+import org.trading.system.rankingManagement.repository.LeaderBoardRepository;
+import org.trading.system.rankingManagement.stream.LeaderboardStreamHub;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.repository.UserManagementRepository;
 
@@ -15,29 +18,40 @@ import org.trading.system.userManagement.repository.UserManagementRepository;
 public class UserManagementEventListener {
 
     private final UserManagementRepository userManagementRepository;
+    private final LeaderBoardRepository leaderBoardRepository;
+    private final LeaderboardStreamHub leaderboardStreamHub;
 
-    @EventListener(TradeCompletedEvent.class)
+    @DomainEventListener(UserCreatedEvent.class)
+    public void handleUserCreatedEvent(UserCreatedEvent event) {
+        log.info("Adding user with ID: {} to the leaderboard", event.getUserId());
+
+        userManagementRepository.findById(event.getUserId()).ifPresentOrElse(
+                user -> {
+                    leaderBoardRepository.save(user.getUserId(), user.getGemsCount());
+                    leaderboardStreamHub.leaderboardChanged();
+                },
+                () -> log.error("User not found with ID: {}", event.getUserId())
+        );
+    }
+
+    /**
+     * Counts the trade together with its journal sequence. Takes no trading stripe: trades publish
+     * this event after releasing theirs, and {@link User#recordCompletedTrade(long)} fences the count
+     * for snapshots on its own.
+     */
+    @DomainEventListener(TradeCompletedEvent.class)
     public void handleTradeCompletedEvent(TradeCompletedEvent event) {
         log.info("Handling trade completed event for user with ID: {}", event.getUserId());
 
         userManagementRepository.findById(event.getUserId()).ifPresentOrElse(
                 user -> {
-                    updateUserTradeAndGems(user);
+                    user.recordCompletedTrade(event.getJournalSequence());
                     userManagementRepository.save(user);
+                    leaderBoardRepository.save(user.getUserId(), user.getGemsCount());
+                    leaderboardStreamHub.leaderboardChanged();
                     log.info("User with ID: {} updated successfully", event.getUserId());
                 },
                 () -> log.error("User not found with ID: {}", event.getUserId())
         );
     }
-
-    private void updateUserTradeAndGems(User user) {
-        user.setTradeCount(user.getTradeCount() + 1);
-        user.setGemsCount(user.getGemsCount() + 1);
-
-        if (user.getTradeCount() == 5) {
-            user.setGemsCount(user.getGemsCount() + 5);
-        } else if (user.getTradeCount() == 10) {
-            user.setGemsCount(user.getGemsCount() + 10);
-        }
-    }
 }
@@ -1,5 +1,6 @@
 package org.trading.system.userManagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.trading.model.Wallet;
@@ -28,4 +29,39 @@ public class User {
 
     private Wallet wallet;
 
+    // Journal sequence of the last trade counted in tradeCount and gemsCount.
+    @Getter(onMethod_ = @JsonIgnore)
+    @Builder.Default
+    private long gemsJournalSequence = 0;
+
+    /**
+     * The gem and trade counts and the journal sequence they cover, read together.
+     */
+    public record GemTally(long gemsCount, int tradeCount, long journalSequence) {
+    }
+
+    /**
+     * Counts the journalled trade with this sequence, so the gem and trade counts cover every trade
+     * of this user up to it. Runs under this user's monitor, which {@link #gemTally()} also takes, so
+     * a snapshot never sees the counts without the sequence they cover.
+     */
+    public synchronized void recordCompletedTrade(long journalSequence) {
+        recordCompletedTrade();
+        gemsJournalSequence = Math.max(gemsJournalSequence, journalSequence);
+    }
+
+    public synchronized void recordCompletedTrade() {
+        tradeCount++;
+        gemsCount++;
+
+        if (tradeCount == 5) {
+            gemsCount += 5;
+        } else if (tradeCount == 10) {
+            gemsCount += 10;
+        }
+    }
+
+    public synchronized GemTally gemTally() {
+        return new GemTally(gemsCount, tradeCount, gemsJournalSequence);
+    }
 }
@@ -13,7 +13,11 @@ public interface UserManagementRepository {
 
     User save(User user);
 
+    boolean saveIfUsernameAbsent(User user);
+
     List<User> findAll();
 
+    List<User> findPage(String afterUserId, int limit);
+
     int count();
 }
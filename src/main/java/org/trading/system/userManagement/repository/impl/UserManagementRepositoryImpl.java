@@ -1,50 +1,62 @@
 package org.trading.system.userManagement.repository.impl;
 
 import org.springframework.stereotype.Repository;
+import org.trading.system.common.repository.IndexedInMemoryRepository;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.repository.UserManagementRepository;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
-public class UserManagementRepositoryImpl implements UserManagementRepository {
+public class UserManagementRepositoryImpl extends IndexedInMemoryRepository<User> implements UserManagementRepository {
 
-    private final Map<String, User> userStore = new ConcurrentHashMap<>();
+    private final UniqueIndex<User> usernameIndex = uniqueIndex(User::getUsername);
+
+    public UserManagementRepositoryImpl() {
+        super(true);
+    }
 
     @Override
     public Optional<User> findById(String userId) {
-        return Optional.ofNullable(
-                userStore.get(userId)
-        );
+        return get(userId);
     }
 
     @Override
     public Optional<User> findByUsername(String username) {
-        return userStore.values()
-                .stream().filter(user ->
-                        user.getUsername().equals(username))
-                .findFirst();
+        return usernameIndex.find(username);
     }
 
     @Override
     public User save(User user) {
-        userStore.put(user.getUserId(), user);
-        return user;
+        return put(user);
+    }
+
+    @Override
+    public boolean saveIfUsernameAbsent(User user) {
+        return putIfUnique(user, usernameIndex);
     }
 
     @Override
     public List<User> findAll() {
         return new ArrayList<>(
-                userStore.values()
+                values()
         );
     }
 
+    @Override
+    public List<User> findPage(String afterUserId, int limit) {
+        return pageAfter(afterUserId, limit);
+    }
+
     @Override
     public int count() {
-        return userStore.size();
+        return size();
+    }
+
+    @Override
+    protected String idOf(User user) {
+        return user.getUserId();
     }
 }
@@ -2,6 +2,7 @@ package org.trading.system.userManagement.service;
 
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.userManagement.dto.request.CreateUserRequest;
+import org.trading.system.userManagement.dto.response.UserPageResponse;
 import org.trading.system.userManagement.model.User;
 
 import java.util.List;
@@ -13,4 +14,6 @@ public interface UserManagementService {
     ApiResponse<User> getUserById(String userId);
 
     ApiResponse<List<User>> getAllUsers();
+
+    ApiResponse<UserPageResponse> getUsers(String cursor, int limit);
 }
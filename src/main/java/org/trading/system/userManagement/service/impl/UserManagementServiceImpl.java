@@ -5,53 +5,82 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.common.event.UserCreatedEvent;
 import org.trading.system.common.exception.ApiException;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.journal.JournalRecordType;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.TradeRecord;
 import org.trading.system.trading.model.Wallet;
 import org.trading.system.trading.repository.WalletRepository;
 import org.trading.system.userManagement.dto.request.CreateUserRequest;
+import org.trading.system.userManagement.dto.response.UserPageResponse;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.repository.UserManagementRepository;
 import org.trading.system.userManagement.service.UserManagementService;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserManagementServiceImpl implements UserManagementService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final UserManagementRepository userManagementRepository;
     private final WalletRepository walletRepository;
     private final PortfolioRepository portfolioRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final EnrichmentExecutor enrichmentExecutor;
+    private final StripedLockManager lockManager;
+    private final TradeJournal tradeJournal;
+    private final SymbolTable symbols;
 
     @Override
     public ApiResponse<User> createUser(CreateUserRequest request) {
         log.info("Attempting to create user with username: {}", request.getUsername());
         try {
-            Optional<User> optionalUser = userManagementRepository.findByUsername(request.getUsername());
-            if (optionalUser.isPresent()) {
-                log.error("User creation failed: User already exists with username: {}", request.getUsername());
-                return ApiResponse.error(HttpStatus.CONFLICT.value(),
-                        List.of("User already exists with username: " + request.getUsername()));
-            }
-
             User user = User.builder()
                     .username(request.getUsername())
                     .build();
 
-            user = userManagementRepository.save(user);
+            // Under the username's stripe, so a name is journalled only for the request that gets to keep it.
+            ApiResponse<User> response = lockManager.executeLocked(request.getUsername(), () -> {
+                if (userManagementRepository.findByUsername(request.getUsername()).isPresent()) {
+                    return usernameTaken(request.getUsername());
+                }
+                try {
+                    journalUserCreated(user);
+                } catch (RuntimeException e) {
+                    log.error("Failed to journal new user with username: {}", request.getUsername(), e);
+                    return ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                            List.of("The user could not be recorded and was not created."));
+                }
+                if (!userManagementRepository.saveIfUsernameAbsent(user)) {
+                    return usernameTaken(request.getUsername());
+                }
+                // Created before the user is returned, so a trade made straight after finds them.
+                walletRepository.save(Wallet.builder().userId(user.getUserId()).build());
+                portfolioRepository.save(Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build());
+                return ApiResponse.created(user);
+            });
+            if (response.getCode() != HttpStatus.CREATED.value()) {
+                return response;
+            }
 
             eventPublisher.publishEvent(new UserCreatedEvent(this, user.getUserId()));
             log.info("User created successfully with username: {}", request.getUsername());
-            return ApiResponse.created(user);
+            return response;
         } catch (Exception e) {
             log.error("Unexpected error occurred while creating user with username: {}", request.getUsername(), e);
             return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -59,6 +88,21 @@ public class UserManagementServiceImpl implements UserManagementService {
         }
     }
 
+    private ApiResponse<User> usernameTaken(String username) {
+        log.error("User creation failed: User already exists with username: {}", username);
+        return ApiResponse.error(HttpStatus.CONFLICT.value(),
+                List.of("User already exists with username: " + username));
+    }
+
+    private void journalUserCreated(User user) {
+        tradeJournal.append(TradeRecord.builder()
+                .timestampMillis(System.currentTimeMillis())
+                .recordType(JournalRecordType.USER_CREATED)
+                .userId(user.getUserId())
+                .username(user.getUsername())
+                .build());
+    }
+
     @Override
     public ApiResponse<User> getUserById(String userId) {
         log.info("Attempting to retrieve user with ID: {}", userId);
@@ -91,12 +135,9 @@ public class UserManagementServiceImpl implements UserManagementService {
         log.info("Attempting to retrieve all users");
         try {
             List<User> users = userManagementRepository.findAll();
+            enrichmentExecutor.forEach(users, this::enrichUserWithPortfolioAndWallet);
 
-            List<User> processedUsers = users.parallelStream()
-                    .peek(this::enrichUserWithPortfolioAndWallet)
-                    .collect(Collectors.toList());
-
-            return ApiResponse.ok(processedUsers);
+            return ApiResponse.ok(users);
         } catch (Exception e) {
             log.error("Unexpected error occurred while retrieving all users", e);
             return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -104,15 +145,62 @@ public class UserManagementServiceImpl implements UserManagementService {
         }
     }
 
-    private void enrichUserWithPortfolioAndWallet(User user) {
+    @Override
+    public ApiResponse<UserPageResponse> getUsers(String cursor, int limit) {
+        log.info("Attempting to retrieve users after cursor: {} with limit: {}", cursor, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            log.error("Invalid page limit: {}", limit);
+            return ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    List.of("Limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        String afterUserId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            Optional<String> decoded = decodeCursor(cursor);
+            if (decoded.isEmpty()) {
+                log.error("Invalid cursor: {}", cursor);
+                return ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                        List.of("Invalid cursor: " + cursor));
+            }
+            afterUserId = decoded.get();
+        }
+
         try {
-            CompletableFuture<Portfolio> portfolioFuture = CompletableFuture.supplyAsync(() -> getPortfolioByUserId(user.getUserId()));
-            CompletableFuture<Wallet> walletFuture = CompletableFuture.supplyAsync(() -> getWalletByUserId(user.getUserId()));
+            List<User> users = userManagementRepository.findPage(afterUserId, limit + 1);
+            boolean hasMore = users.size() > limit;
+            if (hasMore) {
+                users = users.subList(0, limit);
+            }
+            enrichmentExecutor.forEach(users, this::enrichUserWithPortfolioAndWallet);
 
-            CompletableFuture.allOf(portfolioFuture, walletFuture).join();
+            UserPageResponse page = new UserPageResponse();
+            page.setUsers(users);
+            page.setLimit(limit);
+            page.setNextCursor(hasMore ? encodeCursor(users.get(users.size() - 1).getUserId()) : null);
+            return ApiResponse.ok(page);
+        } catch (Exception e) {
+            log.error("Unexpected error occurred while retrieving users page", e);
+            return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    List.of("An unexpected error occurred while retrieving users."));
+        }
+    }
 
-            user.setPortfolio(portfolioFuture.get());
-            user.setWallet(walletFuture.get());
+    private String encodeCursor(String userId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(userId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Optional<String> decodeCursor(String cursor) {
+        try {
+            return Optional.of(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void enrichUserWithPortfolioAndWallet(User user) {
+        try {
+            user.setPortfolio(getPortfolioByUserId(user.getUserId()));
+            user.setWallet(getWalletByUserId(user.getUserId()));
         } catch (Exception e) {
             log.error("Error occurred while processing user with ID: {}", user.getUserId(), e);
         }
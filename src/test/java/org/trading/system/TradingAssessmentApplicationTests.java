@@ -3,7 +3,10 @@ package org.trading.system;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "trading.journal.directory=target/test-journal",
+        "trading.snapshot.file=target/test-snapshot.bin"
+})
 class TradingAssessmentApplicationTests {
 
 	@Test
@@ -0,0 +1,175 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.dto.response.AccountUpdateResponse;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStream;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.service.impl.PortfolioServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.trading.sequencer.ExecutionMode;
+import org.trading.system.trading.sequencer.TradeSequencer;
+import org.trading.system.trading.service.impl.TradingServiceImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trades per second from 4 threads while every trader's account is streamed. {@code NONE} has no
+ * subscribers, {@code FAST} one that takes every update, {@code STALLED} one that never takes any, so
+ * its changes pile up conflated in the stream. Prints how many updates were delivered per iteration.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=AccountStreamBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AccountStreamBenchmark {
+
+    private static final String ASSET_ID = "AAPL";
+    private static final int USERS = 256;
+
+    public enum Subscribers {
+        NONE, FAST, STALLED
+    }
+
+    @State(Scope.Benchmark)
+    public static class Exchange {
+
+        @Param({"NONE", "FAST", "STALLED"})
+        public Subscribers subscribers;
+
+        final LongAdder delivered = new LongAdder();
+        final AtomicInteger callers = new AtomicInteger();
+        AccountStreamHub hub;
+        TradingServiceImpl tradingService;
+        String[] userIds;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            SymbolTable symbols = new SymbolTable();
+            BenchmarkSupport.silenceLogging();
+
+            UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+            WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+            PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+            AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+            assetRepository.run(null);
+            Asset catalogAsset = assetRepository.findById(ASSET_ID).orElseThrow();
+
+            ApplicationEventPublisher eventPublisher = event -> { };
+            TradeJournal journal = new MappedTradeJournal(new SimpleMeterRegistry(), false, "", 0, FsyncPolicy.OS, 0);
+            StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 256);
+            UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository,
+                    portfolioRepository, eventPublisher, new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1),
+                    lockManager, journal, symbols);
+            AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+            PortfolioServiceImpl portfolioService = new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols);
+            hub = new AccountStreamHub(walletRepository, portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 2, 0);
+            tradingService = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                    assetRepository, portfolioService, eventPublisher, lockManager,
+                    journal, new TradeSequencer(journal, new SimpleMeterRegistry(), ExecutionMode.LOCKED, 1, 1, 30_000), hub, symbols);
+
+            userIds = new String[USERS];
+            for (int i = 0; i < USERS; i++) {
+                User user = userRepository.save(User.builder().username("trader" + i).build());
+                walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(1_000_000_000L)).build());
+                Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
+                portfolio.getAssets().put(ASSET_ID, new Asset(ASSET_ID, catalogAsset.getName(), 1_000_000, catalogAsset.getPrice()));
+                portfolioRepository.save(portfolio);
+                userIds[i] = user.getUserId();
+                subscribe(user.getUserId());
+            }
+        }
+
+        private void subscribe(String userId) {
+            switch (subscribers) {
+                case NONE -> { }
+                case FAST -> hub.open(userId, update -> delivered.increment());
+                case STALLED -> hub.open(userId, new AccountStream.Sink() {
+                    @Override
+                    public void send(AccountUpdateResponse update) {
+                        delivered.increment();
+                    }
+
+                    @Override
+                    public boolean ready() {
+                        return false;
+                    }
+                });
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void resetDelivered() {
+            delivered.reset();
+        }
+
+        @TearDown(Level.Iteration)
+        public void reportDelivered() {
+            System.out.println("updates delivered: " + delivered.sum());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            hub.destroy();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Trader {
+
+        TradeRequest buy;
+        TradeRequest sell;
+        boolean selling;
+
+        @Setup(Level.Trial)
+        public void setUp(Exchange exchange) {
+            String userId = exchange.userIds[exchange.callers.getAndIncrement() % USERS];
+            buy = request(userId, "BUY");
+            sell = request(userId, "SELL");
+        }
+
+        private static TradeRequest request(String userId, String transactionType) {
+            TradeRequest request = new TradeRequest();
+            request.setUserId(userId);
+            request.setAssetId(ASSET_ID);
+            request.setQuantity(1);
+            request.setTransactionType(transactionType);
+            return request;
+        }
+    }
+
+    @Benchmark
+    public ApiResponse<TradeResponse> trade(Exchange exchange, Trader trader) {
+        TradeRequest request = trader.selling ? trader.sell : trader.buy;
+        trader.selling = !trader.selling;
+        return exchange.tradingService.trade(request);
+    }
+}
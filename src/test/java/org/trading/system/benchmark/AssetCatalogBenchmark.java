@@ -0,0 +1,86 @@
+package org.trading.system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.cache.AssetCatalogCache;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code GET api/v1/assets} body: listing and serializing the catalog per request as the
+ * endpoint used to, against {@link AssetCatalogCache} writing its encoded bytes, its gzipped bytes,
+ * or a 304 for a client that already has them. {@code assets} is the catalog size.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=AssetCatalogBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssetCatalogBenchmark {
+
+    @Param({"10", "1000"})
+    public int assets;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AssetServiceImpl assetService;
+    private AssetCatalogCache cache;
+    private String etag;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        BenchmarkSupport.silenceLogging();
+
+        AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        for (int i = assetRepository.findAll().size(); i < assets; i++) {
+            assetRepository.saveToCatalog(new Asset("SYM" + i, "Listed Company " + i, 100, Money.of(100 + i)));
+        }
+        UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(new UserManagementRepositoryImpl(),
+                new WalletRepositoryImpl(), new PortfolioRepositoryImpl(), event -> { },
+                new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1),
+                new StripedLockManager(new SimpleMeterRegistry(), 16), new MappedTradeJournal(new SimpleMeterRegistry(), false, "", 0, FsyncPolicy.OS, 0), symbols);
+        assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+        cache = new AssetCatalogCache(assetService, assetRepository, objectMapper, new SimpleMeterRegistry(), true);
+        etag = cache.current().etag();
+    }
+
+    @Benchmark
+    public byte[] encodePerRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(assetService.getAllAssets());
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> cached() {
+        return cache.respond(null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> cachedGzip() {
+        return cache.respond(null, "gzip, deflate");
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> notModified() {
+        return cache.respond(etag, "gzip, deflate");
+    }
+}
@@ -0,0 +1,193 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.service.impl.PortfolioServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.dto.response.TradeSubmissionResponse;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.trading.sequencer.ExecutionMode;
+import org.trading.system.trading.sequencer.TradeSequencer;
+import org.trading.system.trading.service.impl.TradeSubmissionServiceImpl;
+import org.trading.system.trading.service.impl.TradingServiceImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * How long a request thread is held per trade, eight callers at once, with every trade journalled to
+ * a temporary directory under group commit. {@code synchronousTrade} holds the caller for the whole
+ * trade; {@code asynchronousSubmit} only until the trade is queued, with {@code refused} counting
+ * submissions turned away by a full queue; {@code asynchronousRoundTrip} submits and long-polls for
+ * the result, which is what a client waiting for the outcome sees.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=AsyncTradeBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class AsyncTradeBenchmark {
+
+    private static final String ASSET_ID = "AAPL";
+    private static final int USERS_PER_CALLER = 64;
+    private static final int CALLERS = 8;
+
+    @State(Scope.Benchmark)
+    public static class Exchange {
+
+        final AtomicInteger callers = new AtomicInteger();
+        Path directory;
+        MappedTradeJournal journal;
+        TradingServiceImpl tradingService;
+        TradeSubmissionServiceImpl submissionService;
+        String[] userIds;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            SymbolTable symbols = new SymbolTable();
+            BenchmarkSupport.silenceLogging();
+            directory = Files.createTempDirectory(Path.of("target"), "async-benchmark");
+
+            UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+            WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+            PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+            AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+            assetRepository.run(null);
+            Asset catalogAsset = assetRepository.findById(ASSET_ID).orElseThrow();
+
+            ApplicationEventPublisher eventPublisher = event -> { };
+            journal = new MappedTradeJournal(new SimpleMeterRegistry(), true, directory.toString(), 64 << 20, FsyncPolicy.GROUP, 0);
+            StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 256);
+            UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository,
+                    portfolioRepository, eventPublisher, new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1),
+                    lockManager, journal, symbols);
+            AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+            PortfolioServiceImpl portfolioService = new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols);
+            tradingService = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                    assetRepository, portfolioService, eventPublisher, lockManager,
+                    journal, new TradeSequencer(journal, new SimpleMeterRegistry(), ExecutionMode.LOCKED, 1, 1, 30_000),
+                    new AccountStreamHub(walletRepository, portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 1, 0), symbols);
+            submissionService = new TradeSubmissionServiceImpl(tradingService, new SimpleMeterRegistry(),
+                    8, 1024, 1, 100_000, 30_000);
+
+            userIds = new String[CALLERS * USERS_PER_CALLER];
+            for (int i = 0; i < userIds.length; i++) {
+                User user = userRepository.save(User.builder().username("trader" + i).build());
+                walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(1_000_000_000L)).build());
+                Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
+                portfolio.getAssets().put(ASSET_ID, new Asset(ASSET_ID, catalogAsset.getName(), 1_000_000, catalogAsset.getPrice()));
+                portfolioRepository.save(portfolio);
+                userIds[i] = user.getUserId();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            submissionService.destroy();
+            journal.destroy();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+
+        TradeRequest[] buys;
+        TradeRequest[] sells;
+        int tick;
+
+        @Setup(Level.Trial)
+        public void setUp(Exchange exchange) {
+            int first = (exchange.callers.getAndIncrement() % CALLERS) * USERS_PER_CALLER;
+            buys = new TradeRequest[USERS_PER_CALLER];
+            sells = new TradeRequest[USERS_PER_CALLER];
+            for (int i = 0; i < USERS_PER_CALLER; i++) {
+                buys[i] = trade(exchange.userIds[first + i], "BUY");
+                sells[i] = trade(exchange.userIds[first + i], "SELL");
+            }
+        }
+
+        TradeRequest next() {
+            int next = tick++;
+            TradeRequest[] side = (next & 1) == 0 ? buys : sells;
+            return side[(next >>> 1) % USERS_PER_CALLER];
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Refusals {
+        public long refused;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            refused = 0;
+        }
+    }
+
+    @Benchmark
+    public ApiResponse<TradeResponse> synchronousTrade(Exchange exchange, Caller caller) {
+        return exchange.tradingService.trade(caller.next());
+    }
+
+    @Benchmark
+    public ApiResponse<TradeSubmissionResponse> asynchronousSubmit(Exchange exchange, Caller caller, Refusals refusals) {
+        ApiResponse<TradeSubmissionResponse> response = exchange.submissionService.submit(caller.next());
+        if (response.getCode() != HttpStatus.ACCEPTED.value()) {
+            refusals.refused++;
+        }
+        return response;
+    }
+
+    @Benchmark
+    public ApiResponse<TradeSubmissionResponse> asynchronousRoundTrip(Exchange exchange, Caller caller) {
+        ApiResponse<TradeSubmissionResponse> accepted = exchange.submissionService.submit(caller.next());
+        if (accepted.getCode() != HttpStatus.ACCEPTED.value()) {
+            return accepted;
+        }
+        return exchange.submissionService.status(accepted.getData().getTradeId(), 30_000).join();
+    }
+
+    private static TradeRequest trade(String userId, String transactionType) {
+        TradeRequest request = new TradeRequest();
+        request.setUserId(userId);
+        request.setAssetId(ASSET_ID);
+        request.setQuantity(1);
+        request.setTransactionType(transactionType);
+        return request;
+    }
+}
@@ -0,0 +1,15 @@
+package org.trading.system.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static void silenceLogging() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+    }
+}
@@ -0,0 +1,48 @@
+package org.trading.system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.trading.system.common.util.SnowflakeIdGenerator;
+import org.trading.system.common.util.UuidHexIdGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares id generation strategies under concurrent callers: the original
+ * {@code UUID.randomUUID().toString().replace("-", "")}, the same hex UUID written directly, and
+ * the CAS-based Snowflake generator with its 11-char encoding.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=IdGenerationBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    private final UuidHexIdGenerator uuidHexIdGenerator = new UuidHexIdGenerator();
+    private final SnowflakeIdGenerator snowflakeIdGenerator = new SnowflakeIdGenerator(0);
+
+    @Benchmark
+    public String previousUuidReplace() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    public String uuidHex() {
+        return uuidHexIdGenerator.nextId();
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return snowflakeIdGenerator.nextId();
+    }
+
+    @Benchmark
+    public long snowflakeRaw() {
+        return snowflakeIdGenerator.nextLong();
+    }
+}
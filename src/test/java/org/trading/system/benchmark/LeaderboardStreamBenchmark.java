@@ -0,0 +1,102 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.trading.system.rankingManagement.repository.impl.LeaderBoardRepositoryImpl;
+import org.trading.system.rankingManagement.service.impl.LeaderBoardServiceImpl;
+import org.trading.system.rankingManagement.stream.LeaderboardStreamHub;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cost of keeping {@code viewers} dashboards on the top 50 of 10,000 users up to date after a gem
+ * change. {@code POLL} is every dashboard calling {@code fetchLeaderBoard(50)}; {@code PUSH} is one
+ * {@link LeaderboardStreamHub} tick, timed until every viewer has been sent its diff.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=LeaderboardStreamBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardStreamBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int COUNT = 50;
+
+    public enum Delivery {
+        POLL, PUSH
+    }
+
+    @Param({"POLL", "PUSH"})
+    public Delivery delivery;
+
+    @Param({"100", "1000"})
+    public int viewers;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private LeaderBoardRepositoryImpl leaderBoardRepository;
+    private LeaderBoardServiceImpl leaderBoardService;
+    private LeaderboardStreamHub hub;
+    private String[] userIds;
+    private long round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkSupport.silenceLogging();
+
+        UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        leaderBoardRepository = new LeaderBoardRepositoryImpl();
+        userIds = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            User user = userRepository.save(User.builder().username("trader" + i).gemsCount(i).build());
+            leaderBoardRepository.save(user.getUserId(), user.getGemsCount());
+            userIds[i] = user.getUserId();
+        }
+        leaderBoardService = new LeaderBoardServiceImpl(leaderBoardRepository, userRepository);
+        // The benchmark ticks by itself.
+        hub = new LeaderboardStreamHub(leaderBoardService, new SimpleMeterRegistry(), 3_600_000, COUNT, 4, 0);
+        if (delivery == Delivery.PUSH) {
+            for (int i = 0; i < viewers; i++) {
+                hub.open(COUNT, update -> delivered.incrementAndGet());
+            }
+            awaitDelivered(viewers);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hub.destroy();
+    }
+
+    @Benchmark
+    public void refresh(Blackhole blackhole) {
+        // Lifts one user into the top 50 so every refresh has something to show.
+        round++;
+        leaderBoardRepository.save(userIds[(int) (round % (USERS - COUNT))], USERS + round);
+        if (delivery == Delivery.POLL) {
+            for (int i = 0; i < viewers; i++) {
+                blackhole.consume(leaderBoardService.fetchLeaderBoard(COUNT));
+            }
+        } else {
+            long target = delivered.get() + viewers;
+            hub.leaderboardChanged();
+            hub.tick();
+            awaitDelivered(target);
+        }
+    }
+
+    private void awaitDelivered(long target) {
+        while (delivered.get() < target) {
+            // Parked rather than spinning, so the dispatch threads get the CPU.
+            LockSupport.parkNanos(1_000);
+        }
+    }
+}
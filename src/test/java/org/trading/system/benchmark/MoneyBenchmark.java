@@ -0,0 +1,50 @@
+package org.trading.system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.trading.system.common.util.Money;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The money arithmetic of one buy followed by one sell: price the trade, add it to the portfolio
+ * value, then take it back out. {@code bigDecimal} is the arithmetic the trade path did before
+ * {@link Money}; {@code money} is what it does now. Both price the trade once and do the same add
+ * and subtract, with no conversion between the two representations.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=MoneyBenchmark}. For allocation
+ * rates run {@code org.openjdk.jmh.Main MoneyBenchmark -prof gc} on the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @State(Scope.Thread)
+    public static class Amounts {
+
+        @Param({"1", "37"})
+        public int quantity;
+
+        BigDecimal decimalPrice = new BigDecimal("150.25");
+        BigDecimal decimalValue = new BigDecimal("10000.00");
+        Money price = Money.of("150.25");
+        Money value = Money.of("10000.00");
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal(Amounts amounts) {
+        BigDecimal total = amounts.decimalPrice.multiply(BigDecimal.valueOf(amounts.quantity));
+        amounts.decimalValue = amounts.decimalValue.add(total).subtract(total);
+        return total;
+    }
+
+    @Benchmark
+    public Money money(Amounts amounts) {
+        Money total = amounts.price.times(amounts.quantity);
+        amounts.value = amounts.value.plus(total).minus(total);
+        return total;
+    }
+}
@@ -0,0 +1,197 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.constants.TransactionType;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.service.impl.PortfolioServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.dto.request.OrderRequest;
+import org.trading.system.trading.dto.response.OrderResponse;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.orderbook.FillHandler;
+import org.trading.system.trading.orderbook.OrderBook;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.trading.sequencer.ExecutionMode;
+import org.trading.system.trading.sequencer.TradeSequencer;
+import org.trading.system.trading.service.impl.OrderServiceImpl;
+import org.trading.system.trading.service.impl.TradingServiceImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One asset's order book. {@code match} samples the latency of a crossing limit order that fills
+ * the oldest order at the best price, followed by the passive order that puts the liquidity back, on
+ * a book {@code levels} price levels deep per side. {@code orderFlow} is orders per second into the
+ * book alone under a mix of passive limits, crossing limits and cancels. {@code settledOrders} is
+ * orders per second through {@link OrderServiceImpl}, every fill settled against wallets and
+ * portfolios.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=OrderBookBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookBenchmark {
+
+    private static final long MID = 10_000;
+    private static final int ORDERS_PER_LEVEL = 4;
+    private static final FillHandler SETTLE = (restingOrderId, restingOwner, quantity, priceMinorUnits) ->
+            FillHandler.Outcome.SETTLED;
+
+    @State(Scope.Thread)
+    public static class Book {
+
+        @Param({"10", "1000"})
+        public int levels;
+
+        OrderBook book;
+        long[] ids;
+        int seeded;
+        long tick;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            book = new OrderBook(levels * ORDERS_PER_LEVEL * 4);
+            ids = new long[1024];
+            for (int level = 1; level <= levels; level++) {
+                for (int i = 0; i < ORDERS_PER_LEVEL; i++) {
+                    book.submitLimit("bid" + i, TransactionType.BUY, MID - level, 1, SETTLE);
+                    book.submitLimit("ask" + i, TransactionType.SELL, MID + level, 1, SETTLE);
+                }
+            }
+            seeded = book.orderCount();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long match(Book state) {
+        OrderBook book = state.book;
+        boolean buy = (state.tick++ & 1) == 0;
+        TransactionType side = buy ? TransactionType.BUY : TransactionType.SELL;
+        TransactionType opposite = buy ? TransactionType.SELL : TransactionType.BUY;
+        long price = book.bestPrice(opposite);
+        book.submitLimit("taker", side, price, 1, SETTLE);
+        return book.submitLimit("maker", opposite, price, 1, SETTLE);
+    }
+
+    @Benchmark
+    public long orderFlow(Book state) {
+        OrderBook book = state.book;
+        long tick = state.tick++;
+        // A cheap deterministic scramble of the tick picks the side, the action and the distance.
+        long mixed = tick * 0x9E3779B97F4A7C15L;
+        int action = (int) ((mixed >>> 40) % 10);
+        boolean buy = ((mixed >>> 32) & 1) == 0;
+        TransactionType side = buy ? TransactionType.BUY : TransactionType.SELL;
+        int slot = (int) ((mixed >>> 48) & (state.ids.length - 1));
+        if (action < 2) {
+            return book.cancel(state.ids[slot]) ? 1 : 0;
+        }
+        // Crossing instead of resting once the book holds what it was seeded with keeps its size steady.
+        if (action < 5 || book.orderCount() >= state.seeded) {
+            long best = book.bestPrice(buy ? TransactionType.SELL : TransactionType.BUY);
+            return best == OrderBook.NO_PRICE ? 0 : book.submitLimit("taker", side, best, 1, SETTLE);
+        }
+        long distance = 1 + (mixed >>> 20) % state.levels;
+        long id = book.submitLimit("maker", side, buy ? MID - distance : MID + distance, 1, SETTLE);
+        state.ids[slot] = id;
+        return id;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Exchange {
+
+        private static final int TRADERS = 256;
+
+        OrderServiceImpl orderService;
+        OrderRequest[] sells;
+        OrderRequest[] buys;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            SymbolTable symbols = new SymbolTable();
+            BenchmarkSupport.silenceLogging();
+
+            UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+            WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+            PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+            AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+            assetRepository.run(null);
+            Asset catalogAsset = assetRepository.findById("AAPL").orElseThrow();
+
+            ApplicationEventPublisher eventPublisher = event -> { };
+            TradeJournal journal = new MappedTradeJournal(new SimpleMeterRegistry(), false, "", 0, FsyncPolicy.OS, 0);
+            StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 256);
+            UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository,
+                    portfolioRepository, eventPublisher, new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1),
+                    lockManager, journal, symbols);
+            AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+            PortfolioServiceImpl portfolioService = new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols);
+            TradingServiceImpl tradingService = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                    assetRepository, portfolioService, eventPublisher, lockManager,
+                    journal,
+                    new TradeSequencer(journal, new SimpleMeterRegistry(), ExecutionMode.LOCKED, 1, 1, 30_000),
+                    new AccountStreamHub(walletRepository, portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 1, 0), symbols);
+            orderService = new OrderServiceImpl(assetRepository, walletRepository, portfolioRepository, tradingService,
+                    new SimpleMeterRegistry());
+
+            sells = new OrderRequest[TRADERS];
+            buys = new OrderRequest[TRADERS];
+            for (int i = 0; i < TRADERS; i++) {
+                User user = userRepository.save(User.builder().username("trader" + i).build());
+                walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(1_000_000_000_000L)).build());
+                Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
+                portfolio.getAssets().put("AAPL", new Asset("AAPL", catalogAsset.getName(), 1_000_000_000, catalogAsset.getPrice()));
+                portfolioRepository.save(portfolio);
+                sells[i] = order(user.getUserId(), "SELL");
+                buys[(i + 1) % TRADERS] = order(user.getUserId(), "BUY");
+            }
+        }
+
+        private static OrderRequest order(String userId, String side) {
+            OrderRequest request = new OrderRequest();
+            request.setUserId(userId);
+            request.setAssetId("AAPL");
+            request.setSide(side);
+            request.setType("LIMIT");
+            request.setPrice(Money.ofMinorUnits(MID));
+            request.setQuantity(1);
+            return request;
+        }
+    }
+
+    /**
+     * Every other order rests and the next one, from a different trader, fills it, so half the
+     * orders settle a fill: two journaled, published trade legs under both traders' locks.
+     */
+    @Benchmark
+    public ApiResponse<OrderResponse> settledOrders(Exchange exchange) {
+        int next = exchange.next++;
+        OrderRequest[] side = (next & 1) == 0 ? exchange.sells : exchange.buys;
+        return exchange.orderService.submit(side[(next >>> 1) % side.length]);
+    }
+}
@@ -0,0 +1,162 @@
+package org.trading.system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.trading.system.common.repository.IndexedInMemoryRepository;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.trading.system.common.util.IdGenerationUtil.generateId;
+
+/**
+ * Heap retained per user by their portfolio: builds {@code users} portfolios of {@code holdings}
+ * catalog assets each the way the trade path does, and reports the heap growth per user after a
+ * full GC, for the portfolios alone ({@code portfolioBytes}) and once saved to the repository with
+ * its asset id index ({@code indexedBytes}). The time is only the cost of building them.
+ * {@code previousAssetMap} builds the same portfolios in the layout before {@link Holdings}, a map of
+ * asset id to {@link Asset}, indexed the same way.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=PortfolioFootprintBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PortfolioFootprintBenchmark {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    @Param({"200000"})
+    public int users;
+
+    @Param({"1", "3", "8"})
+    public int holdings;
+
+    private SymbolTable symbols;
+    private List<Asset> catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkSupport.silenceLogging();
+        symbols = new SymbolTable();
+        AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        catalog = assetRepository.findAll();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long portfolioBytes;
+        public long indexedBytes;
+    }
+
+    @Benchmark
+    public Object build(Footprint footprint) {
+        long before = usedHeap();
+        Portfolio[] portfolios = new Portfolio[users];
+        for (int i = 0; i < users; i++) {
+            Portfolio portfolio = Portfolio.builder().userId("user-" + i).holdings(new Holdings(symbols)).build();
+            for (int h = 0; h < holdings; h++) {
+                Asset asset = catalog.get((i + h) % catalog.size());
+                portfolio.getAssets().put(asset.getAssetId(), Asset.builder()
+                        .assetId(asset.getAssetId())
+                        .name(asset.getName())
+                        .price(asset.getPrice())
+                        .quantity(1 + i % 50)
+                        .build());
+            }
+            portfolios[i] = portfolio;
+        }
+        long built = usedHeap();
+
+        PortfolioRepositoryImpl repository = new PortfolioRepositoryImpl();
+        for (Portfolio portfolio : portfolios) {
+            repository.save(portfolio);
+        }
+        record(footprint, before, built, usedHeap());
+        return repository;
+    }
+
+    @Benchmark
+    public Object previousAssetMap(Footprint footprint) {
+        long before = usedHeap();
+        PreviousPortfolio[] portfolios = new PreviousPortfolio[users];
+        for (int i = 0; i < users; i++) {
+            PreviousPortfolio portfolio = new PreviousPortfolio("user-" + i);
+            for (int h = 0; h < holdings; h++) {
+                Asset asset = catalog.get((i + h) % catalog.size());
+                portfolio.assets.put(asset.getAssetId(), Asset.builder()
+                        .assetId(asset.getAssetId())
+                        .name(asset.getName())
+                        .price(asset.getPrice())
+                        .quantity(1 + i % 50)
+                        .build());
+            }
+            portfolios[i] = portfolio;
+        }
+        long built = usedHeap();
+
+        PreviousPortfolioRepository repository = new PreviousPortfolioRepository();
+        for (PreviousPortfolio portfolio : portfolios) {
+            repository.save(portfolio);
+        }
+        record(footprint, before, built, usedHeap());
+        return repository;
+    }
+
+    private void record(Footprint footprint, long before, long built, long indexed) {
+        // Includes the portfolio and user id strings every portfolio carries either way.
+        footprint.portfolioBytes = (built - before) / users;
+        footprint.indexedBytes = (indexed - before) / users;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * A portfolio as it was stored before {@link Holdings}.
+     */
+    private static final class PreviousPortfolio {
+        private final String portfolioId = generateId();
+        private final String userId;
+        private final Map<String, Asset> assets = new ConcurrentHashMap<>();
+        private Money value = Money.ZERO;
+
+        private PreviousPortfolio(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static final class PreviousPortfolioRepository extends IndexedInMemoryRepository<PreviousPortfolio> {
+
+        private final UniqueIndex<PreviousPortfolio> userIdIndex = uniqueIndex(portfolio -> portfolio.userId);
+        private final MultiIndex<PreviousPortfolio> assetIdIndex = multiIndex(portfolio -> portfolio.assets.keySet());
+
+        private PreviousPortfolio save(PreviousPortfolio portfolio) {
+            return put(portfolio);
+        }
+
+        @Override
+        protected String idOf(PreviousPortfolio portfolio) {
+            return portfolio.portfolioId;
+        }
+    }
+}
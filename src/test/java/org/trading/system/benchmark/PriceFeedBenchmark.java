@@ -0,0 +1,89 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.pricing.MarketPriceEngine;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code publish} measures tick ingestion into the price cells while the background revaluer marks
+ * {@code holders} portfolios per symbol to market. {@code tickToMark} measures revaluation lag: it
+ * publishes a new price for one symbol and returns once its holders carry it, whether the background
+ * revaluer or the calling thread got to the queued cell first.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=PriceFeedBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceFeedBenchmark {
+
+    private static final List<String> SYMBOLS = List.of("AAPL", "GOOGL", "AMZN", "MSFT", "TSLA",
+            "FB", "NFLX", "NVDA", "BABA", "V");
+
+    @State(Scope.Benchmark)
+    public static class Market {
+
+        @Param({"1000", "10000"})
+        public int holders;
+
+        MarketPriceEngine engine;
+        Portfolio lastTslaHolder;
+        long tick;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            SymbolTable symbols = new SymbolTable();
+            BenchmarkSupport.silenceLogging();
+            AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+            assetRepository.run(null);
+            PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+            for (int i = 0; i < holders * SYMBOLS.size(); i++) {
+                String symbol = SYMBOLS.get(i % SYMBOLS.size());
+                Portfolio portfolio = Portfolio.builder().userId("user" + i).holdings(new Holdings(symbols)).build();
+                portfolio.getAssets().put(symbol, new Asset(symbol, symbol, 1 + i % 7, Money.of(10)));
+                portfolioRepository.save(portfolio);
+                if (symbol.equals("TSLA")) {
+                    lastTslaHolder = portfolio;
+                }
+            }
+            engine = new MarketPriceEngine(assetRepository, portfolioRepository,
+                    new StripedLockManager(new SimpleMeterRegistry(), 256),
+                    new AccountStreamHub(new WalletRepositoryImpl(), portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 1, 0), new SimpleMeterRegistry(), true);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            engine.destroy();
+        }
+    }
+
+    @Benchmark
+    public boolean publish(Market market) {
+        long tick = market.tick++;
+        return market.engine.publish(SYMBOLS.get((int) (tick % SYMBOLS.size())), 10_000 + tick % 1_000);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Money tickToMark(Market market) {
+        market.engine.publish("TSLA", 10_000 + (market.tick++ % 1_000));
+        market.engine.revaluePending();
+        return market.lastTslaHolder.getAssets().get("TSLA").getPrice();
+    }
+}
@@ -0,0 +1,158 @@
+package org.trading.system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.trading.system.TradingAssessmentApplication;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.WalletRepository;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.UserManagementRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Load test of the two web stacks side by side: 64 clients call the running application over HTTP,
+ * served either by the servlet controllers on Tomcat ({@code SERVLET}) or by the {@code reactive}
+ * profile on Netty ({@code REACTIVE}). {@code trade} posts trades journalled under group commit to a
+ * temporary directory, {@code user} and {@code leaderboard} are reads of in-memory state. Compares
+ * request latency percentiles.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=ReactiveWebBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class ReactiveWebBenchmark {
+
+    private static final String ASSET_ID = "AAPL";
+    private static final int USERS = 256;
+
+    public enum Stack {
+        SERVLET, REACTIVE
+    }
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"SERVLET", "REACTIVE"})
+        public Stack stack;
+
+        final AtomicInteger callers = new AtomicInteger();
+        Path directory;
+        ConfigurableApplicationContext context;
+        HttpClient client;
+        String baseUri;
+        String[] userIds;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            BenchmarkSupport.silenceLogging();
+            directory = Files.createTempDirectory(Path.of("target"), "reactive-benchmark");
+
+            context = new SpringApplicationBuilder(TradingAssessmentApplication.class)
+                    .profiles(stack == Stack.REACTIVE ? new String[]{"reactive"} : new String[0])
+                    .properties(
+                            "server.port=0",
+                            "trading.journal.directory=" + directory.resolve("journal"),
+                            "trading.journal.replay-on-startup=false",
+                            "trading.snapshot.enabled=false",
+                            "trading.prices.revaluation.enabled=false",
+                            "logging.level.root=OFF")
+                    .run();
+
+            Asset catalogAsset = context.getBean(AssetRepository.class).findById(ASSET_ID).orElseThrow();
+            UserManagementRepository userRepository = context.getBean(UserManagementRepository.class);
+            WalletRepository walletRepository = context.getBean(WalletRepository.class);
+            PortfolioRepository portfolioRepository = context.getBean(PortfolioRepository.class);
+            SymbolTable symbols = context.getBean(SymbolTable.class);
+            userIds = new String[USERS];
+            for (int i = 0; i < USERS; i++) {
+                User user = userRepository.save(User.builder().username("trader" + i).build());
+                walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(1_000_000_000L)).build());
+                Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
+                portfolio.getAssets().put(ASSET_ID, new Asset(ASSET_ID, catalogAsset.getName(), 1_000_000, catalogAsset.getPrice()));
+                portfolioRepository.save(portfolio);
+                userIds[i] = user.getUserId();
+            }
+
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/";
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            context.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        HttpRequest buy;
+        HttpRequest sell;
+        HttpRequest user;
+        HttpRequest leaderboard;
+        boolean selling;
+
+        @Setup(Level.Trial)
+        public void setUp(Server server) {
+            String userId = server.userIds[server.callers.getAndIncrement() % USERS];
+            buy = trade(server.baseUri, userId, "BUY");
+            sell = trade(server.baseUri, userId, "SELL");
+            user = HttpRequest.newBuilder(URI.create(server.baseUri + "users/" + userId)).GET().build();
+            leaderboard = HttpRequest.newBuilder(URI.create(server.baseUri + "leaderboard?count=10")).GET().build();
+        }
+
+        private static HttpRequest trade(String baseUri, String userId, String transactionType) {
+            String body = "{\"userId\":\"" + userId + "\",\"assetId\":\"" + ASSET_ID
+                    + "\",\"quantity\":1,\"transactionType\":\"" + transactionType + "\"}";
+            return HttpRequest.newBuilder(URI.create(baseUri + "trade"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public String trade(Server server, Client client) throws Exception {
+        HttpRequest request = client.selling ? client.sell : client.buy;
+        client.selling = !client.selling;
+        return server.client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String user(Server server, Client client) throws Exception {
+        return server.client.send(client.user, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String leaderboard(Server server, Client client) throws Exception {
+        return server.client.send(client.leaderboard, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,160 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.snapshot.SnapshotService;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.rankingManagement.repository.impl.LeaderBoardRepositoryImpl;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times one full snapshot and one full restore of {@code users} users, each with a wallet and a
+ * two-asset portfolio, with and without block compression. Restore loads into empty stores on
+ * {@code restoreParallelism} threads.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=SnapshotBenchmark}; it needs a
+ * few GB of heap at the default million users.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SnapshotBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Populated {
+
+        @Param({"1000000"})
+        public int users;
+
+        @Param({"true", "false"})
+        public boolean compress;
+
+        @Param({"0"})
+        public int restoreParallelism;
+
+        Path file;
+        Stores source;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            BenchmarkSupport.silenceLogging();
+            file = Files.createTempFile(Path.of("target"), "snapshot-benchmark", ".bin");
+            source = populate(file, compress, users);
+            source.snapshotService.snapshot();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Keeps only the written file, so restore runs with one set of stores on the heap as it would at
+     * startup.
+     */
+    @State(Scope.Benchmark)
+    public static class Written {
+
+        @Param({"1000000"})
+        public int users;
+
+        @Param({"true", "false"})
+        public boolean compress;
+
+        @Param({"0"})
+        public int restoreParallelism;
+
+        Path file;
+        Stores target;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            BenchmarkSupport.silenceLogging();
+            file = Files.createTempFile(Path.of("target"), "snapshot-benchmark", ".bin");
+            populate(file, compress, users).snapshotService.snapshot();
+        }
+
+        @Setup(Level.Invocation)
+        public void emptyTarget() {
+            target = null;
+            System.gc();
+            target = new Stores(file, compress, restoreParallelism);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public long snapshot(Populated state) throws IOException {
+        return state.source.snapshotService.snapshot();
+    }
+
+    @Benchmark
+    public Map<String, Long> restore(Written state) {
+        return state.target.snapshotService.restore();
+    }
+
+    private static Stores populate(Path file, boolean compress, int users) {
+        Stores source = new Stores(file, compress, 1);
+        Asset tesla = source.assetRepository.findById("TSLA").orElseThrow();
+        Asset apple = source.assetRepository.findById("AAPL").orElseThrow();
+        for (int i = 0; i < users; i++) {
+            User user = source.userRepository.save(User.builder()
+                    .username("user" + i)
+                    .gemsCount(i % 500)
+                    .tradeCount(i % 50)
+                    .build());
+            source.walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(1_000 + i % 997)).build());
+            Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).value(Money.of(850)).holdings(new Holdings(source.symbols)).build();
+            portfolio.getAssets().put(tesla.getAssetId(), new Asset(tesla.getAssetId(), tesla.getName(), 1, tesla.getPrice()));
+            portfolio.getAssets().put(apple.getAssetId(), new Asset(apple.getAssetId(), apple.getName(), 1, apple.getPrice()));
+            source.portfolioRepository.save(portfolio);
+        }
+        return source;
+    }
+
+    static final class Stores {
+        final UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        final WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        final PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+        final SymbolTable symbols = new SymbolTable();
+        final AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        final SnapshotService snapshotService;
+
+        Stores(Path file, boolean compress, int restoreParallelism) {
+            try {
+                assetRepository.run(null);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            snapshotService = new SnapshotService(userRepository, walletRepository, portfolioRepository,
+                    assetRepository, new LeaderBoardRepositoryImpl(), new StripedLockManager(new SimpleMeterRegistry(), 256),
+                    new MappedTradeJournal(new SimpleMeterRegistry(), false, "", 0, FsyncPolicy.OS, 0),
+                    symbols, new SimpleMeterRegistry(), true, file.toString(), compress, 0, false, restoreParallelism);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.trading.system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves a catalog asset from the asset id of an incoming request: through the symbol table and
+ * catalog array now behind {@link AssetRepositoryImpl#findById}, and through the
+ * {@code ConcurrentHashMap} the catalog used to be. Request ids are fresh strings, so each lookup
+ * hashes its key once either way; {@code freshKeys = false} reuses interned ids instead.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=SymbolLookupBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SymbolLookupBenchmark {
+
+    @State(Scope.Thread)
+    public static class Catalog {
+
+        @Param({"true", "false"})
+        public boolean freshKeys;
+
+        AssetRepositoryImpl assetRepository;
+        Map<String, Asset> assetMap;
+        String[] ids;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            SymbolTable symbols = new SymbolTable();
+            assetRepository = new AssetRepositoryImpl(symbols);
+            assetRepository.run(null);
+            assetMap = new ConcurrentHashMap<>();
+            assetRepository.findAll().forEach(asset -> assetMap.put(asset.getAssetId(), asset));
+            ids = assetMap.keySet().toArray(String[]::new);
+        }
+
+        String nextId() {
+            String id = ids[next++ % ids.length];
+            return freshKeys ? new String(id) : id;
+        }
+    }
+
+    @Benchmark
+    public Asset symbolTable(Catalog catalog) {
+        return catalog.assetRepository.findById(catalog.nextId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Asset symbolTableBySymbol(Catalog catalog) {
+        return catalog.assetRepository.findBySymbol(catalog.assetRepository.symbolOf(catalog.nextId()));
+    }
+
+    @Benchmark
+    public Asset concurrentHashMap(Catalog catalog) {
+        return catalog.assetMap.get(catalog.nextId());
+    }
+}
@@ -0,0 +1,177 @@
+package org.trading.system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.concurrent.ThreadMode;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.service.impl.PortfolioServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.dto.request.TradeBatchRequest;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeBatchResponse;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.trading.sequencer.ExecutionMode;
+import org.trading.system.trading.sequencer.TradeSequencer;
+import org.trading.system.trading.service.impl.TradeBatchServiceImpl;
+import org.trading.system.trading.service.impl.TradingServiceImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trades per second through {@code POST api/v1/trade}, one request per trade, against the same
+ * trades sent as one {@code POST api/v1/trade/batch} of {@value #BATCH} trades. Both include what
+ * the web tier does per request besides HTTP itself: decoding the JSON body, bean validation and
+ * encoding the response. {@code tradesPerUser} sets how many trades of the batch share a user and so
+ * one account resolution. Every user holds enough shares and cash that no trade is rejected.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=TradeBatchBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TradeBatchBenchmark {
+
+    private static final int BATCH = 1000;
+    private static final int ROTATING_BATCHES = 16;
+    private static final String ASSET_ID = "AAPL";
+
+    @Param({"1", "10"})
+    public int tradesPerUser;
+
+    @Param({"1", "8"})
+    public int parallelism;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private TradingServiceImpl tradingService;
+    private TradeBatchServiceImpl batchService;
+    private byte[][][] singleBodies;
+    private byte[][] batchBodies;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        BenchmarkSupport.silenceLogging();
+
+        UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+        AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        Asset catalogAsset = assetRepository.findById(ASSET_ID).orElseThrow();
+
+        ApplicationEventPublisher eventPublisher = event -> { };
+        TradeJournal journal = new MappedTradeJournal(new SimpleMeterRegistry(), false, "", 0, FsyncPolicy.OS, 0);
+        StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 256);
+        UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository,
+                portfolioRepository, eventPublisher, new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1),
+                lockManager, journal, symbols);
+        AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+        PortfolioServiceImpl portfolioService = new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols);
+        tradingService = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                assetRepository, portfolioService, eventPublisher, lockManager,
+                journal,
+                new TradeSequencer(journal, new SimpleMeterRegistry(), ExecutionMode.LOCKED, 1, 1, 30_000),
+                new AccountStreamHub(walletRepository, portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 1, 0), symbols);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        batchService = new TradeBatchServiceImpl(tradingService, validator, new SimpleMeterRegistry(), BATCH, parallelism,
+                ThreadMode.PLATFORM);
+
+        int users = ROTATING_BATCHES * BATCH / tradesPerUser;
+        String[] userIds = new String[users];
+        for (int i = 0; i < users; i++) {
+            User user = userRepository.save(User.builder().username("user" + i).build());
+            walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(1_000_000_000_000L)).build());
+            Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
+            portfolio.getAssets().put(ASSET_ID, new Asset(ASSET_ID, catalogAsset.getName(), 1_000_000_000, catalogAsset.getPrice()));
+            portfolioRepository.save(portfolio);
+            userIds[i] = user.getUserId();
+        }
+
+        singleBodies = new byte[ROTATING_BATCHES][BATCH][];
+        batchBodies = new byte[ROTATING_BATCHES][];
+        for (int b = 0; b < ROTATING_BATCHES; b++) {
+            List<TradeRequest> trades = new ArrayList<>(BATCH);
+            for (int t = 0; t < BATCH; t++) {
+                TradeRequest trade = new TradeRequest();
+                trade.setUserId(userIds[(b * BATCH + t) / tradesPerUser]);
+                trade.setAssetId(ASSET_ID);
+                trade.setQuantity(1);
+                trade.setTransactionType(t % 2 == 0 ? "BUY" : "SELL");
+                trades.add(trade);
+                singleBodies[b][t] = objectMapper.writeValueAsBytes(trade);
+            }
+            TradeBatchRequest batch = new TradeBatchRequest();
+            batch.setTrades(trades);
+            batchBodies[b] = objectMapper.writeValueAsBytes(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        batchService.destroy();
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long singleTrades() throws Exception {
+        byte[][] bodies = singleBodies[next++ % ROTATING_BATCHES];
+        long bytes = 0;
+        for (byte[] body : bodies) {
+            TradeRequest request = objectMapper.readValue(body, TradeRequest.class);
+            if (!validator.validate(request).isEmpty()) {
+                throw new IllegalStateException("Invalid trade");
+            }
+            ApiResponse<TradeResponse> response = tradingService.trade(request);
+            bytes += objectMapper.writeValueAsBytes(response).length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long batch() throws Exception {
+        TradeBatchRequest request = objectMapper.readValue(batchBodies[next++ % ROTATING_BATCHES], TradeBatchRequest.class);
+        if (!validator.validate(request).isEmpty()) {
+            throw new IllegalStateException("Invalid batch");
+        }
+        ApiResponse<TradeBatchResponse> response = batchService.trade(request);
+        if (response.getData().getFailed() != 0) {
+            throw new IllegalStateException(response.getData().getFailed() + " trades failed");
+        }
+        return objectMapper.writeValueAsBytes(response).length;
+    }
+}
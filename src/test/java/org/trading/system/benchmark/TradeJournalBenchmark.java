@@ -0,0 +1,88 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.trading.system.common.constants.TransactionType;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.TradeRecord;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Appends trades from four threads under each fsync policy. With {@code GROUP} the threads share
+ * one fsync per flusher pass; {@code PER_TRADE} pays one each, and {@code OS} only copies into the
+ * mapping. Segments are kept small enough that rolling is part of the run. Pass
+ * {@code -p groupCommitIntervalMicros=...} to the JMH runner to try a longer linger.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=TradeJournalBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TradeJournalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Journal {
+
+        @Param({"PER_TRADE", "GROUP", "OS"})
+        public FsyncPolicy fsync;
+
+        @Param({"0"})
+        public long groupCommitIntervalMicros;
+
+        Path directory;
+        MappedTradeJournal journal;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            BenchmarkSupport.silenceLogging();
+            directory = Files.createTempDirectory(Path.of("target"), "journal-benchmark");
+            journal = new MappedTradeJournal(new SimpleMeterRegistry(), true, directory.toString(),
+                    16 << 20, fsync, groupCommitIntervalMicros);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.destroy();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Trade {
+        TradeRecord record;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            record = TradeRecord.builder()
+                    .timestampMillis(System.currentTimeMillis())
+                    .userId("user-" + Thread.currentThread().getId())
+                    .username("trader")
+                    .assetId("AAPL")
+                    .assetName("Apple Inc.")
+                    .transactionType(TransactionType.BUY)
+                    .quantity(1)
+                    .totalPriceMinorUnits(15_000L)
+                    .walletBalanceMinorUnits(985_000L)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public long append(Journal journal, Trade trade) {
+        return journal.journal.append(trade.record);
+    }
+}
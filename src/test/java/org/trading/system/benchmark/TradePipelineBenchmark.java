@@ -0,0 +1,216 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.constants.TransactionType;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.dto.request.AssetRequest;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.service.impl.PortfolioServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.trading.sequencer.ExecutionMode;
+import org.trading.system.trading.sequencer.TradeSequencer;
+import org.trading.system.trading.service.impl.TradingServiceImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares one BUY + SELL round trip through the single-resolution trade pipeline against
+ * the previous call graph, where the user was enriched once by the trading service and again
+ * by the portfolio and asset services. Lookups counts every repository read made per round trip.
+ * Every portfolio starts with one share so the SELL leg never empties the holding.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=TradePipelineBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradePipelineBenchmark {
+
+    private static final String ASSET_ID = "AAPL";
+
+    @State(Scope.Benchmark)
+    public static class TradingState {
+
+        @Param({"10000"})
+        public int users;
+
+        final LongAdder lookups = new LongAdder();
+        String[] userIds;
+        UserManagementServiceImpl userManagementService;
+        PortfolioServiceImpl portfolioService;
+        AssetRepositoryImpl assetRepository;
+        WalletRepositoryImpl walletRepository;
+        TradingServiceImpl tradingService;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            BenchmarkSupport.silenceLogging();
+            SymbolTable symbols = new SymbolTable();
+
+            UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl() {
+                @Override
+                public Optional<User> findById(String userId) {
+                    lookups.increment();
+                    return super.findById(userId);
+                }
+            };
+            walletRepository = new WalletRepositoryImpl() {
+                @Override
+                public Optional<Wallet> findByUserId(String userId) {
+                    lookups.increment();
+                    return super.findByUserId(userId);
+                }
+            };
+            PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl() {
+                @Override
+                public Optional<Portfolio> findByUserId(String userId) {
+                    lookups.increment();
+                    return super.findByUserId(userId);
+                }
+            };
+            assetRepository = new AssetRepositoryImpl(symbols) {
+                @Override
+                public Optional<Asset> findById(String assetId) {
+                    lookups.increment();
+                    return super.findById(assetId);
+                }
+            };
+            assetRepository.run(null);
+
+            ApplicationEventPublisher eventPublisher = event -> { };
+            TradeJournal journal = new MappedTradeJournal(new SimpleMeterRegistry(), false, "", 0, FsyncPolicy.OS, 0);
+            StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 256);
+            userManagementService = new UserManagementServiceImpl(userRepository, walletRepository, portfolioRepository, eventPublisher,
+                    new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1),
+                    lockManager, journal, symbols);
+            AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+            portfolioService = new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols);
+            tradingService = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                    assetRepository, portfolioService, eventPublisher, lockManager,
+                    journal,
+                    new TradeSequencer(journal, new SimpleMeterRegistry(), ExecutionMode.LOCKED, 1, 1, 30_000),
+                    new AccountStreamHub(walletRepository, portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 1, 0), symbols);
+
+            userIds = new String[users];
+            for (int i = 0; i < users; i++) {
+                User user = userRepository.save(User.builder().username("user" + i).build());
+                walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(1_000_000_000L)).build());
+                Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
+                Asset catalogAsset = assetRepository.findById(ASSET_ID).orElseThrow();
+                portfolio.getAssets().put(ASSET_ID, Asset.builder()
+                        .assetId(ASSET_ID)
+                        .name(catalogAsset.getName())
+                        .price(catalogAsset.getPrice())
+                        .quantity(1)
+                        .build());
+                portfolioRepository.save(portfolio);
+                userIds[i] = user.getUserId();
+            }
+            lookups.reset();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        String nextUserId(TradingState state) {
+            next = (next + 1) % state.userIds.length;
+            return state.userIds[next];
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class LookupCounters {
+        public long lookups;
+        public long roundTrips;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lookups = 0;
+            roundTrips = 0;
+        }
+    }
+
+    @Benchmark
+    public Object singleResolutionPipeline(TradingState state, Cursor cursor, LookupCounters counters) {
+        String userId = cursor.nextUserId(state);
+        long before = state.lookups.sum();
+
+        state.tradingService.trade(tradeRequest(userId, "BUY"));
+        Object result = state.tradingService.trade(tradeRequest(userId, "SELL"));
+
+        counters.lookups += state.lookups.sum() - before;
+        counters.roundTrips++;
+        return result;
+    }
+
+    @Benchmark
+    public Object previousNestedResolution(TradingState state, Cursor cursor, LookupCounters counters) {
+        String userId = cursor.nextUserId(state);
+        long before = state.lookups.sum();
+
+        legacyLeg(state, userId, TransactionType.BUY);
+        Object result = legacyLeg(state, userId, TransactionType.SELL);
+
+        counters.lookups += state.lookups.sum() - before;
+        counters.roundTrips++;
+        return result;
+    }
+
+    private static Object legacyLeg(TradingState state, String userId, TransactionType transactionType) {
+        User user = state.userManagementService.getUserById(userId).getData();
+        Asset asset = state.assetRepository.findById(ASSET_ID).orElseThrow();
+        Money totalPrice = asset.getPrice().times(1);
+
+        AssetRequest assetRequest = new AssetRequest();
+        assetRequest.setUserId(userId);
+        assetRequest.setAssetId(ASSET_ID);
+        assetRequest.setQuantity(1);
+        assetRequest.setTransType(transactionType);
+
+        Wallet wallet = user.getWallet();
+        if (transactionType == TransactionType.BUY) {
+            state.portfolioService.addAsset(assetRequest);
+            wallet.setBalance(wallet.getBalance().minus(totalPrice));
+        } else {
+            state.portfolioService.removeAsset(assetRequest);
+            wallet.setBalance(wallet.getBalance().plus(totalPrice));
+        }
+        return state.walletRepository.save(wallet);
+    }
+
+    private static TradeRequest tradeRequest(String userId, String transactionType) {
+        TradeRequest request = new TradeRequest();
+        request.setUserId(userId);
+        request.setAssetId(ASSET_ID);
+        request.setQuantity(1);
+        request.setTransactionType(transactionType);
+        return request;
+    }
+}
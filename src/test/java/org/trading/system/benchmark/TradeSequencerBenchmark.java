@@ -0,0 +1,161 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.service.impl.PortfolioServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.trading.sequencer.ExecutionMode;
+import org.trading.system.trading.sequencer.TradeSequencer;
+import org.trading.system.trading.service.impl.TradingServiceImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Latency percentiles of a single trade as seen by the caller, eight callers at once, through the
+ * thread-per-request path ({@code LOCKED}) and through the partitioned sequencer ({@code SEQUENCED}).
+ * Every trade is journalled to a temporary directory under the given fsync policy and answered only
+ * once it is as durable as that policy requires. Each caller trades its own users, a BUY followed by
+ * a SELL of the same share, so holdings and balances stay flat.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=TradeSequencerBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TradeSequencerBenchmark {
+
+    private static final String ASSET_ID = "AAPL";
+    private static final int USERS_PER_CALLER = 64;
+    private static final int CALLERS = 8;
+
+    @State(Scope.Benchmark)
+    public static class Exchange {
+
+        @Param({"LOCKED", "SEQUENCED"})
+        public ExecutionMode mode;
+
+        @Param({"GROUP", "OS"})
+        public FsyncPolicy fsync;
+
+        final AtomicInteger callers = new AtomicInteger();
+        Path directory;
+        MappedTradeJournal journal;
+        TradeSequencer sequencer;
+        TradingServiceImpl tradingService;
+        String[] userIds;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            SymbolTable symbols = new SymbolTable();
+            BenchmarkSupport.silenceLogging();
+            directory = Files.createTempDirectory(Path.of("target"), "sequencer-benchmark");
+
+            UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+            WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+            PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+            AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+            assetRepository.run(null);
+            Asset catalogAsset = assetRepository.findById(ASSET_ID).orElseThrow();
+
+            ApplicationEventPublisher eventPublisher = event -> { };
+            journal = new MappedTradeJournal(new SimpleMeterRegistry(), true, directory.toString(), 64 << 20, fsync, 0);
+            StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 256);
+            UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository,
+                    portfolioRepository, eventPublisher, new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1),
+                    lockManager, journal, symbols);
+            AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+            PortfolioServiceImpl portfolioService = new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols);
+            sequencer = new TradeSequencer(journal, new SimpleMeterRegistry(), mode, 4, 1024, 30_000);
+            tradingService = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                    assetRepository, portfolioService, eventPublisher, lockManager,
+                    journal, sequencer, new AccountStreamHub(walletRepository, portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 1, 0), symbols);
+
+            userIds = new String[CALLERS * USERS_PER_CALLER];
+            for (int i = 0; i < userIds.length; i++) {
+                User user = userRepository.save(User.builder().username("trader" + i).build());
+                walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(1_000_000_000L)).build());
+                Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
+                portfolio.getAssets().put(ASSET_ID, new Asset(ASSET_ID, catalogAsset.getName(), 1, catalogAsset.getPrice()));
+                portfolioRepository.save(portfolio);
+                userIds[i] = user.getUserId();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            sequencer.destroy();
+            journal.destroy();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+
+        TradeRequest[] buys;
+        TradeRequest[] sells;
+        int tick;
+
+        @Setup(Level.Trial)
+        public void setUp(Exchange exchange) {
+            int first = (exchange.callers.getAndIncrement() % CALLERS) * USERS_PER_CALLER;
+            buys = new TradeRequest[USERS_PER_CALLER];
+            sells = new TradeRequest[USERS_PER_CALLER];
+            for (int i = 0; i < USERS_PER_CALLER; i++) {
+                buys[i] = trade(exchange.userIds[first + i], "BUY");
+                sells[i] = trade(exchange.userIds[first + i], "SELL");
+            }
+        }
+    }
+
+    @Benchmark
+    public ApiResponse<TradeResponse> trade(Exchange exchange, Caller caller) {
+        int tick = caller.tick++;
+        TradeRequest[] side = (tick & 1) == 0 ? caller.buys : caller.sells;
+        return exchange.tradingService.trade(side[(tick >>> 1) % USERS_PER_CALLER]);
+    }
+
+    private static TradeRequest trade(String userId, String transactionType) {
+        TradeRequest request = new TradeRequest();
+        request.setUserId(userId);
+        request.setAssetId(ASSET_ID);
+        request.setQuantity(1);
+        request.setTransactionType(transactionType);
+        return request;
+    }
+}
@@ -0,0 +1,106 @@
+package org.trading.system.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@code getAllUsers} under each enrichment mode against the previous implementation,
+ * which ran a parallel stream over the common pool and joined two {@code supplyAsync} lookups per
+ * user inside it. Run with several client threads to see the common-pool starvation.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=UserEnrichmentBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class UserEnrichmentBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Users {
+
+        @Param({"10000"})
+        public int users;
+
+        UserManagementRepositoryImpl userRepository;
+        WalletRepositoryImpl walletRepository;
+        PortfolioRepositoryImpl portfolioRepository;
+        SymbolTable symbols = new SymbolTable();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            BenchmarkSupport.silenceLogging();
+            userRepository = new UserManagementRepositoryImpl();
+            walletRepository = new WalletRepositoryImpl();
+            portfolioRepository = new PortfolioRepositoryImpl();
+            for (int i = 0; i < users; i++) {
+                User user = userRepository.save(User.builder().username("user" + i).build());
+                walletRepository.save(Wallet.builder().userId(user.getUserId()).build());
+                portfolioRepository.save(Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build());
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Enrichment {
+
+        @Param({"INLINE", "POOL", "VIRTUAL"})
+        public EnrichmentMode mode;
+
+        EnrichmentExecutor enrichmentExecutor;
+        UserManagementServiceImpl userManagementService;
+
+        @Setup(Level.Trial)
+        public void setUp(Users users) {
+            enrichmentExecutor = new EnrichmentExecutor(new SimpleMeterRegistry(), mode, 8, 64, 256);
+            userManagementService = new UserManagementServiceImpl(users.userRepository, users.walletRepository,
+                    users.portfolioRepository, event -> { }, enrichmentExecutor,
+                    new StripedLockManager(new SimpleMeterRegistry(), 16), new MappedTradeJournal(new SimpleMeterRegistry(), false, "", 0, FsyncPolicy.OS, 0), users.symbols);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            enrichmentExecutor.destroy();
+        }
+    }
+
+    @Benchmark
+    public Object getAllUsers(Enrichment state) {
+        return state.userManagementService.getAllUsers();
+    }
+
+    @Benchmark
+    public Object previousCommonPoolFanOut(Users state) {
+        return state.userRepository.findAll().parallelStream()
+                .peek(user -> {
+                    CompletableFuture<Portfolio> portfolio = CompletableFuture.supplyAsync(
+                            () -> state.portfolioRepository.findByUserId(user.getUserId()).orElse(null));
+                    CompletableFuture<Wallet> wallet = CompletableFuture.supplyAsync(
+                            () -> state.walletRepository.findByUserId(user.getUserId()).orElse(null));
+                    CompletableFuture.allOf(portfolio, wallet).join();
+                    user.setPortfolio(portfolio.join());
+                    user.setWallet(wallet.join());
+                })
+                .collect(Collectors.toList());
+    }
+}
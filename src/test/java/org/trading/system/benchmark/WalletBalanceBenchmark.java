@@ -0,0 +1,92 @@
+package org.trading.system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.trading.system.trading.model.Wallet;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.trading.system.common.util.MoneyUtil.toMinorUnits;
+
+/**
+ * Compares a top-up followed by a debit-if-sufficient on the minor-unit CAS wallet against the
+ * previous path, where the BigDecimal balance was read, checked and rewritten under a lock.
+ * {@code wallets = 1} puts every thread on the same wallet; larger values spread the load.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=WalletBalanceBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class WalletBalanceBenchmark {
+
+    private static final double TOP_UP_AMOUNT = 10.25;
+    private static final BigDecimal DEBIT_AMOUNT = BigDecimal.valueOf(7.5);
+    private static final long DEBIT_MINOR_UNITS = toMinorUnits(DEBIT_AMOUNT);
+
+    @State(Scope.Benchmark)
+    public static class Wallets {
+
+        @Param({"1", "1024"})
+        public int wallets;
+
+        Wallet[] casWallets;
+        LockedDecimalWallet[] lockedWallets;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            casWallets = new Wallet[wallets];
+            lockedWallets = new LockedDecimalWallet[wallets];
+            for (int i = 0; i < wallets; i++) {
+                casWallets[i] = Wallet.builder().userId("user" + i).build();
+                lockedWallets[i] = new LockedDecimalWallet();
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean minorUnitsCas(Wallets state) {
+        Wallet wallet = state.casWallets[ThreadLocalRandom.current().nextInt(state.wallets)];
+        wallet.credit(toMinorUnits(TOP_UP_AMOUNT));
+        return wallet.debitIfSufficient(DEBIT_MINOR_UNITS);
+    }
+
+    @Benchmark
+    public boolean bigDecimalLocked(Wallets state) {
+        LockedDecimalWallet wallet = state.lockedWallets[ThreadLocalRandom.current().nextInt(state.wallets)];
+        wallet.topUp(TOP_UP_AMOUNT);
+        return wallet.debitIfSufficient(DEBIT_AMOUNT);
+    }
+
+    static final class LockedDecimalWallet {
+        private final ReentrantLock lock = new ReentrantLock();
+        private BigDecimal balance = BigDecimal.ZERO;
+
+        void topUp(double amount) {
+            lock.lock();
+            try {
+                balance = balance.add(BigDecimal.valueOf(amount));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean debitIfSufficient(BigDecimal amount) {
+            lock.lock();
+            try {
+                if (balance.compareTo(amount) < 0) {
+                    return false;
+                }
+                balance = balance.subtract(amount);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
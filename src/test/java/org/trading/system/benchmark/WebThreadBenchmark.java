@@ -0,0 +1,169 @@
+package org.trading.system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.trading.system.TradingAssessmentApplication;
+import org.trading.system.common.concurrent.ThreadMode;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.WalletRepository;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.UserManagementRepository;
+
+import jakarta.servlet.Filter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Load test of the whole web tier: 64 clients post trades over HTTP to the running application, whose
+ * Tomcat pool is capped at {@code tomcatThreads}, with every trade journalled under group commit to a
+ * temporary directory. Compares request latency percentiles under {@code PLATFORM} and
+ * {@code VIRTUAL} request threads and prints the most requests the server had in flight at once in
+ * each iteration. {@code VIRTUAL} needs a Java 21 runtime; on older ones it falls back to the pool.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify -DskipTests -Dbenchmark=WebThreadBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class WebThreadBenchmark {
+
+    private static final String ASSET_ID = "AAPL";
+    private static final int USERS = 256;
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"PLATFORM", "VIRTUAL"})
+        public ThreadMode mode;
+
+        @Param({"16"})
+        public int tomcatThreads;
+
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicInteger callers = new AtomicInteger();
+        Path directory;
+        ConfigurableApplicationContext context;
+        HttpClient client;
+        URI tradeUri;
+        String[] userIds;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            BenchmarkSupport.silenceLogging();
+            directory = Files.createTempDirectory(Path.of("target"), "web-benchmark");
+
+            Filter probe = (request, response, chain) -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            };
+            context = new SpringApplicationBuilder(TradingAssessmentApplication.class)
+                    .initializers(applicationContext -> applicationContext.getBeanFactory()
+                            .registerSingleton("inFlightProbe", new FilterRegistrationBean<>(probe)))
+                    .properties(
+                            "server.port=0",
+                            "server.tomcat.threads.max=" + tomcatThreads,
+                            "trading.threads.mode=" + mode,
+                            "trading.journal.directory=" + directory.resolve("journal"),
+                            "trading.journal.replay-on-startup=false",
+                            "trading.snapshot.enabled=false",
+                            "trading.prices.revaluation.enabled=false",
+                            "logging.level.root=OFF")
+                    .run();
+
+            Asset catalogAsset = context.getBean(AssetRepository.class).findById(ASSET_ID).orElseThrow();
+            UserManagementRepository userRepository = context.getBean(UserManagementRepository.class);
+            WalletRepository walletRepository = context.getBean(WalletRepository.class);
+            PortfolioRepository portfolioRepository = context.getBean(PortfolioRepository.class);
+            SymbolTable symbols = context.getBean(SymbolTable.class);
+            userIds = new String[USERS];
+            for (int i = 0; i < USERS; i++) {
+                User user = userRepository.save(User.builder().username("trader" + i).build());
+                walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(1_000_000_000L)).build());
+                Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
+                portfolio.getAssets().put(ASSET_ID, new Asset(ASSET_ID, catalogAsset.getName(), 1_000_000, catalogAsset.getPrice()));
+                portfolioRepository.save(portfolio);
+                userIds[i] = user.getUserId();
+            }
+
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            tradeUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/trade");
+        }
+
+        @Setup(Level.Iteration)
+        public void resetHighWaterMark() {
+            maxInFlight.set(0);
+        }
+
+        @TearDown(Level.Iteration)
+        public void reportHighWaterMark() {
+            System.out.println("max in flight: " + maxInFlight.get());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            context.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        HttpRequest buy;
+        HttpRequest sell;
+        boolean selling;
+
+        @Setup(Level.Trial)
+        public void setUp(Server server) {
+            String userId = server.userIds[server.callers.getAndIncrement() % USERS];
+            buy = request(server.tradeUri, userId, "BUY");
+            sell = request(server.tradeUri, userId, "SELL");
+        }
+
+        private static HttpRequest request(URI uri, String userId, String transactionType) {
+            String body = "{\"userId\":\"" + userId + "\",\"assetId\":\"" + ASSET_ID
+                    + "\",\"quantity\":1,\"transactionType\":\"" + transactionType + "\"}";
+            return HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public String trade(Server server, Client client) throws Exception {
+        HttpRequest request = client.selling ? client.sell : client.buy;
+        client.selling = !client.selling;
+        return server.client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,99 @@
+package org.trading.system.common.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrichmentExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EnrichmentExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void inlineMode_runsOnCallerThread() {
+        executor = new EnrichmentExecutor(meterRegistry, EnrichmentMode.INLINE, 4, 16, 1);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        executor.forEach(numbers(1_000), n -> threads.add(Thread.currentThread().getName()));
+
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    void poolMode_visitsEveryItemOnceAcrossSlices() {
+        executor = new EnrichmentExecutor(meterRegistry, EnrichmentMode.POOL, 4, 16, 10);
+        AtomicInteger sum = new AtomicInteger();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        executor.forEach(numbers(1_000), n -> {
+            sum.addAndGet(n);
+            threads.add(Thread.currentThread().getName());
+        });
+
+        assertEquals(999 * 1_000 / 2, sum.get());
+        assertTrue(threads.contains(Thread.currentThread().getName()));
+        assertTrue(threads.stream().anyMatch(name -> name.startsWith("enrichment-")));
+        assertEquals(1_000, meterRegistry.get("trading.enrichment.items").tag("mode", "pool").counter().count());
+        assertEquals(1, meterRegistry.get("trading.enrichment.batch").tag("mode", "pool").timer().count());
+    }
+
+    @Test
+    void poolMode_keepsSmallBatchesOnCallerThread() {
+        executor = new EnrichmentExecutor(meterRegistry, EnrichmentMode.POOL, 4, 16, 256);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        executor.forEach(numbers(100), n -> threads.add(Thread.currentThread().getName()));
+
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    void poolMode_runsSlicesOnCallerWhenQueueIsFull() {
+        executor = new EnrichmentExecutor(meterRegistry, EnrichmentMode.POOL, 1, 1, 1);
+        AtomicInteger visited = new AtomicInteger();
+
+        executor.forEach(numbers(10_000), n -> visited.incrementAndGet());
+
+        assertEquals(10_000, visited.get());
+    }
+
+    @Test
+    void virtualMode_fallsBackToPoolWithoutVirtualThreads() {
+        executor = new EnrichmentExecutor(meterRegistry, EnrichmentMode.VIRTUAL, 4, 16, 10);
+        AtomicInteger visited = new AtomicInteger();
+
+        executor.forEach(numbers(1_000), n -> visited.incrementAndGet());
+
+        assertEquals(1_000, visited.get());
+        EnrichmentMode expected = Runtime.version().feature() >= 21 ? EnrichmentMode.VIRTUAL : EnrichmentMode.POOL;
+        assertEquals(expected, executor.getMode());
+    }
+
+    @Test
+    void forEach_propagatesFailures() {
+        executor = new EnrichmentExecutor(meterRegistry, EnrichmentMode.POOL, 4, 16, 10);
+
+        assertThrows(RuntimeException.class, () -> executor.forEach(numbers(1_000), n -> {
+            if (n == 999) {
+                throw new IllegalStateException("boom");
+            }
+        }));
+    }
+
+    private static List<Integer> numbers(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+}
@@ -0,0 +1,239 @@
+package org.trading.system.common.event.bus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.trading.system.common.event.TradeCompletedEvent;
+import org.trading.system.common.event.UserCreatedEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class DomainEventBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DomainEventBus eventBus;
+
+    @AfterEach
+    void tearDown() {
+        if (eventBus != null) {
+            eventBus.destroy();
+        }
+    }
+
+    @Test
+    void dispatch_runsHandlersOffThePublishingThread() throws Exception {
+        eventBus = newBus(2, 16, BackpressurePolicy.BLOCK);
+        RecordingListener listener = new RecordingListener(1);
+        eventBus.register("recording", listener);
+
+        eventBus.onApplicationEvent(new UserCreatedEvent(this, "user123"));
+
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread().getName(), listener.threads.get(0));
+        assertTrue(listener.threads.get(0).startsWith("event-recording-"));
+    }
+
+    @Test
+    void dispatch_keepsPublicationOrderPerUser() throws Exception {
+        int users = 16;
+        int eventsPerUser = 200;
+        eventBus = newBus(4, 64, BackpressurePolicy.BLOCK);
+        OrderingListener listener = new OrderingListener(users * eventsPerUser);
+        eventBus.register("ordering", listener);
+
+        for (int i = 0; i < eventsPerUser; i++) {
+            for (int u = 0; u < users; u++) {
+                eventBus.onApplicationEvent(new SequencedEvent(this, "user" + u, i));
+            }
+        }
+
+        assertTrue(listener.done.await(10, TimeUnit.SECONDS));
+        for (int u = 0; u < users; u++) {
+            List<Integer> sequence = listener.sequences.get("user" + u);
+            assertEquals(eventsPerUser, sequence.size());
+            for (int i = 0; i < eventsPerUser; i++) {
+                assertEquals(i, sequence.get(i));
+            }
+        }
+    }
+
+    @Test
+    void dispatch_routesByEventType() throws Exception {
+        eventBus = newBus(1, 16, BackpressurePolicy.BLOCK);
+        RecordingListener listener = new RecordingListener(1);
+        eventBus.register("recording", listener);
+
+        eventBus.onApplicationEvent(new TradeCompletedEvent(this, "user123"));
+        eventBus.onApplicationEvent(new UserCreatedEvent(this, "user123"));
+
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("user123"), listener.userIds);
+    }
+
+    @Test
+    void dropOldest_discardsQueuedEventsWhenFull() throws Exception {
+        eventBus = newBus(1, 2, BackpressurePolicy.DROP_OLDEST);
+        BlockingListener listener = new BlockingListener();
+        eventBus.register("blocking", listener);
+
+        eventBus.onApplicationEvent(new SequencedEvent(this, "user123", 0));
+        assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            eventBus.onApplicationEvent(new SequencedEvent(this, "user123", i));
+        }
+
+        assertEquals(2.0, meterRegistry.get("trading.events.queue.depth").tag("listener", "blocking").gauge().value());
+        assertEquals(3.0, meterRegistry.get("trading.events.dropped").tag("listener", "blocking").counter().count());
+
+        listener.release.countDown();
+        eventBus.destroy();
+        assertEquals(List.of(0, 4, 5), listener.handled);
+    }
+
+    @Test
+    void callerRuns_handlesOnPublishingThreadWhenFull() throws Exception {
+        eventBus = newBus(1, 1, BackpressurePolicy.CALLER_RUNS);
+        BlockingListener listener = new BlockingListener();
+        eventBus.register("blocking", listener);
+
+        eventBus.onApplicationEvent(new SequencedEvent(this, "user123", 0));
+        assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+        eventBus.onApplicationEvent(new SequencedEvent(this, "user123", 1));
+
+        listener.callerThread = Thread.currentThread();
+        eventBus.onApplicationEvent(new SequencedEvent(this, "user123", 2));
+
+        assertEquals(List.of(2), listener.handled);
+        assertEquals(1.0, meterRegistry.get("trading.events.caller.runs").tag("listener", "blocking").counter().count());
+
+        listener.release.countDown();
+        eventBus.destroy();
+        assertEquals(List.of(2, 0, 1), listener.handled);
+    }
+
+    @Test
+    void handlerFailure_isCountedAndDoesNotStopTheWorker() throws Exception {
+        eventBus = newBus(1, 16, BackpressurePolicy.BLOCK);
+        FailingListener listener = new FailingListener();
+        eventBus.register("failing", listener);
+
+        eventBus.onApplicationEvent(new SequencedEvent(this, "user123", 0));
+        eventBus.onApplicationEvent(new SequencedEvent(this, "user123", 1));
+
+        assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("trading.events.failed").tag("listener", "failing").counter().count());
+        assertEquals(2, meterRegistry.get("trading.events.lag").tag("listener", "failing").timer().count());
+    }
+
+    @Test
+    void register_rejectsBeansWithoutHandlers() {
+        eventBus = newBus(1, 16, BackpressurePolicy.BLOCK);
+
+        assertThrows(IllegalArgumentException.class, () -> eventBus.register("plain", new Object()));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_discoversAnnotatedBeans() throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(SimpleMeterRegistry.class, () -> meterRegistry);
+            context.registerBean(RecordingListener.class, () -> new RecordingListener(1));
+            context.registerBean(DomainEventBus.class, () -> new DomainEventBus(context, meterRegistry, 1, 16,
+                    BackpressurePolicy.BLOCK, 1000));
+            context.refresh();
+
+            context.publishEvent(new UserCreatedEvent(this, "user123"));
+
+            RecordingListener listener = context.getBean(RecordingListener.class);
+            assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("user123"), listener.userIds);
+        }
+    }
+
+    private DomainEventBus newBus(int workers, int capacity, BackpressurePolicy policy) {
+        return new DomainEventBus(mock(ApplicationContext.class), meterRegistry, workers, capacity, policy, 5000);
+    }
+
+    static class SequencedEvent extends TradeCompletedEvent {
+        final int sequence;
+
+        SequencedEvent(Object source, String userId, int sequence) {
+            super(source, userId);
+            this.sequence = sequence;
+        }
+    }
+
+    static class RecordingListener {
+        final List<String> userIds = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch done;
+
+        RecordingListener(int expected) {
+            this.done = new CountDownLatch(expected);
+        }
+
+        @DomainEventListener(UserCreatedEvent.class)
+        public void handleUserCreatedEvent(UserCreatedEvent event) {
+            userIds.add(event.getUserId());
+            threads.add(Thread.currentThread().getName());
+            done.countDown();
+        }
+    }
+
+    static class OrderingListener {
+        final Map<String, List<Integer>> sequences = new ConcurrentHashMap<>();
+        final CountDownLatch done;
+
+        OrderingListener(int expected) {
+            this.done = new CountDownLatch(expected);
+        }
+
+        @DomainEventListener
+        public void handle(SequencedEvent event) {
+            sequences.computeIfAbsent(event.getUserId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(event.sequence);
+            done.countDown();
+        }
+    }
+
+    static class BlockingListener {
+        final List<Integer> handled = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile Thread callerThread;
+
+        @DomainEventListener
+        public void handle(SequencedEvent event) throws InterruptedException {
+            if (Thread.currentThread() == callerThread) {
+                handled.add(event.sequence);
+                return;
+            }
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            handled.add(event.sequence);
+        }
+    }
+
+    static class FailingListener {
+        final CountDownLatch done = new CountDownLatch(1);
+
+        @DomainEventListener
+        public void handle(SequencedEvent event) {
+            if (event.sequence == 0) {
+                throw new IllegalStateException("boom");
+            }
+            done.countDown();
+        }
+    }
+}
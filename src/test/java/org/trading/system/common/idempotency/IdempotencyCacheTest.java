@@ -0,0 +1,140 @@
+package org.trading.system.common.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.trading.system.common.dto.response.ApiResponse;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private final IdempotencyCache cache = new IdempotencyCache(meterRegistry, 2, 60, clock::get);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void execute_replaysTheFirstResponseForTheSameKey() {
+        ApiResponse<Integer> first = cache.execute("trade", "alice", "k1", "BUY 1 AAPL", this::count);
+        ApiResponse<Integer> retry = cache.execute("trade", "alice", "k1", "BUY 1 AAPL", this::count);
+
+        assertSame(first, retry);
+        assertEquals(1, runs.get());
+        assertEquals(1.0, meterRegistry.get("trading.idempotency.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("trading.idempotency.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void execute_scopesKeysByOperationAndUserAndRunsWithoutAKey() {
+        cache.execute("trade", "alice", "k1", "BUY 1 AAPL", this::count);
+        cache.execute("trade", "bob", "k1", "BUY 1 AAPL", this::count);
+        cache.execute("top-up", "alice", "k1", "BUY 1 AAPL", this::count);
+        cache.execute("trade", "alice", null, "BUY 1 AAPL", this::count);
+        cache.execute("trade", "alice", null, "BUY 1 AAPL", this::count);
+
+        assertEquals(5, runs.get());
+    }
+
+    @Test
+    void execute_refusesAKeyReusedForADifferentRequest() {
+        cache.execute("trade", "alice", "k1", "BUY 1 AAPL", this::count);
+
+        ApiResponse<Integer> reused = cache.execute("trade", "alice", "k1", "SELL 1 AAPL", this::count);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), reused.getCode());
+        assertEquals(1, runs.get());
+        assertEquals(HttpStatus.BAD_REQUEST.value(),
+                cache.execute("trade", "alice", "x".repeat(256), "BUY 1 AAPL", this::count).getCode());
+    }
+
+    @Test
+    void execute_concurrentDuplicateWaitsForTheRequestInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ApiResponse<Integer>> first = CompletableFuture.supplyAsync(() ->
+                cache.execute("trade", "alice", "k1", "BUY 1 AAPL", () -> {
+                    started.countDown();
+                    await(release);
+                    return count();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ApiResponse<Integer>> duplicate = CompletableFuture.supplyAsync(() ->
+                cache.execute("trade", "alice", "k1", "BUY 1 AAPL", this::count));
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_refusalsAndExceptionsAreNotRemembered() {
+        ApiResponse<Integer> failed = cache.execute("trade", "alice", "k1", "BUY 1 AAPL",
+                () -> ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), List.of("not applied")));
+        assertThrows(IllegalStateException.class, () -> cache.execute("trade", "alice", "k2", "BUY 1 AAPL", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), failed.getCode());
+        assertEquals(HttpStatus.OK.value(), cache.execute("trade", "alice", "k1", "BUY 1 AAPL", this::count).getCode());
+        assertEquals(HttpStatus.OK.value(), cache.execute("trade", "alice", "k2", "BUY 1 AAPL", this::count).getCode());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void execute_remembersErrorsWhoseOutcomeIsUnknown() {
+        ApiResponse<Integer> timedOut = cache.execute("trade", "alice", "k1", "BUY 1 AAPL", () -> {
+            runs.incrementAndGet();
+            return ApiResponse.error(HttpStatus.GATEWAY_TIMEOUT.value(), List.of("did not complete in time"));
+        });
+        ApiResponse<Integer> failed = cache.execute("trade", "alice", "k2", "BUY 1 AAPL", () -> {
+            runs.incrementAndGet();
+            return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(), List.of("boom"));
+        });
+
+        assertSame(timedOut, cache.execute("trade", "alice", "k1", "BUY 1 AAPL", this::count));
+        assertSame(failed, cache.execute("trade", "alice", "k2", "BUY 1 AAPL", this::count));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void execute_forgetsKeysPastTheirTtlAndBeyondMaxEntries() {
+        cache.execute("trade", "alice", "k1", "BUY 1 AAPL", this::count);
+        cache.execute("trade", "alice", "k2", "BUY 1 AAPL", this::count);
+        cache.execute("trade", "alice", "k3", "BUY 1 AAPL", this::count);
+        assertEquals(2, cache.size());
+
+        cache.execute("trade", "alice", "k1", "BUY 1 AAPL", this::count);
+        assertEquals(4, runs.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        cache.execute("trade", "alice", "k3", "BUY 1 AAPL", this::count);
+
+        assertEquals(5, runs.get());
+        assertEquals(1, cache.size());
+        assertEquals(2.0, meterRegistry.get("trading.idempotency.evictions").tag("cause", "size").counter().count());
+        assertEquals(2.0, meterRegistry.get("trading.idempotency.evictions").tag("cause", "expired").counter().count());
+    }
+
+    private ApiResponse<Integer> count() {
+        return ApiResponse.ok(runs.incrementAndGet());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.trading.system.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedLockManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StripedLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new StripedLockManager(meterRegistry, 16);
+    }
+
+    @Test
+    void stripeCount_roundsUpToPowerOfTwo() {
+        assertEquals(16, lockManager.getStripeCount());
+        assertEquals(32, new StripedLockManager(new SimpleMeterRegistry(), 17).getStripeCount());
+        assertEquals(1, new StripedLockManager(new SimpleMeterRegistry(), 0).getStripeCount());
+    }
+
+    @Test
+    void executeLocked_sameKeyIsMutuallyExclusive() throws Exception {
+        int threads = 8;
+        int iterations = 10_000;
+        long[] counter = {0};
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < iterations; i++) {
+                        lockManager.executeLocked("user123", () -> counter[0]++);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals((long) threads * iterations, counter[0]);
+        int stripe = lockManager.stripeFor("user123");
+        assertEquals((long) threads * iterations,
+                meterRegistry.get("trading.lock.wait").tag("stripe", String.valueOf(stripe)).timer().count());
+    }
+
+    @Test
+    void executeLocked_differentStripesDoNotBlockEachOther() throws Exception {
+        String first = "user-a";
+        String second = firstKeyOnOtherStripe(first);
+        CountDownLatch firstHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> lockManager.executeLocked(first, () -> {
+                firstHeld.countDown();
+                await(release);
+                return null;
+            }));
+            assertTrue(firstHeld.await(5, TimeUnit.SECONDS));
+
+            assertEquals("done", lockManager.executeLocked(second, () -> "done"));
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void executeLocked_recordsContentionOnHeldStripe() throws Exception {
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            executor.submit(() -> lockManager.executeLocked("user123", () -> {
+                held.countDown();
+                await(release);
+                return null;
+            }));
+            assertTrue(held.await(5, TimeUnit.SECONDS));
+
+            Future<String> waiter = executor.submit(() -> lockManager.executeLocked("user123", () -> "acquired"));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("acquired", waiter.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String stripe = String.valueOf(lockManager.stripeFor("user123"));
+        assertEquals(1.0, meterRegistry.get("trading.lock.contended").tag("stripe", stripe).counter().count());
+        assertTrue(meterRegistry.get("trading.lock.wait").tag("stripe", stripe).timer()
+                .max(TimeUnit.MILLISECONDS) > 0);
+    }
+
+    @Test
+    void executeLocked_releasesLockWhenActionThrows() {
+        assertThrows(IllegalStateException.class, () -> lockManager.executeLocked("user123", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("ok", lockManager.executeLocked("user123", () -> "ok"));
+    }
+
+    @Test
+    void executeLocked_pairTakenInOppositeOrdersDoesNotDeadlock() throws Exception {
+        String first = "user-a";
+        String second = firstKeyOnOtherStripe(first);
+        int iterations = 10_000;
+        long[] counter = {0};
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> forward = executor.submit(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    lockManager.executeLocked(first, second, () -> counter[0]++);
+                }
+            });
+            Future<?> backward = executor.submit(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    lockManager.executeLocked(second, first, () -> counter[0]++);
+                }
+            });
+            forward.get(30, TimeUnit.SECONDS);
+            backward.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2L * iterations, counter[0]);
+        assertEquals("same", lockManager.executeLocked(first, first, () -> "same"));
+    }
+
+    @Test
+    void stripeFor_nullKeyUsesFirstStripe() {
+        assertEquals(0, lockManager.stripeFor(null));
+    }
+
+    private String firstKeyOnOtherStripe(String key) {
+        int stripe = lockManager.stripeFor(key);
+        for (int i = 0; ; i++) {
+            String candidate = "user-" + i;
+            if (lockManager.stripeFor(candidate) != stripe) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package org.trading.system.common.snapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.trading.system.common.constants.TransactionType;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.rankingManagement.repository.impl.LeaderBoardRepositoryImpl;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.TradeRecord;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void snapshotThenRestore_rebuildsEveryStore() throws Exception {
+        for (boolean compress : new boolean[]{true, false}) {
+            Path file = directory.resolve("snapshot-" + compress + ".bin");
+            Stores source = new Stores(file, compress);
+            int users = SnapshotService.USERS_PER_BLOCK + 10;
+            for (int i = 0; i < users; i++) {
+                source.addUser("user" + i, i);
+            }
+            source.assetRepository.saveToCatalog(new Asset("AAPL", "Apple Inc.", 100, Money.of("151.25")));
+
+            assertEquals(users, source.snapshotService.snapshot());
+
+            Stores target = new Stores(file, compress);
+            Map<String, Long> fences = target.snapshotService.restore();
+
+            assertEquals(users, target.userRepository.count());
+            assertEquals(users, target.leaderBoardRepository.count());
+            assertEquals(users, fences.size());
+            assertEquals(Money.of("151.25"), target.assetRepository.findById("AAPL").orElseThrow().getPrice());
+
+            User source7 = source.userRepository.findById("user7").orElseThrow();
+            User restored7 = target.userRepository.findById("user7").orElseThrow();
+            assertEquals(source7.getUsername(), restored7.getUsername());
+            assertEquals(7, restored7.getGemsCount());
+            assertEquals(3, restored7.getTradeCount());
+            assertEquals(7, restored7.getGemsJournalSequence());
+            assertEquals("user7", target.userRepository.findByUsername("name-user7").orElseThrow().getUserId());
+
+            Wallet wallet = target.walletRepository.findByUserId("user7").orElseThrow();
+            assertEquals(source.walletRepository.findByUserId("user7").orElseThrow().getWalletId(), wallet.getWalletId());
+            assertEquals(Money.of("1007.50"), wallet.getBalance());
+
+            Portfolio portfolio = target.portfolioRepository.findByUserId("user7").orElseThrow();
+            assertEquals(Money.of("300.5"), portfolio.getValue());
+            Asset holding = portfolio.getAssets().get("TSLA");
+            assertEquals(7, holding.getQuantity());
+            assertEquals("Tesla Inc.", holding.getName());
+            assertEquals(Money.of("700.00"), holding.getPrice());
+            assertEquals(7L, target.leaderBoardRepository.findByUserId("user7").orElseThrow().getGemsCount());
+        }
+    }
+
+    @Test
+    void snapshot_recordsJournalSequencePerUser() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        MappedTradeJournal journal = new MappedTradeJournal(new SimpleMeterRegistry(), true,
+                directory.resolve("journal").toString(), 1 << 16, FsyncPolicy.OS, 0);
+        Stores source = new Stores(file, true, journal);
+        source.addUser("user1", 1);
+        journal.append(TradeRecord.builder()
+                .userId("user1")
+                .assetId("TSLA")
+                .transactionType(TransactionType.BUY)
+                .quantity(1)
+                .build());
+
+        source.snapshotService.snapshot();
+
+        assertEquals(Map.of("user1", 1L), new Stores(file, true).snapshotService.restore());
+    }
+
+    @Test
+    void restore_withoutSnapshotFile_returnsNoFences() {
+        Stores target = new Stores(directory.resolve("missing.bin"), true);
+
+        assertTrue(target.snapshotService.restore().isEmpty());
+        assertEquals(0, target.userRepository.count());
+    }
+
+    @Test
+    void restore_rejectsCorruptBlock() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        Stores source = new Stores(file, false);
+        source.addUser("user1", 1);
+        source.snapshotService.snapshot();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() - 20);
+            int value = raf.read();
+            raf.seek(raf.length() - 20);
+            raf.write(value ^ 0xFF);
+        }
+
+        Stores target = new Stores(file, false);
+        assertThrows(IllegalStateException.class, () -> target.snapshotService.restore());
+    }
+
+    @Test
+    void restore_skipsSnapshotOfAnotherVersion() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        Stores source = new Stores(file, false);
+        source.addUser("user1", 1);
+        source.snapshotService.snapshot();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(4);
+            raf.writeInt(SnapshotService.VERSION - 1);
+        }
+
+        Stores target = new Stores(file, false);
+        assertTrue(target.snapshotService.restore().isEmpty());
+        assertEquals(0, target.userRepository.count());
+    }
+
+    @Test
+    void disabledSnapshots_neitherWriteNorRestore() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        Stores source = new Stores(file, true);
+        source.addUser("user1", 1);
+        SnapshotService disabled = new SnapshotService(source.userRepository, source.walletRepository,
+                source.portfolioRepository, source.assetRepository, source.leaderBoardRepository,
+                new StripedLockManager(new SimpleMeterRegistry(), 16), source.journal, source.symbols, new SimpleMeterRegistry(),
+                false, file.toString(), true, 0, false, 2);
+
+        assertEquals(0, disabled.snapshot());
+        assertTrue(disabled.restore().isEmpty());
+    }
+
+    private static final class Stores {
+        final SymbolTable symbols = new SymbolTable();
+        final UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        final WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        final PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+        final AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        final LeaderBoardRepositoryImpl leaderBoardRepository = new LeaderBoardRepositoryImpl();
+        final TradeJournal journal;
+        final SnapshotService snapshotService;
+
+        Stores(Path file, boolean compress) {
+            this(file, compress, new MappedTradeJournal(new SimpleMeterRegistry(), false, "", 0, FsyncPolicy.OS, 0));
+        }
+
+        Stores(Path file, boolean compress, TradeJournal journal) {
+            this.journal = journal;
+            snapshotService = new SnapshotService(userRepository, walletRepository, portfolioRepository,
+                    assetRepository, leaderBoardRepository, new StripedLockManager(new SimpleMeterRegistry(), 16),
+                    journal, symbols, new SimpleMeterRegistry(), true, file.toString(), compress, 0, false, 4);
+        }
+
+        void addUser(String userId, int n) {
+            userRepository.save(User.builder()
+                    .userId(userId)
+                    .username("name-" + userId)
+                    .gemsCount(n)
+                    .tradeCount(3)
+                    .gemsJournalSequence(n)
+                    .build());
+            walletRepository.save(Wallet.builder().userId(userId).balance(Money.of("1000.5").plus(Money.of(n))).build());
+            Portfolio portfolio = Portfolio.builder().userId(userId).value(Money.of("300.5")).holdings(new Holdings(symbols)).build();
+            portfolio.getAssets().put("TSLA", new Asset("TSLA", "Tesla Inc.", n, Money.of("700.00")));
+            portfolioRepository.save(portfolio);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.trading.system.common.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trading.system.common.constants.AccountUpdateType;
+import org.trading.system.common.dto.response.AccountUpdateResponse;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountStreamHubTest {
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WalletRepositoryImpl walletRepository;
+    private PortfolioRepositoryImpl portfolioRepository;
+    private Wallet wallet;
+    private Portfolio portfolio;
+    private AccountStreamHub hub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new AssetRepositoryImpl(symbols).run(null);
+        walletRepository = new WalletRepositoryImpl();
+        portfolioRepository = new PortfolioRepositoryImpl();
+        wallet = walletRepository.save(Wallet.builder().userId("user1").balance(Money.of("100")).build());
+        portfolio = Portfolio.builder().userId("user1").holdings(new Holdings(symbols)).build();
+        portfolio.getAssets().put("AAPL", new Asset("AAPL", "Apple", 10, Money.of("150")));
+        portfolio.setValue(Money.of("1500"));
+        portfolioRepository.save(portfolio);
+        hub = new AccountStreamHub(walletRepository, portfolioRepository, symbols, meterRegistry, 2, 1, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void open_sendsTheWholeAccountThenEachChange() throws Exception {
+        Recorder recorder = new Recorder();
+        hub.open("user1", recorder);
+
+        assertEquals(AccountUpdateType.RESET, recorder.next().getType());
+        AccountUpdateResponse balance = recorder.next();
+        assertEquals(AccountUpdateType.WALLET, balance.getType());
+        assertEquals(Money.of("100"), balance.getBalance());
+        AccountUpdateResponse holding = recorder.next();
+        assertEquals("AAPL", holding.getAssetId());
+        assertEquals(10, holding.getQuantity());
+        assertEquals(Money.of("1500"), holding.getPortfolioValue());
+
+        portfolio.getAssets().remove("AAPL");
+        hub.holdingChanged("user1", "AAPL");
+
+        AccountUpdateResponse soldOut = recorder.next();
+        assertEquals(0, soldOut.getQuantity());
+        assertEquals(4, soldOut.getSequence());
+        // The count follows the send, so it may land just after the update does.
+        for (int i = 0; i < 50 && deliveredCount() < 4.0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(4.0, deliveredCount());
+    }
+
+    @Test
+    void changesWaitingForASlowClientAreConflated() throws Exception {
+        Recorder recorder = new Recorder();
+        AccountStream stream = hub.open("user1", recorder);
+        recorder.drain(3);
+        recorder.ready = false;
+
+        for (int i = 1; i <= 5; i++) {
+            wallet.credit(100 * i);
+            hub.walletChanged("user1");
+        }
+        Thread.sleep(50);
+        assertTrue(recorder.updates.isEmpty());
+
+        recorder.ready = true;
+        stream.wake();
+
+        assertEquals(Money.of("115"), recorder.next().getBalance());
+        assertNull(recorder.updates.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(4.0, meterRegistry.get("trading.stream.updates").tag("result", "conflated").counter().count());
+    }
+
+    @Test
+    void aStreamThatOverflowsStartsOverWithTheWholeAccount() throws Exception {
+        Recorder recorder = new Recorder();
+        AccountStream stream = hub.open("user1", recorder);
+        recorder.drain(3);
+        recorder.ready = false;
+
+        hub.walletChanged("user1");
+        hub.holdingChanged("user1", "AAPL");
+        hub.holdingChanged("user1", "TSLA");
+        recorder.ready = true;
+        stream.wake();
+
+        assertEquals(AccountUpdateType.RESET, recorder.next().getType());
+        assertEquals(AccountUpdateType.WALLET, recorder.next().getType());
+        assertEquals("AAPL", recorder.next().getAssetId());
+        assertNull(recorder.updates.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(1.0, meterRegistry.get("trading.stream.resets").counter().count());
+    }
+
+    @Test
+    void closedOrFailingStreamsStopReceiving() throws Exception {
+        assertNull(hub.open("nobody", new Recorder()));
+
+        Recorder closed = new Recorder();
+        hub.open("user1", closed).close();
+        Recorder failing = new Recorder();
+        failing.fail = true;
+        AccountStream failed = hub.open("user1", failing);
+
+        for (int i = 0; i < 50 && !failed.isClosed(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(failed.isClosed());
+        hub.walletChanged("user1");
+        assertEquals(0.0, meterRegistry.get("trading.stream.subscribers").gauge().value());
+    }
+
+    private double deliveredCount() {
+        return meterRegistry.get("trading.stream.updates").tag("result", "delivered").counter().count();
+    }
+
+    private static final class Recorder implements AccountStream.Sink {
+
+        private final BlockingQueue<AccountUpdateResponse> updates = new LinkedBlockingQueue<>();
+        private volatile boolean ready = true;
+        private volatile boolean fail;
+
+        @Override
+        public void send(AccountUpdateResponse update) throws Exception {
+            if (fail) {
+                throw new IllegalStateException("client went away");
+            }
+            updates.add(update);
+        }
+
+        @Override
+        public boolean ready() {
+            return ready;
+        }
+
+        private AccountUpdateResponse next() throws InterruptedException {
+            AccountUpdateResponse update = updates.poll(5, TimeUnit.SECONDS);
+            assertNotNull(update, "no update arrived");
+            return update;
+        }
+
+        private void drain(int count) throws InterruptedException {
+            for (int i = 0; i < count; i++) {
+                next();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.trading.system.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void arithmetic_isExactInMinorUnits() {
+        Money price = Money.of("150.25");
+
+        assertEquals(15025L, price.getMinorUnits());
+        assertEquals(Money.of("450.75"), price.times(3));
+        assertEquals(Money.of("300.50"), price.plus(price));
+        assertEquals(Money.ZERO, price.minus(price));
+        assertEquals(-1, Money.ZERO.minus(price).signum());
+        assertEquals(new BigDecimal("150.25"), price.toBigDecimal());
+        assertEquals("150.25", price.toString());
+    }
+
+    @Test
+    void of_roundsToTwoFractionDigitsHalfEven() {
+        assertEquals(Money.ofMinorUnits(1234), Money.of("12.345"));
+        assertEquals(Money.ofMinorUnits(1236), Money.of("12.355"));
+        assertEquals(Money.ofMinorUnits(15000), Money.of(150.0));
+        assertEquals(Money.of("150"), Money.of(new BigDecimal("150.000")));
+    }
+
+    @Test
+    void arithmetic_rejectsOverflow() {
+        Money large = Money.ofMinorUnits(Long.MAX_VALUE / 2 + 1);
+
+        assertThrows(ArithmeticException.class, () -> large.plus(large));
+        assertThrows(ArithmeticException.class, () -> large.times(2));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinorUnits(Long.MIN_VALUE).minus(Money.ofMinorUnits(1)));
+    }
+
+    @Test
+    void compareTo_ordersByAmount() {
+        assertTrue(Money.of("1.00").compareTo(Money.of("1.01")) < 0);
+        assertEquals(0, Money.of("1.0").compareTo(Money.of("1.00")));
+        assertEquals(Money.of("1.0").hashCode(), Money.of("1.00").hashCode());
+    }
+
+    @Test
+    void json_isAPlainDecimalNumber() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals("{\"price\":150.25}", mapper.writeValueAsString(Map.of("price", Money.of("150.25"))));
+        assertEquals(Money.of("99.90"), mapper.readValue("99.9", Money.class));
+        assertEquals(Money.of("42.00"), mapper.readValue("42", Money.class));
+    }
+}
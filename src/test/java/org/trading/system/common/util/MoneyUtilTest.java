@@ -0,0 +1,38 @@
+package org.trading.system.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyUtilTest {
+
+    @Test
+    void toMinorUnits_convertsDoubleAmounts() {
+        assertEquals(7550L, MoneyUtil.toMinorUnits(75.5));
+        assertEquals(10L, MoneyUtil.toMinorUnits(0.1));
+        assertEquals(-5000L, MoneyUtil.toMinorUnits(-50.0));
+        assertEquals(0L, MoneyUtil.toMinorUnits(0.0));
+    }
+
+    @Test
+    void toMinorUnits_rejectsOutOfRangeDoubles() {
+        assertThrows(ArithmeticException.class, () -> MoneyUtil.toMinorUnits(Double.NaN));
+        assertThrows(ArithmeticException.class, () -> MoneyUtil.toMinorUnits(Double.POSITIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> MoneyUtil.toMinorUnits(1e18));
+    }
+
+    @Test
+    void toMinorUnits_roundsDecimalsHalfEven() {
+        assertEquals(15000L, MoneyUtil.toMinorUnits(BigDecimal.valueOf(150.0)));
+        assertEquals(1234L, MoneyUtil.toMinorUnits(new BigDecimal("12.345")));
+        assertEquals(1236L, MoneyUtil.toMinorUnits(new BigDecimal("12.355")));
+    }
+
+    @Test
+    void toDecimal_isExactAtTwoDecimals() {
+        assertEquals(new BigDecimal("101.00"), MoneyUtil.toDecimal(10100L));
+        assertEquals(new BigDecimal("-0.01"), MoneyUtil.toDecimal(-1L));
+    }
+}
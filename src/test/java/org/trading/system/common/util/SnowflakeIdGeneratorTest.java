@@ -0,0 +1,100 @@
+package org.trading.system.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void nextLong_isStrictlyIncreasing() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        long previous = generator.nextLong();
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextLong();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextLong_embedsNodeIdAndTimestamp() {
+        long before = System.currentTimeMillis();
+        long id = new SnowflakeIdGenerator(513).nextLong();
+
+        long nodeId = (id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_NODE_ID;
+        long timestamp = (id >>> (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.SEQUENCE_BITS))
+                + SnowflakeIdGenerator.EPOCH_MILLIS;
+        assertEquals(513, nodeId);
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void nextId_isUniqueAcrossThreads() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.nextId());
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void encode_preservesNumericOrderAsStringOrder() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(String::compareTo);
+        assertEquals(ids, sorted);
+        assertEquals(SnowflakeIdGenerator.ENCODED_LENGTH, ids.get(0).length());
+    }
+
+    @Test
+    void decode_roundTripsEncode() {
+        for (long id : new long[]{0L, 1L, 63L, 64L, Long.MAX_VALUE, new SnowflakeIdGenerator(3).nextLong()}) {
+            assertEquals(id, SnowflakeIdGenerator.decode(SnowflakeIdGenerator.encode(id)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.decode("short"));
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.decode("abc!efghijk"));
+    }
+
+    @Test
+    void constructor_rejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void uuidHexGenerator_keepsOriginalFormat() {
+        String id = new UuidHexIdGenerator().nextId();
+
+        assertEquals(32, id.length());
+        assertTrue(id.matches("[0-9a-f]{32}"));
+        assertEquals('4', id.charAt(12));
+    }
+}
@@ -0,0 +1,121 @@
+package org.trading.system.portfolioManagement.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.pricing.MarketPriceEngine;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.userManagement.service.UserManagementService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AssetCatalogCacheTest {
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    private AssetRepositoryImpl assetRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private AssetCatalogCache cache;
+    private MarketPriceEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AssetCatalogCache(new AssetServiceImpl(assetRepository, mock(UserManagementService.class), symbols),
+                assetRepository, new ObjectMapper(), meterRegistry, true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (engine != null) {
+            engine.destroy();
+        }
+    }
+
+    @Test
+    void revaluationPass_isEncodedOnce() {
+        engine = engine(false);
+        cache.current();
+        long version = assetRepository.catalogVersion();
+
+        List<Asset> assets = assetRepository.findAll();
+        for (Asset asset : assets) {
+            engine.publish(asset.getAssetId(), asset.getPrice().getMinorUnits() + 1);
+        }
+        assertEquals(assets.size(), engine.revaluePending());
+        for (int i = 0; i < 10; i++) {
+            cache.current();
+        }
+
+        assertEquals(version + 1, assetRepository.catalogVersion());
+        assertEquals(2.0, encodedCount());
+    }
+
+    @Test
+    void current_servesTheLatestPricesWhileTheEngineRuns() throws Exception {
+        engine = engine(true);
+        List<Asset> assets = assetRepository.findAll();
+        AtomicBoolean publishing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> reads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                reads.add(readers.submit(() -> {
+                    while (publishing.get()) {
+                        AssetCatalogCache.EncodedCatalog encoded = cache.current();
+                        assertTrue(encoded.version() <= assetRepository.catalogVersion());
+                    }
+                }));
+            }
+            for (int tick = 1; tick <= 500; tick++) {
+                for (Asset asset : assets) {
+                    engine.publish(asset.getAssetId(), 10_000 + tick);
+                }
+            }
+            publishing.set(false);
+            for (Future<?> read : reads) {
+                read.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+
+        // Waits out the revaluer's pass in flight, so the last tick is in the catalog.
+        engine.revaluePending();
+        AssetCatalogCache.EncodedCatalog encoded = cache.current();
+        assertEquals(assetRepository.catalogVersion(), encoded.version());
+        for (JsonNode asset : new ObjectMapper().readTree(encoded.json()).get("data")) {
+            assertEquals(105.0, asset.get("price").asDouble(), asset.toString());
+        }
+        assertTrue(encodedCount() <= assetRepository.catalogVersion());
+    }
+
+    private MarketPriceEngine engine(boolean revaluationEnabled) {
+        return new MarketPriceEngine(assetRepository, new PortfolioRepositoryImpl(),
+                new StripedLockManager(meterRegistry, 16), mock(AccountStreamHub.class), meterRegistry, revaluationEnabled);
+    }
+
+    private double encodedCount() {
+        return meterRegistry.get("trading.assets.catalog.responses").tag("result", "encoded").counter().count();
+    }
+}
@@ -1,49 +1,71 @@
 package org.trading.system.portfolioManagement.controller;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.cache.AssetCatalogCache;
 import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.repository.AssetRepository;
 import org.trading.system.portfolioManagement.service.AssetService;
 
-import java.math.BigDecimal;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AssetController.class)
+@Import({AssetCatalogCache.class, SimpleMeterRegistry.class})
 class AssetControllerTest {
 
+    // The cache outlives each test with the context, so every test starts on a catalog version of its own.
+    private static final AtomicLong versions = new AtomicLong();
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockBean
     private AssetService assetService;
 
+    @MockBean
+    private AssetRepository assetRepository;
+
     @BeforeEach
     void setUp() {
-        // Setup code if needed
-    }
-
-    @Test
-    void getAllAssets_success() throws Exception {
-        Asset asset1 = new Asset("AAPL", "Apple Inc.", 100, BigDecimal.valueOf(150.00));
-        Asset asset2 = new Asset("GOOGL", "Alphabet Inc.", 50, BigDecimal.valueOf(2800.00));
+        Asset asset1 = new Asset("AAPL", "Apple Inc.", 100, Money.of(150.00));
+        Asset asset2 = new Asset("GOOGL", "Alphabet Inc.", 50, Money.of(2800.00));
 
         List<Asset> assets = Arrays.asList(asset1, asset2);
         ApiResponse<List<Asset>> apiResponse = ApiResponse.ok(assets);
 
         when(assetService.getAllAssets()).thenReturn(apiResponse);
+        when(assetRepository.catalogVersion()).thenReturn(versions.incrementAndGet());
+    }
 
+    @Test
+    void getAllAssets_success() throws Exception {
         mockMvc.perform(get("/api/v1/assets")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -52,4 +74,52 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$.data[1].assetId").value("GOOGL"))
                 .andExpect(jsonPath("$.data[1].name").value("Alphabet Inc."));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllAssets_matchingETagIsNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/assets"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/assets").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+        verify(assetService, times(1)).getAllAssets();
+    }
+
+    @Test
+    void getAllAssets_gzipIsServedToClientsThatAcceptIt() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/assets").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        String json;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(json.contains("\"assetId\":\"AAPL\""), json);
+
+        mockMvc.perform(get("/api/v1/assets").header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllAssets_catalogChangeIsReEncoded() throws Exception {
+        String before = mockMvc.perform(get("/api/v1/assets"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Asset repriced = new Asset("AAPL", "Apple Inc.", 100, Money.of(155.00));
+        when(assetService.getAllAssets()).thenReturn(ApiResponse.ok(List.of(repriced)));
+        when(assetRepository.catalogVersion()).thenReturn(versions.incrementAndGet());
+
+        MvcResult after = mockMvc.perform(get("/api/v1/assets").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].price").value(155.0))
+                .andReturn();
+        assertNotEquals(before, after.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -12,8 +12,10 @@ import org.springframework.http.HttpStatus;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.common.event.UserCreatedEvent;
 import org.trading.system.portfolioManagement.dto.request.PortfolioRequest;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.service.PortfolioService;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
 
 import java.util.List;
 
@@ -23,6 +25,8 @@ import static org.mockito.Mockito.*;
 
 class PortfolioEventListenerTest {
 
+    private final SymbolTable symbols = new SymbolTable();
+
     @Mock
     private PortfolioService portfolioService;
 
@@ -39,7 +43,7 @@ class PortfolioEventListenerTest {
     @Test
     void handleUserCreatedEvent_success() {
         UserCreatedEvent event = new UserCreatedEvent(this, "user123");
-        Portfolio portfolio = new Portfolio();
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
         ApiResponse<Portfolio> response = ApiResponse.ok(portfolio);
 
         when(portfolioService.create(any(PortfolioRequest.class))).thenReturn(response);
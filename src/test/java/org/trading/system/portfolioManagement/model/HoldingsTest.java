@@ -0,0 +1,77 @@
+package org.trading.system.portfolioManagement.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldingsTest {
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    @Test
+    void put_keepsHoldingsInSymbolOrderAndReplacesExisting() {
+        Holdings holdings = new Holdings(symbols);
+        holdings.put(7, 1, 100);
+        holdings.put(2, 3, 200);
+        holdings.put(5, 4, 300);
+        holdings.put(2, 9, 250);
+
+        List<Integer> visited = new ArrayList<>();
+        holdings.forEach((symbol, quantity, price) -> visited.add(symbol));
+
+        assertEquals(List.of(2, 5, 7), visited);
+        assertEquals(9, holdings.quantityOf(2));
+        assertEquals(0, holdings.quantityOf(3));
+        assertTrue(holdings.remove(5));
+        assertFalse(holdings.remove(5));
+        assertEquals(2, holdings.size());
+    }
+
+    @Test
+    void reprice_returnsTheChangeInValue() {
+        Holdings holdings = new Holdings(symbols);
+        holdings.put(1, 4, 1000);
+
+        assertEquals(200, holdings.reprice(1, 1050));
+        assertEquals(0, holdings.reprice(1, 1050));
+        assertEquals(0, holdings.reprice(2, 1050));
+        assertEquals(-400, holdings.reprice(1, 950));
+    }
+
+    @Test
+    void asMap_buildsDetachedAssetsFromItsSymbolTable() {
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.getAssets().put("HOLDINGS-TEST", new Asset("HOLDINGS-TEST", "Holdings Test Inc.", 3, Money.of("12.50")));
+
+        Asset holding = portfolio.getAssets().get("HOLDINGS-TEST");
+        holding.setQuantity(99);
+
+        assertEquals("Holdings Test Inc.", holding.getName());
+        assertEquals(3, portfolio.getAssets().get("HOLDINGS-TEST").getQuantity());
+        assertEquals(3, portfolio.getHoldings().quantityOf(symbols.indexOf("HOLDINGS-TEST")));
+        assertEquals(List.of("HOLDINGS-TEST"), portfolio.getHoldings().assetIds());
+        assertNull(portfolio.getAssets().get("NOT-HELD"));
+
+        portfolio.getAssets().remove("HOLDINGS-TEST");
+        assertTrue(portfolio.getAssets().isEmpty());
+    }
+
+    @Test
+    void json_keepsTheAssetMapShape() throws Exception {
+        Portfolio portfolio = Portfolio.builder().portfolioId("p1").userId("u1").value(Money.of("25.00")).holdings(new Holdings(symbols)).build();
+        portfolio.getAssets().put("HOLDINGS-JSON", new Asset("HOLDINGS-JSON", "Json Corp.", 2, Money.of("12.50")));
+
+        Map<?, ?> json = new ObjectMapper().readValue(new ObjectMapper().writeValueAsString(portfolio), Map.class);
+
+        assertFalse(json.containsKey("holdings"));
+        assertEquals(Map.of("HOLDINGS-JSON", Map.of("assetId", "HOLDINGS-JSON", "name", "Json Corp.", "quantity", 2, "price", 12.5)),
+                json.get("assets"));
+    }
+}
@@ -0,0 +1,119 @@
+package org.trading.system.portfolioManagement.pricing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MarketPriceEngineTest {
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    private AssetRepositoryImpl assetRepository;
+    private PortfolioRepositoryImpl portfolioRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private final AccountStreamHub accountStreamHub = mock(AccountStreamHub.class);
+    private MarketPriceEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        portfolioRepository = new PortfolioRepositoryImpl();
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new MarketPriceEngine(assetRepository, portfolioRepository,
+                new StripedLockManager(meterRegistry, 16), accountStreamHub, meterRegistry, false);
+    }
+
+    @Test
+    void publish_marksOnlyHoldersOfTheSymbol() {
+        Portfolio appleHolder = holding("user1", "AAPL", 10, "150.00", "1500.00");
+        Portfolio teslaHolder = holding("user2", "TSLA", 2, "700.00", "1400.00");
+
+        assertTrue(engine.publish("AAPL", 15_500));
+        assertEquals(1, engine.revaluePending());
+
+        assertEquals(Money.of("1550.00"), appleHolder.getValue());
+        assertEquals(Money.of("155.00"), appleHolder.getAssets().get("AAPL").getPrice());
+        assertEquals(Money.of("1400.00"), teslaHolder.getValue());
+        assertEquals(Money.of("155.00"), assetRepository.findById("AAPL").orElseThrow().getPrice());
+        assertEquals(1.0, meterRegistry.get("trading.prices.portfolios.marked").counter().count());
+        verify(accountStreamHub).holdingChanged("user1", "AAPL");
+        verify(accountStreamHub, never()).holdingChanged(eq("user2"), any());
+    }
+
+    @Test
+    void publish_conflatesTicksUntilRevalued() {
+        Portfolio portfolio = holding("user1", "AAPL", 1, "150.00", "150.00");
+
+        engine.publish("AAPL", 15_100);
+        engine.publish("AAPL", 14_900);
+        engine.publish("AAPL", 15_200);
+
+        assertEquals(1, engine.revaluePending());
+        assertEquals(0, engine.revaluePending());
+        assertEquals(Money.of("152.00"), portfolio.getValue());
+        assertEquals(15_200, engine.priceOf("AAPL").orElseThrow());
+        assertEquals(3.0, meterRegistry.get("trading.prices.ticks").counter().count());
+    }
+
+    @Test
+    void publish_rejectsAssetsOutsideTheCatalog() {
+        assertFalse(engine.publish("NOPE", 100));
+        assertTrue(engine.priceOf("NOPE").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> engine.publish("AAPL", 0));
+        assertEquals(1.0, meterRegistry.get("trading.prices.ticks.rejected").counter().count());
+    }
+
+    @Test
+    void soldHoldings_areNoLongerRevalued() {
+        Portfolio portfolio = holding("user1", "AAPL", 1, "150.00", "150.00");
+        portfolio.getAssets().remove("AAPL");
+        portfolio.setValue(Money.ZERO);
+        portfolioRepository.save(portfolio);
+
+        engine.publish("AAPL", 20_000);
+        engine.revaluePending();
+
+        assertEquals(Money.ZERO, portfolio.getValue());
+    }
+
+    @Test
+    void backgroundRevaluer_appliesTicksWithoutBeingDriven() throws Exception {
+        MarketPriceEngine background = new MarketPriceEngine(assetRepository, portfolioRepository,
+                new StripedLockManager(meterRegistry, 16), accountStreamHub, new SimpleMeterRegistry(), true);
+        try {
+            Portfolio portfolio = holding("user1", "TSLA", 1, "700.00", "700.00");
+            background.publish("TSLA", 71_000);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!portfolio.getValue().equals(Money.of("710.00")) && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(Money.of("710.00"), portfolio.getValue());
+        } finally {
+            background.destroy();
+        }
+    }
+
+    private Portfolio holding(String userId, String assetId, int quantity, String price, String value) {
+        Portfolio portfolio = Portfolio.builder().userId(userId).value(Money.of(value)).holdings(new Holdings(symbols)).build();
+        portfolio.getAssets().put(assetId, new Asset(assetId, assetId, quantity, Money.of(price)));
+        return portfolioRepository.save(portfolio);
+    }
+}
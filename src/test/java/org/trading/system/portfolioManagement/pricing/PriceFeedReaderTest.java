@@ -0,0 +1,72 @@
+package org.trading.system.portfolioManagement.pricing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PriceFeedReaderTest {
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    private SimpleMeterRegistry meterRegistry;
+    private MarketPriceEngine engine;
+    private PriceFeedReader reader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new MarketPriceEngine(assetRepository, new PortfolioRepositoryImpl(),
+                new StripedLockManager(meterRegistry, 16), mock(AccountStreamHub.class), meterRegistry, false);
+        reader = new PriceFeedReader(engine, meterRegistry, "", 0, "");
+    }
+
+    @Test
+    void read_publishesWellFormedLines() throws Exception {
+        long accepted = reader.read(new StringReader("""
+                # symbol,price
+                AAPL,151.25
+                TSLA, 702.5
+                GOOGL,2801
+
+                AAPL,oops
+                NOPE,10.00
+                """));
+
+        assertEquals(3, accepted);
+        assertEquals(15_125, engine.priceOf("AAPL").orElseThrow());
+        assertEquals(70_250, engine.priceOf("TSLA").orElseThrow());
+        assertEquals(280_100, engine.priceOf("GOOGL").orElseThrow());
+        assertEquals(1.0, meterRegistry.get("trading.prices.feed.malformed").counter().count());
+    }
+
+    @Test
+    void parseMinorUnits_readsFixedPointPrices() {
+        assertEquals(15_000, PriceFeedReader.parseMinorUnits("150", 0));
+        assertEquals(15_010, PriceFeedReader.parseMinorUnits("150.1", 0));
+        assertEquals(15_012, PriceFeedReader.parseMinorUnits("x,150.12 ", 2));
+        assertEquals(5, PriceFeedReader.parseMinorUnits(".05", 0));
+        assertThrows(NumberFormatException.class, () -> PriceFeedReader.parseMinorUnits("1.234", 0));
+        assertThrows(NumberFormatException.class, () -> PriceFeedReader.parseMinorUnits("-1", 0));
+        assertThrows(NumberFormatException.class, () -> PriceFeedReader.parseMinorUnits("1.2.3", 0));
+        assertThrows(NumberFormatException.class, () -> PriceFeedReader.parseMinorUnits("  ", 0));
+    }
+
+    @Test
+    void bindAddress_defaultsToLoopback() throws Exception {
+        assertTrue(PriceFeedReader.bindAddress("").isLoopbackAddress());
+        assertTrue(PriceFeedReader.bindAddress(null).isLoopbackAddress());
+        assertTrue(PriceFeedReader.bindAddress("0.0.0.0").isAnyLocalAddress());
+    }
+}
@@ -2,7 +2,9 @@ package org.trading.system.portfolioManagement.repository.impl;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.trading.system.common.util.Money;
 import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,11 +13,13 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class AssetRepositoryImplTest {
 
+    private final SymbolTable symbols = new SymbolTable();
+
     private AssetRepositoryImpl assetRepository;
 
     @BeforeEach
     void setUp() throws Exception {
-        assetRepository = new AssetRepositoryImpl();
+        assetRepository = new AssetRepositoryImpl(symbols);
         assetRepository.run(null);
     }
 
@@ -46,9 +50,76 @@ class AssetRepositoryImplTest {
 
     @Test
     void run_initializesAssets() throws Exception {
-        assetRepository = new AssetRepositoryImpl();
+        assetRepository = new AssetRepositoryImpl(symbols);
         assetRepository.run(null);
         List<Asset> allAssets = assetRepository.findAll();
         assertEquals(10, allAssets.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void symbols_areDenseAndResolveToTheCatalogAsset() {
+        int symbol = assetRepository.symbolOf("TSLA");
+
+        assertTrue(symbol >= 0 && symbol < assetRepository.symbolCount());
+        assertSame(assetRepository.findById("TSLA").orElseThrow(), assetRepository.findBySymbol(symbol));
+        assertEquals(-1, assetRepository.symbolOf("NON_EXISTENT"));
+        assertNull(assetRepository.findBySymbol(assetRepository.symbolCount()));
+        assertNull(assetRepository.findBySymbol(-1));
+    }
+
+    @Test
+    void saveToCatalog_replacesAssetUnderTheSameSymbol() {
+        int symbol = assetRepository.symbolOf("AAPL");
+        Asset relisted = new Asset("AAPL", "Apple Inc.", 100, Money.of("151.00"));
+
+        assetRepository.saveToCatalog(relisted);
+
+        assertEquals(symbol, assetRepository.symbolOf("AAPL"));
+        assertSame(relisted, assetRepository.findById("AAPL").orElseThrow());
+        assertEquals(10, assetRepository.findAll().size());
+    }
+
+    @Test
+    void catalogWrites_bumpTheCatalogVersion() {
+        long version = assetRepository.catalogVersion();
+        int symbol = assetRepository.symbolOf("AAPL");
+
+        assetRepository.updatePrice(symbol, Money.of("160.00"));
+        assetRepository.updatePrice(assetRepository.symbolOf("TSLA"), Money.of("710.00"));
+        assertEquals(Money.of("160.00"), assetRepository.findById("AAPL").orElseThrow().getPrice());
+        assertEquals(version, assetRepository.catalogVersion());
+
+        assetRepository.pricesChanged();
+        assertEquals(version + 1, assetRepository.catalogVersion());
+
+        assetRepository.saveToCatalog(new Asset("IBM", "IBM Corp.", 10, Money.of("140.00")));
+        assertEquals(version + 2, assetRepository.catalogVersion());
+    }
+
+    @Test
+    void updatePrice_replacesTheCatalogAssetInsteadOfMutatingIt() {
+        int symbol = assetRepository.symbolOf("AAPL");
+        Asset before = assetRepository.findBySymbol(symbol);
+        Money oldPrice = before.getPrice();
+
+        assetRepository.updatePrice(symbol, Money.of("160.00"));
+
+        Asset after = assetRepository.findBySymbol(symbol);
+        assertNotSame(before, after);
+        assertEquals(oldPrice, before.getPrice());
+        assertEquals(Money.of("160.00"), after.getPrice());
+        assertEquals(before.getName(), after.getName());
+        assertEquals(before.getQuantity(), after.getQuantity());
+    }
+
+    @Test
+    void deleteById_keepsTheCatalogAsset() {
+        Asset holding = new Asset("AAPL", "Apple Inc.", 1, Money.of("150.00"));
+        assetRepository.save(holding, "user1");
+
+        assetRepository.deleteById("AAPL", "user1");
+
+        assertTrue(assetRepository.findByUserId("user1").isEmpty());
+        assertTrue(assetRepository.findById("AAPL").isPresent());
+    }
+}
@@ -2,14 +2,26 @@ package org.trading.system.portfolioManagement.repository.impl;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class PortfolioRepositoryImplTest {
 
+    private final SymbolTable symbols = new SymbolTable();
+
     private PortfolioRepositoryImpl portfolioRepository;
 
     @BeforeEach
@@ -19,7 +31,7 @@ class PortfolioRepositoryImplTest {
 
     @Test
     void saveAndFindById() {
-        Portfolio portfolio = new Portfolio();
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
         portfolio.setPortfolioId("portfolio123");
         portfolio.setUserId("user123");
 
@@ -38,7 +50,7 @@ class PortfolioRepositoryImplTest {
 
     @Test
     void findByUserId() {
-        Portfolio portfolio = new Portfolio();
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
         portfolio.setPortfolioId("portfolio123");
         portfolio.setUserId("user123");
 
@@ -54,4 +66,75 @@ class PortfolioRepositoryImplTest {
         Optional<Portfolio> retrievedPortfolio = portfolioRepository.findByUserId("nonexistent");
         assertFalse(retrievedPortfolio.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByUserId_afterUserIdChange() {
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.setPortfolioId("portfolio123");
+        portfolio.setUserId("user123");
+        portfolioRepository.save(portfolio);
+
+        portfolio.setUserId("user456");
+        portfolioRepository.save(portfolio);
+
+        assertFalse(portfolioRepository.findByUserId("user123").isPresent());
+        assertTrue(portfolioRepository.findByUserId("user456").isPresent());
+    }
+
+    @Test
+    void findByUserId_null() {
+        assertFalse(portfolioRepository.findByUserId(null).isPresent());
+    }
+
+    @Test
+    void findByAssetId_followsHoldingsAcrossSaves() {
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.setPortfolioId("portfolio123");
+        portfolio.setUserId("user123");
+        portfolio.getAssets().put("AAPL", new Asset("AAPL", "Apple Inc.", 1, Money.of(10)));
+        portfolioRepository.save(portfolio);
+
+        assertEquals(1, portfolioRepository.findByAssetId("AAPL").size());
+        assertTrue(portfolioRepository.findByAssetId("TSLA").isEmpty());
+
+        portfolio.getAssets().remove("AAPL");
+        portfolio.getAssets().put("TSLA", new Asset("TSLA", "Tesla Inc.", 1, Money.of(10)));
+        portfolioRepository.save(portfolio);
+
+        assertTrue(portfolioRepository.findByAssetId("AAPL").isEmpty());
+        assertSame(portfolio, portfolioRepository.findByAssetId("TSLA").iterator().next());
+        assertTrue(portfolioRepository.findByAssetId(null).isEmpty());
+    }
+
+    @Test
+    void findByAssetId_keepsEveryHolderWhileOthersComeAndGo() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> traders = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Portfolio trader = portfolio("trader" + t);
+                traders.add(threads.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        trader.getAssets().put("AAPL", new Asset("AAPL", "Apple Inc.", 1, Money.of(10)));
+                        portfolioRepository.save(trader);
+                        assertTrue(portfolioRepository.findByAssetId("AAPL").contains(trader), "lost at save " + i);
+                        trader.getAssets().remove("AAPL");
+                        portfolioRepository.save(trader);
+                    }
+                }));
+            }
+            for (Future<?> trader : traders) {
+                trader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private Portfolio portfolio(String id) {
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.setPortfolioId(id);
+        portfolio.setUserId("user-" + id);
+        return portfolio;
+    }
+}
@@ -5,21 +5,26 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.trading.system.common.constants.TransactionType;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.util.Money;
 import org.trading.system.portfolioManagement.dto.request.AssetRequest;
 import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.model.TradeContext;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.service.UserManagementService;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -32,6 +37,9 @@ class AssetServiceImplTest {
     @Mock
     private UserManagementService userManagementService;
 
+    @Spy
+    private SymbolTable symbols = new SymbolTable();
+
     @InjectMocks
     private AssetServiceImpl assetService;
 
@@ -50,12 +58,12 @@ class AssetServiceImplTest {
 
         User user = new User();
         user.setUserId("user123");
-        user.setPortfolio(new Portfolio());
+        user.setPortfolio(Portfolio.builder().holdings(new Holdings(symbols)).build());
 
         Asset asset = new Asset();
         asset.setAssetId("asset123");
         asset.setName("Asset Name");
-        asset.setPrice(BigDecimal.valueOf(100));
+        asset.setPrice(Money.of(100));
         asset.setQuantity(10);
 
         when(userManagementService.getUserById(eq("user123"))).thenReturn(ApiResponse.ok(user));
@@ -78,12 +86,12 @@ class AssetServiceImplTest {
 
         User user = new User();
         user.setUserId("user123");
-        user.setPortfolio(new Portfolio());
+        user.setPortfolio(Portfolio.builder().holdings(new Holdings(symbols)).build());
 
         Asset asset = new Asset();
         asset.setAssetId("asset123");
         asset.setName("Asset Name");
-        asset.setPrice(BigDecimal.valueOf(100));
+        asset.setPrice(Money.of(100));
         asset.setQuantity(10);
 
         user.getPortfolio().getAssets().put("asset123", asset);
@@ -140,12 +148,12 @@ class AssetServiceImplTest {
 
         User user = new User();
         user.setUserId("user123");
-        user.setPortfolio(new Portfolio());
+        user.setPortfolio(Portfolio.builder().holdings(new Holdings(symbols)).build());
 
         Asset asset = new Asset();
         asset.setAssetId("asset123");
         asset.setName("Asset Name");
-        asset.setPrice(BigDecimal.valueOf(100));
+        asset.setPrice(Money.of(100));
         asset.setQuantity(10);
 
         user.getPortfolio().getAssets().put("asset123", asset);
@@ -156,4 +164,91 @@ class AssetServiceImplTest {
 
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void addAsset_withTradeContext_writesTheHoldingsAtTheCatalogPrice() {
+        Asset catalogAsset = new Asset("asset123", "Asset Name", 100, Money.of(100));
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        TradeContext context = TradeContext.builder()
+                .user(User.builder().userId("user123").build())
+                .portfolio(portfolio)
+                .catalogAsset(catalogAsset)
+                .transactionType(TransactionType.BUY)
+                .quantity(3)
+                .build();
+
+        ApiResponse<Long> response = assetService.add(context);
+
+        assertEquals(HttpStatus.OK.value(), response.getCode());
+        assertEquals(10_000L, response.getData());
+        int symbol = symbols.indexOf("asset123");
+        assertEquals(3, portfolio.getHoldings().quantityOf(symbol));
+        assertEquals(10_000L, portfolio.getHoldings().priceOf(symbol));
+        assertEquals("Asset Name", symbols.nameOf(symbol));
+        verify(assetRepository).save(catalogAsset, "user123");
+        verify(userManagementService, never()).getUserById(any());
+        verify(assetRepository, never()).findById(any());
+    }
+
+    @Test
+    void addAsset_withTradeContext_keepsTheMarkOfAnExistingHolding() {
+        Asset catalogAsset = new Asset("asset123", "Asset Name", 100, Money.of(100));
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        int symbol = symbols.register("asset123", "Asset Name");
+        portfolio.getHoldings().put(symbol, 2, 9_000);
+        TradeContext context = TradeContext.builder()
+                .user(User.builder().userId("user123").build())
+                .portfolio(portfolio)
+                .catalogAsset(catalogAsset)
+                .transactionType(TransactionType.BUY)
+                .quantity(3)
+                .build();
+
+        ApiResponse<Long> response = assetService.add(context);
+
+        assertEquals(9_000L, response.getData());
+        assertEquals(5, portfolio.getHoldings().quantityOf(symbol));
+        assertEquals(9_000L, portfolio.getHoldings().priceOf(symbol));
+    }
+
+    @Test
+    void removeAsset_withTradeContext_insufficientQuantity() {
+        Asset holding = new Asset("asset123", "Asset Name", 2, Money.of(100));
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.getAssets().put("asset123", holding);
+        TradeContext context = TradeContext.builder()
+                .user(User.builder().userId("user123").build())
+                .portfolio(portfolio)
+                .catalogAsset(holding)
+                .transactionType(TransactionType.SELL)
+                .quantity(5)
+                .build();
+
+        ApiResponse<Long> response = assetService.remove(context);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getCode());
+        assertEquals(2, portfolio.getHoldings().quantityOf(symbols.indexOf("asset123")));
+        verify(userManagementService, never()).getUserById(any());
+    }
+
+    @Test
+    void removeAsset_withTradeContext_removesAFullySoldHolding() {
+        Asset holding = new Asset("asset123", "Asset Name", 2, Money.of(100));
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.getAssets().put("asset123", holding);
+        TradeContext context = TradeContext.builder()
+                .user(User.builder().userId("user123").build())
+                .portfolio(portfolio)
+                .catalogAsset(holding)
+                .transactionType(TransactionType.SELL)
+                .quantity(2)
+                .build();
+
+        ApiResponse<Long> response = assetService.remove(context);
+
+        assertEquals(HttpStatus.OK.value(), response.getCode());
+        assertEquals(10_000L, response.getData());
+        assertFalse(portfolio.getHoldings().contains(symbols.indexOf("asset123")));
+        verify(assetRepository).deleteById("asset123", "user123");
+    }
+}
@@ -5,22 +5,27 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.util.Money;
 import org.trading.system.portfolioManagement.dto.request.AssetRequest;
 import org.trading.system.portfolioManagement.dto.request.PortfolioRequest;
 import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.repository.PortfolioRepository;
 import org.trading.system.portfolioManagement.service.AssetService;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.model.TradeContext;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.service.UserManagementService;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -37,6 +42,9 @@ class PortfolioServiceImplTest {
     @Mock
     private AssetService assetService;
 
+    @Spy
+    private SymbolTable symbols = new SymbolTable();
+
     @InjectMocks
     private PortfolioServiceImpl portfolioService;
 
@@ -82,13 +90,13 @@ class PortfolioServiceImplTest {
         request.setAssetId("asset123");
         request.setQuantity(10);
 
-        Portfolio portfolio = new Portfolio();
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
         portfolio.setUserId("user123");
-        portfolio.setValue(BigDecimal.ZERO);
+        portfolio.setValue(Money.ZERO);
 
         Asset asset = new Asset();
         asset.setAssetId("asset123");
-        asset.setPrice(BigDecimal.valueOf(100));
+        asset.setPrice(Money.of(100));
         asset.setQuantity(10);
         User user = new User();
         user.setUserId("user123");
@@ -112,13 +120,13 @@ class PortfolioServiceImplTest {
         request.setAssetId("asset123");
         request.setQuantity(5);
 
-        Portfolio portfolio = new Portfolio();
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
         portfolio.setUserId("user123");
-        portfolio.setValue(BigDecimal.valueOf(500));
+        portfolio.setValue(Money.of(500));
 
         Asset asset = new Asset();
         asset.setAssetId("asset123");
-        asset.setPrice(BigDecimal.valueOf(100));
+        asset.setPrice(Money.of(100));
         asset.setQuantity(5);
 
         portfolio.getAssets().put("asset123", asset);
@@ -138,9 +146,38 @@ class PortfolioServiceImplTest {
         verify(portfolioRepository, times(1)).save(any(Portfolio.class));
     }
 
+    @Test
+    void removeAsset_soldOutDropsTheHolding() {
+        AssetRequest request = new AssetRequest();
+        request.setUserId("user123");
+        request.setAssetId("asset123");
+        request.setQuantity(5);
+
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.setUserId("user123");
+        portfolio.setValue(Money.of(500));
+        portfolio.getAssets().put("asset123", new Asset("asset123", "Asset", 5, Money.of(100)));
+
+        User user = new User();
+        user.setUserId("user123");
+        user.setPortfolio(portfolio);
+
+        when(userManagementService.getUserById(eq("user123"))).thenReturn(ApiResponse.ok(user));
+        when(portfolioRepository.findByUserId(eq("user123"))).thenReturn(Optional.of(portfolio));
+        when(assetService.remove(any(AssetRequest.class)))
+                .thenReturn(ApiResponse.ok(new Asset("asset123", "Asset", 0, Money.of(100))));
+        when(portfolioRepository.save(any(Portfolio.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ApiResponse<Portfolio> response = portfolioService.removeAsset(request);
+
+        assertEquals(HttpStatus.OK.value(), response.getCode());
+        assertFalse(portfolio.getAssets().containsKey("asset123"));
+        assertEquals(Money.ZERO, portfolio.getValue());
+    }
+
     @Test
     void getPortfolioByUserId_success() {
-        Portfolio portfolio = new Portfolio();
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
         portfolio.setUserId("user123");
 
         when(portfolioRepository.findByUserId(eq("user123"))).thenReturn(Optional.of(portfolio));
@@ -158,4 +195,50 @@ class PortfolioServiceImplTest {
 
         assertNull(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void addAsset_withTradeContext_success() {
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.setUserId("user123");
+
+        Asset asset = new Asset();
+        asset.setAssetId("asset123");
+        asset.setPrice(Money.of(100));
+        asset.setQuantity(2);
+
+        TradeContext context = TradeContext.builder()
+                .user(User.builder().userId("user123").build())
+                .portfolio(portfolio)
+                .catalogAsset(asset)
+                .quantity(2)
+                .build();
+
+        when(assetService.add(any(TradeContext.class))).thenReturn(ApiResponse.ok(10_000L));
+        when(portfolioRepository.save(any(Portfolio.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ApiResponse<Portfolio> response = portfolioService.addAsset(context);
+
+        assertEquals(HttpStatus.OK.value(), response.getCode());
+        assertEquals(0, Money.of(200).compareTo(response.getData().getValue()));
+        verify(userManagementService, never()).getUserById(any());
+        verify(portfolioRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    void removeAsset_withTradeContext_assetNotInPortfolio() {
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.setUserId("user123");
+
+        TradeContext context = TradeContext.builder()
+                .user(User.builder().userId("user123").build())
+                .portfolio(portfolio)
+                .catalogAsset(Asset.builder().assetId("asset123").build())
+                .quantity(1)
+                .build();
+
+        ApiResponse<Portfolio> response = portfolioService.removeAsset(context);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getCode());
+        verify(assetService, never()).remove(any(TradeContext.class));
+    }
+}
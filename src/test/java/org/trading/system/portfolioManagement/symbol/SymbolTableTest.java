@@ -0,0 +1,45 @@
+package org.trading.system.portfolioManagement.symbol;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolTableTest {
+
+    @Test
+    void register_assignsDenseSymbolsInOrder() {
+        SymbolTable symbols = new SymbolTable();
+
+        assertEquals(0, symbols.register("AAPL"));
+        assertEquals(1, symbols.register("TSLA"));
+        assertEquals(0, symbols.register("AAPL"));
+        assertEquals(2, symbols.size());
+        assertEquals("TSLA", symbols.assetIdOf(1));
+    }
+
+    @Test
+    void indexOf_findsEverySymbolAcrossGrowth() {
+        SymbolTable symbols = new SymbolTable();
+        for (int i = 0; i < 1000; i++) {
+            symbols.register("SYM" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, symbols.indexOf(new String("SYM" + i)));
+        }
+        assertEquals(-1, symbols.indexOf("SYM1000"));
+        assertEquals(-1, symbols.indexOf(null));
+    }
+
+    @Test
+    void indexOf_resolvesCollidingHashes() {
+        SymbolTable symbols = new SymbolTable();
+        // "Aa" and "BB" share a String hash code.
+        symbols.register("Aa");
+        symbols.register("BB");
+
+        assertEquals(0, symbols.indexOf("Aa"));
+        assertEquals(1, symbols.indexOf("BB"));
+        assertEquals(-1, symbols.indexOf("C#"));
+    }
+}
@@ -8,16 +8,26 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.trading.system.common.constants.LeaderboardUpdateType;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.rankingManagement.dto.response.LeaderBoardResponse;
+import org.trading.system.rankingManagement.dto.response.LeaderboardUpdateResponse;
 import org.trading.system.rankingManagement.service.LeaderBoardService;
+import org.trading.system.rankingManagement.stream.LeaderboardStream;
+import org.trading.system.rankingManagement.stream.LeaderboardStreamHub;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(LeaderboardController.class)
@@ -29,6 +39,9 @@ class LeaderboardControllerTest {
     @MockBean
     private LeaderBoardService leaderBoardService;
 
+    @MockBean
+    private LeaderboardStreamHub leaderboardStreamHub;
+
     @BeforeEach
     void setUp() {
 
@@ -70,4 +83,77 @@ class LeaderboardControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.errors[0]").value("Error fetching leaderboard"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void fetchUserRank_success() throws Exception {
+        LeaderBoardResponse response = new LeaderBoardResponse();
+        response.setRank(3);
+        response.setUserId("user123");
+        response.setUsername("Alice");
+
+        Mockito.when(leaderBoardService.fetchUserRank("user123")).thenReturn(ApiResponse.ok(response));
+
+        mockMvc.perform(get("/api/v1/leaderboard/user123")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rank").value(3))
+                .andExpect(jsonPath("$.data.username").value("Alice"));
+    }
+
+    @Test
+    void fetchAroundUser_success() throws Exception {
+        LeaderBoardResponse response = new LeaderBoardResponse();
+        response.setRank(2);
+        response.setUserId("user123");
+
+        Mockito.when(leaderBoardService.fetchAroundUser("user123", 1)).thenReturn(ApiResponse.ok(List.of(response)));
+
+        mockMvc.perform(get("/api/v1/leaderboard/user123/around")
+                .param("radius", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].userId").value("user123"));
+    }
+
+    @Test
+    void streamLeaderBoard_sendsEachUpdateAsAnEvent() throws Exception {
+        AtomicReference<LeaderboardStream.Sink> sink = new AtomicReference<>();
+        LeaderboardStream stream = Mockito.mock(LeaderboardStream.class);
+        Mockito.when(leaderboardStreamHub.open(eq(2), any(LeaderboardStream.Sink.class))).thenAnswer(invocation -> {
+            sink.set(invocation.getArgument(1));
+            return stream;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/leaderboard/stream").param("count", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        LeaderBoardResponse entry = new LeaderBoardResponse();
+        entry.setRank(1);
+        entry.setUserId("user123");
+        entry.setGemsCount(12);
+        LeaderboardUpdateResponse update = new LeaderboardUpdateResponse();
+        update.setVersion(3);
+        update.setType(LeaderboardUpdateType.DIFF);
+        update.setCount(2);
+        update.setEntries(List.of(entry));
+        update.setRemoved(List.of("user456"));
+        sink.get().send(update);
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("id:3\nevent:diff\ndata:{\"version\":3"), body);
+        assertTrue(body.contains("\"removed\":[\"user456\"]"), body);
+    }
+
+    @Test
+    void streamLeaderBoard_countOutOfRangeGetsAnErrorEvent() throws Exception {
+        Mockito.when(leaderboardStreamHub.getMaxCount()).thenReturn(100);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/leaderboard/stream").param("count", "500"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:error\ndata:{\"code\":400"), body);
+        assertTrue(body.contains("Count must be between 1 and 100"), body);
+    }
+}
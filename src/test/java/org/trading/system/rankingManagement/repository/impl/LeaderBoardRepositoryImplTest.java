@@ -0,0 +1,143 @@
+package org.trading.system.rankingManagement.repository.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trading.system.rankingManagement.model.RankedUser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderBoardRepositoryImplTest {
+
+    private LeaderBoardRepositoryImpl leaderBoardRepository;
+
+    @BeforeEach
+    void setUp() {
+        leaderBoardRepository = new LeaderBoardRepositoryImpl();
+    }
+
+    @Test
+    void findTop_ordersByGemsDescending() {
+        leaderBoardRepository.save("a", 10);
+        leaderBoardRepository.save("b", 30);
+        leaderBoardRepository.save("c", 20);
+
+        List<RankedUser> top = leaderBoardRepository.findTop(3);
+
+        assertEquals(List.of("b", "c", "a"), top.stream().map(RankedUser::getUserId).toList());
+        assertEquals(List.of(1L, 2L, 3L), top.stream().map(RankedUser::getRank).toList());
+    }
+
+    @Test
+    void findTop_tiedGemsShareRankAndSkipNext() {
+        leaderBoardRepository.save("a", 50);
+        leaderBoardRepository.save("b", 40);
+        leaderBoardRepository.save("c", 40);
+        leaderBoardRepository.save("d", 10);
+
+        List<RankedUser> top = leaderBoardRepository.findTop(10);
+
+        assertEquals(List.of(1L, 2L, 2L, 4L), top.stream().map(RankedUser::getRank).toList());
+    }
+
+    @Test
+    void findTop_limitsToRequestedSize() {
+        leaderBoardRepository.save("a", 1);
+        leaderBoardRepository.save("b", 2);
+        leaderBoardRepository.save("c", 3);
+
+        assertEquals(2, leaderBoardRepository.findTop(2).size());
+        assertTrue(leaderBoardRepository.findTop(0).isEmpty());
+    }
+
+    @Test
+    void save_existingUserMovesToNewPosition() {
+        leaderBoardRepository.save("a", 10);
+        leaderBoardRepository.save("b", 20);
+
+        leaderBoardRepository.save("a", 30);
+
+        assertEquals(2, leaderBoardRepository.count());
+        assertEquals("a", leaderBoardRepository.findTop(1).get(0).getUserId());
+        assertEquals(2, leaderBoardRepository.findByUserId("b").get().getRank());
+    }
+
+    @Test
+    void findByUserId_returnsCompetitionRank() {
+        leaderBoardRepository.save("a", 50);
+        leaderBoardRepository.save("b", 40);
+        leaderBoardRepository.save("c", 40);
+        leaderBoardRepository.save("d", 10);
+
+        assertEquals(2, leaderBoardRepository.findByUserId("c").get().getRank());
+        assertEquals(4, leaderBoardRepository.findByUserId("d").get().getRank());
+        assertFalse(leaderBoardRepository.findByUserId("missing").isPresent());
+        assertFalse(leaderBoardRepository.findByUserId(null).isPresent());
+    }
+
+    @Test
+    void findAroundUserId_returnsWindowWithRanks() {
+        leaderBoardRepository.save("a", 50);
+        leaderBoardRepository.save("b", 40);
+        leaderBoardRepository.save("c", 40);
+        leaderBoardRepository.save("d", 30);
+        leaderBoardRepository.save("e", 20);
+
+        List<RankedUser> window = leaderBoardRepository.findAroundUserId("c", 1);
+
+        assertEquals(List.of("b", "c", "d"), window.stream().map(RankedUser::getUserId).toList());
+        assertEquals(List.of(2L, 2L, 4L), window.stream().map(RankedUser::getRank).toList());
+    }
+
+    @Test
+    void findAroundUserId_clampsAtEdges() {
+        leaderBoardRepository.save("a", 50);
+        leaderBoardRepository.save("b", 40);
+
+        assertEquals(2, leaderBoardRepository.findAroundUserId("a", 5).size());
+        assertTrue(leaderBoardRepository.findAroundUserId("missing", 5).isEmpty());
+    }
+
+    @Test
+    void deleteByUserId_removesUser() {
+        leaderBoardRepository.save("a", 50);
+        leaderBoardRepository.save("b", 40);
+
+        leaderBoardRepository.deleteByUserId("a");
+
+        assertEquals(1, leaderBoardRepository.count());
+        assertEquals(1, leaderBoardRepository.findByUserId("b").get().getRank());
+    }
+
+    @Test
+    void randomUpdates_matchFullSort() {
+        Random random = new Random(42);
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            String userId = "user" + random.nextInt(500);
+            long gems = random.nextInt(100);
+            leaderBoardRepository.save(userId, gems);
+            expected.put(userId, gems);
+        }
+
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<RankedUser> top = leaderBoardRepository.findTop(sorted.size());
+        assertEquals(sorted.size(), top.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(sorted.get(i).getKey(), top.get(i).getUserId());
+        }
+        for (Map.Entry<String, Long> entry : sorted) {
+            long higher = expected.values().stream().filter(gems -> gems > entry.getValue()).count();
+            assertEquals(higher + 1, leaderBoardRepository.findByUserId(entry.getKey()).get().getRank());
+        }
+    }
+}
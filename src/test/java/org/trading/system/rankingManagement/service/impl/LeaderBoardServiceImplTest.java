@@ -8,11 +8,14 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.rankingManagement.dto.response.LeaderBoardResponse;
+import org.trading.system.rankingManagement.model.RankedUser;
+import org.trading.system.rankingManagement.repository.LeaderBoardRepository;
 import org.trading.system.userManagement.model.User;
-import org.trading.system.userManagement.service.UserManagementService;
+import org.trading.system.userManagement.repository.UserManagementRepository;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
@@ -20,7 +23,10 @@ import static org.mockito.Mockito.*;
 class LeaderBoardServiceImplTest {
 
     @Mock
-    private UserManagementService userManagementService;
+    private LeaderBoardRepository leaderBoardRepository;
+
+    @Mock
+    private UserManagementRepository userManagementRepository;
 
     @InjectMocks
     private LeaderBoardServiceImpl leaderBoardService;
@@ -44,37 +50,78 @@ class LeaderBoardServiceImplTest {
         user2.setGemsCount(150);
         user2.setTradeCount(15);
 
-        ApiResponse<List<User>> userResponse = ApiResponse.ok(Arrays.asList(user1, user2));
-
-        when(userManagementService.getAllUsers()).thenReturn(userResponse);
+        when(leaderBoardRepository.findTop(2)).thenReturn(Arrays.asList(
+                new RankedUser("2", 150, 1),
+                new RankedUser("1", 100, 2)));
+        when(userManagementRepository.findById("1")).thenReturn(Optional.of(user1));
+        when(userManagementRepository.findById("2")).thenReturn(Optional.of(user2));
 
         ApiResponse<List<LeaderBoardResponse>> response = leaderBoardService.fetchLeaderBoard(2);
 
         assertEquals(HttpStatus.OK.value(), response.getCode());
         assertEquals(2, response.getData().size());
         assertEquals("Bob", response.getData().get(0).getUsername());
+        assertEquals(15, response.getData().get(0).getTotalTrade());
         assertEquals("Alice", response.getData().get(1).getUsername());
+        assertEquals(2, response.getData().get(1).getRank());
     }
 
     @Test
-    void fetchLeaderBoard_failure() {
-        ApiResponse<List<User>> userResponse = ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(), List.of("Error fetching users"));
-
-        when(userManagementService.getAllUsers()).thenReturn(userResponse);
+    void fetchLeaderBoard_exception() {
+        when(leaderBoardRepository.findTop(2)).thenThrow(new RuntimeException("Unexpected error"));
 
         ApiResponse<List<LeaderBoardResponse>> response = leaderBoardService.fetchLeaderBoard(2);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getCode());
-        assertEquals("Failed to fetch users: An error occurred", response.getErrors().get(0));
+        assertEquals("An unexpected error occurred while fetching the leaderboard.", response.getErrors().get(0));
     }
 
     @Test
-    void fetchLeaderBoard_exception() {
-        when(userManagementService.getAllUsers()).thenThrow(new RuntimeException("Unexpected error"));
+    void fetchUserRank_success() {
+        User user = new User();
+        user.setUserId("1");
+        user.setUsername("Alice");
 
-        ApiResponse<List<LeaderBoardResponse>> response = leaderBoardService.fetchLeaderBoard(2);
+        when(leaderBoardRepository.findByUserId("1")).thenReturn(Optional.of(new RankedUser("1", 100, 3)));
+        when(userManagementRepository.findById("1")).thenReturn(Optional.of(user));
 
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getCode());
-        assertEquals("An unexpected error occurred while fetching the leaderboard.", response.getErrors().get(0));
+        ApiResponse<LeaderBoardResponse> response = leaderBoardService.fetchUserRank("1");
+
+        assertEquals(HttpStatus.OK.value(), response.getCode());
+        assertEquals(3, response.getData().getRank());
+        assertEquals("Alice", response.getData().getUsername());
+    }
+
+    @Test
+    void fetchUserRank_notFound() {
+        when(leaderBoardRepository.findByUserId("missing")).thenReturn(Optional.empty());
+
+        ApiResponse<LeaderBoardResponse> response = leaderBoardService.fetchUserRank("missing");
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getCode());
+        assertEquals("User not found on leaderboard with ID: missing", response.getErrors().get(0));
+    }
+
+    @Test
+    void fetchAroundUser_success() {
+        when(leaderBoardRepository.findAroundUserId("2", 1)).thenReturn(Arrays.asList(
+                new RankedUser("1", 150, 1),
+                new RankedUser("2", 100, 2),
+                new RankedUser("3", 100, 2)));
+
+        ApiResponse<List<LeaderBoardResponse>> response = leaderBoardService.fetchAroundUser("2", 1);
+
+        assertEquals(HttpStatus.OK.value(), response.getCode());
+        assertEquals(3, response.getData().size());
+        assertEquals("2", response.getData().get(1).getUserId());
+    }
+
+    @Test
+    void fetchAroundUser_notFound() {
+        when(leaderBoardRepository.findAroundUserId("missing", 1)).thenReturn(List.of());
+
+        ApiResponse<List<LeaderBoardResponse>> response = leaderBoardService.fetchAroundUser("missing", 1);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getCode());
     }
-}
\ No newline at end of file
+}
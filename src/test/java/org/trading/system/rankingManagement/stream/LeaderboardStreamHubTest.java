@@ -0,0 +1,177 @@
+package org.trading.system.rankingManagement.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trading.system.common.constants.LeaderboardUpdateType;
+import org.trading.system.rankingManagement.dto.response.LeaderBoardResponse;
+import org.trading.system.rankingManagement.dto.response.LeaderboardUpdateResponse;
+import org.trading.system.rankingManagement.repository.impl.LeaderBoardRepositoryImpl;
+import org.trading.system.rankingManagement.service.impl.LeaderBoardServiceImpl;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardStreamHubTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LeaderBoardRepositoryImpl leaderBoardRepository;
+    private LeaderboardStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        leaderBoardRepository = new LeaderBoardRepositoryImpl();
+        leaderBoardRepository.save("alice", 10);
+        leaderBoardRepository.save("bob", 5);
+        leaderBoardRepository.save("carol", 1);
+        // A tick interval long enough that only the test ticks.
+        hub = new LeaderboardStreamHub(new LeaderBoardServiceImpl(leaderBoardRepository, new UserManagementRepositoryImpl()),
+                meterRegistry, 3_600_000, 10, 1, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void open_sendsASnapshotThenOnlyWhatMoved() throws Exception {
+        Recorder recorder = new Recorder();
+        hub.open(2, recorder);
+
+        LeaderboardUpdateResponse snapshot = recorder.next();
+        assertEquals(LeaderboardUpdateType.SNAPSHOT, snapshot.getType());
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(List.of("alice", "bob"), userIds(snapshot.getEntries()));
+
+        leaderBoardRepository.save("carol", 20);
+        hub.leaderboardChanged();
+        hub.tick();
+
+        LeaderboardUpdateResponse diff = recorder.next();
+        assertEquals(LeaderboardUpdateType.DIFF, diff.getType());
+        assertEquals(2, diff.getVersion());
+        assertEquals(List.of("carol", "alice"), userIds(diff.getEntries()));
+        assertEquals(2, diff.getEntries().get(1).getRank());
+        assertEquals(List.of("bob"), diff.getRemoved());
+    }
+
+    @Test
+    void viewersOfATickShareOneComputation() throws Exception {
+        List<Recorder> topTwo = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Recorder recorder = new Recorder();
+            hub.open(2, recorder);
+            topTwo.add(recorder);
+        }
+        Recorder topThree = new Recorder();
+        hub.open(3, topThree);
+        for (Recorder recorder : topTwo) {
+            recorder.next();
+        }
+        topThree.next();
+        assertEquals(2.0, computations());
+
+        hub.tick();
+        assertEquals(2.0, computations());
+
+        leaderBoardRepository.save("carol", 2);
+        hub.leaderboardChanged();
+        hub.tick();
+
+        assertEquals(3.0, computations());
+        assertEquals(List.of("carol"), userIds(topThree.next().getEntries()));
+        for (Recorder recorder : topTwo) {
+            assertNull(recorder.updates.poll(10, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void aViewerThatFellBehindIsSentTheLatestSnapshot() throws Exception {
+        Recorder recorder = new Recorder();
+        LeaderboardStream stream = hub.open(2, recorder);
+        recorder.next();
+        recorder.ready = false;
+
+        leaderBoardRepository.save("bob", 15);
+        hub.leaderboardChanged();
+        hub.tick();
+        leaderBoardRepository.save("carol", 30);
+        hub.leaderboardChanged();
+        hub.tick();
+        Thread.sleep(50);
+        assertTrue(recorder.updates.isEmpty());
+
+        recorder.ready = true;
+        stream.wake();
+
+        LeaderboardUpdateResponse latest = recorder.next();
+        assertEquals(LeaderboardUpdateType.SNAPSHOT, latest.getType());
+        assertEquals(3, latest.getVersion());
+        assertEquals(List.of("carol", "bob"), userIds(latest.getEntries()));
+        assertNull(recorder.updates.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void closedOrFailingStreamsStopReceiving() throws Exception {
+        assertNull(hub.open(0, new Recorder()));
+        assertNull(hub.open(11, new Recorder()));
+
+        hub.open(2, new Recorder()).close();
+        Recorder failing = new Recorder();
+        failing.fail = true;
+        LeaderboardStream failed = hub.open(2, failing);
+
+        for (int i = 0; i < 50 && !failed.isClosed(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(failed.isClosed());
+        assertEquals(0.0, meterRegistry.get("trading.leaderboard.stream.subscribers").gauge().value());
+
+        leaderBoardRepository.save("carol", 30);
+        hub.leaderboardChanged();
+        hub.tick();
+        assertEquals(2.0, computations());
+    }
+
+    private double computations() {
+        return meterRegistry.get("trading.leaderboard.stream.computations").counter().count();
+    }
+
+    private static List<String> userIds(List<LeaderBoardResponse> entries) {
+        return entries.stream().map(LeaderBoardResponse::getUserId).toList();
+    }
+
+    private static final class Recorder implements LeaderboardStream.Sink {
+
+        private final BlockingQueue<LeaderboardUpdateResponse> updates = new LinkedBlockingQueue<>();
+        private volatile boolean ready = true;
+        private volatile boolean fail;
+
+        @Override
+        public void send(LeaderboardUpdateResponse update) throws Exception {
+            if (fail) {
+                throw new IllegalStateException("client went away");
+            }
+            updates.add(update);
+        }
+
+        @Override
+        public boolean ready() {
+            return ready;
+        }
+
+        private LeaderboardUpdateResponse next() throws InterruptedException {
+            LeaderboardUpdateResponse update = updates.poll(5, TimeUnit.SECONDS);
+            assertNotNull(update, "no update arrived");
+            return update;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.trading.system.trading.controller;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.trading.system.common.constants.OrderStatus;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.util.Money;
+import org.trading.system.trading.dto.request.OrderRequest;
+import org.trading.system.trading.dto.request.ReplaceOrderRequest;
+import org.trading.system.trading.dto.response.FillResponse;
+import org.trading.system.trading.dto.response.OrderBookResponse;
+import org.trading.system.trading.dto.response.OrderResponse;
+import org.trading.system.trading.dto.response.PriceLevelResponse;
+import org.trading.system.trading.service.OrderService;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OrderController.class)
+class OrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OrderService orderService;
+
+    @Test
+    void submit() throws Exception {
+        FillResponse fill = new FillResponse();
+        fill.setRestingOrderId(7);
+        fill.setQuantity(2);
+        fill.setPrice(Money.of("150.25"));
+        OrderResponse orderResponse = new OrderResponse();
+        orderResponse.setOrderId(9L);
+        orderResponse.setAssetId("AAPL");
+        orderResponse.setStatus(OrderStatus.PARTIALLY_FILLED);
+        orderResponse.setFilledQuantity(2);
+        orderResponse.setRemainingQuantity(3);
+        orderResponse.setFills(List.of(fill));
+
+        Mockito.when(orderService.submit(any(OrderRequest.class))).thenReturn(ApiResponse.ok(orderResponse));
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"user123\",\"assetId\":\"AAPL\",\"side\":\"BUY\",\"type\":\"LIMIT\","
+                                + "\"price\":151,\"quantity\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.orderId").value(9))
+                .andExpect(jsonPath("$.data.status").value("PARTIALLY_FILLED"))
+                .andExpect(jsonPath("$.data.fills[0].price").value(150.25));
+    }
+
+    @Test
+    void submit_rejectsUnknownOrderType() throws Exception {
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"user123\",\"assetId\":\"AAPL\",\"side\":\"BUY\",\"type\":\"STOP\",\"quantity\":5}"))
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.errors[0]").value("Order type must be either LIMIT or MARKET"));
+    }
+
+    @Test
+    void replaceAndCancel() throws Exception {
+        OrderResponse replaced = new OrderResponse();
+        replaced.setOrderId(9L);
+        replaced.setStatus(OrderStatus.OPEN);
+        Mockito.when(orderService.replace(eq("AAPL"), eq(9L), any(ReplaceOrderRequest.class))).thenReturn(ApiResponse.ok(replaced));
+        OrderResponse cancelled = new OrderResponse();
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        Mockito.when(orderService.cancel("user123", "AAPL", 9L)).thenReturn(ApiResponse.ok(cancelled));
+
+        mockMvc.perform(put("/api/v1/orders/AAPL/9")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":\"user123\",\"price\":150,\"quantity\":2}"))
+                .andExpect(jsonPath("$.data.status").value("OPEN"));
+        mockMvc.perform(delete("/api/v1/orders/AAPL/9").param("userId", "user123"))
+                .andExpect(jsonPath("$.data.status").value("CANCELLED"));
+    }
+
+    @Test
+    void book() throws Exception {
+        PriceLevelResponse level = new PriceLevelResponse();
+        level.setPrice(Money.of("150"));
+        level.setQuantity(12);
+        OrderBookResponse book = new OrderBookResponse();
+        book.setAssetId("AAPL");
+        book.setBids(List.of(level));
+        book.setAsks(List.of());
+        Mockito.when(orderService.book("AAPL", 3)).thenReturn(ApiResponse.ok(book));
+
+        mockMvc.perform(get("/api/v1/orders/AAPL/book").param("levels", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.bids[0].quantity").value(12))
+                .andExpect(jsonPath("$.data.asks").isEmpty());
+    }
+}
@@ -0,0 +1,143 @@
+package org.trading.system.trading.controller;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.trading.system.common.constants.TradeStatus;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.idempotency.IdempotencyCache;
+import org.trading.system.common.reactive.ReactiveExceptionHandler;
+import org.trading.system.common.reactive.ServiceScheduler;
+import org.trading.system.common.util.Money;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.request.WalletRequest;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.dto.response.TradeSubmissionResponse;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.service.TradeBatchService;
+import org.trading.system.trading.service.TradeSubmissionService;
+import org.trading.system.trading.service.TradingService;
+import org.trading.system.trading.service.WalletService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(ReactiveTradingController.class)
+@ActiveProfiles("reactive")
+@Import({IdempotencyCache.class, ServiceScheduler.class, ReactiveExceptionHandler.class})
+@AutoConfigureObservability
+class ReactiveTradingControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private WalletService walletService;
+
+    @MockBean
+    private TradingService tradingService;
+
+    @MockBean
+    private TradeBatchService tradeBatchService;
+
+    @MockBean
+    private TradeSubmissionService tradeSubmissionService;
+
+    @Test
+    void trade_retryWithTheSameIdempotencyKeyReplaysTheFirstResponse() {
+        TradeRequest request = tradeRequest();
+        TradeResponse tradeResponse = new TradeResponse();
+        tradeResponse.setUserId("user123");
+        tradeResponse.setQuantity(10);
+        Mockito.when(tradingService.trade(any(TradeRequest.class)))
+                .thenReturn(ApiResponse.ok(tradeResponse));
+
+        for (int i = 0; i < 2; i++) {
+            webTestClient.post().uri("/api/v1/trade")
+                    .header("Idempotency-Key", "retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.data.quantity").isEqualTo(10);
+        }
+
+        verify(tradingService, times(1)).trade(any(TradeRequest.class));
+    }
+
+    @Test
+    void trade_rejectsAnInvalidRequest() {
+        TradeRequest request = tradeRequest();
+        request.setUserId(null);
+
+        webTestClient.post().uri("/api/v1/trade")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(400)
+                .jsonPath("$.errors[0]").isEqualTo("User ID is required");
+    }
+
+    @Test
+    void topUpWallet() {
+        WalletRequest request = new WalletRequest();
+        request.setUserId("user123");
+        request.setAmount(100.0);
+        Wallet wallet = new Wallet();
+        wallet.setUserId("user123");
+        wallet.setBalance(Money.of(200.0));
+        Mockito.when(walletService.topUp(any(WalletRequest.class)))
+                .thenReturn(ApiResponse.ok(wallet));
+
+        webTestClient.post().uri("/api/v1/trade/wallet/top-up")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.data.userId").isEqualTo("user123")
+                .jsonPath("$.data.balance").isEqualTo(200.0);
+    }
+
+    @Test
+    void tradeStatus_completesFromTheTradesFuture() {
+        CompletableFuture<ApiResponse<TradeSubmissionResponse>> pending = new CompletableFuture<>();
+        Mockito.when(tradeSubmissionService.status(eq("trade-1"), eq(2000L)))
+                .thenReturn(pending);
+        TradeSubmissionResponse submission = new TradeSubmissionResponse();
+        submission.setTradeId("trade-1");
+        submission.setStatus(TradeStatus.SUCCEEDED);
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)
+                .execute(() -> pending.complete(ApiResponse.ok(submission)));
+
+        webTestClient.get().uri("/api/v1/trade/trade-1?waitMs=2000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.tradeId").isEqualTo("trade-1")
+                .jsonPath("$.data.status").isEqualTo("SUCCEEDED");
+    }
+
+    private static TradeRequest tradeRequest() {
+        TradeRequest request = new TradeRequest();
+        request.setUserId("user123");
+        request.setAssetId("asset123");
+        request.setQuantity(10);
+        request.setTransactionType("BUY");
+        return request;
+    }
+}
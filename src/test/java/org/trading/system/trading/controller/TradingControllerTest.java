@@ -6,25 +6,45 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.trading.system.common.constants.TradeStatus;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.idempotency.IdempotencyCache;
+import org.trading.system.common.util.Money;
+import org.trading.system.trading.dto.request.TradeBatchRequest;
 import org.trading.system.trading.dto.request.TradeRequest;
 import org.trading.system.trading.dto.request.WalletRequest;
+import org.trading.system.trading.dto.response.TradeBatchResponse;
 import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.dto.response.TradeSubmissionResponse;
 import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.service.TradeBatchService;
+import org.trading.system.trading.service.TradeSubmissionService;
 import org.trading.system.trading.service.TradingService;
 import org.trading.system.trading.service.WalletService;
 
-import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TradingController.class)
+@Import(IdempotencyCache.class)
+@AutoConfigureObservability
 class TradingControllerTest {
 
     @Autowired
@@ -36,6 +56,12 @@ class TradingControllerTest {
     @MockBean
     private TradingService tradingService;
 
+    @MockBean
+    private TradeBatchService tradeBatchService;
+
+    @MockBean
+    private TradeSubmissionService tradeSubmissionService;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -51,7 +77,7 @@ class TradingControllerTest {
 
         Wallet wallet = new Wallet();
         wallet.setUserId("user123");
-        wallet.setBalance(BigDecimal.valueOf(200.0));
+        wallet.setBalance(Money.of(200.0));
 
         ApiResponse<Wallet> response = ApiResponse.ok(wallet);
 
@@ -92,4 +118,147 @@ class TradingControllerTest {
                 .andExpect(jsonPath("$.data.assetId").value("asset123"))
                 .andExpect(jsonPath("$.data.quantity").value(10));
     }
-}
\ No newline at end of file
+
+    @Test
+    void trade_retryWithTheSameIdempotencyKeyReplaysTheFirstResponse() throws Exception {
+        TradeRequest request = new TradeRequest();
+        request.setUserId("user123");
+        request.setAssetId("asset123");
+        request.setQuantity(10);
+        request.setTransactionType("BUY");
+
+        TradeResponse tradeResponse = new TradeResponse();
+        tradeResponse.setUserId("user123");
+        tradeResponse.setQuantity(10);
+        Mockito.when(tradingService.trade(any(TradeRequest.class)))
+                .thenReturn(ApiResponse.ok(tradeResponse));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/trade")
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.quantity").value(10));
+        }
+        request.setQuantity(5);
+        mockMvc.perform(post("/api/v1/trade")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(jsonPath("$.code").value(422));
+
+        verify(tradingService, times(1)).trade(any(TradeRequest.class));
+    }
+
+    @Test
+    void topUpWallet_replayKeepsTheBalanceOfTheFirstResponse() throws Exception {
+        WalletRequest request = new WalletRequest();
+        request.setUserId("user123");
+        request.setAmount(100.0);
+
+        Wallet wallet = new Wallet();
+        wallet.setUserId("user123");
+        wallet.setBalance(Money.of(200.0));
+        Mockito.when(walletService.topUp(any(WalletRequest.class)))
+                .thenReturn(ApiResponse.ok(wallet));
+
+        mockMvc.perform(post("/api/v1/trade/wallet/top-up")
+                        .header("Idempotency-Key", "top-up-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(jsonPath("$.data.balance").value(200.0));
+        wallet.setBalance(Money.of(50.0));
+        mockMvc.perform(post("/api/v1/trade/wallet/top-up")
+                        .header("Idempotency-Key", "top-up-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(jsonPath("$.data.balance").value(200.0));
+
+        verify(walletService, times(1)).topUp(any(WalletRequest.class));
+    }
+
+    @Test
+    void submitTrade() throws Exception {
+        TradeRequest request = new TradeRequest();
+        request.setUserId("user123");
+        request.setAssetId("asset123");
+        request.setQuantity(10);
+        request.setTransactionType("BUY");
+
+        TradeSubmissionResponse submission = new TradeSubmissionResponse();
+        submission.setTradeId("trade-1");
+        submission.setStatus(TradeStatus.QUEUED);
+        Mockito.when(tradeSubmissionService.submit(any(TradeRequest.class)))
+                .thenReturn(ApiResponse.accepted(submission));
+
+        mockMvc.perform(post("/api/v1/trade/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(202))
+                .andExpect(jsonPath("$.data.tradeId").value("trade-1"))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"));
+    }
+
+    @Test
+    void tradeStatus() throws Exception {
+        TradeResponse tradeResponse = new TradeResponse();
+        tradeResponse.setAssetId("asset123");
+        TradeSubmissionResponse submission = new TradeSubmissionResponse();
+        submission.setTradeId("trade-1");
+        submission.setStatus(TradeStatus.SUCCEEDED);
+        submission.setResult(ApiResponse.ok(tradeResponse));
+        Mockito.when(tradeSubmissionService.status(eq("trade-1"), eq(2000L)))
+                .thenReturn(CompletableFuture.completedFuture(ApiResponse.ok(submission)));
+
+        MvcResult pending = mockMvc.perform(get("/api/v1/trade/trade-1").param("waitMs", "2000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.data.result.data.assetId").value("asset123"));
+    }
+
+    @Test
+    void tradeBatch() throws Exception {
+        TradeRequest trade = new TradeRequest();
+        trade.setUserId("user123");
+        trade.setAssetId("asset123");
+        trade.setQuantity(10);
+        trade.setTransactionType("BUY");
+        TradeBatchRequest request = new TradeBatchRequest();
+        request.setTrades(List.of(trade, trade));
+
+        TradeResponse tradeResponse = new TradeResponse();
+        tradeResponse.setUserId("user123");
+        tradeResponse.setAssetId("asset123");
+        TradeBatchResponse batchResponse = new TradeBatchResponse();
+        batchResponse.setSucceeded(1);
+        batchResponse.setFailed(1);
+        batchResponse.setResults(List.of(ApiResponse.ok(tradeResponse),
+                ApiResponse.error(400, List.of("Insufficient balance to trade asset with ID: asset123"))));
+
+        Mockito.when(tradeBatchService.trade(any(TradeBatchRequest.class)))
+                .thenReturn(ApiResponse.ok(batchResponse));
+
+        mockMvc.perform(post("/api/v1/trade/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded").value(1))
+                .andExpect(jsonPath("$.data.results[0].data.assetId").value("asset123"))
+                .andExpect(jsonPath("$.data.results[1].code").value(400));
+    }
+
+    @Test
+    void tradeBatch_rejectsEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/v1/trade/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"trades\":[]}"))
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.errors[0]").value("Trades are required"));
+    }
+}
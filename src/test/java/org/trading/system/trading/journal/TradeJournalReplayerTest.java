@@ -0,0 +1,209 @@
+package org.trading.system.trading.journal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.service.impl.PortfolioServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.rankingManagement.repository.impl.LeaderBoardRepositoryImpl;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.journal.impl.MappedTradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.trading.sequencer.ExecutionMode;
+import org.trading.system.trading.sequencer.TradeSequencer;
+import org.trading.system.trading.service.impl.TradingServiceImpl;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeJournalReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_rebuildsWalletsPortfoliosAndGemsFromJournalledTrades() throws Exception {
+        Stores live = new Stores(openJournal());
+        User alice = live.userRepository.save(User.builder().username("alice").build());
+        live.walletRepository.save(Wallet.builder().userId(alice.getUserId()).balance(Money.of("10000")).build());
+        live.portfolioRepository.save(Portfolio.builder().userId(alice.getUserId()).holdings(new Holdings(live.symbols)).build());
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(HttpStatus.OK.value(), live.trade(alice.getUserId(), "AAPL", "BUY", 2).getCode());
+        }
+        assertEquals(HttpStatus.OK.value(), live.trade(alice.getUserId(), "AAPL", "SELL", 3).getCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), live.trade(alice.getUserId(), "AAPL", "SELL", 50).getCode());
+        live.journal.destroy();
+
+        Stores restored = new Stores(openJournal());
+        assertEquals(6, restored.replayer.replay(Map.of()));
+
+        User user = restored.userRepository.findById(alice.getUserId()).orElseThrow();
+        assertEquals("alice", user.getUsername());
+        assertEquals(6, user.getTradeCount());
+        assertEquals(11, user.getGemsCount());
+        assertEquals(11, restored.leaderBoardRepository.findByUserId(alice.getUserId()).orElseThrow().getGemsCount());
+
+        Wallet wallet = restored.walletRepository.findByUserId(alice.getUserId()).orElseThrow();
+        assertEquals(live.walletRepository.findByUserId(alice.getUserId()).orElseThrow().getBalance(), wallet.getBalance());
+        assertEquals(Money.of("8950.00"), wallet.getBalance());
+
+        Portfolio portfolio = restored.portfolioRepository.findByUserId(alice.getUserId()).orElseThrow();
+        assertEquals(7, portfolio.getAssets().get("AAPL").getQuantity());
+        assertEquals(0, Money.of("1050").compareTo(portfolio.getValue()));
+    }
+
+    @Test
+    void replay_skipsTradesAtOrBelowTheUsersSnapshotFence() throws Exception {
+        Stores live = new Stores(openJournal());
+        User alice = live.userRepository.save(User.builder().username("alice").build());
+        live.walletRepository.save(Wallet.builder().userId(alice.getUserId()).balance(Money.of("10000")).build());
+        live.portfolioRepository.save(Portfolio.builder().userId(alice.getUserId()).holdings(new Holdings(live.symbols)).build());
+        live.trade(alice.getUserId(), "AAPL", "BUY", 2);
+        live.trade(alice.getUserId(), "AAPL", "BUY", 1);
+        live.journal.destroy();
+
+        Stores restored = new Stores(openJournal());
+        restored.userRepository.save(User.builder().userId(alice.getUserId()).username("alice")
+                .tradeCount(1).gemsCount(1).gemsJournalSequence(1).build());
+        assertEquals(1, restored.replayer.replay(Map.of(alice.getUserId(), 1L)));
+
+        Portfolio portfolio = restored.portfolioRepository.findByUserId(alice.getUserId()).orElseThrow();
+        assertEquals(1, portfolio.getAssets().get("AAPL").getQuantity());
+        assertEquals(2, restored.userRepository.findById(alice.getUserId()).orElseThrow().getTradeCount());
+    }
+
+    @Test
+    void replay_countsGemsForFencedTradesWhoseEventWasStillQueued() throws Exception {
+        Stores live = new Stores(openJournal());
+        User alice = live.userRepository.save(User.builder().username("alice").build());
+        live.walletRepository.save(Wallet.builder().userId(alice.getUserId()).balance(Money.of("10000")).build());
+        live.portfolioRepository.save(Portfolio.builder().userId(alice.getUserId()).holdings(new Holdings(live.symbols)).build());
+        live.trade(alice.getUserId(), "AAPL", "BUY", 2);
+        live.trade(alice.getUserId(), "AAPL", "BUY", 1);
+        live.journal.destroy();
+
+        // Captured after both trades, with only the first one's event handled.
+        Stores restored = new Stores(openJournal());
+        restored.userRepository.save(User.builder().userId(alice.getUserId()).username("alice")
+                .tradeCount(1).gemsCount(1).gemsJournalSequence(1).build());
+        Portfolio portfolio = restored.portfolioRepository.save(Portfolio.builder().userId(alice.getUserId()).holdings(new Holdings(restored.symbols)).build());
+        portfolio.getAssets().put("AAPL", live.portfolioRepository.findByUserId(alice.getUserId()).orElseThrow()
+                .getAssets().get("AAPL"));
+        assertEquals(0, restored.replayer.replay(Map.of(alice.getUserId(), 2L)));
+
+        User user = restored.userRepository.findById(alice.getUserId()).orElseThrow();
+        assertEquals(2, user.getTradeCount());
+        assertEquals(2, user.getGemsCount());
+        assertEquals(2, restored.leaderBoardRepository.findByUserId(alice.getUserId()).orElseThrow().getGemsCount());
+        assertEquals(3, portfolio.getAssets().get("AAPL").getQuantity());
+    }
+
+    @Test
+    void replay_restoresUsersWhoNeverTradedAndTopUpsAfterTheLastTrade() throws Exception {
+        MappedTradeJournal journal = openJournal();
+        journal.append(TradeRecord.builder()
+                .recordType(JournalRecordType.USER_CREATED)
+                .userId("bob")
+                .username("bob")
+                .build());
+        journal.append(TradeRecord.builder()
+                .recordType(JournalRecordType.USER_CREATED)
+                .userId("carol")
+                .username("carol")
+                .build());
+        journal.append(TradeRecord.builder()
+                .recordType(JournalRecordType.TOP_UP)
+                .userId("carol")
+                .username("carol")
+                .totalPriceMinorUnits(250_00)
+                .walletBalanceMinorUnits(250_00)
+                .build());
+        journal.destroy();
+
+        Stores restored = new Stores(openJournal());
+        assertEquals(3, restored.replayer.replay(Map.of()));
+
+        User bob = restored.userRepository.findById("bob").orElseThrow();
+        assertEquals("bob", bob.getUsername());
+        assertEquals(0, bob.getTradeCount());
+        assertEquals(0, restored.walletRepository.findByUserId("bob").orElseThrow().getBalance().signum());
+        assertTrue(restored.portfolioRepository.findByUserId("bob").orElseThrow().getAssets().isEmpty());
+        assertEquals(0, restored.leaderBoardRepository.findByUserId("bob").orElseThrow().getGemsCount());
+
+        assertEquals(Money.of("250"), restored.walletRepository.findByUserId("carol").orElseThrow().getBalance());
+        assertEquals(0, restored.userRepository.findById("carol").orElseThrow().getGemsCount());
+    }
+
+    @Test
+    void replay_ofEmptyJournalLeavesStoresEmpty() throws Exception {
+        Stores restored = new Stores(openJournal());
+
+        assertEquals(0, restored.replayer.replay(Map.of()));
+        assertEquals(0, restored.userRepository.count());
+        assertEquals(0, restored.leaderBoardRepository.count());
+    }
+
+    private MappedTradeJournal openJournal() {
+        return new MappedTradeJournal(new SimpleMeterRegistry(), true, directory.toString(), 1 << 16,
+                FsyncPolicy.PER_TRADE, 200);
+    }
+
+    private static final class Stores {
+        final SymbolTable symbols = new SymbolTable();
+        final MappedTradeJournal journal;
+        final UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        final WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        final PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+        final LeaderBoardRepositoryImpl leaderBoardRepository = new LeaderBoardRepositoryImpl();
+        final TradingServiceImpl tradingService;
+        final TradeJournalReplayer replayer;
+
+        Stores(MappedTradeJournal journal) throws Exception {
+            this.journal = journal;
+            AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+            assetRepository.run(null);
+            ApplicationEventPublisher eventPublisher = event -> { };
+            StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 16);
+            UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository,
+                    walletRepository, portfolioRepository, eventPublisher,
+                    new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1), lockManager, journal, symbols);
+            AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+            PortfolioServiceImpl portfolioService = new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols);
+            tradingService = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository, assetRepository,
+                    portfolioService, eventPublisher, lockManager, journal,
+                    new TradeSequencer(journal, new SimpleMeterRegistry(), ExecutionMode.LOCKED, 1, 1, 30_000),
+                    new AccountStreamHub(walletRepository, portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 1, 0), symbols);
+            replayer = new TradeJournalReplayer(journal, userRepository, walletRepository, portfolioRepository,
+                    portfolioService, leaderBoardRepository, null, symbols, false);
+        }
+
+        ApiResponse<?> trade(String userId, String assetId, String transactionType, int quantity) {
+            TradeRequest request = new TradeRequest();
+            request.setUserId(userId);
+            request.setAssetId(assetId);
+            request.setQuantity(quantity);
+            request.setTransactionType(transactionType);
+            return tradingService.trade(request);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.trading.system.trading.journal.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.trading.system.common.constants.TransactionType;
+import org.trading.system.trading.journal.FsyncPolicy;
+import org.trading.system.trading.journal.TradeRecord;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTradeJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_thenReplay_returnsRecordsInSequenceOrder() {
+        MappedTradeJournal journal = open(FsyncPolicy.PER_TRADE);
+        assertEquals(1, journal.append(record("user-1", TransactionType.BUY, 3)));
+        assertEquals(2, journal.append(record("user-2", TransactionType.SELL, 1)));
+
+        List<TradeRecord> replayed = new ArrayList<>();
+        assertEquals(2, journal.replay(replayed::add));
+        journal.destroy();
+
+        TradeRecord first = replayed.get(0);
+        assertEquals(1, first.getSequence());
+        assertEquals("user-1", first.getUserId());
+        assertEquals("name-user-1", first.getUsername());
+        assertEquals("AAPL", first.getAssetId());
+        assertEquals("Apple Inc.", first.getAssetName());
+        assertEquals(TransactionType.BUY, first.getTransactionType());
+        assertEquals(3, first.getQuantity());
+        assertEquals(45_000L, first.getTotalPriceMinorUnits());
+        assertEquals(55_000L, first.getWalletBalanceMinorUnits());
+        assertEquals(TransactionType.SELL, replayed.get(1).getTransactionType());
+    }
+
+    @Test
+    void append_rollsToNewSegmentWhenFull() throws Exception {
+        MappedTradeJournal journal = open(FsyncPolicy.OS);
+        for (int i = 0; i < 200; i++) {
+            journal.append(record("user-" + i, TransactionType.BUY, 1));
+        }
+        journal.destroy();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+        List<Long> sequences = new ArrayList<>();
+        open(FsyncPolicy.OS).replay(record -> sequences.add(record.getSequence()));
+        assertEquals(200, sequences.size());
+        for (int i = 0; i < sequences.size(); i++) {
+            assertEquals(i + 1, sequences.get(i));
+        }
+    }
+
+    @Test
+    void reopen_continuesSequenceAfterLastRecord() {
+        MappedTradeJournal journal = open(FsyncPolicy.PER_TRADE);
+        journal.append(record("user-1", TransactionType.BUY, 1));
+        journal.append(record("user-1", TransactionType.BUY, 1));
+        journal.destroy();
+
+        MappedTradeJournal reopened = open(FsyncPolicy.PER_TRADE);
+        assertEquals(3, reopened.append(record("user-1", TransactionType.SELL, 2)));
+        assertEquals(3, reopened.replay(record -> { }));
+        reopened.destroy();
+    }
+
+    @Test
+    void reopen_dropsTornRecordAtTail() throws Exception {
+        MappedTradeJournal journal = open(FsyncPolicy.PER_TRADE);
+        journal.append(record("user-1", TransactionType.BUY, 1));
+        journal.append(record("user-2", TransactionType.BUY, 1));
+        journal.destroy();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        List<TradeRecord> before = new ArrayList<>();
+        open(FsyncPolicy.OS).replay(before::add);
+        int secondRecordBody = TradeRecordCodec.encodeBody(before.get(1)).length;
+        int firstRecordEnd = TradeRecordCodec.FRAME_HEADER_BYTES + TradeRecordCodec.encodeBody(before.get(0)).length;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(firstRecordEnd + TradeRecordCodec.FRAME_HEADER_BYTES + secondRecordBody - 1);
+            file.write(0x7F);
+        }
+
+        MappedTradeJournal reopened = open(FsyncPolicy.PER_TRADE);
+        assertEquals(2, reopened.append(record("user-3", TransactionType.BUY, 1)));
+        List<String> users = new ArrayList<>();
+        reopened.replay(record -> users.add(record.getUserId()));
+        reopened.destroy();
+        assertEquals(List.of("user-1", "user-3"), users);
+    }
+
+    @Test
+    void groupCommit_concurrentAppendsAllBecomeDurable() throws Exception {
+        MappedTradeJournal journal = new MappedTradeJournal(new SimpleMeterRegistry(), true, directory.toString(),
+                1 << 20, FsyncPolicy.GROUP, 100);
+        int threads = 8;
+        int perThread = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                String userId = "user-" + t;
+                executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(record(userId, TransactionType.BUY, 1));
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        journal.destroy();
+
+        assertEquals((long) threads * perThread, open(FsyncPolicy.OS).replay(record -> { }));
+    }
+
+    @Test
+    void groupCommit_awaitDurableCoversEveryEarlierWrite() {
+        MappedTradeJournal journal = new MappedTradeJournal(new SimpleMeterRegistry(), true, directory.toString(),
+                1 << 20, FsyncPolicy.GROUP, 100);
+        long first = journal.write(record("user-1", TransactionType.BUY, 1));
+        long second = journal.write(record("user-2", TransactionType.BUY, 1));
+
+        assertEquals(first + 1, second);
+        assertEquals(second, journal.lastSequence());
+        journal.awaitDurable(second);
+        journal.destroy();
+
+        assertEquals(2, open(FsyncPolicy.OS).replay(record -> { }));
+    }
+
+    @Test
+    void groupCommit_failedForceFailsWaitersAndClosesTheJournal() {
+        MappedTradeJournal journal = new MappedTradeJournal(new SimpleMeterRegistry(), true, directory.toString(),
+                1 << 20, FsyncPolicy.GROUP, 500_000);
+        long sequence = journal.write(record("user-1", TransactionType.BUY, 1));
+        UncheckedIOException failure = new UncheckedIOException(new IOException("disk gone"));
+
+        journal.failFlush(failure);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> journal.awaitDurable(sequence));
+        assertSame(failure, thrown.getCause());
+        assertThrows(IllegalStateException.class, () -> journal.append(record("user-2", TransactionType.BUY, 1)));
+        journal.destroy();
+    }
+
+    @Test
+    void append_afterDestroy_isRejected() {
+        MappedTradeJournal journal = open(FsyncPolicy.PER_TRADE);
+        journal.destroy();
+
+        assertThrows(IllegalStateException.class, () -> journal.append(record("user-1", TransactionType.BUY, 1)));
+    }
+
+    @Test
+    void disabledJournal_neitherWritesNorReplays() throws Exception {
+        MappedTradeJournal journal = new MappedTradeJournal(new SimpleMeterRegistry(), false,
+                directory.resolve("disabled").toString(), SEGMENT_SIZE, FsyncPolicy.PER_TRADE, 200);
+
+        assertEquals(0, journal.append(record("user-1", TransactionType.BUY, 1)));
+        assertEquals(0, journal.replay(record -> fail("Disabled journal replayed a record")));
+        assertFalse(Files.exists(directory.resolve("disabled")));
+    }
+
+    private MappedTradeJournal open(FsyncPolicy fsyncPolicy) {
+        return new MappedTradeJournal(new SimpleMeterRegistry(), true, directory.toString(), SEGMENT_SIZE,
+                fsyncPolicy, 200);
+    }
+
+    private static TradeRecord record(String userId, TransactionType transactionType, int quantity) {
+        return TradeRecord.builder()
+                .timestampMillis(System.currentTimeMillis())
+                .userId(userId)
+                .username("name-" + userId)
+                .assetId("AAPL")
+                .assetName("Apple Inc.")
+                .transactionType(transactionType)
+                .quantity(quantity)
+                .totalPriceMinorUnits(15_000L * quantity)
+                .walletBalanceMinorUnits(100_000L - 15_000L * quantity)
+                .build();
+    }
+}
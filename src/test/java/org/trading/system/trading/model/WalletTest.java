@@ -0,0 +1,79 @@
+package org.trading.system.trading.model;
+
+import org.junit.jupiter.api.Test;
+import org.trading.system.common.util.Money;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletTest {
+
+    @Test
+    void balance_isExposedAsTwoDecimalAmount() {
+        Wallet wallet = Wallet.builder().userId("user123").balance(Money.of("12.5")).build();
+
+        assertEquals(1250L, wallet.getBalanceMinorUnits());
+        assertEquals(Money.of("12.50"), wallet.getBalance());
+        assertNotNull(wallet.getWalletId());
+    }
+
+    @Test
+    void newWallet_startsAtZero() {
+        assertEquals(Money.of("0.00"), new Wallet().getBalance());
+        assertEquals(Money.of("0.00"), Wallet.builder().userId("user123").build().getBalance());
+    }
+
+    @Test
+    void debitIfSufficient_rejectsDebitLargerThanBalance() {
+        Wallet wallet = Wallet.builder().balance(Money.of("10.00")).build();
+
+        assertFalse(wallet.debitIfSufficient(1001));
+        assertEquals(1000L, wallet.getBalanceMinorUnits());
+
+        assertTrue(wallet.debitIfSufficient(1000));
+        assertEquals(0L, wallet.getBalanceMinorUnits());
+    }
+
+    @Test
+    void credit_rejectsOverflow() {
+        Wallet wallet = new Wallet();
+        wallet.credit(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> wallet.credit(1));
+        assertEquals(Long.MAX_VALUE, wallet.getBalanceMinorUnits());
+    }
+
+    @Test
+    void concurrentCreditsAndDebits_neverLoseUpdatesOrOverdraw() throws Exception {
+        Wallet wallet = new Wallet();
+        int threads = 8;
+        int iterations = 20_000;
+        AtomicInteger successfulDebits = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                boolean crediting = t % 2 == 0;
+                executor.submit(() -> {
+                    for (int i = 0; i < iterations; i++) {
+                        if (crediting) {
+                            wallet.credit(100);
+                        } else if (wallet.debitIfSufficient(150)) {
+                            successfulDebits.incrementAndGet();
+                        }
+                        assertTrue(wallet.getBalanceMinorUnits() >= 0);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        long credited = (long) (threads / 2) * iterations * 100;
+        assertEquals(credited - successfulDebits.get() * 150L, wallet.getBalanceMinorUnits());
+    }
+}
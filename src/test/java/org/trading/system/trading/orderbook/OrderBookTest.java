@@ -0,0 +1,189 @@
+package org.trading.system.trading.orderbook;
+
+import org.junit.jupiter.api.Test;
+import org.trading.system.common.constants.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.trading.system.common.constants.TransactionType.BUY;
+import static org.trading.system.common.constants.TransactionType.SELL;
+
+class OrderBookTest {
+
+    private final OrderBook book = new OrderBook(2);
+    private final Fills fills = new Fills();
+
+    @Test
+    void submitLimit_restsAndMatchesBestPriceThenOldestFirst() {
+        long late = book.submitLimit("alice", SELL, 101, 5, fills);
+        long early = book.submitLimit("bob", SELL, 100, 3, fills);
+        long later = book.submitLimit("carol", SELL, 100, 4, fills);
+        assertEquals(100, book.bestPrice(SELL));
+        assertTrue(fills.all.isEmpty());
+
+        long rested = book.submitLimit("dave", BUY, 101, 10, fills);
+
+        assertEquals(List.of(
+                new Fill(early, "bob", 3, 100),
+                new Fill(later, "carol", 4, 100),
+                new Fill(late, "alice", 3, 101)), fills.all);
+        assertEquals(OrderBook.NO_ORDER, rested);
+        assertEquals(2, book.remainingOf(late));
+        assertFalse(book.isResting(early));
+        assertEquals(1, book.orderCount());
+    }
+
+    @Test
+    void submitLimit_restsTheRemainderAtItsLimit() {
+        book.submitLimit("alice", SELL, 100, 3, fills);
+
+        long buy = book.submitLimit("bob", BUY, 99, 5, fills);
+        assertTrue(fills.all.isEmpty());
+        long crossing = book.submitLimit("carol", BUY, 100, 5, fills);
+
+        assertEquals(1, fills.all.size());
+        assertEquals(2, book.remainingOf(crossing));
+        assertEquals(100, book.bestPrice(BUY));
+        assertEquals(OrderBook.NO_PRICE, book.bestPrice(SELL));
+
+        long[] prices = new long[4];
+        long[] quantities = new long[4];
+        assertEquals(2, book.depth(BUY, prices, quantities));
+        assertArrayEquals(new long[]{100, 99, 0, 0}, prices);
+        assertArrayEquals(new long[]{2, 5, 0, 0}, quantities);
+        assertEquals(99, book.priceOf(buy));
+        assertEquals("bob", book.ownerOf(buy));
+        assertEquals(BUY, book.sideOf(buy));
+    }
+
+    @Test
+    void submitMarket_sweepsLevelsAndDropsTheRest() {
+        book.submitLimit("alice", BUY, 100, 2, fills);
+        book.submitLimit("bob", BUY, 98, 2, fills);
+
+        int unfilled = book.submitMarket(SELL, 7, fills);
+
+        assertEquals(3, unfilled);
+        assertEquals(List.of(100L, 98L), fills.all.stream().map(Fill::price).toList());
+        assertEquals(0, book.orderCount());
+        assertEquals(OrderBook.NO_PRICE, book.bestPrice(BUY));
+    }
+
+    @Test
+    void cancel_removesTheOrderAndItsIdStaysDeadAfterReuse() {
+        long first = book.submitLimit("alice", BUY, 100, 2, fills);
+        long second = book.submitLimit("bob", BUY, 100, 3, fills);
+
+        assertTrue(book.cancel(first));
+        assertFalse(book.cancel(first));
+        long reused = book.submitLimit("carol", BUY, 100, 1, fills);
+
+        assertNotEquals(first, reused);
+        assertFalse(book.isResting(first));
+        assertNull(book.ownerOf(first));
+        assertTrue(book.isResting(second));
+        assertFalse(book.cancel(OrderBook.NO_ORDER));
+        long[] quantity = new long[1];
+        book.depth(BUY, new long[1], quantity);
+        assertEquals(4, quantity[0]);
+    }
+
+    @Test
+    void replace_shrinkKeepsPriorityAndOtherChangesRequeue() {
+        long first = book.submitLimit("alice", SELL, 100, 5, fills);
+        long second = book.submitLimit("bob", SELL, 100, 5, fills);
+
+        assertEquals(first, book.replace(first, 100, 2, fills));
+        long grown = book.replace(second, 100, 8, fills);
+        assertNotEquals(second, grown);
+        assertEquals(-1, book.replace(second, 100, 1, fills));
+
+        book.submitMarket(BUY, 3, fills);
+
+        assertEquals(List.of(new Fill(first, "alice", 2, 100), new Fill(grown, "bob", 1, 100)), fills.all);
+        assertEquals(7, book.remainingOf(grown));
+    }
+
+    @Test
+    void replace_toACrossingPriceMatches() {
+        book.submitLimit("alice", SELL, 105, 2, fills);
+        long bid = book.submitLimit("bob", BUY, 100, 3, fills);
+
+        long rested = book.replace(bid, 105, 3, fills);
+
+        assertEquals(1, fills.all.size());
+        assertEquals(1, book.remainingOf(rested));
+        assertEquals(105, book.priceOf(rested));
+    }
+
+    @Test
+    void rejectedRestingOrdersAreCancelledAndMatchingGoesOn() {
+        long broke = book.submitLimit("broke", SELL, 100, 5, fills);
+        long good = book.submitLimit("alice", SELL, 100, 5, fills);
+        fills.rejectResting = "broke";
+
+        long rested = book.submitLimit("bob", BUY, 100, 4, fills);
+
+        assertEquals(List.of(new Fill(good, "alice", 4, 100)), fills.all);
+        assertFalse(book.isResting(broke));
+        assertEquals(1, book.remainingOf(good));
+        assertEquals(OrderBook.NO_ORDER, rested);
+    }
+
+    @Test
+    void rejectedIncomingOrderStopsMatchingAndNeverRests() {
+        long ask = book.submitLimit("alice", SELL, 100, 5, fills);
+        fills.rejectIncoming = true;
+
+        long rested = book.submitLimit("bob", BUY, 101, 3, fills);
+
+        assertEquals(OrderBook.NO_ORDER, rested);
+        assertEquals(5, book.remainingOf(ask));
+        assertEquals(OrderBook.NO_PRICE, book.bestPrice(BUY));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(book.submitLimit("user" + i, i % 2 == 0 ? BUY : SELL, i % 2 == 0 ? 100 - i : 200 + i, 1, fills));
+        }
+
+        assertEquals(100, book.orderCount());
+        assertEquals(100, book.bestPrice(BUY));
+        assertEquals(201, book.bestPrice(SELL));
+        ids.forEach(id -> assertTrue(book.cancel(id)));
+        assertEquals(0, book.orderCount());
+    }
+
+    @Test
+    void rejectsNonPositiveQuantitiesAndPrices() {
+        assertThrows(IllegalArgumentException.class, () -> book.submitLimit("alice", BUY, 0, 1, fills));
+        assertThrows(IllegalArgumentException.class, () -> book.submitLimit("alice", BUY, 100, 0, fills));
+        assertThrows(IllegalArgumentException.class, () -> book.submitMarket(TransactionType.SELL, 0, fills));
+    }
+
+    private record Fill(long restingOrderId, String restingOwner, int quantity, long price) {
+    }
+
+    private static final class Fills implements FillHandler {
+
+        private final List<Fill> all = new ArrayList<>();
+        private String rejectResting;
+        private boolean rejectIncoming;
+
+        @Override
+        public Outcome onFill(long restingOrderId, String restingOwner, int quantity, long priceMinorUnits) {
+            if (rejectIncoming) {
+                return Outcome.REJECT_INCOMING;
+            }
+            if (restingOwner.equals(rejectResting)) {
+                return Outcome.REJECT_RESTING;
+            }
+            all.add(new Fill(restingOrderId, restingOwner, quantity, priceMinorUnits));
+            return Outcome.SETTLED;
+        }
+    }
+}
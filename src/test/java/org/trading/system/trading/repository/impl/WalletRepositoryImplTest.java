@@ -1,9 +1,9 @@
 package org.trading.system.trading.repository.impl;
 
 import org.junit.jupiter.api.Test;
+import org.trading.system.common.util.Money;
 import org.trading.system.trading.model.Wallet;
 
-import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,7 +17,7 @@ public class WalletRepositoryImplTest {
         Wallet wallet = Wallet.builder()
                 .walletId("wallet123")
                 .userId("user123")
-                .balance(new BigDecimal("100.00"))
+                .balance(Money.of("100.00"))
                 .build();
 
         Wallet result = walletRepository.save(wallet);
@@ -35,7 +35,7 @@ public class WalletRepositoryImplTest {
         Wallet wallet = Wallet.builder()
                 .walletId("wallet123")
                 .userId("user123")
-                .balance(new BigDecimal("100.00"))
+                .balance(Money.of("100.00"))
                 .build();
         walletRepository.save(wallet);
 
@@ -44,7 +44,7 @@ public class WalletRepositoryImplTest {
         assertTrue(result.isPresent());
         assertEquals("wallet123", result.get().getWalletId());
         assertEquals("user123", result.get().getUserId());
-        assertEquals(new BigDecimal("100.00"), result.get().getBalance());
+        assertEquals(Money.of("100.00"), result.get().getBalance());
     }
 
     @Test
@@ -53,7 +53,7 @@ public class WalletRepositoryImplTest {
         Wallet wallet = Wallet.builder()
                 .walletId("wallet123")
                 .userId("user123")
-                .balance(new BigDecimal("100.00"))
+                .balance(Money.of("100.00"))
                 .build();
         walletRepository.save(wallet);
 
@@ -62,7 +62,7 @@ public class WalletRepositoryImplTest {
         assertTrue(result.isPresent());
         assertEquals("wallet123", result.get().getWalletId());
         assertEquals("user123", result.get().getUserId());
-        assertEquals(new BigDecimal("100.00"), result.get().getBalance());
+        assertEquals(Money.of("100.00"), result.get().getBalance());
     }
 
     @Test
@@ -71,12 +71,12 @@ public class WalletRepositoryImplTest {
         Wallet wallet1 = Wallet.builder()
                 .walletId("wallet123")
                 .userId("user123")
-                .balance(new BigDecimal("100.00"))
+                .balance(Money.of("100.00"))
                 .build();
         Wallet wallet2 = Wallet.builder()
                 .walletId("wallet456")
                 .userId("user456")
-                .balance(new BigDecimal("200.00"))
+                .balance(Money.of("200.00"))
                 .build();
 
         walletRepository.save(wallet1);
@@ -96,7 +96,7 @@ public class WalletRepositoryImplTest {
         Wallet wallet = Wallet.builder()
                 .walletId("wallet123")
                 .userId("user123")
-                .balance(new BigDecimal("100.00"))
+                .balance(Money.of("100.00"))
                 .build();
 
         walletRepository.save(wallet);
@@ -151,7 +151,7 @@ public class WalletRepositoryImplTest {
         Wallet wallet = Wallet.builder()
                 .walletId("")
                 .userId("user123")
-                .balance(new BigDecimal("100.00"))
+                .balance(Money.of("100.00"))
                 .build();
 
         Wallet savedWallet = walletRepository.save(wallet);
@@ -168,12 +168,12 @@ public class WalletRepositoryImplTest {
         Wallet originalWallet = Wallet.builder()
                 .walletId("wallet123")
                 .userId("user123")
-                .balance(new BigDecimal("100.00"))
+                .balance(Money.of("100.00"))
                 .build();
         Wallet updatedWallet = Wallet.builder()
                 .walletId("wallet123")
                 .userId("user456")
-                .balance(new BigDecimal("200.00"))
+                .balance(Money.of("200.00"))
                 .build();
 
         walletRepository.save(originalWallet);
@@ -182,7 +182,7 @@ public class WalletRepositoryImplTest {
 
         assertTrue(result.isPresent());
         assertEquals("user456", result.get().getUserId());
-        assertEquals(new BigDecimal("200.00"), result.get().getBalance());
+        assertEquals(Money.of("200.00"), result.get().getBalance());
         assertSame(updatedWallet, result.get());
     }
 
@@ -192,12 +192,12 @@ public class WalletRepositoryImplTest {
         Wallet wallet1 = Wallet.builder()
                 .walletId("wallet123")
                 .userId("user123")
-                .balance(new BigDecimal("100.00"))
+                .balance(Money.of("100.00"))
                 .build();
         Wallet wallet2 = Wallet.builder()
                 .walletId("wallet456")
                 .userId("user123")
-                .balance(new BigDecimal("200.00"))
+                .balance(Money.of("200.00"))
                 .build();
 
         walletRepository.save(wallet1);
@@ -208,4 +208,23 @@ public class WalletRepositoryImplTest {
         assertEquals("user123", result.get().getUserId());
         assertTrue(result.get().getWalletId().equals("wallet123") || result.get().getWalletId().equals("wallet456"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_save_wallet_with_changed_user_id_updates_user_id_index() {
+        WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        Wallet originalWallet = Wallet.builder()
+                .walletId("wallet123")
+                .userId("user123")
+                .build();
+        Wallet updatedWallet = Wallet.builder()
+                .walletId("wallet123")
+                .userId("user456")
+                .build();
+
+        walletRepository.save(originalWallet);
+        walletRepository.save(updatedWallet);
+
+        assertFalse(walletRepository.findByUserId("user123").isPresent());
+        assertSame(updatedWallet, walletRepository.findByUserId("user456").get());
+    }
+}
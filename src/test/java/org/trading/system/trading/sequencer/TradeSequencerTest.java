@@ -0,0 +1,180 @@
+package org.trading.system.trading.sequencer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.journal.TradeJournal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TradeSequencerTest {
+
+    private final TradeJournal tradeJournal = mock(TradeJournal.class);
+    private TradeSequencer sequencer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (sequencer != null) {
+            sequencer.destroy();
+        }
+    }
+
+    @Test
+    void submit_runsEachUsersTradesInOrderOnOneBusinessThread() throws Exception {
+        sequencer = new TradeSequencer(tradeJournal, new SimpleMeterRegistry(), ExecutionMode.SEQUENCED, 4, 8, 30_000);
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Function<TradeRequest, ApiResponse<TradeResponse>> handler = request -> {
+            seen.add(request.getQuantity());
+            threads.add(Thread.currentThread().getName());
+            return ok(request);
+        };
+
+        List<CompletableFuture<ApiResponse<TradeResponse>>> futures = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            futures.add(sequencer.submit(trade("alice", i), handler));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i + 1, futures.get(i).get(5, TimeUnit.SECONDS).getData().getQuantity());
+        }
+        assertEquals(100, seen.size());
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals(i + 1, seen.get(i));
+        }
+        assertEquals(Set.of("trade-sequencer-" + sequencer.partitionOf("alice")), threads);
+    }
+
+    @Test
+    void submit_answersOnlyOnceTheJournalIsDurable() throws Exception {
+        AtomicLong written = new AtomicLong();
+        when(tradeJournal.lastSequence()).thenAnswer(invocation -> written.get());
+        CountDownLatch durable = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            durable.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(tradeJournal).awaitDurable(anyLong());
+        sequencer = new TradeSequencer(tradeJournal, new SimpleMeterRegistry(), ExecutionMode.SEQUENCED, 1, 8, 30_000);
+
+        CompletableFuture<ApiResponse<TradeResponse>> future = sequencer.submit(trade("alice", 1), request -> {
+            written.incrementAndGet();
+            return ok(request);
+        });
+
+        Thread.sleep(50);
+        assertFalse(future.isDone());
+        durable.countDown();
+        assertEquals(HttpStatus.OK.value(), future.get(5, TimeUnit.SECONDS).getCode());
+        verify(tradeJournal, atLeastOnce()).awaitDurable(1);
+    }
+
+    @Test
+    void submit_fullRingHoldsProducersBackWithoutLosingTrades() throws Exception {
+        sequencer = new TradeSequencer(tradeJournal, new SimpleMeterRegistry(), ExecutionMode.SEQUENCED, 2, 2, 30_000);
+        AtomicLong executed = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<ApiResponse<TradeResponse>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                TradeRequest request = trade("user-" + (i % 16), 1);
+                results.add(executor.submit(() -> sequencer.submit(request, r -> {
+                    executed.incrementAndGet();
+                    return ok(r);
+                }).join()));
+            }
+            for (Future<ApiResponse<TradeResponse>> result : results) {
+                assertEquals(HttpStatus.OK.value(), result.get(10, TimeUnit.SECONDS).getCode());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2_000, executed.get());
+    }
+
+    @Test
+    void submit_turnsAFailingHandlerIntoAnErrorResponse() throws Exception {
+        sequencer = new TradeSequencer(tradeJournal, new SimpleMeterRegistry(), ExecutionMode.SEQUENCED, 1, 4, 30_000);
+
+        ApiResponse<TradeResponse> failed = sequencer.submit(trade("alice", 1), request -> {
+            throw new IllegalStateException("boom");
+        }).get(5, TimeUnit.SECONDS);
+        ApiResponse<TradeResponse> next = sequencer.submit(trade("alice", 2), TradeSequencerTest::ok).get(5, TimeUnit.SECONDS);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), failed.getCode());
+        assertEquals(2, next.getData().getQuantity());
+    }
+
+    @Test
+    void destroy_answersATradeClaimedWhileItStops() throws Exception {
+        sequencer = new TradeSequencer(tradeJournal, new SimpleMeterRegistry(), ExecutionMode.SEQUENCED, 1, 4, 30_000);
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        // Holds the submitter after it has seen the sequencer running, until the sequencer has stopped.
+        TradeRequest request = new TradeRequest() {
+            @Override
+            public String getUserId() {
+                resolving.countDown();
+                try {
+                    stopped.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "alice";
+            }
+        };
+        CompletableFuture<CompletableFuture<ApiResponse<TradeResponse>>> submitted =
+                CompletableFuture.supplyAsync(() -> sequencer.submit(request, TradeSequencerTest::ok));
+
+        assertTrue(resolving.await(5, TimeUnit.SECONDS));
+        sequencer.destroy();
+        stopped.countDown();
+
+        CompletableFuture<ApiResponse<TradeResponse>> future = submitted.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), future.get(5, TimeUnit.SECONDS).getCode());
+    }
+
+    @Test
+    void lockedMode_startsNothingAndRefusesSubmissions() throws Exception {
+        sequencer = new TradeSequencer(tradeJournal, new SimpleMeterRegistry(), ExecutionMode.LOCKED, 4, 8, 30_000);
+
+        assertFalse(sequencer.isEnabled());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                sequencer.submit(trade("alice", 1), TradeSequencerTest::ok).get().getCode());
+    }
+
+    private static ApiResponse<TradeResponse> ok(TradeRequest request) {
+        TradeResponse response = new TradeResponse();
+        response.setUserId(request.getUserId());
+        response.setQuantity(request.getQuantity());
+        return ApiResponse.ok(response);
+    }
+
+    private static TradeRequest trade(String userId, int quantity) {
+        TradeRequest request = new TradeRequest();
+        request.setUserId(userId);
+        request.setAssetId("AAPL");
+        request.setQuantity(quantity);
+        request.setTransactionType("BUY");
+        return request;
+    }
+}
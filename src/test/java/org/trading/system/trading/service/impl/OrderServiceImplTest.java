@@ -0,0 +1,223 @@
+package org.trading.system.trading.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
+import org.trading.system.common.constants.OrderStatus;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
+import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
+import org.trading.system.portfolioManagement.model.Portfolio;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.service.impl.PortfolioServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.dto.request.OrderRequest;
+import org.trading.system.trading.dto.request.ReplaceOrderRequest;
+import org.trading.system.trading.dto.response.OrderBookResponse;
+import org.trading.system.trading.dto.response.OrderResponse;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.model.Wallet;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.trading.sequencer.ExecutionMode;
+import org.trading.system.trading.sequencer.TradeSequencer;
+import org.trading.system.userManagement.model.User;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class OrderServiceImplTest {
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    private final TradeJournal tradeJournal = mock(TradeJournal.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private WalletRepositoryImpl walletRepository;
+    private PortfolioRepositoryImpl portfolioRepository;
+    private UserManagementRepositoryImpl userRepository;
+    private AssetRepositoryImpl assetRepository;
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userRepository = new UserManagementRepositoryImpl();
+        walletRepository = new WalletRepositoryImpl();
+        portfolioRepository = new PortfolioRepositoryImpl();
+        assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+
+        UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository,
+                portfolioRepository, eventPublisher, new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1),
+                new StripedLockManager(new SimpleMeterRegistry(), 16), tradeJournal, symbols);
+        AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+        PortfolioServiceImpl portfolioService = new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols);
+        TradingServiceImpl tradingService = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                assetRepository, portfolioService, eventPublisher, new StripedLockManager(new SimpleMeterRegistry(), 16), tradeJournal,
+                new TradeSequencer(tradeJournal, new SimpleMeterRegistry(), ExecutionMode.LOCKED, 1, 1, 30_000),
+                new AccountStreamHub(walletRepository, portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 1, 0), symbols);
+        orderService = new OrderServiceImpl(assetRepository, walletRepository, portfolioRepository, tradingService,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void submit_crossingOrdersSettleThroughWalletsAndPortfolios() {
+        String seller = account("seller", "0", 10);
+        String buyer = account("buyer", "1000", 0);
+
+        ApiResponse<OrderResponse> ask = orderService.submit(order(seller, "SELL", "LIMIT", "50", 6));
+        assertEquals(OrderStatus.OPEN, ask.getData().getStatus());
+        ApiResponse<OrderResponse> bid = orderService.submit(order(buyer, "BUY", "LIMIT", "55", 4));
+
+        assertEquals(HttpStatus.OK.value(), bid.getCode());
+        assertEquals(OrderStatus.FILLED, bid.getData().getStatus());
+        assertNull(bid.getData().getOrderId());
+        assertEquals(4, bid.getData().getFilledQuantity());
+        assertEquals(Money.of("50"), bid.getData().getFills().get(0).getPrice());
+        assertEquals(ask.getData().getOrderId(), bid.getData().getFills().get(0).getRestingOrderId());
+
+        assertEquals(Money.of("800"), walletOf(buyer).getBalance());
+        assertEquals(Money.of("200"), walletOf(seller).getBalance());
+        assertEquals(4, holdingOf(buyer));
+        assertEquals(6, holdingOf(seller));
+        verify(tradeJournal, times(2)).write(any());
+        verify(tradeJournal, times(1)).awaitDurable(anyLong());
+
+        OrderBookResponse book = orderService.book("AAPL", 5).getData();
+        assertEquals(1, book.getAsks().size());
+        assertEquals(2, book.getAsks().get(0).getQuantity());
+        assertTrue(book.getBids().isEmpty());
+    }
+
+    @Test
+    void submit_marketOrderCancelsWhatTheBookCannotFill() {
+        String seller = account("seller", "0", 10);
+        String buyer = account("buyer", "1000", 0);
+        orderService.submit(order(seller, "SELL", "LIMIT", "10", 3));
+
+        ApiResponse<OrderResponse> response = orderService.submit(order(buyer, "BUY", "MARKET", null, 5));
+
+        assertEquals(OrderStatus.CANCELLED, response.getData().getStatus());
+        assertEquals(3, response.getData().getFilledQuantity());
+        assertEquals(3, holdingOf(buyer));
+    }
+
+    @Test
+    void submit_cancelsARestingOrderThatCanNoLongerSettle() {
+        String seller = account("seller", "0", 5);
+        String buyer = account("buyer", "100", 0);
+        String richBuyer = account("rich", "1000", 0);
+        ApiResponse<OrderResponse> stale = orderService.submit(order(buyer, "BUY", "LIMIT", "20", 5));
+        orderService.submit(order(richBuyer, "BUY", "LIMIT", "10", 5));
+        walletOf(buyer).setBalance(Money.ZERO);
+
+        ApiResponse<OrderResponse> ask = orderService.submit(order(seller, "SELL", "LIMIT", "10", 5));
+
+        assertEquals(OrderStatus.FILLED, ask.getData().getStatus());
+        assertEquals(5, holdingOf(richBuyer));
+        assertEquals(0, holdingOf(buyer));
+        assertEquals(HttpStatus.NOT_FOUND.value(),
+                orderService.cancel(buyer, "AAPL", stale.getData().getOrderId()).getCode());
+    }
+
+    @Test
+    void submit_doesNotTradeWithTheSameUser() {
+        String trader = account("trader", "1000", 5);
+        ApiResponse<OrderResponse> ask = orderService.submit(order(trader, "SELL", "LIMIT", "10", 5));
+
+        ApiResponse<OrderResponse> bid = orderService.submit(order(trader, "BUY", "LIMIT", "10", 5));
+
+        assertEquals(OrderStatus.OPEN, bid.getData().getStatus());
+        assertTrue(bid.getData().getFills().isEmpty());
+        assertEquals(HttpStatus.NOT_FOUND.value(), orderService.cancel(trader, "AAPL", ask.getData().getOrderId()).getCode());
+        assertEquals(Money.of("1000"), walletOf(trader).getBalance());
+    }
+
+    @Test
+    void submit_rejectsOrdersTheUserCannotSettle() {
+        String buyer = account("buyer", "10", 0);
+
+        assertEquals(List.of("Insufficient balance to trade asset with ID: AAPL"),
+                orderService.submit(order(buyer, "BUY", "LIMIT", "5", 3)).getErrors());
+        assertEquals(List.of("Insufficient quantity of asset with ID: AAPL to sell"),
+                orderService.submit(order(buyer, "SELL", "LIMIT", "5", 1)).getErrors());
+        assertEquals(List.of("Limit orders need a price greater than 0"),
+                orderService.submit(order(buyer, "BUY", "LIMIT", null, 1)).getErrors());
+        assertEquals(HttpStatus.NOT_FOUND.value(), orderService.submit(orderFor("NOPE", buyer)).getCode());
+    }
+
+    @Test
+    void cancelAndReplace_onlyReachTheOwnersOrders() {
+        String seller = account("seller", "0", 10);
+        String other = account("other", "0", 10);
+        long orderId = orderService.submit(order(seller, "SELL", "LIMIT", "50", 6)).getData().getOrderId();
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), orderService.cancel(other, "AAPL", orderId).getCode());
+        assertEquals(HttpStatus.NOT_FOUND.value(), orderService.replace("AAPL", orderId, replace(other, "40", 1)).getCode());
+
+        ApiResponse<OrderResponse> replaced = orderService.replace("AAPL", orderId, replace(seller, "50", 2));
+        assertEquals(orderId, replaced.getData().getOrderId());
+        assertEquals(2, replaced.getData().getRemainingQuantity());
+        assertEquals(OrderStatus.CANCELLED, orderService.cancel(seller, "AAPL", orderId).getData().getStatus());
+        assertTrue(orderService.book("AAPL", 5).getData().getAsks().isEmpty());
+    }
+
+    private String account(String username, String balance, int aaplHeld) {
+        User user = userRepository.save(User.builder().username(username).build());
+        walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of(balance)).build());
+        Portfolio portfolio = Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build();
+        if (aaplHeld > 0) {
+            Asset aapl = assetRepository.findById("AAPL").orElseThrow();
+            portfolio.getAssets().put("AAPL", new Asset("AAPL", aapl.getName(), aaplHeld, aapl.getPrice()));
+        }
+        portfolioRepository.save(portfolio);
+        return user.getUserId();
+    }
+
+    private Wallet walletOf(String userId) {
+        return walletRepository.findByUserId(userId).orElseThrow();
+    }
+
+    private int holdingOf(String userId) {
+        Asset asset = portfolioRepository.findByUserId(userId).orElseThrow().getAssets().get("AAPL");
+        return asset == null ? 0 : asset.getQuantity();
+    }
+
+    private static OrderRequest order(String userId, String side, String type, String price, int quantity) {
+        OrderRequest request = new OrderRequest();
+        request.setUserId(userId);
+        request.setAssetId("AAPL");
+        request.setSide(side);
+        request.setType(type);
+        request.setPrice(price == null ? null : Money.of(price));
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private static OrderRequest orderFor(String assetId, String userId) {
+        OrderRequest request = order(userId, "BUY", "LIMIT", "1", 1);
+        request.setAssetId(assetId);
+        return request;
+    }
+
+    private static ReplaceOrderRequest replace(String userId, String price, int quantity) {
+        ReplaceOrderRequest request = new ReplaceOrderRequest();
+        request.setUserId(userId);
+        request.setPrice(Money.of(price));
+        request.setQuantity(quantity);
+        return request;
+    }
+}
@@ -0,0 +1,170 @@
+package org.trading.system.trading.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.trading.system.common.concurrent.ThreadMode;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.TradeBatchRequest;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeBatchResponse;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.service.TradingService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TradeBatchServiceImplTest {
+
+    private final TradingService tradingService = mock(TradingService.class);
+    private ValidatorFactory validatorFactory;
+    private TradeBatchServiceImpl batchService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        batchService = new TradeBatchServiceImpl(tradingService, validatorFactory.getValidator(),
+                new SimpleMeterRegistry(), 100, 4, ThreadMode.PLATFORM);
+        // Echo every trade back as its own result, failing quantities over 50.
+        when(tradingService.tradeAll(anyString(), anyList())).thenAnswer(invocation -> {
+            List<TradeRequest> trades = invocation.getArgument(1);
+            List<ApiResponse<TradeResponse>> results = new ArrayList<>();
+            for (TradeRequest trade : trades) {
+                if (trade.getQuantity() > 50) {
+                    results.add(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), List.of("Too many: " + trade.getQuantity())));
+                } else {
+                    TradeResponse response = new TradeResponse();
+                    response.setUserId(trade.getUserId());
+                    response.setQuantity(trade.getQuantity());
+                    results.add(ApiResponse.ok(response));
+                }
+            }
+            return results;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.destroy();
+        validatorFactory.close();
+    }
+
+    @Test
+    void trade_groupsByUserAndKeepsResultsInRequestOrder() {
+        TradeBatchRequest request = batch(
+                trade("alice", 1), trade("bob", 2), trade("alice", 3), trade("bob", 60), trade("alice", 4));
+
+        ApiResponse<TradeBatchResponse> response = batchService.trade(request);
+
+        assertEquals(HttpStatus.OK.value(), response.getCode());
+        TradeBatchResponse batch = response.getData();
+        assertEquals(4, batch.getSucceeded());
+        assertEquals(1, batch.getFailed());
+        List<ApiResponse<TradeResponse>> results = batch.getResults();
+        assertEquals(List.of("alice", "bob", "alice"), List.of(results.get(0).getData().getUserId(),
+                results.get(1).getData().getUserId(), results.get(2).getData().getUserId()));
+        assertEquals(List.of(1, 2, 3, 4), List.of(results.get(0).getData().getQuantity(), results.get(1).getData().getQuantity(),
+                results.get(2).getData().getQuantity(), results.get(4).getData().getQuantity()));
+        assertEquals(List.of("Too many: 60"), results.get(3).getErrors());
+
+        verify(tradingService).tradeAll(eq("alice"), argThat(trades -> trades.size() == 3));
+        verify(tradingService).tradeAll(eq("bob"), argThat(trades -> trades.size() == 2));
+        verifyNoMoreInteractions(tradingService);
+    }
+
+    @Test
+    void trade_failsInvalidItemsAloneWithTheirValidationMessages() {
+        TradeRequest noAsset = trade("alice", 1);
+        noAsset.setAssetId(null);
+        TradeRequest noQuantity = trade("alice", 0);
+
+        ApiResponse<TradeBatchResponse> response = batchService.trade(batch(noAsset, trade("alice", 5), noQuantity));
+
+        List<ApiResponse<TradeResponse>> results = response.getData().getResults();
+        assertEquals(List.of("Asset ID is required"), results.get(0).getErrors());
+        assertEquals(HttpStatus.OK.value(), results.get(1).getCode());
+        assertEquals(List.of("Quantity must be greater than 0"), results.get(2).getErrors());
+        assertEquals(1, response.getData().getSucceeded());
+        verify(tradingService).tradeAll(eq("alice"), argThat(trades -> trades.size() == 1));
+    }
+
+    @Test
+    void trade_rejectsBatchOverTheLimit() {
+        TradeRequest[] trades = new TradeRequest[101];
+        for (int i = 0; i < trades.length; i++) {
+            trades[i] = trade("user" + i, 1);
+        }
+
+        ApiResponse<TradeBatchResponse> response = batchService.trade(batch(trades));
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getCode());
+        assertEquals(List.of("A batch may contain at most 100 trades"), response.getErrors());
+        verifyNoInteractions(tradingService);
+    }
+
+    @Test
+    void trade_runsUsersInParallelAndSurvivesAFailingGroup() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(tradingService.tradeAll(anyString(), anyList())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            Thread.sleep(20);
+            if ("user3".equals(invocation.getArgument(0))) {
+                throw new IllegalStateException("boom");
+            }
+            return List.of(ApiResponse.ok(new TradeResponse()));
+        });
+        TradeRequest[] trades = new TradeRequest[8];
+        for (int i = 0; i < trades.length; i++) {
+            trades[i] = trade("user" + i, 1);
+        }
+
+        ApiResponse<TradeBatchResponse> response = batchService.trade(batch(trades));
+
+        assertTrue(threads.size() > 1, "groups ran on " + threads);
+        assertEquals(7, response.getData().getSucceeded());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getData().getResults().get(3).getCode());
+    }
+
+    @Test
+    void trade_virtualThreadModeRunsEveryGroupWhateverTheRuntime() {
+        TradeBatchServiceImpl virtualBatchService = new TradeBatchServiceImpl(tradingService, validatorFactory.getValidator(),
+                new SimpleMeterRegistry(), 100, 4, ThreadMode.VIRTUAL);
+        TradeRequest[] trades = new TradeRequest[8];
+        for (int i = 0; i < trades.length; i++) {
+            trades[i] = trade("user" + i, 1);
+        }
+
+        try {
+            assertEquals(8, virtualBatchService.trade(batch(trades)).getData().getSucceeded());
+        } finally {
+            virtualBatchService.destroy();
+        }
+    }
+
+    private static TradeBatchRequest batch(TradeRequest... trades) {
+        TradeBatchRequest request = new TradeBatchRequest();
+        request.setTrades(List.of(trades));
+        return request;
+    }
+
+    private static TradeRequest trade(String userId, int quantity) {
+        TradeRequest request = new TradeRequest();
+        request.setUserId(userId);
+        request.setAssetId("AAPL");
+        request.setQuantity(quantity);
+        request.setTransactionType("BUY");
+        return request;
+    }
+}
@@ -0,0 +1,160 @@
+package org.trading.system.trading.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.trading.system.common.constants.TradeStatus;
+import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.trading.dto.request.TradeRequest;
+import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.dto.response.TradeSubmissionResponse;
+import org.trading.system.trading.service.TradingService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TradeSubmissionServiceImplTest {
+
+    private final TradingService tradingService = mock(TradingService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TradeSubmissionServiceImpl submissionService;
+
+    @AfterEach
+    void tearDown() {
+        submissionService.destroy();
+    }
+
+    @Test
+    void submit_acceptsAtOnceAndPollingSeesTheResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(tradingService.trade(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ok(invocation.getArgument(0));
+        });
+        submissionService = new TradeSubmissionServiceImpl(tradingService, meterRegistry, 2, 8, 300, 100, 5000);
+
+        ApiResponse<TradeSubmissionResponse> accepted = submissionService.submit(trade("alice", 3));
+        String tradeId = accepted.getData().getTradeId();
+
+        assertEquals(HttpStatus.ACCEPTED.value(), accepted.getCode());
+        assertNotNull(tradeId);
+        assertNull(submissionService.status(tradeId, 0).get().getData().getResult());
+
+        CompletableFuture<ApiResponse<TradeSubmissionResponse>> longPoll = submissionService.status(tradeId, 5000);
+        assertFalse(longPoll.isDone());
+        release.countDown();
+
+        TradeSubmissionResponse done = longPoll.get(5, TimeUnit.SECONDS).getData();
+        assertEquals(TradeStatus.SUCCEEDED, done.getStatus());
+        assertEquals(3, done.getResult().getData().getQuantity());
+        assertNotNull(done.getCompletedAt());
+        assertEquals(1, meterRegistry.get("trading.async.completion").timer().count());
+    }
+
+    @Test
+    void status_longPollReturnsTheCurrentStateWhenTheWaitRunsOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(tradingService.trade(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ok(invocation.getArgument(0));
+        });
+        submissionService = new TradeSubmissionServiceImpl(tradingService, meterRegistry, 1, 8, 300, 100, 5000);
+        String tradeId = submissionService.submit(trade("alice", 1)).getData().getTradeId();
+
+        TradeSubmissionResponse pending = submissionService.status(tradeId, 20).get(5, TimeUnit.SECONDS).getData();
+        release.countDown();
+
+        assertNotEquals(TradeStatus.SUCCEEDED, pending.getStatus());
+        assertNull(pending.getResult());
+        assertEquals(HttpStatus.NOT_FOUND.value(), submissionService.status("missing", 0).get().getCode());
+    }
+
+    @Test
+    void submit_runsEachUsersTradesInSubmissionOrderAndReportsFailures() throws Exception {
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        when(tradingService.trade(any())).thenAnswer(invocation -> {
+            TradeRequest request = invocation.getArgument(0);
+            executed.add(request.getQuantity());
+            return request.getQuantity() == 5
+                    ? ApiResponse.error(HttpStatus.BAD_REQUEST.value(), List.of("Insufficient balance to trade asset with ID: AAPL"))
+                    : ok(request);
+        });
+        submissionService = new TradeSubmissionServiceImpl(tradingService, meterRegistry, 4, 64, 300, 100, 5000);
+
+        List<String> tradeIds = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            tradeIds.add(submissionService.submit(trade("alice", i)).getData().getTradeId());
+        }
+
+        TradeSubmissionResponse last = submissionService.status(tradeIds.get(19), 5000).get(5, TimeUnit.SECONDS).getData();
+        assertEquals(TradeStatus.SUCCEEDED, last.getStatus());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i + 1, executed.get(i));
+        }
+        TradeSubmissionResponse failed = submissionService.status(tradeIds.get(4), 0).get().getData();
+        assertEquals(TradeStatus.FAILED, failed.getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), failed.getResult().getCode());
+    }
+
+    @Test
+    void submit_refusesTradesWhenTheLaneIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(tradingService.trade(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ok(invocation.getArgument(0));
+        });
+        submissionService = new TradeSubmissionServiceImpl(tradingService, meterRegistry, 1, 1, 300, 100, 5000);
+
+        String running = submissionService.submit(trade("alice", 1)).getData().getTradeId();
+        // Wait until the worker has taken the first trade off the queue, leaving room for exactly one.
+        while (submissionService.status(running, 0).get().getData().getStatus() == TradeStatus.QUEUED) {
+            Thread.onSpinWait();
+        }
+        assertEquals(HttpStatus.ACCEPTED.value(), submissionService.submit(trade("alice", 2)).getCode());
+        ApiResponse<TradeSubmissionResponse> refused = submissionService.submit(trade("alice", 3));
+        release.countDown();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), refused.getCode());
+        assertEquals(1.0, meterRegistry.get("trading.async.rejected").counter().count());
+    }
+
+    @Test
+    void submit_forgetsFinishedTradesBeyondMaxTracked() throws Exception {
+        when(tradingService.trade(any())).thenAnswer(invocation -> ok(invocation.getArgument(0)));
+        submissionService = new TradeSubmissionServiceImpl(tradingService, meterRegistry, 1, 8, 300, 2, 5000);
+
+        String first = submissionService.submit(trade("alice", 1)).getData().getTradeId();
+        String second = submissionService.submit(trade("alice", 2)).getData().getTradeId();
+        submissionService.status(second, 5000).get(5, TimeUnit.SECONDS);
+        String third = submissionService.submit(trade("alice", 3)).getData().getTradeId();
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), submissionService.status(first, 0).get().getCode());
+        assertEquals(HttpStatus.OK.value(), submissionService.status(second, 0).get().getCode());
+        assertEquals(HttpStatus.OK.value(), submissionService.status(third, 0).get().getCode());
+    }
+
+    private static ApiResponse<TradeResponse> ok(TradeRequest request) {
+        TradeResponse response = new TradeResponse();
+        response.setUserId(request.getUserId());
+        response.setQuantity(request.getQuantity());
+        return ApiResponse.ok(response);
+    }
+
+    private static TradeRequest trade(String userId, int quantity) {
+        TradeRequest request = new TradeRequest();
+        request.setUserId(userId);
+        request.setAssetId("AAPL");
+        request.setQuantity(quantity);
+        request.setTransactionType("BUY");
+        return request;
+    }
+}
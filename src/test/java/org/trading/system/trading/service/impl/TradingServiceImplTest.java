@@ -1,45 +1,84 @@
 package org.trading.system.trading.service.impl;
 
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.idempotency.IdempotencyCache;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
 import org.trading.system.common.event.TradeCompletedEvent;
-import org.trading.system.portfolioManagement.dto.request.AssetRequest;
+import org.trading.system.common.util.Money;
 import org.trading.system.portfolioManagement.model.Asset;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.repository.AssetRepository;
+import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+import org.trading.system.portfolioManagement.repository.impl.AssetRepositoryImpl;
+import org.trading.system.portfolioManagement.repository.impl.PortfolioRepositoryImpl;
 import org.trading.system.portfolioManagement.service.PortfolioService;
+import org.trading.system.portfolioManagement.service.impl.AssetServiceImpl;
+import org.trading.system.portfolioManagement.service.impl.PortfolioServiceImpl;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
 import org.trading.system.trading.dto.request.TradeRequest;
 import org.trading.system.trading.dto.response.TradeResponse;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.TradeRecord;
+import org.trading.system.trading.model.TradeContext;
+import org.trading.system.trading.orderbook.FillSettlement;
 import org.trading.system.trading.model.Wallet;
 import org.trading.system.trading.repository.WalletRepository;
+import org.trading.system.trading.repository.impl.WalletRepositoryImpl;
+import org.trading.system.trading.sequencer.ExecutionMode;
+import org.trading.system.trading.sequencer.TradeSequencer;
+import org.trading.system.userManagement.dto.request.CreateUserRequest;
 import org.trading.system.userManagement.model.User;
-import org.trading.system.userManagement.service.UserManagementService;
+import org.trading.system.userManagement.repository.UserManagementRepository;
+import org.trading.system.userManagement.repository.impl.UserManagementRepositoryImpl;
+import org.trading.system.userManagement.service.impl.UserManagementServiceImpl;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
 
 public class TradingServiceImplTest {
 
     @Mock private WalletRepository walletRepository;
-    @Mock private UserManagementService userManagementService;
+    @Mock private UserManagementRepository userManagementRepository;
+    @Mock private PortfolioRepository portfolioRepository;
     @Mock private AssetRepository assetRepository;
     @Mock private PortfolioService portfolioService;
     @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private TradeJournal tradeJournal;
+    @Mock private TradeSequencer tradeSequencer;
+    @Mock private AccountStreamHub accountStreamHub;
+    @Spy private StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 16);
+
+    @Spy private SymbolTable symbols = new SymbolTable();
 
     @InjectMocks private TradingServiceImpl tradingService;
 
@@ -58,21 +97,22 @@ public class TradingServiceImplTest {
 
         User user = User.builder()
                 .userId("user123")
-                .wallet(Wallet.builder().balance(new BigDecimal("1000")).build())
-                .portfolio(new Portfolio())
+                .wallet(Wallet.builder().balance(Money.of("1000")).build())
+                .portfolio(Portfolio.builder().holdings(new Holdings(symbols)).build())
                 .build();
 
         Asset asset = Asset.builder()
                 .assetId("asset123")
-                .price(new BigDecimal("50"))
+                .price(Money.of("50"))
                 .build();
 
-        ApiResponse<User> userResponse = ApiResponse.ok(user);
-        ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(new Portfolio());
+        ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(Portfolio.builder().holdings(new Holdings(symbols)).build());
 
-        when(userManagementService.getUserById("user123")).thenReturn(userResponse);
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
         when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
-        when(portfolioService.addAsset(any(AssetRequest.class))).thenReturn(portfolioResponse);
+        when(portfolioService.addAsset(any(TradeContext.class))).thenReturn(portfolioResponse);
 
         ApiResponse<TradeResponse> result = tradingService.trade(request);
 
@@ -80,6 +120,17 @@ public class TradingServiceImplTest {
         assertNotNull(result.getData());
         verify(walletRepository).save(any(Wallet.class));
         verify(eventPublisher).publishEvent(any(TradeCompletedEvent.class));
+        verify(accountStreamHub).walletChanged("user123");
+        verify(accountStreamHub).holdingChanged("user123", "asset123");
+
+        ArgumentCaptor<TradeRecord> recordCaptor = ArgumentCaptor.forClass(TradeRecord.class);
+        verify(tradeJournal).append(recordCaptor.capture());
+        TradeRecord record = recordCaptor.getValue();
+        assertEquals("user123", record.getUserId());
+        assertEquals("asset123", record.getAssetId());
+        assertEquals(10, record.getQuantity());
+        assertEquals(50_000L, record.getTotalPriceMinorUnits());
+        assertEquals(50_000L, record.getWalletBalanceMinorUnits());
     }
 
     @Test
@@ -93,32 +144,33 @@ public class TradingServiceImplTest {
         Asset userAsset = Asset.builder()
                 .assetId("asset123")
                 .quantity(10)
-                .price(new BigDecimal("50"))
+                .price(Money.of("50"))
                 .build();
 
         Map<String, Asset> assets = new HashMap<>();
         assets.put("asset123", userAsset);
 
-        Portfolio portfolio = new Portfolio();
-        portfolio.setAssets(assets);
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.getAssets().putAll(assets);
 
         User user = User.builder()
                 .userId("user123")
-                .wallet(Wallet.builder().balance(new BigDecimal("500")).build())
+                .wallet(Wallet.builder().balance(Money.of("500")).build())
                 .portfolio(portfolio)
                 .build();
 
         Asset asset = Asset.builder()
                 .assetId("asset123")
-                .price(new BigDecimal("50"))
+                .price(Money.of("50"))
                 .build();
 
-        ApiResponse<User> userResponse = ApiResponse.ok(user);
         ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(portfolio);
 
-        when(userManagementService.getUserById("user123")).thenReturn(userResponse);
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
         when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
-        when(portfolioService.removeAsset(any(AssetRequest.class))).thenReturn(portfolioResponse);
+        when(portfolioService.removeAsset(any(TradeContext.class))).thenReturn(portfolioResponse);
 
         ApiResponse<TradeResponse> result = tradingService.trade(request);
 
@@ -138,21 +190,22 @@ public class TradingServiceImplTest {
 
         User user = User.builder()
                 .userId("user123")
-                .wallet(Wallet.builder().balance(new BigDecimal("1000")).build())
-                .portfolio(new Portfolio())
+                .wallet(Wallet.builder().balance(Money.of("1000")).build())
+                .portfolio(Portfolio.builder().holdings(new Holdings(symbols)).build())
                 .build();
 
         Asset asset = Asset.builder()
                 .assetId("asset123")
-                .price(new BigDecimal("50"))
+                .price(Money.of("50"))
                 .build();
 
-        ApiResponse<User> userResponse = ApiResponse.ok(user);
-        ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(new Portfolio());
+        ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(Portfolio.builder().holdings(new Holdings(symbols)).build());
 
-        when(userManagementService.getUserById("user123")).thenReturn(userResponse);
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
         when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
-        when(portfolioService.addAsset(any(AssetRequest.class))).thenReturn(portfolioResponse);
+        when(portfolioService.addAsset(any(TradeContext.class))).thenReturn(portfolioResponse);
 
         ApiResponse<TradeResponse> result = tradingService.trade(request);
 
@@ -161,7 +214,7 @@ public class TradingServiceImplTest {
         assertEquals("user123", response.getUserId());
         assertEquals("asset123", response.getAssetId());
         assertEquals(10, response.getQuantity());
-        assertEquals(new BigDecimal("500"), response.getTotalPrice());
+        assertEquals(Money.of("500.00"), response.getTotalPrice());
         assertNotNull(response.getPurchasedAt());
     }
 
@@ -175,21 +228,22 @@ public class TradingServiceImplTest {
 
         User user = User.builder()
                 .userId("user123")
-                .wallet(Wallet.builder().balance(new BigDecimal("1000")).build())
-                .portfolio(new Portfolio())
+                .wallet(Wallet.builder().balance(Money.of("1000")).build())
+                .portfolio(Portfolio.builder().holdings(new Holdings(symbols)).build())
                 .build();
 
         Asset asset = Asset.builder()
                 .assetId("asset123")
-                .price(new BigDecimal("50"))
+                .price(Money.of("50"))
                 .build();
 
-        ApiResponse<User> userResponse = ApiResponse.ok(user);
-        ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(new Portfolio());
+        ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(Portfolio.builder().holdings(new Holdings(symbols)).build());
 
-        when(userManagementService.getUserById("user123")).thenReturn(userResponse);
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
         when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
-        when(portfolioService.addAsset(any(AssetRequest.class))).thenReturn(portfolioResponse);
+        when(portfolioService.addAsset(any(TradeContext.class))).thenReturn(portfolioResponse);
 
         tradingService.trade(request);
 
@@ -207,31 +261,32 @@ public class TradingServiceImplTest {
         request.setQuantity(10);
         request.setTransactionType("BUY");
 
-        Wallet wallet = Wallet.builder().balance(new BigDecimal("1000")).build();
+        Wallet wallet = Wallet.builder().balance(Money.of("1000")).build();
         User user = User.builder()
                 .userId("user123")
                 .wallet(wallet)
-                .portfolio(new Portfolio())
+                .portfolio(Portfolio.builder().holdings(new Holdings(symbols)).build())
                 .build();
 
         Asset asset = Asset.builder()
                 .assetId("asset123")
-                .price(new BigDecimal("50"))
+                .price(Money.of("50"))
                 .build();
 
-        ApiResponse<User> userResponse = ApiResponse.ok(user);
-        ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(new Portfolio());
+        ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(Portfolio.builder().holdings(new Holdings(symbols)).build());
 
-        when(userManagementService.getUserById("user123")).thenReturn(userResponse);
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
         when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
-        when(portfolioService.addAsset(any(AssetRequest.class))).thenReturn(portfolioResponse);
+        when(portfolioService.addAsset(any(TradeContext.class))).thenReturn(portfolioResponse);
 
         tradingService.trade(request);
 
         ArgumentCaptor<Wallet> walletCaptor = ArgumentCaptor.forClass(Wallet.class);
         verify(walletRepository).save(walletCaptor.capture());
         Wallet savedWallet = walletCaptor.getValue();
-        assertEquals(new BigDecimal("500"), savedWallet.getBalance());
+        assertEquals(Money.of("500.00"), savedWallet.getBalance());
     }
 
     @Test
@@ -245,16 +300,16 @@ public class TradingServiceImplTest {
         Asset userAsset = Asset.builder()
                 .assetId("asset123")
                 .quantity(10)
-                .price(new BigDecimal("50"))
+                .price(Money.of("50"))
                 .build();
 
         Map<String, Asset> assets = new HashMap<>();
         assets.put("asset123", userAsset);
 
-        Portfolio portfolio = new Portfolio();
-        portfolio.setAssets(assets);
+        Portfolio portfolio = Portfolio.builder().holdings(new Holdings(symbols)).build();
+        portfolio.getAssets().putAll(assets);
 
-        Wallet wallet = Wallet.builder().balance(new BigDecimal("500")).build();
+        Wallet wallet = Wallet.builder().balance(Money.of("500")).build();
         User user = User.builder()
                 .userId("user123")
                 .wallet(wallet)
@@ -263,22 +318,23 @@ public class TradingServiceImplTest {
 
         Asset asset = Asset.builder()
                 .assetId("asset123")
-                .price(new BigDecimal("50"))
+                .price(Money.of("50"))
                 .build();
 
-        ApiResponse<User> userResponse = ApiResponse.ok(user);
         ApiResponse<Portfolio> portfolioResponse = ApiResponse.ok(portfolio);
 
-        when(userManagementService.getUserById("user123")).thenReturn(userResponse);
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
         when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
-        when(portfolioService.removeAsset(any(AssetRequest.class))).thenReturn(portfolioResponse);
+        when(portfolioService.removeAsset(any(TradeContext.class))).thenReturn(portfolioResponse);
 
         tradingService.trade(request);
 
         ArgumentCaptor<Wallet> walletCaptor = ArgumentCaptor.forClass(Wallet.class);
         verify(walletRepository).save(walletCaptor.capture());
         Wallet savedWallet = walletCaptor.getValue();
-        assertEquals(new BigDecimal("750"), savedWallet.getBalance());
+        assertEquals(Money.of("750.00"), savedWallet.getBalance());
     }
 
     @Test
@@ -289,13 +345,14 @@ public class TradingServiceImplTest {
         request.setQuantity(10);
         request.setTransactionType("BUY");
 
-        when(userManagementService.getUserById("nonexistent")).thenThrow(new RuntimeException("User not found"));
+        when(userManagementRepository.findById("nonexistent")).thenReturn(Optional.empty());
 
         ApiResponse<TradeResponse> result = tradingService.trade(request);
 
         assertEquals(HttpStatus.NOT_FOUND.value(), result.getCode());
         assertNotNull(result.getErrors());
         assertTrue(result.getErrors().contains("User not found with ID: nonexistent"));
+        verify(tradeJournal, never()).append(any());
     }
 
     @Test
@@ -308,12 +365,14 @@ public class TradingServiceImplTest {
 
         User user = User.builder()
                 .userId("user123")
-                .wallet(Wallet.builder().balance(new BigDecimal("1000")).build())
+                .wallet(Wallet.builder().balance(Money.of("1000")).build())
+                .portfolio(Portfolio.builder().holdings(new Holdings(symbols)).build())
                 .build();
 
-        ApiResponse<User> userResponse = ApiResponse.ok(user);
 
-        when(userManagementService.getUserById("user123")).thenReturn(userResponse);
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
         when(assetRepository.findById("nonexistent")).thenReturn(Optional.empty());
 
         ApiResponse<TradeResponse> result = tradingService.trade(request);
@@ -322,4 +381,462 @@ public class TradingServiceImplTest {
         assertNotNull(result.getErrors());
         assertTrue(result.getErrors().contains("Asset not found with ID: nonexistent"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_resolves_user_wallet_portfolio_and_asset_once_per_trade() {
+        TradeRequest request = new TradeRequest();
+        request.setUserId("user123");
+        request.setAssetId("asset123");
+        request.setQuantity(2);
+        request.setTransactionType("BUY");
+
+        Wallet wallet = Wallet.builder().userId("user123").balance(Money.of("1000")).build();
+        Portfolio portfolio = Portfolio.builder().userId("user123").holdings(new Holdings(symbols)).build();
+        User user = User.builder().userId("user123").build();
+        Asset asset = Asset.builder().assetId("asset123").price(Money.of("50")).build();
+
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.of(wallet));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.of(portfolio));
+        when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
+        when(portfolioService.addAsset(any(TradeContext.class))).thenReturn(ApiResponse.ok(portfolio));
+
+        tradingService.trade(request);
+
+        ArgumentCaptor<TradeContext> contextCaptor = ArgumentCaptor.forClass(TradeContext.class);
+        verify(portfolioService).addAsset(contextCaptor.capture());
+        TradeContext context = contextCaptor.getValue();
+        assertSame(wallet, context.getWallet());
+        assertSame(portfolio, context.getPortfolio());
+        assertSame(asset, context.getCatalogAsset());
+        assertEquals(Money.of("100.00"), context.getTotalPrice());
+        verify(userManagementRepository, times(1)).findById("user123");
+        verify(walletRepository, times(1)).findByUserId("user123");
+        verify(portfolioRepository, times(1)).findByUserId("user123");
+        verify(assetRepository, times(1)).findById("asset123");
+    }
+
+    @Test
+    public void test_returns_not_found_error_when_wallet_does_not_exist() {
+        TradeRequest request = new TradeRequest();
+        request.setUserId("user123");
+        request.setAssetId("asset123");
+        request.setQuantity(1);
+        request.setTransactionType("BUY");
+
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(User.builder().userId("user123").build()));
+        when(assetRepository.findById("asset123")).thenReturn(Optional.of(Asset.builder().assetId("asset123").price(Money.of(10)).build()));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.empty());
+
+        ApiResponse<TradeResponse> result = tradingService.trade(request);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), result.getCode());
+        assertTrue(result.getErrors().contains("Wallet not found for user: user123"));
+    }
+
+    @Test
+    public void test_returns_bad_request_for_invalid_transaction_type() {
+        TradeRequest request = new TradeRequest();
+        request.setUserId("user123");
+        request.setAssetId("asset123");
+        request.setQuantity(1);
+        request.setTransactionType("HOLD");
+
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(User.builder().userId("user123").build()));
+        when(assetRepository.findById("asset123")).thenReturn(Optional.of(Asset.builder().assetId("asset123").price(Money.of(10)).build()));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.of(Wallet.builder().userId("user123").build()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.of(Portfolio.builder().userId("user123").holdings(new Holdings(symbols)).build()));
+
+        ApiResponse<TradeResponse> result = tradingService.trade(request);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), result.getCode());
+        assertTrue(result.getErrors().contains("Invalid transaction type: HOLD"));
+    }
+
+    @Test
+    public void test_publishes_the_trade_event_after_releasing_the_user_lock() throws Exception {
+        User user = User.builder()
+                .userId("user123")
+                .wallet(Wallet.builder().balance(Money.of("1000")).build())
+                .portfolio(Portfolio.builder().holdings(new Holdings(symbols)).build())
+                .build();
+        Asset asset = Asset.builder()
+                .assetId("asset123")
+                .price(Money.of("50"))
+                .build();
+
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
+        when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
+        when(portfolioService.addAsset(any(TradeContext.class))).thenReturn(ApiResponse.ok(user.getPortfolio()));
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        List<Boolean> stripeFree = new ArrayList<>();
+        doAnswer(invocation -> {
+            // A listener on another thread must be able to take the stripe while the event is handed over.
+            stripeFree.add(other.submit(() -> lockManager.executeLocked("user123", () -> true)).get(5, TimeUnit.SECONDS));
+            return null;
+        }).when(eventPublisher).publishEvent(any(TradeCompletedEvent.class));
+
+        try {
+            assertEquals(HttpStatus.OK.value(), tradingService.trade(tradeRequest("user123", "asset123", 1, "BUY")).getCode());
+        } finally {
+            other.shutdownNow();
+        }
+        assertEquals(List.of(true), stripeFree);
+    }
+
+    @Test
+    public void test_undoes_a_buy_the_journal_refuses() {
+        User user = User.builder()
+                .userId("user123")
+                .wallet(Wallet.builder().balance(Money.of("1000")).build())
+                .portfolio(Portfolio.builder().holdings(new Holdings(symbols)).build())
+                .build();
+        Asset asset = Asset.builder()
+                .assetId("asset123")
+                .price(Money.of("50"))
+                .build();
+
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
+        when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
+        when(portfolioService.addAsset(any(TradeContext.class))).thenReturn(ApiResponse.ok(user.getPortfolio()));
+        when(tradeJournal.append(any(TradeRecord.class))).thenThrow(new IllegalStateException("Trade journal is closed"));
+
+        ApiResponse<TradeResponse> result = tradingService.trade(tradeRequest("user123", "asset123", 10, "BUY"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), result.getCode());
+        assertEquals(Money.of("1000"), user.getWallet().getBalance());
+        verify(eventPublisher, never()).publishEvent(any());
+        verifyNoInteractions(accountStreamHub);
+    }
+
+    @Test
+    public void test_undoes_a_sell_the_journal_refuses() throws Exception {
+        UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+        AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository, portfolioRepository, eventPublisher,
+                new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1), lockManager, tradeJournal, symbols);
+        AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+        TradingServiceImpl service = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                assetRepository, new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols),
+                eventPublisher, lockManager, tradeJournal, tradeSequencer, accountStreamHub, symbols);
+
+        User user = userRepository.save(User.builder().username("seller").build());
+        Wallet wallet = walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(Money.of("100000")).build());
+        Portfolio portfolio = portfolioRepository.save(Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build());
+        assertEquals(HttpStatus.OK.value(), service.trade(tradeRequest(user.getUserId(), "AAPL", 3, "BUY")).getCode());
+        Money balance = wallet.getBalance();
+        Money value = portfolio.getValue();
+
+        when(tradeJournal.append(any(TradeRecord.class))).thenThrow(new IllegalStateException("Trade journal is closed"));
+        ApiResponse<TradeResponse> result = service.trade(tradeRequest(user.getUserId(), "AAPL", 3, "SELL"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), result.getCode());
+        assertEquals(balance, wallet.getBalance());
+        assertEquals(value, portfolio.getValue());
+        assertEquals(3, portfolio.getAssets().get("AAPL").getQuantity());
+        verify(eventPublisher, times(1)).publishEvent(any(TradeCompletedEvent.class));
+    }
+
+    @Test
+    public void test_undoes_the_buyer_of_a_fill_whose_seller_leg_fails_without_a_record_or_event() throws Exception {
+        UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+        AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository, portfolioRepository, eventPublisher,
+                new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1), lockManager, tradeJournal, symbols);
+        AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+        PortfolioServiceImpl portfolioService = spy(new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols));
+        TradingServiceImpl service = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                assetRepository, portfolioService, eventPublisher, lockManager, tradeJournal, tradeSequencer, accountStreamHub, symbols);
+
+        User seller = userRepository.save(User.builder().username("seller").build());
+        walletRepository.save(Wallet.builder().userId(seller.getUserId()).balance(Money.of("100000")).build());
+        portfolioRepository.save(Portfolio.builder().userId(seller.getUserId()).holdings(new Holdings(symbols)).build());
+        assertEquals(HttpStatus.OK.value(), service.trade(tradeRequest(seller.getUserId(), "AAPL", 3, "BUY")).getCode());
+        User buyer = userRepository.save(User.builder().username("buyer").build());
+        Wallet buyerWallet = walletRepository.save(Wallet.builder().userId(buyer.getUserId()).balance(Money.of("100000")).build());
+        Portfolio buyerPortfolio = portfolioRepository.save(Portfolio.builder().userId(buyer.getUserId()).holdings(new Holdings(symbols)).build());
+        Money buyerValue = buyerPortfolio.getValue();
+        clearInvocations(tradeJournal, eventPublisher, accountStreamHub);
+        doReturn(ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(), List.of("Portfolio unavailable")))
+                .when(portfolioService).removeAsset(any(TradeContext.class));
+
+        FillSettlement settlement = service.settleFill(buyer.getUserId(), seller.getUserId(), "AAPL", 2, 10_000);
+
+        assertEquals(FillSettlement.SELLER_REJECTED, settlement);
+        assertEquals(Money.of("100000"), buyerWallet.getBalance());
+        assertEquals(buyerValue, buyerPortfolio.getValue());
+        assertNull(buyerPortfolio.getAssets().get("AAPL"));
+        verifyNoInteractions(tradeJournal, eventPublisher, accountStreamHub);
+    }
+
+    @Test
+    public void test_waits_once_for_both_legs_of_a_settled_fill() throws Exception {
+        UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+        AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository, portfolioRepository, eventPublisher,
+                new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1), lockManager, tradeJournal, symbols);
+        AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+        TradingServiceImpl service = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                assetRepository, new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols),
+                eventPublisher, lockManager, tradeJournal, tradeSequencer, accountStreamHub, symbols);
+
+        User seller = userRepository.save(User.builder().username("seller").build());
+        walletRepository.save(Wallet.builder().userId(seller.getUserId()).balance(Money.of("100000")).build());
+        portfolioRepository.save(Portfolio.builder().userId(seller.getUserId()).holdings(new Holdings(symbols)).build());
+        assertEquals(HttpStatus.OK.value(), service.trade(tradeRequest(seller.getUserId(), "AAPL", 3, "BUY")).getCode());
+        User buyer = userRepository.save(User.builder().username("buyer").build());
+        walletRepository.save(Wallet.builder().userId(buyer.getUserId()).balance(Money.of("100000")).build());
+        portfolioRepository.save(Portfolio.builder().userId(buyer.getUserId()).holdings(new Holdings(symbols)).build());
+        clearInvocations(tradeJournal);
+
+        FillSettlement settlement = service.settleFill(buyer.getUserId(), seller.getUserId(), "AAPL", 2, 10_000);
+
+        assertEquals(FillSettlement.SETTLED, settlement);
+        InOrder journal = inOrder(tradeJournal);
+        journal.verify(tradeJournal, times(2)).write(any(TradeRecord.class));
+        journal.verify(tradeJournal, times(1)).awaitDurable(anyLong());
+        verify(tradeJournal, never()).append(any(TradeRecord.class));
+    }
+
+    @Test
+    public void test_a_user_can_trade_as_soon_as_it_is_created() throws Exception {
+        UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+        AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+        // The event publisher is a mock, so nothing but createUser itself can make the wallet and portfolio.
+        UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository, portfolioRepository, eventPublisher,
+                new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1), lockManager, tradeJournal, symbols);
+        AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+        TradingServiceImpl service = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                assetRepository, new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols),
+                eventPublisher, lockManager, tradeJournal, tradeSequencer, accountStreamHub, symbols);
+
+        CreateUserRequest request = new CreateUserRequest();
+        request.setUsername("newcomer");
+        String userId = userManagementService.createUser(request).getData().getUserId();
+
+        ApiResponse<TradeResponse> rejected = service.trade(tradeRequest(userId, "AAPL", 1, "BUY"));
+        assertEquals(HttpStatus.BAD_REQUEST.value(), rejected.getCode());
+        assertTrue(rejected.getErrors().contains("Insufficient balance to trade asset with ID: AAPL"));
+
+        walletRepository.findByUserId(userId).orElseThrow().credit(Money.of("100000").getMinorUnits());
+        assertEquals(HttpStatus.OK.value(), service.trade(tradeRequest(userId, "AAPL", 1, "BUY")).getCode());
+        assertEquals(1, portfolioRepository.findByUserId(userId).orElseThrow().getAssets().get("AAPL").getQuantity());
+    }
+
+    @Test
+    public void test_gives_up_on_a_sequenced_trade_that_never_answers() {
+        when(tradeSequencer.isEnabled()).thenReturn(true);
+        when(tradeSequencer.getResponseTimeoutMillis()).thenReturn(50L);
+        when(tradeSequencer.submit(any(TradeRequest.class), any())).thenReturn(new CompletableFuture<>());
+
+        ApiResponse<TradeResponse> result = tradingService.trade(tradeRequest("user123", "asset123", 1, "BUY"));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), result.getCode());
+        assertTrue(result.getErrors().contains("The trade did not complete in time; check the portfolio before retrying."));
+    }
+
+    @Test
+    public void test_a_retry_after_a_sequencer_timeout_does_not_trade_again() {
+        when(tradeSequencer.isEnabled()).thenReturn(true);
+        when(tradeSequencer.getResponseTimeoutMillis()).thenReturn(50L);
+        when(tradeSequencer.submit(any(TradeRequest.class), any())).thenReturn(new CompletableFuture<>());
+        IdempotencyCache idempotencyCache = new IdempotencyCache(new SimpleMeterRegistry(), 16, 60);
+        TradeRequest request = tradeRequest("user123", "asset123", 1, "BUY");
+
+        ApiResponse<TradeResponse> first = idempotencyCache.execute("trade", "user123", "key-1", "BUY 1 asset123",
+                () -> tradingService.trade(request));
+        ApiResponse<TradeResponse> retry = idempotencyCache.execute("trade", "user123", "key-1", "BUY 1 asset123",
+                () -> tradingService.trade(request));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), first.getCode());
+        assertSame(first, retry);
+        verify(tradeSequencer, times(1)).submit(any(TradeRequest.class), any());
+    }
+
+    @Test
+    public void test_a_trade_the_sequencer_stopped_before_running_is_refused() {
+        when(tradeSequencer.isEnabled()).thenReturn(true);
+        when(tradeSequencer.getResponseTimeoutMillis()).thenReturn(50L);
+        when(tradeSequencer.submit(any(TradeRequest.class), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("stopped")));
+
+        ApiResponse<TradeResponse> response = tradingService.trade(tradeRequest("user123", "asset123", 1, "BUY"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getCode());
+    }
+
+    @Test
+    public void test_trade_all_resolves_account_once_and_reports_each_trade() {
+        User user = User.builder()
+                .userId("user123")
+                .wallet(Wallet.builder().balance(Money.of("100")).build())
+                .portfolio(Portfolio.builder().holdings(new Holdings(symbols)).build())
+                .build();
+        Asset asset = Asset.builder()
+                .assetId("asset123")
+                .price(Money.of("50"))
+                .build();
+
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
+        when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
+        when(assetRepository.findById("missing")).thenReturn(Optional.empty());
+        when(portfolioService.addAsset(any(TradeContext.class))).thenReturn(ApiResponse.ok(user.getPortfolio()));
+
+        List<ApiResponse<TradeResponse>> results = tradingService.tradeAll("user123", List.of(
+                tradeRequest("user123", "asset123", 1, "BUY"),
+                tradeRequest("user123", "asset123", 2, "BUY"),
+                tradeRequest("user123", "missing", 1, "BUY")));
+
+        assertEquals(List.of(HttpStatus.OK.value(), HttpStatus.BAD_REQUEST.value(), HttpStatus.NOT_FOUND.value()),
+                results.stream().map(ApiResponse::getCode).toList());
+        assertEquals(Money.of("50"), user.getWallet().getBalance());
+        verify(userManagementRepository, times(1)).findById("user123");
+        verify(walletRepository, times(1)).findByUserId("user123");
+        verify(portfolioRepository, times(1)).findByUserId("user123");
+        verify(tradeJournal, times(1)).write(any(TradeRecord.class));
+        verify(tradeJournal, never()).append(any(TradeRecord.class));
+        verify(tradeJournal, times(1)).awaitDurable(anyLong());
+    }
+
+    @Test
+    public void test_trade_all_reports_applied_trades_whose_record_was_not_forced() {
+        User user = User.builder()
+                .userId("user123")
+                .wallet(Wallet.builder().balance(Money.of("100")).build())
+                .portfolio(Portfolio.builder().holdings(new Holdings(symbols)).build())
+                .build();
+        Asset asset = Asset.builder()
+                .assetId("asset123")
+                .price(Money.of("50"))
+                .build();
+
+        when(userManagementRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(walletRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getWallet()));
+        when(portfolioRepository.findByUserId("user123")).thenReturn(Optional.ofNullable(user.getPortfolio()));
+        when(assetRepository.findById("asset123")).thenReturn(Optional.of(asset));
+        when(portfolioService.addAsset(any(TradeContext.class))).thenReturn(ApiResponse.ok(user.getPortfolio()));
+        doThrow(new IllegalStateException("Trade journal failed to force sequence 1"))
+                .when(tradeJournal).awaitDurable(anyLong());
+
+        List<ApiResponse<TradeResponse>> results = tradingService.tradeAll("user123", List.of(
+                tradeRequest("user123", "asset123", 1, "BUY"),
+                tradeRequest("user123", "asset123", 2, "BUY")));
+
+        assertEquals(List.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), HttpStatus.BAD_REQUEST.value()),
+                results.stream().map(ApiResponse::getCode).toList());
+        assertEquals(List.of("The trade was applied but could not be made durable."), results.get(0).getErrors());
+        assertEquals(Money.of("50"), user.getWallet().getBalance());
+    }
+
+    @Test
+    public void test_trade_all_fails_every_trade_of_an_unknown_user() {
+        when(userManagementRepository.findById("ghost")).thenReturn(Optional.empty());
+
+        List<ApiResponse<TradeResponse>> results = tradingService.tradeAll("ghost", List.of(
+                tradeRequest("ghost", "asset123", 1, "BUY"),
+                tradeRequest("ghost", "asset123", 1, "SELL")));
+
+        assertEquals(2, results.size());
+        results.forEach(result -> {
+            assertEquals(HttpStatus.NOT_FOUND.value(), result.getCode());
+            assertTrue(result.getErrors().contains("User not found with ID: ghost"));
+        });
+        verifyNoInteractions(assetRepository, portfolioService, tradeJournal);
+    }
+
+    private static TradeRequest tradeRequest(String userId, String assetId, int quantity, String transactionType) {
+        TradeRequest request = new TradeRequest();
+        request.setUserId(userId);
+        request.setAssetId(assetId);
+        request.setQuantity(quantity);
+        request.setTransactionType(transactionType);
+        return request;
+    }
+
+    @Test
+    public void test_concurrent_buys_for_same_user_never_overdraw_wallet() throws Exception {
+        assertConcurrentBuysNeverOverdraw(tradeSequencer);
+        verify(tradeJournal, times(10)).append(any(TradeRecord.class));
+    }
+
+    @Test
+    public void test_sequenced_buys_for_same_user_never_overdraw_wallet() throws Exception {
+        TradeSequencer sequencer = new TradeSequencer(tradeJournal, new SimpleMeterRegistry(), ExecutionMode.SEQUENCED, 2, 4, 30_000);
+        try {
+            assertConcurrentBuysNeverOverdraw(sequencer);
+        } finally {
+            sequencer.destroy();
+        }
+        verify(tradeJournal, times(10)).write(any(TradeRecord.class));
+        verify(tradeJournal, never()).append(any(TradeRecord.class));
+        verify(tradeJournal, atLeastOnce()).awaitDurable(anyLong());
+    }
+
+    private void assertConcurrentBuysNeverOverdraw(TradeSequencer sequencer) throws Exception {
+        UserManagementRepositoryImpl userRepository = new UserManagementRepositoryImpl();
+        WalletRepositoryImpl walletRepository = new WalletRepositoryImpl();
+        PortfolioRepositoryImpl portfolioRepository = new PortfolioRepositoryImpl();
+        AssetRepositoryImpl assetRepository = new AssetRepositoryImpl(symbols);
+        assetRepository.run(null);
+
+        UserManagementServiceImpl userManagementService = new UserManagementServiceImpl(userRepository, walletRepository, portfolioRepository, eventPublisher,
+                new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.INLINE, 1, 1, 1), lockManager, tradeJournal, symbols);
+        AssetServiceImpl assetService = new AssetServiceImpl(assetRepository, userManagementService, symbols);
+        PortfolioServiceImpl portfolioService = new PortfolioServiceImpl(portfolioRepository, userManagementService, assetService, symbols);
+        TradingServiceImpl service = new TradingServiceImpl(walletRepository, userRepository, portfolioRepository,
+                assetRepository, portfolioService, eventPublisher, lockManager, tradeJournal, sequencer,
+                new AccountStreamHub(walletRepository, portfolioRepository, symbols, new SimpleMeterRegistry(), 256, 1, 0), symbols);
+
+        int affordable = 10;
+        Money price = assetRepository.findById("AAPL").orElseThrow().getPrice();
+        User user = userRepository.save(User.builder().username("racer").build());
+        walletRepository.save(Wallet.builder().userId(user.getUserId()).balance(price.times(affordable)).build());
+        portfolioRepository.save(Portfolio.builder().userId(user.getUserId()).holdings(new Holdings(symbols)).build());
+
+        int attempts = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<ApiResponse<TradeResponse>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                TradeRequest request = new TradeRequest();
+                request.setUserId(user.getUserId());
+                request.setAssetId("AAPL");
+                request.setQuantity(1);
+                request.setTransactionType("BUY");
+                results.add(executor.submit(() -> service.trade(request)));
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        int succeeded = 0;
+        for (Future<ApiResponse<TradeResponse>> result : results) {
+            if (result.get().getCode() == HttpStatus.OK.value()) {
+                succeeded++;
+            }
+        }
+
+        assertEquals(affordable, succeeded);
+        assertEquals(0, walletRepository.findByUserId(user.getUserId()).orElseThrow().getBalance().signum());
+        assertEquals(affordable, portfolioRepository.findByUserId(user.getUserId()).orElseThrow().getAssets().get("AAPL").getQuantity());
+    }
+}
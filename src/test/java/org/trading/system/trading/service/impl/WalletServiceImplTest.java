@@ -1,29 +1,45 @@
 package org.trading.system.trading.service.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
 import org.trading.system.trading.dto.request.WalletRequest;
+import org.trading.system.trading.journal.JournalRecordType;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.TradeRecord;
 import org.trading.system.trading.model.Wallet;
 import org.trading.system.trading.repository.WalletRepository;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.service.UserManagementService;
 
-import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class WalletServiceImplTest {
 
     @Mock private WalletRepository walletRepository;
     @Mock private UserManagementService userManagementService;
+    @Mock private AccountStreamHub accountStreamHub;
+    @Mock private TradeJournal tradeJournal;
+    @Spy private StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 16);
 
     @InjectMocks private WalletServiceImpl walletService;
 
@@ -41,7 +57,7 @@ public class WalletServiceImplTest {
         User user = User.builder().userId(userId).username("testuser").build();
         ApiResponse<User> userApiResponse = ApiResponse.ok(user);
 
-        Wallet savedWallet = Wallet.builder().userId(userId).balance(BigDecimal.ZERO).build();
+        Wallet savedWallet = Wallet.builder().userId(userId).balance(Money.ZERO).build();
 
         when(userManagementService.getUserById(userId)).thenReturn(userApiResponse);
         when(walletRepository.findByUserId(userId)).thenReturn(Optional.empty());
@@ -53,7 +69,7 @@ public class WalletServiceImplTest {
         assertEquals(HttpStatus.OK.value(), result.getCode());
         assertNotNull(result.getData());
         assertEquals(userId, result.getData().getUserId());
-        assertEquals(BigDecimal.ZERO, result.getData().getBalance());
+        assertEquals(Money.of("0.00"), result.getData().getBalance());
     }
 
     @Test
@@ -67,8 +83,8 @@ public class WalletServiceImplTest {
         User user = User.builder().userId(userId).username("testuser").build();
         ApiResponse<User> userApiResponse = ApiResponse.ok(user);
 
-        Wallet existingWallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(50.0)).build();
-        Wallet updatedWallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(150.0)).build();
+        Wallet existingWallet = Wallet.builder().userId(userId).balance(Money.of(50.0)).build();
+        Wallet updatedWallet = Wallet.builder().userId(userId).balance(Money.of(150.0)).build();
 
         when(userManagementService.getUserById(userId)).thenReturn(userApiResponse);
         when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(existingWallet));
@@ -79,13 +95,14 @@ public class WalletServiceImplTest {
         assertNotNull(result);
         assertEquals(HttpStatus.OK.value(), result.getCode());
         assertNotNull(result.getData());
-        assertEquals(BigDecimal.valueOf(150.0), result.getData().getBalance());
+        assertEquals(Money.of("150.00"), result.getData().getBalance());
+        verify(accountStreamHub).walletChanged(userId);
     }
 
     @Test
     public void test_successfully_retrieve_wallet_by_user_id() {
         String userId = "user123";
-        Wallet wallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(100.0)).build();
+        Wallet wallet = Wallet.builder().userId(userId).balance(Money.of(100.0)).build();
 
         when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(wallet));
 
@@ -93,7 +110,7 @@ public class WalletServiceImplTest {
 
         assertNotNull(result);
         assertEquals(userId, result.getUserId());
-        assertEquals(BigDecimal.valueOf(100.0), result.getBalance());
+        assertEquals(Money.of("100.00"), result.getBalance());
     }
 
     @Test
@@ -105,7 +122,7 @@ public class WalletServiceImplTest {
         User user = User.builder().userId(userId).username("testuser").build();
         ApiResponse<User> userApiResponse = ApiResponse.ok(user);
 
-        Wallet savedWallet = Wallet.builder().userId(userId).balance(BigDecimal.ZERO).build();
+        Wallet savedWallet = Wallet.builder().userId(userId).balance(Money.ZERO).build();
 
         when(userManagementService.getUserById(userId)).thenReturn(userApiResponse);
         when(walletRepository.findByUserId(userId)).thenReturn(Optional.empty());
@@ -115,7 +132,7 @@ public class WalletServiceImplTest {
 
         assertNotNull(result);
         assertEquals(HttpStatus.OK.value(), result.getCode());
-        assertEquals(BigDecimal.ZERO, result.getData().getBalance());
+        assertEquals(Money.of("0.00"), result.getData().getBalance());
     }
 
     @Test
@@ -129,8 +146,8 @@ public class WalletServiceImplTest {
         User user = User.builder().userId(userId).username("testuser").build();
         ApiResponse<User> userApiResponse = ApiResponse.ok(user);
 
-        Wallet existingWallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(25.5)).build();
-        Wallet updatedWallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(101.0)).build();
+        Wallet existingWallet = Wallet.builder().userId(userId).balance(Money.of(25.5)).build();
+        Wallet updatedWallet = Wallet.builder().userId(userId).balance(Money.of(101.0)).build();
 
         when(userManagementService.getUserById(userId)).thenReturn(userApiResponse);
         when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(existingWallet));
@@ -140,7 +157,7 @@ public class WalletServiceImplTest {
 
         assertNotNull(result);
         assertEquals(HttpStatus.OK.value(), result.getCode());
-        assertEquals(BigDecimal.valueOf(101.0), result.getData().getBalance());
+        assertEquals(Money.of("101.00"), result.getData().getBalance());
     }
 
     @Test
@@ -168,7 +185,7 @@ public class WalletServiceImplTest {
         User user = User.builder().userId(userId).username("testuser").build();
         ApiResponse<User> userApiResponse = ApiResponse.ok(user);
 
-        Wallet existingWallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(100.0)).build();
+        Wallet existingWallet = Wallet.builder().userId(userId).balance(Money.of(100.0)).build();
 
         when(userManagementService.getUserById(userId)).thenReturn(userApiResponse);
         when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(existingWallet));
@@ -230,8 +247,8 @@ public class WalletServiceImplTest {
         User user = User.builder().userId(userId).username("testuser").build();
         ApiResponse<User> userApiResponse = ApiResponse.ok(user);
 
-        Wallet existingWallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(100.0)).build();
-        Wallet updatedWallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(100.0)).build();
+        Wallet existingWallet = Wallet.builder().userId(userId).balance(Money.of(100.0)).build();
+        Wallet updatedWallet = Wallet.builder().userId(userId).balance(Money.of(100.0)).build();
 
         when(userManagementService.getUserById(userId)).thenReturn(userApiResponse);
         when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(existingWallet));
@@ -241,7 +258,7 @@ public class WalletServiceImplTest {
 
         assertNotNull(result);
         assertEquals(HttpStatus.OK.value(), result.getCode());
-        assertEquals(BigDecimal.valueOf(100.0), result.getData().getBalance());
+        assertEquals(Money.of("100.00"), result.getData().getBalance());
     }
 
     @Test
@@ -255,8 +272,8 @@ public class WalletServiceImplTest {
         User user = User.builder().userId(userId).username("testuser").build();
         ApiResponse<User> userApiResponse = ApiResponse.ok(user);
 
-        Wallet existingWallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(100.0)).build();
-        Wallet updatedWallet = Wallet.builder().userId(userId).balance(BigDecimal.valueOf(50.0)).build();
+        Wallet existingWallet = Wallet.builder().userId(userId).balance(Money.of(100.0)).build();
+        Wallet updatedWallet = Wallet.builder().userId(userId).balance(Money.of(50.0)).build();
 
         when(userManagementService.getUserById(userId)).thenReturn(userApiResponse);
         when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(existingWallet));
@@ -266,6 +283,77 @@ public class WalletServiceImplTest {
 
         assertNotNull(result);
         assertEquals(HttpStatus.OK.value(), result.getCode());
-        assertEquals(BigDecimal.valueOf(50.0), result.getData().getBalance());
+        assertEquals(Money.of("50.00"), result.getData().getBalance());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_journals_each_top_up_with_the_balance_it_leaves() {
+        String userId = "user123";
+        Wallet wallet = Wallet.builder().userId(userId).balance(Money.of("40")).build();
+        WalletRequest request = new WalletRequest();
+        request.setUserId(userId);
+        request.setAmount(60.0);
+
+        when(userManagementService.getUserById(userId)).thenReturn(ApiResponse.ok(User.builder().userId(userId).username("testuser").build()));
+        when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
+
+        assertEquals(HttpStatus.OK.value(), walletService.topUp(request).getCode());
+
+        ArgumentCaptor<TradeRecord> recordCaptor = ArgumentCaptor.forClass(TradeRecord.class);
+        verify(tradeJournal).append(recordCaptor.capture());
+        TradeRecord record = recordCaptor.getValue();
+        assertEquals(JournalRecordType.TOP_UP, record.getRecordType());
+        assertEquals(userId, record.getUserId());
+        assertEquals(6_000L, record.getTotalPriceMinorUnits());
+        assertEquals(10_000L, record.getWalletBalanceMinorUnits());
+    }
+
+    @Test
+    public void test_undoes_a_top_up_the_journal_refuses() {
+        String userId = "user123";
+        Wallet wallet = Wallet.builder().userId(userId).balance(Money.of("40")).build();
+        WalletRequest request = new WalletRequest();
+        request.setUserId(userId);
+        request.setAmount(60.0);
+
+        when(userManagementService.getUserById(userId)).thenReturn(ApiResponse.ok(User.builder().userId(userId).build()));
+        when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(wallet));
+        when(tradeJournal.append(any(TradeRecord.class))).thenThrow(new IllegalStateException("Trade journal is closed"));
+
+        ApiResponse<Wallet> result = walletService.topUp(request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), result.getCode());
+        assertEquals(Money.of("40"), wallet.getBalance());
+        verify(walletRepository, never()).save(any(Wallet.class));
+        verify(accountStreamHub, never()).walletChanged(userId);
+    }
+
+    @Test
+    public void test_concurrent_top_ups_are_all_applied() throws Exception {
+        String userId = "user123";
+        Wallet wallet = Wallet.builder().userId(userId).build();
+
+        when(userManagementService.getUserById(userId)).thenReturn(ApiResponse.ok(User.builder().userId(userId).build()));
+        when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(wallet));
+        when(walletRepository.save(any(Wallet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        int topUps = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < topUps; i++) {
+                executor.submit(() -> {
+                    WalletRequest request = new WalletRequest();
+                    request.setUserId(userId);
+                    request.setAmount(0.1);
+                    walletService.topUp(request);
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(Money.of("100.00"), wallet.getBalance());
+    }
+}
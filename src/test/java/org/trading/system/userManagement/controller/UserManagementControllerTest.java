@@ -9,16 +9,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.trading.system.common.constants.AccountUpdateType;
+import org.trading.system.common.dto.response.AccountUpdateResponse;
 import org.trading.system.common.dto.response.ApiResponse;
+import org.trading.system.common.stream.AccountStream;
+import org.trading.system.common.stream.AccountStreamHub;
+import org.trading.system.common.util.Money;
 import org.trading.system.userManagement.dto.request.CreateUserRequest;
+import org.trading.system.userManagement.dto.response.UserPageResponse;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.service.UserManagementService;
 
 import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -31,6 +40,9 @@ class UserManagementControllerTest {
     @MockBean
     private UserManagementService userManagementService;
 
+    @MockBean
+    private AccountStreamHub accountStreamHub;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -76,18 +88,71 @@ class UserManagementControllerTest {
     }
 
     @Test
-    void getAllUsers() throws Exception {
+    void getUsers() throws Exception {
         User user = new User();
         user.setUserId("1");
         user.setUsername("testuser");
 
-        ApiResponse<List<User>> response = ApiResponse.ok(Collections.singletonList(user));
+        UserPageResponse page = new UserPageResponse();
+        page.setUsers(Collections.singletonList(user));
+        page.setLimit(50);
+        page.setNextCursor("MQ");
+        ApiResponse<UserPageResponse> response = ApiResponse.ok(page);
 
-        Mockito.when(userManagementService.getAllUsers())
+        Mockito.when(userManagementService.getUsers(isNull(), eq(50)))
                 .thenReturn(response);
 
         mockMvc.perform(get("/api/v1/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data[0].username").value("testuser"));
+                .andExpect(jsonPath("$.data.users[0].username").value("testuser"))
+                .andExpect(jsonPath("$.data.nextCursor").value("MQ"));
+    }
+
+    @Test
+    void getUsersWithCursorAndLimit() throws Exception {
+        UserPageResponse page = new UserPageResponse();
+        page.setUsers(Collections.emptyList());
+        page.setLimit(10);
+
+        Mockito.when(userManagementService.getUsers(eq("MQ"), eq(10)))
+                .thenReturn(ApiResponse.ok(page));
+
+        mockMvc.perform(get("/api/v1/users").param("cursor", "MQ").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.limit").value(10))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void streamAccount_sendsEachUpdateAsAnEvent() throws Exception {
+        AtomicReference<AccountStream.Sink> sink = new AtomicReference<>();
+        AccountStream stream = Mockito.mock(AccountStream.class);
+        Mockito.when(accountStreamHub.open(eq("1"), any(AccountStream.Sink.class))).thenAnswer(invocation -> {
+            sink.set(invocation.getArgument(1));
+            return stream;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/users/1/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        AccountUpdateResponse update = new AccountUpdateResponse();
+        update.setSequence(7);
+        update.setType(AccountUpdateType.WALLET);
+        update.setUserId("1");
+        update.setBalance(Money.of("250"));
+        sink.get().send(update);
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("id:7\nevent:wallet\ndata:{\"sequence\":7"), body);
+    }
+
+    @Test
+    void streamAccount_unknownUserGetsAnErrorEvent() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/users/nobody/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:error\ndata:{\"code\":404"), body);
     }
-}
\ No newline at end of file
+}
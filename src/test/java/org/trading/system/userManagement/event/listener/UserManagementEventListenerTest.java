@@ -5,6 +5,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.trading.system.common.event.TradeCompletedEvent;
+import org.trading.system.common.event.UserCreatedEvent;
+import org.trading.system.rankingManagement.repository.LeaderBoardRepository;
+import org.trading.system.rankingManagement.stream.LeaderboardStreamHub;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.repository.UserManagementRepository;
 
@@ -17,6 +20,8 @@ import static org.mockito.Mockito.*;
 public class UserManagementEventListenerTest {
 
     @Mock private UserManagementRepository userManagementRepository;
+    @Mock private LeaderBoardRepository leaderBoardRepository;
+    @Mock private LeaderboardStreamHub leaderboardStreamHub;
 
     @InjectMocks private UserManagementEventListener userManagementEventListener;
 
@@ -44,6 +49,7 @@ public class UserManagementEventListenerTest {
 
         verify(userManagementRepository).findById(userId);
         verify(userManagementRepository).save(user);
+        verify(leaderboardStreamHub).leaderboardChanged();
         assertEquals(3, user.getTradeCount());
         assertEquals(6, user.getGemsCount());
     }
@@ -266,4 +272,68 @@ public class UserManagementEventListenerTest {
         inOrder.verify(userManagementRepository).findById(userId);
         inOrder.verify(userManagementRepository).save(user);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_updates_leaderboard_with_new_gems_count_after_trade() {
+        String userId = "user123";
+        TradeCompletedEvent event = new TradeCompletedEvent(this, userId);
+
+        User user = User.builder()
+                .userId(userId)
+                .username("testUser")
+                .tradeCount(4)
+                .gemsCount(10)
+                .build();
+
+        when(userManagementRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        userManagementEventListener.handleTradeCompletedEvent(event);
+
+        verify(leaderBoardRepository).save(userId, 16);
+    }
+
+    @Test
+    public void test_adds_created_user_to_leaderboard() {
+        String userId = "user123";
+        UserCreatedEvent event = new UserCreatedEvent(this, userId);
+
+        User user = User.builder()
+                .userId(userId)
+                .username("testUser")
+                .build();
+
+        when(userManagementRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        userManagementEventListener.handleUserCreatedEvent(event);
+
+        verify(leaderBoardRepository).save(userId, 0);
+    }
+
+    @Test
+    public void test_records_the_journal_sequence_of_the_counted_trade_with_the_counts() {
+        String userId = "user123";
+        User user = User.builder()
+                .userId(userId)
+                .username("testUser")
+                .gemsJournalSequence(4)
+                .build();
+
+        when(userManagementRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        userManagementEventListener.handleTradeCompletedEvent(new TradeCompletedEvent(this, userId, 9));
+
+        assertEquals(new User.GemTally(1, 1, 9), user.gemTally());
+    }
+
+    @Test
+    public void test_does_not_update_leaderboard_when_user_does_not_exist() {
+        String userId = "nonexistent123";
+
+        when(userManagementRepository.findById(userId)).thenReturn(Optional.empty());
+
+        userManagementEventListener.handleTradeCompletedEvent(new TradeCompletedEvent(this, userId));
+        userManagementEventListener.handleUserCreatedEvent(new UserCreatedEvent(this, userId));
+
+        verify(leaderBoardRepository, never()).save(anyString(), anyLong());
+    }
+}
@@ -4,6 +4,8 @@ package org.trading.system.userManagement.repository.impl;
 import org.junit.jupiter.api.Test;
 import org.trading.system.userManagement.model.User;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -252,4 +254,81 @@ public class UserManagementRepositoryImplTest {
         assertEquals(200, result.get().getGemsCount());
         assertEquals(5, result.get().getTradeCount());
     }
-}
\ No newline at end of file
+
+    // Save if username absent rejects a second user with the same username
+    @Test
+    public void test_save_if_username_absent_rejects_duplicate_username() {
+        // Arrange
+        UserManagementRepositoryImpl repository = new UserManagementRepositoryImpl();
+        User first = User.builder().username("takenUsername").build();
+        User second = User.builder().username("takenUsername").build();
+
+        // Act
+        boolean firstSaved = repository.saveIfUsernameAbsent(first);
+        boolean secondSaved = repository.saveIfUsernameAbsent(second);
+
+        // Assert
+        assertTrue(firstSaved);
+        assertFalse(secondSaved);
+        assertEquals(1, repository.count());
+        assertEquals(first.getUserId(), repository.findByUsername("takenUsername").get().getUserId());
+        assertFalse(repository.findById(second.getUserId()).isPresent());
+    }
+
+    // Username index follows a username change on re-save
+    @Test
+    public void test_save_user_with_changed_username_updates_username_index() {
+        // Arrange
+        UserManagementRepositoryImpl repository = new UserManagementRepositoryImpl();
+        User user = User.builder().username("oldUsername").build();
+        repository.save(user);
+
+        // Act
+        user.setUsername("newUsername");
+        repository.save(user);
+
+        // Assert
+        assertFalse(repository.findByUsername("oldUsername").isPresent());
+        assertTrue(repository.findByUsername("newUsername").isPresent());
+        assertTrue(repository.saveIfUsernameAbsent(User.builder().username("oldUsername").build()));
+    }
+
+    // Pages walk every user exactly once in userId order
+    @Test
+    public void test_find_page_walks_all_users_in_user_id_order() {
+        // Arrange
+        UserManagementRepositoryImpl repository = new UserManagementRepositoryImpl();
+        for (int i = 0; i < 25; i++) {
+            repository.save(User.builder().username("user" + i).build());
+        }
+
+        // Act
+        List<String> seen = new ArrayList<>();
+        String after = null;
+        List<User> page;
+        do {
+            page = repository.findPage(after, 10);
+            page.forEach(user -> seen.add(user.getUserId()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getUserId();
+        } while (page.size() == 10);
+
+        // Assert
+        assertEquals(25, seen.size());
+        List<String> sorted = new ArrayList<>(seen);
+        Collections.sort(sorted);
+        assertEquals(sorted, seen);
+    }
+
+    // A page after the last user is empty and re-saving a user does not duplicate it
+    @Test
+    public void test_find_page_after_last_user_is_empty() {
+        // Arrange
+        UserManagementRepositoryImpl repository = new UserManagementRepositoryImpl();
+        User user = repository.save(User.builder().username("only").build());
+        repository.save(user);
+
+        // Act & Assert
+        assertEquals(1, repository.findPage(null, 10).size());
+        assertTrue(repository.findPage(user.getUserId(), 10).isEmpty());
+    }
+}
@@ -1,31 +1,44 @@
 package org.trading.system.userManagement.service.impl;
 
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
+import org.trading.system.common.concurrent.EnrichmentExecutor;
+import org.trading.system.common.concurrent.EnrichmentMode;
 import org.trading.system.common.dto.response.ApiResponse;
 import org.trading.system.common.event.UserCreatedEvent;
 import org.trading.system.common.exception.ApiException;
+import org.trading.system.common.lock.StripedLockManager;
+import org.trading.system.portfolioManagement.model.Holdings;
 import org.trading.system.portfolioManagement.model.Portfolio;
 import org.trading.system.portfolioManagement.repository.PortfolioRepository;
+import org.trading.system.portfolioManagement.symbol.SymbolTable;
+import org.trading.system.trading.journal.JournalRecordType;
+import org.trading.system.trading.journal.TradeJournal;
+import org.trading.system.trading.journal.TradeRecord;
 import org.trading.system.trading.model.Wallet;
 import org.trading.system.trading.repository.WalletRepository;
 import org.trading.system.userManagement.dto.request.CreateUserRequest;
+import org.trading.system.userManagement.dto.response.UserPageResponse;
 import org.trading.system.userManagement.model.User;
 import org.trading.system.userManagement.repository.UserManagementRepository;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 public class UserManagementServiceImplTest {
@@ -34,6 +47,11 @@ public class UserManagementServiceImplTest {
     @Mock private WalletRepository walletRepository;
     @Mock private PortfolioRepository portfolioRepository;
     @Mock private ApplicationEventPublisher eventPublisher;
+    @Spy private EnrichmentExecutor enrichmentExecutor =
+            new EnrichmentExecutor(new SimpleMeterRegistry(), EnrichmentMode.POOL, 4, 16, 1);
+    @Spy private StripedLockManager lockManager = new StripedLockManager(new SimpleMeterRegistry(), 16);
+    @Mock private TradeJournal tradeJournal;
+    @Spy private SymbolTable symbols = new SymbolTable();
 
     @InjectMocks private UserManagementServiceImpl userManagementService;
 
@@ -48,13 +66,7 @@ public class UserManagementServiceImplTest {
         CreateUserRequest request = new CreateUserRequest();
         request.setUsername("testuser");
 
-        User savedUser = User.builder()
-                .userId("user123")
-                .username("testuser")
-                .build();
-
-        when(userManagementRepository.findByUsername("testuser")).thenReturn(Optional.empty());
-        when(userManagementRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userManagementRepository.saveIfUsernameAbsent(any(User.class))).thenReturn(true);
 
         ApiResponse<User> result = userManagementService.createUser(request);
 
@@ -62,6 +74,28 @@ public class UserManagementServiceImplTest {
         assertEquals(HttpStatus.CREATED.value(), result.getCode());
         assertEquals("testuser", result.getData().getUsername());
         verify(eventPublisher).publishEvent(any(UserCreatedEvent.class));
+
+        ArgumentCaptor<TradeRecord> recordCaptor = ArgumentCaptor.forClass(TradeRecord.class);
+        verify(tradeJournal).append(recordCaptor.capture());
+        assertEquals(JournalRecordType.USER_CREATED, recordCaptor.getValue().getRecordType());
+        assertEquals(result.getData().getUserId(), recordCaptor.getValue().getUserId());
+        assertEquals("testuser", recordCaptor.getValue().getUsername());
+        verify(walletRepository).save(argThat(wallet -> wallet.getUserId().equals(result.getData().getUserId())));
+        verify(portfolioRepository).save(argThat(portfolio -> portfolio.getUserId().equals(result.getData().getUserId())));
+    }
+
+    @Test
+    public void test_does_not_create_a_user_the_journal_refuses() {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setUsername("testuser");
+
+        when(tradeJournal.append(any(TradeRecord.class))).thenThrow(new IllegalStateException("Trade journal is closed"));
+
+        ApiResponse<User> result = userManagementService.createUser(request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), result.getCode());
+        verify(userManagementRepository, never()).saveIfUsernameAbsent(any(User.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     // Successfully retrieves an existing user by ID with enriched portfolio and wallet data
@@ -77,6 +111,7 @@ public class UserManagementServiceImplTest {
         Portfolio portfolio = Portfolio.builder()
                 .portfolioId("portfolio123")
                 .userId(userId)
+                .holdings(new Holdings(symbols))
                 .build();
 
         Wallet wallet = Wallet.builder()
@@ -107,8 +142,8 @@ public class UserManagementServiceImplTest {
         User user2 = User.builder().userId("user2").username("user2").build();
         List<User> users = List.of(user1, user2);
 
-        Portfolio portfolio1 = Portfolio.builder().portfolioId("portfolio1").userId("user1").build();
-        Portfolio portfolio2 = Portfolio.builder().portfolioId("portfolio2").userId("user2").build();
+        Portfolio portfolio1 = Portfolio.builder().portfolioId("portfolio1").userId("user1").holdings(new Holdings(symbols)).build();
+        Portfolio portfolio2 = Portfolio.builder().portfolioId("portfolio2").userId("user2").holdings(new Holdings(symbols)).build();
 
         Wallet wallet1 = Wallet.builder().walletId("wallet1").userId("user1").build();
         Wallet wallet2 = Wallet.builder().walletId("wallet2").userId("user2").build();
@@ -135,22 +170,18 @@ public class UserManagementServiceImplTest {
         CreateUserRequest request = new CreateUserRequest();
         request.setUsername("testuser");
 
-        User savedUser = User.builder()
-                .userId("user123")
-                .username("testuser")
-                .build();
-
-        when(userManagementRepository.findByUsername("testuser")).thenReturn(Optional.empty());
-        when(userManagementRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userManagementRepository.saveIfUsernameAbsent(any(User.class))).thenReturn(true);
 
         // Act
         userManagementService.createUser(request);
 
         // Assert
+        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+        verify(userManagementRepository).saveIfUsernameAbsent(userCaptor.capture());
         ArgumentCaptor<UserCreatedEvent> eventCaptor = ArgumentCaptor.forClass(UserCreatedEvent.class);
         verify(eventPublisher).publishEvent(eventCaptor.capture());
         UserCreatedEvent capturedEvent = eventCaptor.getValue();
-        assertEquals("user123", capturedEvent.getUserId());
+        assertEquals(userCaptor.getValue().getUserId(), capturedEvent.getUserId());
     }
 
     // Enriches user objects with portfolio and wallet data asynchronously
@@ -166,6 +197,7 @@ public class UserManagementServiceImplTest {
         Portfolio portfolio = Portfolio.builder()
                 .portfolioId("portfolio123")
                 .userId(userId)
+                .holdings(new Holdings(symbols))
                 .build();
 
         Wallet wallet = Wallet.builder()
@@ -194,12 +226,7 @@ public class UserManagementServiceImplTest {
         CreateUserRequest request = new CreateUserRequest();
         request.setUsername("existinguser");
 
-        User existingUser = User.builder()
-                .userId("user123")
-                .username("existinguser")
-                .build();
-
-        when(userManagementRepository.findByUsername("existinguser")).thenReturn(Optional.of(existingUser));
+        when(userManagementRepository.saveIfUsernameAbsent(any(User.class))).thenReturn(false);
 
         // Act
         ApiResponse<User> result = userManagementService.createUser(request);
@@ -320,7 +347,7 @@ public class UserManagementServiceImplTest {
         CreateUserRequest request = new CreateUserRequest();
         request.setUsername("testuser");
 
-        when(userManagementRepository.findByUsername("testuser")).thenThrow(new RuntimeException("Database connection error"));
+        when(userManagementRepository.saveIfUsernameAbsent(any(User.class))).thenThrow(new RuntimeException("Database connection error"));
 
         // Act
         ApiResponse<User> result = userManagementService.createUser(request);
@@ -331,4 +358,67 @@ public class UserManagementServiceImplTest {
         assertTrue(result.getErrors().get(0).contains("An unexpected error occurred while creating the user."));
         verify(eventPublisher, never()).publishEvent(any(UserCreatedEvent.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_get_all_users_enriches_every_user_across_pool_slices() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String userId = "user" + i;
+            users.add(User.builder().userId(userId).username("name" + i).build());
+            when(portfolioRepository.findByUserId(userId)).thenReturn(Optional.of(Portfolio.builder().userId(userId).holdings(new Holdings(symbols)).build()));
+            when(walletRepository.findByUserId(userId)).thenReturn(Optional.of(Wallet.builder().userId(userId).build()));
+        }
+        when(userManagementRepository.findAll()).thenReturn(users);
+
+        ApiResponse<List<User>> result = userManagementService.getAllUsers();
+
+        assertEquals(HttpStatus.OK.value(), result.getCode());
+        assertEquals(100, result.getData().size());
+        for (User user : result.getData()) {
+            assertEquals(user.getUserId(), user.getPortfolio().getUserId());
+            assertEquals(user.getUserId(), user.getWallet().getUserId());
+        }
+    }
+
+    @Test
+    public void test_get_users_returns_page_with_cursor_when_more_users_exist() {
+        User first = User.builder().userId("a").username("first").build();
+        User second = User.builder().userId("b").username("second").build();
+        User third = User.builder().userId("c").username("third").build();
+        when(userManagementRepository.findPage(null, 3)).thenReturn(new ArrayList<>(List.of(first, second, third)));
+
+        ApiResponse<UserPageResponse> result = userManagementService.getUsers(null, 2);
+
+        assertEquals(HttpStatus.OK.value(), result.getCode());
+        assertEquals(List.of(first, second), result.getData().getUsers());
+        assertEquals(2, result.getData().getLimit());
+        assertNotNull(result.getData().getNextCursor());
+        verify(portfolioRepository).findByUserId("a");
+        verify(portfolioRepository).findByUserId("b");
+        verify(portfolioRepository, never()).findByUserId("c");
+
+        when(userManagementRepository.findPage("b", 3)).thenReturn(new ArrayList<>(List.of(third)));
+
+        ApiResponse<UserPageResponse> next = userManagementService.getUsers(result.getData().getNextCursor(), 2);
+
+        assertEquals(List.of(third), next.getData().getUsers());
+        assertNull(next.getData().getNextCursor());
+    }
+
+    @Test
+    public void test_get_users_rejects_invalid_cursor() {
+        ApiResponse<UserPageResponse> result = userManagementService.getUsers("not a cursor!", 10);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), result.getCode());
+        assertTrue(result.getErrors().contains("Invalid cursor: not a cursor!"));
+        verify(userManagementRepository, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    public void test_get_users_rejects_limit_out_of_range() {
+        assertEquals(HttpStatus.BAD_REQUEST.value(), userManagementService.getUsers(null, 0).getCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(),
+                userManagementService.getUsers(null, UserManagementServiceImpl.MAX_PAGE_SIZE + 1).getCode());
+        verify(userManagementRepository, never()).findPage(any(), anyInt());
+    }
+}